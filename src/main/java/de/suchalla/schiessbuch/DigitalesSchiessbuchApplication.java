@@ -1,5 +1,7 @@
 package de.suchalla.schiessbuch;
 
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -7,6 +9,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Hauptklasse der Digitales Schießbuch Anwendung.
+ * <p>
+ * Server-Push ist aktiviert, damit Benachrichtigungen angemeldeten Benutzern ohne Neuladen angezeigt werden.
  *
  * @author Markus Suchalla
  * @version 1.0.0
@@ -14,7 +18,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
 @EnableScheduling
 @EnableAsync
-public class DigitalesSchiessbuchApplication {
+@Push
+public class DigitalesSchiessbuchApplication implements AppShellConfigurator {
 
     /**
      * Startet die Spring Boot Anwendung.
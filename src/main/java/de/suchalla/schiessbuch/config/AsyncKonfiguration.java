@@ -0,0 +1,81 @@
+package de.suchalla.schiessbuch.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Benannte Executoren für Hintergrund- und rechenintensive Arbeit, jeweils auf virtuellen Threads mit
+ * eigener Obergrenze und Warteschlange (siehe {@link BegrenzterExecutor}). Überlastet ein Bereich, etwa weil
+ * der SMTP-Server hängt, werden nur dessen Aufgaben abgewiesen; die anderen Bereiche bleiben unberührt.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Configuration
+public class AsyncKonfiguration {
+
+    /** Bean-Name des Executors für den E-Mail-Versand. */
+    public static final String MAIL = "mailExecutor";
+
+    /** Bean-Name des Executors für PDF-Exporte. */
+    public static final String PDF = "pdfExecutor";
+
+    /** Bean-Name des Executors für die Schlüsselerzeugung der PKI. */
+    public static final String PKI = "pkiExecutor";
+
+    /** Bean-Name des Executors für Zuhörer, die Domänenereignisse nach dem Commit verarbeiten. */
+    public static final String EREIGNIS = "ereignisExecutor";
+
+    /**
+     * Executor für Versanddurchläufe aus dem Postausgang.
+     *
+     * @param maxParallel Höchstanzahl gleichzeitiger Durchläufe
+     * @param warteschlange Höchstanzahl wartender Durchläufe
+     * @return Der Executor
+     */
+    @Bean(MAIL)
+    public BegrenzterExecutor mailExecutor(@Value("${async.mail.max-parallel:1}") int maxParallel,
+                                           @Value("${async.mail.warteschlange:0}") int warteschlange) {
+        return new BegrenzterExecutor("mail", maxParallel, warteschlange);
+    }
+
+    /**
+     * Executor für PDF-Exporte.
+     *
+     * @param maxParallel Höchstanzahl gleichzeitig erzeugter PDFs
+     * @param warteschlange Höchstanzahl wartender Exporte
+     * @return Der Executor
+     */
+    @Bean(PDF)
+    public BegrenzterExecutor pdfExecutor(@Value("${async.pdf.max-parallel:4}") int maxParallel,
+                                          @Value("${async.pdf.warteschlange:16}") int warteschlange) {
+        return new BegrenzterExecutor("pdf", maxParallel, warteschlange);
+    }
+
+    /**
+     * Executor für die Erzeugung von RSA-Schlüsselpaaren.
+     *
+     * @param maxParallel Höchstanzahl gleichzeitig erzeugter Schlüsselpaare
+     * @param warteschlange Höchstanzahl wartender Erzeugungen
+     * @return Der Executor
+     */
+    @Bean(PKI)
+    public BegrenzterExecutor pkiExecutor(@Value("${async.pki.max-parallel:2}") int maxParallel,
+                                          @Value("${async.pki.warteschlange:8}") int warteschlange) {
+        return new BegrenzterExecutor("pki", maxParallel, warteschlange);
+    }
+
+    /**
+     * Executor für Zuhörer, die Domänenereignisse mit {@code @Async(EREIGNIS)} nach dem Commit verarbeiten.
+     *
+     * @param maxParallel Höchstanzahl gleichzeitig verarbeiteter Ereignisse
+     * @param warteschlange Höchstanzahl wartender Ereignisse
+     * @return Der Executor
+     */
+    @Bean(EREIGNIS)
+    public BegrenzterExecutor ereignisExecutor(@Value("${async.ereignis.max-parallel:4}") int maxParallel,
+                                               @Value("${async.ereignis.warteschlange:1000}") int warteschlange) {
+        return new BegrenzterExecutor("ereignis", maxParallel, warteschlange);
+    }
+}
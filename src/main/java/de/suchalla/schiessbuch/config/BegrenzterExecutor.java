@@ -0,0 +1,169 @@
+package de.suchalla.schiessbuch.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor auf virtuellen Threads mit fester Obergrenze gleichzeitiger Aufgaben und begrenzter Warteschlange.
+ * <p>
+ * Jede Aufgabe erhält einen eigenen virtuellen Thread, der vor der Ausführung auf einen freien Platz wartet.
+ * Sind bereits {@code maxParallel} Aufgaben aktiv und {@code warteschlange} weitere wartend, wird die neue
+ * Aufgabe sofort mit einer {@link TaskRejectedException} abgewiesen, statt unbegrenzt Arbeit anzuhäufen.
+ * Der Sicherheitskontext des Aufrufers wird an die Aufgabe weitergegeben (read-your-writes der Replika-DataSource).
+ * <p>
+ * Als {@link MeterBinder} meldet der Executor unter dem Tag {@code name} die Warteschlangenlänge, die aktiven
+ * und die abgewiesenen Aufgaben sowie Warte- und Ausführungsdauer.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Slf4j
+public class BegrenzterExecutor implements AsyncTaskExecutor, MeterBinder {
+
+    private final String name;
+    private final int maxParallel;
+    private final int warteschlange;
+    private final Semaphore zulassung;
+    private final Semaphore ausfuehrung;
+    private final ThreadFactory threads;
+    private final AtomicInteger wartend = new AtomicInteger();
+    private final AtomicInteger aktiv = new AtomicInteger();
+    private volatile Timer wartezeit;
+    private volatile Timer dauer;
+    private volatile Counter abgewiesen;
+
+    /**
+     * Konstruktor.
+     *
+     * @param name Name des Executors für Threads und Metriken
+     * @param maxParallel Höchstanzahl gleichzeitig ausgeführter Aufgaben
+     * @param warteschlange Höchstanzahl wartender Aufgaben
+     * @throws IllegalArgumentException bei ungültigen Grenzen
+     */
+    public BegrenzterExecutor(String name, int maxParallel, int warteschlange) {
+        if (maxParallel < 1 || warteschlange < 0) {
+            throw new IllegalArgumentException("Ungültige Grenzen für Executor " + name + ": " + maxParallel + "/" + warteschlange);
+        }
+        this.name = name;
+        this.maxParallel = maxParallel;
+        this.warteschlange = warteschlange;
+        this.zulassung = new Semaphore(maxParallel + warteschlange);
+        this.ausfuehrung = new Semaphore(maxParallel, true);
+        this.threads = Thread.ofVirtual().name(name + "-", 1).factory();
+    }
+
+    @Override
+    public void execute(Runnable aufgabe) {
+        if (!zulassung.tryAcquire()) {
+            if (abgewiesen != null) {
+                abgewiesen.increment();
+            }
+            throw new TaskRejectedException("Executor " + name + " ausgelastet (" + maxParallel + " aktiv, "
+                    + warteschlange + " wartend)");
+        }
+        Runnable mitKontext = DelegatingSecurityContextRunnable.create(aufgabe, null);
+        long eingereicht = System.nanoTime();
+        wartend.incrementAndGet();
+        try {
+            threads.newThread(() -> fuehreAus(mitKontext, eingereicht)).start();
+        } catch (RuntimeException | Error e) {
+            wartend.decrementAndGet();
+            zulassung.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Führt die Aufgabe aus und wartet auf ihr Ergebnis, z. B. um rechenintensive Arbeit aus einem
+     * Anfrage-Thread heraus zu begrenzen.
+     *
+     * @param aufgabe Die Aufgabe
+     * @param <T> Typ des Ergebnisses
+     * @return Das Ergebnis der Aufgabe
+     * @throws TaskRejectedException wenn der Executor ausgelastet ist
+     * @throws Exception die von der Aufgabe geworfene Ausnahme
+     */
+    public <T> T fuehreAusUndWarte(Callable<T> aufgabe) throws Exception {
+        try {
+            return submit(aufgabe).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception ursache) {
+                throw ursache;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private void fuehreAus(Runnable aufgabe, long eingereicht) {
+        try {
+            ausfuehrung.acquire();
+        } catch (InterruptedException e) {
+            wartend.decrementAndGet();
+            zulassung.release();
+            return;
+        }
+        wartend.decrementAndGet();
+        aktiv.incrementAndGet();
+        long start = System.nanoTime();
+        if (wartezeit != null) {
+            wartezeit.record(start - eingereicht, TimeUnit.NANOSECONDS);
+        }
+        try {
+            aufgabe.run();
+        } catch (RuntimeException e) {
+            log.error("Aufgabe im Executor {} fehlgeschlagen", name, e);
+        } finally {
+            if (dauer != null) {
+                dauer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            aktiv.decrementAndGet();
+            ausfuehrung.release();
+            zulassung.release();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("schiessbuch.executor.queued", wartend, AtomicInteger::get)
+                .tag("name", name).description("Wartende Aufgaben").register(registry);
+        Gauge.builder("schiessbuch.executor.active", aktiv, AtomicInteger::get)
+                .tag("name", name).description("Aktive Aufgaben").register(registry);
+        abgewiesen = Counter.builder("schiessbuch.executor.rejected")
+                .tag("name", name).description("Wegen Auslastung abgewiesene Aufgaben").register(registry);
+        wartezeit = Timer.builder("schiessbuch.executor.wait")
+                .tag("name", name).description("Wartezeit bis zum Start einer Aufgabe").register(registry);
+        dauer = Timer.builder("schiessbuch.executor.duration")
+                .tag("name", name).description("Ausführungsdauer einer Aufgabe").register(registry);
+    }
+
+    /**
+     * @return Anzahl der Aufgaben, die auf einen freien Platz warten
+     */
+    public int getWartend() {
+        return wartend.get();
+    }
+
+    /**
+     * @return Anzahl der gerade ausgeführten Aufgaben
+     */
+    public int getAktiv() {
+        return aktiv.get();
+    }
+}
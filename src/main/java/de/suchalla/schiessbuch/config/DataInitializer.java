@@ -127,6 +127,7 @@ public class DataInitializer implements CommandLineRunner {
                     "KK-Gewehr 50m Dreistellungskampf"
             };
 
+            java.util.List<Disziplin> neueDisziplinen = new java.util.ArrayList<>();
             int idx = 1;
             for (String name : verbandsDisziplinen) {
                 Disziplin disziplin = Disziplin.builder()
@@ -135,9 +136,10 @@ public class DataInitializer implements CommandLineRunner {
                         .verband(dsb)
                         .waffeKlasse(null)
                         .build();
-                disziplinRepository.save(disziplin);
+                neueDisziplinen.add(disziplin);
                 idx++;
             }
+            disziplinRepository.saveAll(neueDisziplinen);
             log.info("{} Verbands-Disziplinen erstellt", verbandsDisziplinen.length);
 
             // Verein erstellen
@@ -312,8 +314,9 @@ public class DataInitializer implements CommandLineRunner {
                 eintragVomAufseher.setDigitaleSignatur(signature);
                 eintragVomAufseher.setIstSigniert(true);
             }
-            // Eintrag speichern
-            eintragRepository.save(eintragVomAufseher);
+            // Einträge sammeln und am Ende gemeinsam speichern (JDBC-Batch)
+            java.util.List<SchiessnachweisEintrag> neueEintraege = new java.util.ArrayList<>();
+            neueEintraege.add(eintragVomAufseher);
 
             SchiessnachweisEintrag eintragVomVereinschef = SchiessnachweisEintrag.builder()
                     .schuetze(schuetze)
@@ -335,9 +338,7 @@ public class DataInitializer implements CommandLineRunner {
                 eintragVomVereinschef.setDigitaleSignatur(signature);
                 eintragVomVereinschef.setIstSigniert(true);
             }
-            eintragRepository.save(eintragVomVereinschef);
-            log.info("Zwei signierte Einträge für Schütze wurden erstellt.");
-            log.info("===============================================");
+            neueEintraege.add(eintragVomVereinschef);
 
             // 20 signierte Einträge für den Schützen anlegen (10 vom Aufseher, 10 vom Vereinschef)
             java.util.List<Disziplin> disziplinen = disziplinRepository.findAll();
@@ -362,7 +363,7 @@ public class DataInitializer implements CommandLineRunner {
                     eintragVomAufseherLoop.setDigitaleSignatur(signature);
                     eintragVomAufseherLoop.setIstSigniert(true);
                 }
-                eintragRepository.save(eintragVomAufseherLoop);
+                neueEintraege.add(eintragVomAufseherLoop);
             }
             for (int i = 0; i < 10; i++) {
                 SchiessnachweisEintrag eintragVomVereinschefLoop = SchiessnachweisEintrag.builder()
@@ -385,9 +386,10 @@ public class DataInitializer implements CommandLineRunner {
                     eintragVomVereinschefLoop.setDigitaleSignatur(signature);
                     eintragVomVereinschefLoop.setIstSigniert(true);
                 }
-                eintragRepository.save(eintragVomVereinschefLoop);
+                neueEintraege.add(eintragVomVereinschefLoop);
             }
-            log.info("20 signierte Einträge für Schütze wurden erstellt.");
+            eintragRepository.saveAll(neueEintraege);
+            log.info("{} signierte Einträge für Schütze wurden erstellt.", neueEintraege.size());
             log.info("===============================================");
 
         
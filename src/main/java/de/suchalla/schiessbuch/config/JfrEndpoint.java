@@ -0,0 +1,189 @@
+package de.suchalla.schiessbuch.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator-Endpunkt {@code /actuator/jfr}: startet, stoppt und sichert eine Aufzeichnung des JDK Flight
+ * Recorders, ohne die Anwendung neu zu starten.
+ * <p>
+ * {@code GET} liefert den Zustand, {@code POST /actuator/jfr/starten}, {@code .../sichern} und
+ * {@code .../stoppen} steuern die Aufzeichnung. Sichern schreibt den aktuellen Puffer in eine Datei im
+ * konfigurierten Verzeichnis, Stoppen sichert ein letztes Mal und beendet die Aufzeichnung. Der Dateiname
+ * wird vom Server vergeben, nie vom Aufrufer. Die Aufzeichnung hält nur die letzten {@code max-alter}
+ * bzw. {@code max-groesse} vor und kann daher dauerhaft laufen ({@code diagnose.jfr.beim-start}). Neben den
+ * JDK-Ereignissen der gewählten Einstellungen enthält sie die {@link JfrEreignisse} der Anwendung.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "jfr")
+@Slf4j
+public class JfrEndpoint {
+
+    private static final String NAME = "schiessbuch";
+    private static final DateTimeFormatter DATEI_ZEIT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path verzeichnis;
+    private final String einstellungen;
+    private final Duration maxAlter;
+    private final long maxGroesse;
+    private final boolean beimStart;
+    private Recording aufzeichnung;
+    private Path letzteDatei;
+
+    /**
+     * Konstruktor.
+     *
+     * @param verzeichnis Verzeichnis für gesicherte Aufzeichnungen
+     * @param einstellungen JFR-Einstellungen der JDK-Ereignisse, {@code default} oder {@code profile}
+     * @param maxAlter Höchstalter der vorgehaltenen Ereignisse
+     * @param maxGroesse Höchstgröße der vorgehaltenen Ereignisse in Bytes
+     * @param beimStart Ob die Aufzeichnung mit der Anwendung startet
+     */
+    public JfrEndpoint(@Value("${diagnose.jfr.verzeichnis:${java.io.tmpdir}}") Path verzeichnis,
+                       @Value("${diagnose.jfr.einstellungen:default}") String einstellungen,
+                       @Value("${diagnose.jfr.max-alter:PT1H}") Duration maxAlter,
+                       @Value("${diagnose.jfr.max-groesse:104857600}") long maxGroesse,
+                       @Value("${diagnose.jfr.beim-start:false}") boolean beimStart) {
+        this.verzeichnis = verzeichnis;
+        this.einstellungen = einstellungen;
+        this.maxAlter = maxAlter;
+        this.maxGroesse = maxGroesse;
+        this.beimStart = beimStart;
+    }
+
+    @PostConstruct
+    void startePerKonfiguration() {
+        if (beimStart) {
+            starte();
+        }
+    }
+
+    @PreDestroy
+    synchronized void beenden() {
+        if (aufzeichnung != null) {
+            aufzeichnung.close();
+            aufzeichnung = null;
+        }
+    }
+
+    /**
+     * @return Zustand der Aufzeichnung und Pfad der zuletzt gesicherten Datei
+     */
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        boolean aktiv = aufzeichnung != null && aufzeichnung.getState() == RecordingState.RUNNING;
+        status.put("aktiv", aktiv);
+        if (aktiv) {
+            status.put("gestartet", aufzeichnung.getStartTime());
+            status.put("einstellungen", einstellungen);
+            status.put("maxAlter", maxAlter);
+            status.put("groesse", aufzeichnung.getSize());
+        }
+        status.put("letzteDatei", letzteDatei != null ? letzteDatei.toString() : null);
+        return status;
+    }
+
+    /**
+     * Steuert die Aufzeichnung.
+     *
+     * @param aktion {@code starten}, {@code sichern} oder {@code stoppen}
+     * @return Zustand nach der Aktion
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> steuere(@Selector String aktion) {
+        switch (aktion) {
+            case "starten" -> starte();
+            case "sichern" -> sichere();
+            case "stoppen" -> stoppe();
+            default -> throw new InvalidEndpointRequestException("Unbekannte Aktion: " + aktion,
+                    "Erlaubt sind starten, sichern und stoppen");
+        }
+        return status();
+    }
+
+    /**
+     * Startet die Aufzeichnung, sofern sie nicht bereits läuft.
+     */
+    synchronized void starte() {
+        if (aufzeichnung != null) {
+            return;
+        }
+        Recording neu;
+        try {
+            neu = new Recording(Configuration.getConfiguration(einstellungen));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR-Einstellungen '" + einstellungen + "' nicht lesbar", e);
+        }
+        neu.setName(NAME);
+        neu.setToDisk(true);
+        neu.setMaxAge(maxAlter);
+        neu.setMaxSize(maxGroesse);
+        neu.start();
+        aufzeichnung = neu;
+        log.info("JFR-Aufzeichnung gestartet (Einstellungen {}, höchstens {})", einstellungen, maxAlter);
+    }
+
+    /**
+     * Schreibt den aktuellen Stand der laufenden Aufzeichnung in eine neue Datei.
+     *
+     * @return Pfad der Datei
+     * @throws InvalidEndpointRequestException wenn keine Aufzeichnung läuft (HTTP 400)
+     */
+    synchronized Path sichere() {
+        if (aufzeichnung == null) {
+            throw new InvalidEndpointRequestException("Keine JFR-Aufzeichnung aktiv",
+                    "Vor dem Sichern muss die Aufzeichnung mit starten begonnen werden");
+        }
+        try {
+            Files.createDirectories(verzeichnis);
+            Path datei = verzeichnis.resolve(NAME + "-" + LocalDateTime.now().format(DATEI_ZEIT) + ".jfr");
+            aufzeichnung.dump(datei);
+            letzteDatei = datei;
+            log.info("JFR-Aufzeichnung gesichert: {}", datei);
+            return datei;
+        } catch (IOException e) {
+            throw new UncheckedIOException("JFR-Aufzeichnung konnte nicht gesichert werden", e);
+        }
+    }
+
+    /**
+     * Sichert die laufende Aufzeichnung ein letztes Mal und beendet sie.
+     */
+    synchronized void stoppe() {
+        if (aufzeichnung == null) {
+            return;
+        }
+        try {
+            sichere();
+        } finally {
+            beenden();
+            log.info("JFR-Aufzeichnung gestoppt");
+        }
+    }
+}
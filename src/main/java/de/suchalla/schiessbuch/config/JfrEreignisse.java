@@ -0,0 +1,299 @@
+package de.suchalla.schiessbuch.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Ereignisse für den JDK Flight Recorder (JFR) zu Signieren, Schlüsselerzeugung, Zertifikatserstellung,
+ * PDF-Export und E-Mail-Versand.
+ * <p>
+ * Die Ereignisse sind standardmäßig aktiv und landen in jeder laufenden Aufzeichnung, etwa der des
+ * Endpunkts {@code jfr} (siehe {@link JfrEndpoint}) oder einer mit {@code -XX:StartFlightRecording}
+ * gestarteten. Ohne Aufzeichnung kostet ein Ereignis nur die Prüfung, ob es aktiv ist. Stacktraces werden
+ * nicht erfasst; Zeitpunkt, Dauer und Thread liefert JFR selbst. IDs fehlen als 0.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public final class JfrEreignisse {
+
+    private static final String KATEGORIE = "Digitales Schiessbuch";
+
+    private JfrEreignisse() {
+    }
+
+    private static long id(Long id) {
+        return id != null ? id : 0;
+    }
+
+    /**
+     * Signieren eines Schießnachweis-Eintrags.
+     */
+    @Name("de.suchalla.schiessbuch.Signatur")
+    @Label("Signatur")
+    @Description("Signieren eines Schießnachweis-Eintrags durch einen Aufseher")
+    @Category({KATEGORIE, "PKI"})
+    @StackTrace(false)
+    public static final class SignaturEreignis extends Event {
+
+        @Label("Eintrag-ID")
+        long eintragId;
+
+        @Label("Schießstand-ID")
+        long schiesstandId;
+
+        @Label("Signierte Daten")
+        @DataAmount
+        long nutzdatenBytes;
+
+        @Label("Erfolgreich")
+        boolean erfolgreich;
+
+        /**
+         * Setzt die Felder und schreibt das Ereignis in die Aufzeichnung.
+         *
+         * @param eintragId ID des Eintrags
+         * @param schiesstandId ID des Schießstands
+         * @param nutzdatenBytes Länge der signierten Daten
+         * @param erfolgreich Ob die Signatur gespeichert wurde
+         */
+        public void melde(Long eintragId, Long schiesstandId, long nutzdatenBytes, boolean erfolgreich) {
+            if (!shouldCommit()) {
+                return;
+            }
+            this.eintragId = id(eintragId);
+            this.schiesstandId = id(schiesstandId);
+            this.nutzdatenBytes = nutzdatenBytes;
+            this.erfolgreich = erfolgreich;
+            commit();
+        }
+    }
+
+    /**
+     * Erzeugung eines RSA-Schlüsselpaars.
+     */
+    @Name("de.suchalla.schiessbuch.Schluesselerzeugung")
+    @Label("Schlüsselerzeugung")
+    @Description("Erzeugung eines RSA-Schlüsselpaars im PKI-Executor")
+    @Category({KATEGORIE, "PKI"})
+    @StackTrace(false)
+    public static final class SchluesselEreignis extends Event {
+
+        @Label("Schlüssellänge (Bit)")
+        int bits;
+
+        /**
+         * Setzt die Felder und schreibt das Ereignis in die Aufzeichnung.
+         *
+         * @param bits Schlüssellänge
+         */
+        public void melde(int bits) {
+            if (!shouldCommit()) {
+                return;
+            }
+            this.bits = bits;
+            commit();
+        }
+    }
+
+    /**
+     * Aufbau und Signatur eines X.509-Zertifikats.
+     */
+    @Name("de.suchalla.schiessbuch.Zertifikatserstellung")
+    @Label("Zertifikatserstellung")
+    @Description("Aufbau und Signatur eines X.509-Zertifikats")
+    @Category({KATEGORIE, "PKI"})
+    @StackTrace(false)
+    public static final class ZertifikatEreignis extends Event {
+
+        @Label("Zertifikatstyp")
+        String typ;
+
+        @Label("Verein-ID")
+        long vereinId;
+
+        @Label("Schießstand-ID")
+        long schiesstandId;
+
+        @Label("Größe des Zertifikats")
+        @DataAmount
+        long zertifikatBytes;
+
+        /**
+         * Setzt die Felder und schreibt das Ereignis in die Aufzeichnung.
+         *
+         * @param typ Zertifikatstyp, z. B. {@code VEREIN}
+         * @param vereinId ID des Vereins oder null
+         * @param schiesstandId ID des Schießstands oder null
+         * @param zertifikatBytes Größe des DER-kodierten Zertifikats
+         */
+        public void melde(String typ, Long vereinId, Long schiesstandId, long zertifikatBytes) {
+            if (!shouldCommit()) {
+                return;
+            }
+            this.typ = typ;
+            this.vereinId = id(vereinId);
+            this.schiesstandId = id(schiesstandId);
+            this.zertifikatBytes = zertifikatBytes;
+            commit();
+        }
+    }
+
+    /**
+     * Seitenaufbau eines PDF-Exports bis vor dem Speichern.
+     */
+    @Name("de.suchalla.schiessbuch.PdfLayout")
+    @Label("PDF-Layout")
+    @Description("Seitenaufbau eines PDF-Exports bis vor dem Speichern")
+    @Category({KATEGORIE, "PDF"})
+    @StackTrace(false)
+    public static final class PdfLayoutEreignis extends Event {
+
+        @Label("Export")
+        String export;
+
+        @Label("Schießstand-ID")
+        long schiesstandId;
+
+        @Label("Zeilen")
+        long zeilen;
+
+        @Label("Seiten")
+        int seiten;
+
+        /**
+         * Setzt die Felder und schreibt das Ereignis in die Aufzeichnung.
+         *
+         * @param export Art des Exports, z. B. {@code schiessnachweise}
+         * @param schiesstandId ID des Schießstands oder null
+         * @param zeilen Anzahl Tabellenzeilen
+         * @param seiten Anzahl Seiten
+         */
+        public void melde(String export, Long schiesstandId, long zeilen, int seiten) {
+            if (!shouldCommit()) {
+                return;
+            }
+            this.export = export;
+            this.schiesstandId = id(schiesstandId);
+            this.zeilen = zeilen;
+            this.seiten = seiten;
+            commit();
+        }
+    }
+
+    /**
+     * Speichern eines fertig aufgebauten PDF-Dokuments.
+     */
+    @Name("de.suchalla.schiessbuch.PdfSpeichern")
+    @Label("PDF speichern")
+    @Description("Serialisieren eines fertig aufgebauten PDF-Dokuments")
+    @Category({KATEGORIE, "PDF"})
+    @StackTrace(false)
+    public static final class PdfSpeicherEreignis extends Event {
+
+        @Label("Export")
+        String export;
+
+        @Label("Seiten")
+        int seiten;
+
+        @Label("Größe")
+        @DataAmount
+        long bytes;
+
+        /**
+         * Setzt die Felder und schreibt das Ereignis in die Aufzeichnung.
+         *
+         * @param export Art des Exports
+         * @param seiten Anzahl Seiten
+         * @param bytes Größe des PDFs
+         */
+        public void melde(String export, int seiten, long bytes) {
+            if (!shouldCommit()) {
+                return;
+            }
+            this.export = export;
+            this.seiten = seiten;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+
+    /**
+     * Rendern und Einstellen einer E-Mail in den Postausgang.
+     */
+    @Name("de.suchalla.schiessbuch.EmailEinstellen")
+    @Label("E-Mail einstellen")
+    @Description("Rendern einer E-Mail-Vorlage und Einstellen in den Postausgang")
+    @Category({KATEGORIE, "E-Mail"})
+    @StackTrace(false)
+    public static final class EmailEreignis extends Event {
+
+        @Label("Vorlage")
+        String vorlage;
+
+        @Label("Größe des Inhalts")
+        @DataAmount
+        long inhaltBytes;
+
+        /**
+         * Setzt die Felder und schreibt das Ereignis in die Aufzeichnung.
+         *
+         * @param vorlage Name der Vorlage
+         * @param inhalt Gerenderter Inhalt; die Größe wird nur bei laufender Aufzeichnung berechnet
+         */
+        public void melde(String vorlage, String inhalt) {
+            if (!shouldCommit()) {
+                return;
+            }
+            this.vorlage = vorlage;
+            this.inhaltBytes = inhalt.getBytes(StandardCharsets.UTF_8).length;
+            commit();
+        }
+    }
+
+    /**
+     * Übertragung eines Blocks aus dem Postausgang über eine SMTP-Verbindung.
+     */
+    @Name("de.suchalla.schiessbuch.SmtpVersand")
+    @Label("SMTP-Versand")
+    @Description("Übertragung eines Blocks aus dem Postausgang über eine SMTP-Verbindung")
+    @Category({KATEGORIE, "E-Mail"})
+    @StackTrace(false)
+    public static final class SmtpEreignis extends Event {
+
+        @Label("Nachrichten")
+        int nachrichten;
+
+        @Label("Fehlgeschlagen")
+        int fehlgeschlagen;
+
+        @Label("Größe der Inhalte")
+        @DataAmount
+        long inhaltBytes;
+
+        /**
+         * Setzt die Felder und schreibt das Ereignis in die Aufzeichnung.
+         *
+         * @param nachrichten Anzahl übertragener Nachrichten
+         * @param fehlgeschlagen Davon nicht zugestellt
+         * @param inhaltBytes Summe der Inhaltslängen
+         */
+        public void melde(int nachrichten, int fehlgeschlagen, long inhaltBytes) {
+            if (!shouldCommit()) {
+                return;
+            }
+            this.nachrichten = nachrichten;
+            this.fehlgeschlagen = fehlgeschlagen;
+            this.inhaltBytes = inhaltBytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package de.suchalla.schiessbuch.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator-Endpunkt {@code /actuator/leistung}: fasst je Operation Anzahl, Fehler, Mittelwert, Maximum
+ * und p50/p95/p99 in Millisekunden zusammen. Erfasst werden die Operationen der {@link Leistungsmessung}
+ * sowie die Repository-Aufrufe von Spring Data ({@code repository.<Repository>.<Methode>}). Anzahl,
+ * Mittelwert und Maximum umfassen bei beiden Arten alle Aufrufe einschließlich der fehlgeschlagenen;
+ * Spring Data führt dafür je Ausgang ({@code state}) einen eigenen Timer, deren Werte hier zusammengefasst
+ * werden. Perzentile lassen sich nicht zusammenfassen und stammen bei Repository-Aufrufen nur aus den
+ * erfolgreichen. Wie alle Actuator-Endpunkte außer Health ist er nur für Administratoren freigegeben.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "leistung")
+public class LeistungsEndpoint {
+
+    static final String REPOSITORY_AUFRUFE = "spring.data.repository.invocations";
+
+    private final MeterRegistry registry;
+
+    /**
+     * Konstruktor.
+     *
+     * @param registry Registry mit den Metriken
+     */
+    public LeistungsEndpoint(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return Kennzahlen je Operation, nach Name sortiert
+     */
+    @ReadOperation
+    public Map<String, Kennzahlen> leistung() {
+        Map<String, Kennzahlen> ergebnis = new TreeMap<>();
+        for (Timer timer : registry.find(Leistungsmessung.DAUER).timers()) {
+            String operation = timer.getId().getTag("operation");
+            double fehler = registry.find(Leistungsmessung.AUFRUFE)
+                    .tag("operation", operation).tag("outcome", "error")
+                    .counters().stream().mapToDouble(Counter::count).sum();
+            ergebnis.put(operation, Kennzahlen.aus(timer, (long) fehler));
+        }
+        Map<String, List<Timer>> repositoryTimer = new TreeMap<>();
+        for (Timer timer : registry.find(REPOSITORY_AUFRUFE).timers()) {
+            String operation = "repository." + timer.getId().getTag("repository") + "." + timer.getId().getTag("method");
+            repositoryTimer.computeIfAbsent(operation, o -> new ArrayList<>()).add(timer);
+        }
+        repositoryTimer.forEach((operation, timer) -> ergebnis.put(operation, Kennzahlen.aus(timer)));
+        return ergebnis;
+    }
+
+    /**
+     * Kennzahlen einer Operation; Zeiten in Millisekunden, Perzentile null, wenn der Timer keine berechnet.
+     *
+     * @param anzahl Anzahl der gemessenen Aufrufe
+     * @param fehler Davon fehlgeschlagen
+     * @param mittelwert Mittlere Dauer
+     * @param max Höchste Dauer im aktuellen Zeitfenster
+     * @param p50 Median
+     * @param p95 95. Perzentil
+     * @param p99 99. Perzentil
+     */
+    public record Kennzahlen(long anzahl, long fehler, double mittelwert, double max, Double p50, Double p95, Double p99) {
+
+        /**
+         * Fasst die Timer einer Repository-Methode über alle Ausgänge zusammen.
+         */
+        static Kennzahlen aus(List<Timer> timerJeAusgang) {
+            long anzahl = 0;
+            long fehler = 0;
+            double summe = 0;
+            double max = 0;
+            HistogramSnapshot erfolgreich = null;
+            for (Timer timer : timerJeAusgang) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                String ausgang = timer.getId().getTag("state");
+                anzahl += snapshot.count();
+                summe += snapshot.total(TimeUnit.MILLISECONDS);
+                max = Math.max(max, snapshot.max(TimeUnit.MILLISECONDS));
+                if ("ERROR".equals(ausgang)) {
+                    fehler += snapshot.count();
+                } else if ("SUCCESS".equals(ausgang)) {
+                    erfolgreich = snapshot;
+                }
+            }
+            return new Kennzahlen(anzahl, fehler, anzahl > 0 ? summe / anzahl : 0, max,
+                    erfolgreich != null ? perzentil(erfolgreich, 0.5) : null,
+                    erfolgreich != null ? perzentil(erfolgreich, 0.95) : null,
+                    erfolgreich != null ? perzentil(erfolgreich, 0.99) : null);
+        }
+
+        static Kennzahlen aus(Timer timer, long fehler) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            return new Kennzahlen(snapshot.count(), fehler,
+                    snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS),
+                    perzentil(snapshot, 0.5), perzentil(snapshot, 0.95), perzentil(snapshot, 0.99));
+        }
+
+        private static Double perzentil(HistogramSnapshot snapshot, double perzentil) {
+            for (ValueAtPercentile wert : snapshot.percentileValues()) {
+                if (wert.percentile() == perzentil) {
+                    return wert.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package de.suchalla.schiessbuch.config;
+
+import de.suchalla.schiessbuch.model.entity.Schiesstand;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Hibernate;
+
+/**
+ * Misst Dauer und Ausgang fachlicher Operationen (Signieren, Zertifikate, PDF-Export, E-Mail).
+ * <p>
+ * Je Operation entsteht ein Timer {@code schiessbuch.operation} (Tag {@code operation}) mit p50/p95/p99,
+ * dazu der Zähler {@code schiessbuch.operation.aufrufe} mit den Tags {@code operation}, {@code outcome},
+ * {@code verein} und {@code schiesstand}. Die Perzentile bleiben so je Operation aussagekräftig, während
+ * sich Aufrufe und Fehler trotzdem je Verein und Schießstand auswerten lassen. Eine Zusammenfassung liefert
+ * der Actuator-Endpunkt {@code leistung} (siehe {@link LeistungsEndpoint}).
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public class Leistungsmessung {
+
+    /** Name des Timers je Operation. */
+    public static final String DAUER = "schiessbuch.operation";
+
+    /** Name des Zählers je Operation, Ausgang, Verein und Schießstand. */
+    public static final String AUFRUFE = "schiessbuch.operation.aufrufe";
+
+    private static final String OHNE = "-";
+
+    /** Bezug für Operationen ohne Verein und Schießstand. */
+    public static final Tags OHNE_BEZUG = Tags.of("verein", OHNE, "schiesstand", OHNE);
+
+    private final MeterRegistry registry;
+
+    /**
+     * Konstruktor.
+     *
+     * @param registry Registry für die Metriken
+     */
+    public Leistungsmessung(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Führt die Operation aus und misst sie. Ausnahmen werden unverändert weitergegeben und als
+     * {@code outcome=error} gezählt.
+     *
+     * @param operation Name der Operation, z. B. {@code signatur.signieren}
+     * @param bezug Verein und Schießstand der Operation, siehe {@link #bezug(Schiesstand)}
+     * @param aufgabe Die Operation
+     * @param <T> Ergebnistyp
+     * @param <E> Ausnahme der Operation
+     * @return Das Ergebnis der Operation
+     * @throws E wenn die Operation fehlschlägt
+     */
+    public <T, E extends Exception> T messe(String operation, Tags bezug, Messung<T, E> aufgabe) throws E {
+        Timer.Sample start = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T ergebnis = aufgabe.ausfuehren();
+            outcome = "success";
+            return ergebnis;
+        } finally {
+            start.stop(Timer.builder(DAUER)
+                    .tag("operation", operation)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .description("Dauer fachlicher Operationen")
+                    .register(registry));
+            Counter.builder(AUFRUFE)
+                    .tags(OHNE_BEZUG.and(bezug))
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .description("Aufrufe fachlicher Operationen je Ausgang, Verein und Schießstand")
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    /**
+     * @param schiesstand Der Schießstand oder null
+     * @return Tags mit Schießstand und, falls bereits geladen, dessen Verein
+     */
+    public static Tags bezug(Schiesstand schiesstand) {
+        if (schiesstand == null) {
+            return OHNE_BEZUG;
+        }
+        // Verein nur lesen, wenn der Schießstand geladen ist; sonst würde die Messung nachladen
+        Verein verein = Hibernate.isInitialized(schiesstand) ? schiesstand.getVerein() : null;
+        return bezug(verein).and("schiesstand", id(schiesstand.getId()));
+    }
+
+    /**
+     * @param verein Der Verein oder null
+     * @return Tags mit dem Verein
+     */
+    public static Tags bezug(Verein verein) {
+        return OHNE_BEZUG.and("verein", verein != null ? id(verein.getId()) : OHNE);
+    }
+
+    private static String id(Long id) {
+        return id != null ? id.toString() : OHNE;
+    }
+
+    /**
+     * Gemessene Operation, die auch geprüfte Ausnahmen werfen darf.
+     *
+     * @param <T> Ergebnistyp
+     * @param <E> Ausnahme der Operation
+     */
+    @FunctionalInterface
+    public interface Messung<T, E extends Exception> {
+
+        /**
+         * @return Das Ergebnis der Operation
+         * @throws E wenn die Operation fehlschlägt
+         */
+        T ausfuehren() throws E;
+    }
+}
@@ -0,0 +1,29 @@
+package de.suchalla.schiessbuch.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Stellt die {@link Leistungsmessung} der Services bereit.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Configuration
+public class MetrikKonfiguration {
+
+    /**
+     * Leistungsmessung auf der Registry von Actuator. Ohne Registry, etwa in Test-Slices, wird in die
+     * globale Registry gemessen, die ohne angeschlossene Registries nichts aufzeichnet.
+     *
+     * @param registry Registry für die Metriken, sofern vorhanden
+     * @return Die Leistungsmessung
+     */
+    @Bean
+    public Leistungsmessung leistungsmessung(ObjectProvider<MeterRegistry> registry) {
+        return new Leistungsmessung(registry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -0,0 +1,112 @@
+package de.suchalla.schiessbuch.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Richtet das Lesen von Replikaten ein, sobald {@code app.datasource.replika.urls} gesetzt ist.
+ * Ohne diese Eigenschaft bleibt es bei der von Spring Boot konfigurierten einzelnen DataSource.
+ * <p>
+ * Die Primärdatenbank wird wie gewohnt über {@code spring.datasource.*} konfiguriert; Replikate verwenden
+ * Benutzer und Passwort der Primärdatenbank, sofern keine eigenen angegeben sind. Die Pool-Einstellungen
+ * {@code spring.datasource.hikari.*} gelten wie bei Spring Boot für die Primärdatenbank und auch für jedes
+ * Replikat; {@code app.datasource.replika.hikari.*} überschreibt sie nur für die Replikate.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replika.urls")
+public class ReplikaKonfiguration {
+
+    /**
+     * Standardabfrage der Replikationsverzögerung für PostgreSQL-Standby-Server. Ist alles Empfangene
+     * eingespielt, gilt das Replikat als aktuell, auch wenn länger keine Transaktion repliziert wurde.
+     */
+    static final String POSTGRES_VERZOEGERUNG_SQL = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() " +
+            "THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    /**
+     * Routing-DataSource über Primärdatenbank und Replikate.
+     *
+     * @param properties Die Eigenschaften der Primärdatenbank
+     * @param environment Umgebung mit den Hikari-Einstellungen der Pools
+     * @param urls JDBC-URLs der Replikate
+     * @param benutzername Benutzer für die Replikate (leer: wie Primärdatenbank)
+     * @param passwort Passwort für die Replikate (leer: wie Primärdatenbank)
+     * @param verzoegerungSql Abfrage der Replikationsverzögerung in Sekunden (leer: PostgreSQL-Standard)
+     * @param maxVerzoegerung Größte zulässige Replikationsverzögerung
+     * @param leseEigeneSchreibzugriffe Zeitfenster für read-your-writes nach einem Schreibzugriff
+     * @return Die Routing-DataSource
+     */
+    @Bean
+    public ReplikaRoutingDataSource replikaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${app.datasource.replika.urls}") List<String> urls,
+            @Value("${app.datasource.replika.username:}") String benutzername,
+            @Value("${app.datasource.replika.password:}") String passwort,
+            @Value("${app.datasource.replika.verzoegerung-sql:}") String verzoegerungSql,
+            @Value("${app.datasource.replika.max-verzoegerung:PT5S}") Duration maxVerzoegerung,
+            @Value("${app.datasource.replika.lese-eigene-schreibzugriffe:PT10S}") Duration leseEigeneSchreibzugriffe) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primaer = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primaer));
+        primaer.setPoolName("primaer");
+
+        Map<String, DataSource> replikas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replika-" + (i + 1);
+            HikariDataSource replika = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i).trim())
+                    .username(benutzername.isBlank() ? properties.determineUsername() : benutzername)
+                    .password(passwort.isBlank() ? properties.determinePassword() : passwort)
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replika));
+            binder.bind("app.datasource.replika.hikari", Bindable.ofInstance(replika));
+            // eine jdbc-url in den gemeinsamen Hikari-Einstellungen darf das Replikat nicht umleiten
+            replika.setJdbcUrl(urls.get(i).trim());
+            replika.setPoolName(name);
+            replika.setReadOnly(true);
+            replikas.put(name, replika);
+        }
+
+        ReplikaRoutingDataSource routing = new ReplikaRoutingDataSource(primaer, replikas,
+                verzoegerungSql.isBlank() ? POSTGRES_VERZOEGERUNG_SQL : verzoegerungSql,
+                maxVerzoegerung, leseEigeneSchreibzugriffe, Clock.systemUTC());
+        routing.pruefeReplikas();
+        return routing;
+    }
+
+    /**
+     * Die von JPA, Flyway und JDBC verwendete DataSource. Der Proxy holt die Verbindung erst beim ersten
+     * Statement, wenn bereits feststeht, ob die Transaktion read-only ist.
+     *
+     * @param routing Die Routing-DataSource
+     * @return Die DataSource der Anwendung
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplikaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
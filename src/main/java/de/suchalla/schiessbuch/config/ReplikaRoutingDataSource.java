@@ -0,0 +1,197 @@
+package de.suchalla.schiessbuch.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verteilt read-only Transaktionen auf Lesereplikate, alle übrigen Zugriffe gehen an die Primärdatenbank.
+ * <p>
+ * Die Entscheidung fällt beim Holen der Verbindung anhand von
+ * {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()}; die DataSource muss daher
+ * hinter einem {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} liegen, damit die
+ * Verbindung erst nach dem Transaktionsbeginn geholt wird.
+ * <ul>
+ *     <li>Replikate, deren Replikationsverzögerung über dem Grenzwert liegt oder die nicht erreichbar sind,
+ *     werden bis zur nächsten Prüfung ausgelassen; sind keine verfügbar, liest die Primärdatenbank.</li>
+ *     <li>Nach einem eigenen Schreibzugriff liest derselbe Benutzer für ein kurzes Zeitfenster von der
+ *     Primärdatenbank (read-your-writes), damit gerade gespeicherte Daten nicht scheinbar fehlen.</li>
+ * </ul>
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Slf4j
+public class ReplikaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    /** Lookup-Schlüssel der Primärdatenbank. */
+    static final String PRIMAER = "primaer";
+
+    private final DataSource primaer;
+    private final Map<String, DataSource> replikas;
+    private final Map<String, Boolean> verfuegbar = new ConcurrentHashMap<>();
+    private final Map<String, Instant> letzteSchreibzugriffe = new ConcurrentHashMap<>();
+    private final AtomicInteger naechsteReplika = new AtomicInteger();
+    private final String verzoegerungSql;
+    private final Duration maxVerzoegerung;
+    private final Duration leseEigeneSchreibzugriffe;
+    private final Clock clock;
+
+    /**
+     * Konstruktor. Alle Replikate gelten bis zur ersten {@link #pruefeReplikas() Prüfung} als nicht verfügbar.
+     *
+     * @param primaer Die Primärdatenbank
+     * @param replikas Die Lesereplikate nach Name
+     * @param verzoegerungSql Abfrage, die auf einem Replikat die Replikationsverzögerung in Sekunden liefert
+     * @param maxVerzoegerung Größte zulässige Replikationsverzögerung
+     * @param leseEigeneSchreibzugriffe Zeitfenster nach einem Schreibzugriff, in dem der Benutzer primär liest
+     * @param clock Uhr für das Zeitfenster
+     */
+    public ReplikaRoutingDataSource(DataSource primaer, Map<String, DataSource> replikas, String verzoegerungSql,
+                                    Duration maxVerzoegerung, Duration leseEigeneSchreibzugriffe, Clock clock) {
+        this.primaer = primaer;
+        this.replikas = new LinkedHashMap<>(replikas);
+        this.verzoegerungSql = verzoegerungSql;
+        this.maxVerzoegerung = maxVerzoegerung;
+        this.leseEigeneSchreibzugriffe = leseEigeneSchreibzugriffe;
+        this.clock = clock;
+
+        Map<Object, Object> ziele = new HashMap<>(this.replikas);
+        ziele.put(PRIMAER, primaer);
+        setTargetDataSources(ziele);
+        setDefaultTargetDataSource(primaer);
+        setLenientFallback(false);
+        this.replikas.keySet().forEach(name -> verfuegbar.put(name, false));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                merkeSchreibzugriff();
+            }
+            return PRIMAER;
+        }
+        String benutzer = aktuellerBenutzer();
+        if (benutzer != null && liestEigeneSchreibzugriffe(benutzer)) {
+            return PRIMAER;
+        }
+        List<String> kandidaten = verfuegbareReplikas();
+        if (kandidaten.isEmpty()) {
+            return PRIMAER;
+        }
+        return kandidaten.get(Math.floorMod(naechsteReplika.getAndIncrement(), kandidaten.size()));
+    }
+
+    /**
+     * Prüft die Replikationsverzögerung aller Replikate und entfernt abgelaufene read-your-writes-Fenster.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replika.pruef-intervall:PT10S}")
+    public void pruefeReplikas() {
+        replikas.forEach((name, dataSource) -> {
+            boolean jetztVerfuegbar = pruefe(name, dataSource);
+            Boolean vorher = verfuegbar.put(name, jetztVerfuegbar);
+            if (!Boolean.valueOf(jetztVerfuegbar).equals(vorher)) {
+                log.info("Lesereplikat {} ist {}", name, jetztVerfuegbar ? "verfügbar" : "nicht verfügbar");
+            }
+        });
+        Instant jetzt = clock.instant();
+        letzteSchreibzugriffe.values().removeIf(zeitpunkt -> !zeitpunkt.plus(leseEigeneSchreibzugriffe).isAfter(jetzt));
+    }
+
+    /**
+     * Liefert die Namen der derzeit für Lesezugriffe verwendeten Replikate.
+     *
+     * @return Namen der verfügbaren Replikate
+     */
+    public List<String> verfuegbareReplikas() {
+        List<String> kandidaten = new ArrayList<>();
+        replikas.keySet().forEach(name -> {
+            if (verfuegbar.getOrDefault(name, false)) {
+                kandidaten.add(name);
+            }
+        });
+        return kandidaten;
+    }
+
+    /**
+     * Schließt die Verbindungspools von Primärdatenbank und Replikaten.
+     *
+     * @throws Exception wenn ein Pool nicht geschlossen werden kann
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : replikas.values()) {
+            if (dataSource instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+        if (primaer instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private boolean pruefe(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(verzoegerungSql)) {
+            double sekunden = rs.next() ? rs.getDouble(1) : 0;
+            if (sekunden * 1000 > maxVerzoegerung.toMillis()) {
+                log.warn("Lesereplikat {} liegt {} s zurück (erlaubt: {})", name, sekunden, maxVerzoegerung);
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("Lesereplikat {} nicht erreichbar: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private void merkeSchreibzugriff() {
+        String benutzer = aktuellerBenutzer();
+        if (benutzer == null) {
+            return;
+        }
+        letzteSchreibzugriffe.put(benutzer, clock.instant());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Das Fenster beginnt erst mit dem Commit, damit lange Schreibtransaktionen es nicht aufbrauchen
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    letzteSchreibzugriffe.put(benutzer, clock.instant());
+                }
+            });
+        }
+    }
+
+    private boolean liestEigeneSchreibzugriffe(String benutzer) {
+        Instant zeitpunkt = letzteSchreibzugriffe.get(benutzer);
+        return zeitpunkt != null && zeitpunkt.plus(leseEigeneSchreibzugriffe).isAfter(clock.instant());
+    }
+
+    private static String aktuellerBenutzer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
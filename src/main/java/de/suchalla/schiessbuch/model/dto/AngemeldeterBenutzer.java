@@ -0,0 +1,107 @@
+package de.suchalla.schiessbuch.model.dto;
+
+import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Unveränderlicher Schnappschuss des angemeldeten Benutzers, der in der Vaadin-Session
+ * zwischengespeichert wird (Navigation, Menü, Berechtigungsprüfungen).
+ *
+ * @param id ID des Benutzers
+ * @param email E-Mail-Adresse (Benutzername)
+ * @param vorname Vorname
+ * @param nachname Nachname
+ * @param rolle Rolle des Benutzers
+ * @param mitgliedschaften Alle Vereinsmitgliedschaften des Benutzers
+ * @param schiesstandIds IDs der Schießstände, die der Benutzer beaufsichtigen darf
+ * @param stand Berechtigungsstand des Benutzers, zu dem der Schnappschuss geladen wurde
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record AngemeldeterBenutzer(Long id, String email, String vorname, String nachname, BenutzerRolle rolle,
+                                   List<Mitgliedschaft> mitgliedschaften, List<Long> schiesstandIds,
+                                   long stand) implements Serializable {
+
+    /**
+     * Kompakter Konstruktor, der die Listen unveränderlich kopiert.
+     */
+    public AngemeldeterBenutzer {
+        mitgliedschaften = List.copyOf(mitgliedschaften);
+        schiesstandIds = List.copyOf(schiesstandIds);
+    }
+
+    /**
+     * Erstellt den Schnappschuss eines Benutzers mit geladenen Vereinsmitgliedschaften.
+     *
+     * @param benutzer Der Benutzer
+     * @param schiesstandIds IDs der Schießstände, die der Benutzer beaufsichtigen darf
+     * @return Der Schnappschuss zum Berechtigungsstand des Benutzers
+     */
+    public static AngemeldeterBenutzer von(Benutzer benutzer, List<Long> schiesstandIds) {
+        List<Mitgliedschaft> mitgliedschaften = benutzer.getVereinsmitgliedschaften() == null ? List.of()
+                : benutzer.getVereinsmitgliedschaften().stream()
+                        .map(m -> new Mitgliedschaft(m.getId(),
+                                m.getVerein() != null ? m.getVerein().getId() : null,
+                                m.getStatus(),
+                                Boolean.TRUE.equals(m.getIstAufseher()),
+                                Boolean.TRUE.equals(m.getIstVereinschef())))
+                        .toList();
+        return new AngemeldeterBenutzer(benutzer.getId(), benutzer.getEmail(), benutzer.getVorname(),
+                benutzer.getNachname(), benutzer.getRolle(), mitgliedschaften, schiesstandIds,
+                benutzer.getBerechtigungStand());
+    }
+
+    /**
+     * Gibt den vollständigen Namen zurück.
+     *
+     * @return Vorname und Nachname
+     */
+    public String vollstaendigerName() {
+        return vorname + " " + nachname;
+    }
+
+    /**
+     * Prüft, ob der Benutzer in einem Verein Aufseher ist.
+     *
+     * @return true bei mindestens einer Aufseher-Mitgliedschaft
+     */
+    public boolean istAufseher() {
+        return mitgliedschaften.stream().anyMatch(Mitgliedschaft::istAufseher);
+    }
+
+    /**
+     * Prüft, ob der Benutzer in einem Verein Vereinschef ist.
+     *
+     * @return true bei mindestens einer Vereinschef-Mitgliedschaft
+     */
+    public boolean istVereinschef() {
+        return mitgliedschaften.stream().anyMatch(Mitgliedschaft::istVereinschef);
+    }
+
+    /**
+     * Prüft, ob der Benutzer die angegebene Rolle hat.
+     *
+     * @param erwartet Die Rolle
+     * @return true, wenn die Rolle übereinstimmt
+     */
+    public boolean hatRolle(BenutzerRolle erwartet) {
+        return rolle == erwartet;
+    }
+
+    /**
+     * Vereinsmitgliedschaft im Schnappschuss.
+     *
+     * @param id ID der Mitgliedschaft
+     * @param vereinId ID des Vereins
+     * @param status Status der Mitgliedschaft
+     * @param istAufseher Aufseher im Verein
+     * @param istVereinschef Vereinschef des Vereins
+     */
+    public record Mitgliedschaft(Long id, Long vereinId, MitgliedschaftsStatus status,
+                                 boolean istAufseher, boolean istVereinschef) implements Serializable {
+    }
+}
@@ -0,0 +1,12 @@
+package de.suchalla.schiessbuch.model.dto;
+
+/**
+ * Ergebnis einer gruppierten Zählung je Bezugsobjekt (Schießstand, Verein oder Benutzer).
+ *
+ * @param bezugId ID des Bezugsobjekts
+ * @param anzahl Anzahl
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record AnzahlProBezug(Long bezugId, Long anzahl) {
+}
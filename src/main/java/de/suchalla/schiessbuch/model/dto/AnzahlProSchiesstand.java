@@ -0,0 +1,12 @@
+package de.suchalla.schiessbuch.model.dto;
+
+/**
+ * Ergebnis einer gruppierten Zählung: Anzahl von Einträgen je Schießstand.
+ *
+ * @param schiesstandId ID des Schießstands
+ * @param anzahl Anzahl der Einträge
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record AnzahlProSchiesstand(Long schiesstandId, Long anzahl) {
+}
@@ -0,0 +1,19 @@
+package de.suchalla.schiessbuch.model.dto;
+
+import de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus;
+
+/**
+ * Empfänger einer Vereinsbenachrichtigung (Vereinschef oder Aufseher). In der Anwendung erreichbar ist
+ * jeder Empfänger; per E-Mail nur, wenn {@code perEmail} gesetzt ist.
+ *
+ * @param benutzerId ID des Benutzers
+ * @param email E-Mail-Adresse
+ * @param name Vollständiger Name
+ * @param modus Zustellart der Signaturanfragen
+ * @param perEmail true, wenn E-Mail-Benachrichtigungen aktiviert sind und eine E-Mail-Adresse hinterlegt ist
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record Benachrichtigungsempfaenger(Long benutzerId, String email, String name, BenachrichtigungsModus modus,
+                                          boolean perEmail) {
+}
@@ -0,0 +1,13 @@
+package de.suchalla.schiessbuch.model.dto;
+
+/**
+ * Kennzahlen eines Benutzers für die Statistik-Kacheln des Dashboards.
+ *
+ * @param unsignierteEintraege Eigene unsignierte Einträge
+ * @param offeneEintraege Zu signierende Einträge an den Schießständen des eigenen Vereins
+ * @param beitrittsanfragen Offene Beitrittsanfragen des eigenen Vereins
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record DashboardStatistik(long unsignierteEintraege, long offeneEintraege, long beitrittsanfragen) {
+}
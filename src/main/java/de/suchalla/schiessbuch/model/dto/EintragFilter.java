@@ -0,0 +1,32 @@
+package de.suchalla.schiessbuch.model.dto;
+
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Filterkriterien für die seitenweise Abfrage von Schießnachweis-Einträgen.
+ * Leere Felder (null) bedeuten "nicht filtern".
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EintragFilter {
+
+    private LocalDate von;
+    private LocalDate bis;
+
+    @Builder.Default
+    private Set<EintragStatus> status = EnumSet.allOf(EintragStatus.class);
+
+    private String disziplinProgramm;
+    private String vereinName;
+    private String verbandName;
+}
@@ -0,0 +1,28 @@
+package de.suchalla.schiessbuch.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Benachrichtigung, die angemeldeten Benutzern direkt in der Anwendung angezeigt wird.
+ *
+ * @param titel Kurzer Titel
+ * @param text Beschreibung
+ * @param link Relativer Pfad der zugehörigen Ansicht, z. B. {@code meine-eintraege}
+ * @param zeitpunkt Zeitpunkt der Benachrichtigung
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record InAppBenachrichtigung(String titel, String text, String link, LocalDateTime zeitpunkt) {
+
+    /**
+     * Erstellt eine Benachrichtigung mit dem aktuellen Zeitpunkt.
+     *
+     * @param titel Kurzer Titel
+     * @param text Beschreibung
+     * @param link Relativer Pfad der zugehörigen Ansicht
+     * @return Die Benachrichtigung
+     */
+    public static InAppBenachrichtigung jetzt(String titel, String text, String link) {
+        return new InAppBenachrichtigung(titel, text, link, LocalDateTime.now());
+    }
+}
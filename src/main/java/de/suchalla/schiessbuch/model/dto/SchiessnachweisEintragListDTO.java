@@ -0,0 +1,73 @@
+package de.suchalla.schiessbuch.model.dto;
+
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Lese-Projektion eines Schießnachweis-Eintrags für Grid-Ansichten und PDF-Exporte.
+ * Enthält nur die angezeigten Spalten und wird direkt per JPQL-Konstruktorausdruck befüllt,
+ * sodass weder Benutzer, Disziplin, Schießstand noch Zertifikat (inkl. PEM) geladen werden.
+ * Für Schreibvorgänge wird weiterhin die Entity über die ID geladen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record SchiessnachweisEintragListDTO(
+        Long id,
+        LocalDate datum,
+        EintragStatus status,
+        String schuetzeVorname,
+        String schuetzeNachname,
+        String disziplinKennziffer,
+        String disziplinProgramm,
+        String disziplinWaffeKlasse,
+        String schiesstandName,
+        String vereinName,
+        String kaliber,
+        String waffenart,
+        Integer anzahlSchuesse,
+        String ergebnis,
+        String aufseherVorname,
+        String aufseherNachname,
+        LocalDateTime signiertAm,
+        String zertifikatSeriennummer) {
+
+    /**
+     * Hilfsmethode für den vollständigen Namen des Schützen.
+     *
+     * @return Vorname + Nachname
+     */
+    public String schuetzeName() {
+        return schuetzeVorname + " " + schuetzeNachname;
+    }
+
+    /**
+     * Hilfsmethode für den vollständigen Namen des Aufsehers.
+     *
+     * @return Vorname + Nachname oder null, wenn kein Aufseher gesetzt ist
+     */
+    public String aufseherName() {
+        if (aufseherVorname == null && aufseherNachname == null) {
+            return null;
+        }
+        return aufseherVorname + " " + aufseherNachname;
+    }
+
+    /**
+     * Anzeigetext der Disziplin aus Kennziffer, Programm und Waffenklasse.
+     *
+     * @return Bezeichnung der Disziplin
+     */
+    public String disziplinBezeichnung() {
+        String label = disziplinKennziffer;
+        if (disziplinProgramm != null && !disziplinProgramm.isEmpty()) {
+            label += " - " + disziplinProgramm;
+        }
+        if (disziplinWaffeKlasse != null && !disziplinWaffeKlasse.isEmpty()) {
+            label += " - " + disziplinWaffeKlasse;
+        }
+        return label;
+    }
+}
@@ -0,0 +1,28 @@
+package de.suchalla.schiessbuch.model.dto;
+
+import java.util.Map;
+
+/**
+ * Kennzahlen eines Vereins für das Dashboard.
+ *
+ * @param offeneEintraegeProSchiesstand Unsignierte Einträge je Schießstand (nur Stände mit offenen Einträgen)
+ * @param beitrittsanfragen Anzahl offener Beitrittsanfragen
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record VereinsStatistik(Map<Long, Long> offeneEintraegeProSchiesstand, long beitrittsanfragen) {
+
+    /**
+     * Leere Statistik für Benutzer ohne Aufseher- oder Vereinschef-Funktion.
+     */
+    public static final VereinsStatistik LEER = new VereinsStatistik(Map.of(), 0);
+
+    /**
+     * Summe der unsignierten Einträge über alle Schießstände des Vereins.
+     *
+     * @return Anzahl offener Einträge
+     */
+    public long offeneEintraege() {
+        return offeneEintraegeProSchiesstand.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
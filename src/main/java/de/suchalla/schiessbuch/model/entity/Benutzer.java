@@ -1,6 +1,7 @@
 package de.suchalla.schiessbuch.model.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus;
 import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -30,7 +31,8 @@ import java.util.Set;
 public class Benutzer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benutzer_seq")
+    @SequenceGenerator(name = "benutzer_seq", sequenceName = "benutzer_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -72,6 +74,22 @@ public class Benutzer {
     @Builder.Default
     private boolean emailNotificationsEnabled = true;
 
+    /**
+     * Zustellart der Signaturanfragen, falls der Benutzer Vereinschef oder Aufseher ist.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "benachrichtigungs_modus", nullable = false, length = 20)
+    @Builder.Default
+    private BenachrichtigungsModus benachrichtigungsModus = BenachrichtigungsModus.SOFORT;
+
+    /**
+     * Fortlaufender Stand von Rolle, Mitgliedschaften und beaufsichtigten Schießständen. Wird nur per
+     * {@code BenutzerRepository.erhoeheBerechtigungStand} fortgeschrieben, nie beim Speichern der Entity.
+     */
+    @Column(name = "berechtigung_stand", nullable = false, updatable = false)
+    @Builder.Default
+    private long berechtigungStand = 0;
+
     @OneToMany(mappedBy = "benutzer", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     @ToString.Exclude
@@ -27,7 +27,8 @@ import java.time.LocalDateTime;
 public class DigitalesZertifikat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "digitales_zertifikat_seq")
+    @SequenceGenerator(name = "digitales_zertifikat_seq", sequenceName = "digitales_zertifikat_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
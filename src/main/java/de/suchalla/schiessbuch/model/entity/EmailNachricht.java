@@ -0,0 +1,68 @@
+package de.suchalla.schiessbuch.model.entity;
+
+import de.suchalla.schiessbuch.model.enums.EmailStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity-Klasse für E-Mails im Postausgang. Der Inhalt wird beim Einstellen fertig gerendert,
+ * damit der Versand keine Fachdaten mehr nachladen muss.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "email_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "inhalt")
+public class EmailNachricht {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String empfaenger;
+
+    @Column(nullable = false)
+    private String betreff;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String inhalt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private EmailStatus status = EmailStatus.OFFEN;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int versuche = 0;
+
+    @Column(name = "naechster_versuch", nullable = false)
+    private LocalDateTime naechsterVersuch;
+
+    @Column(name = "letzter_fehler", length = 1000)
+    private String letzterFehler;
+
+    @Column(name = "erstellt_am", nullable = false, updatable = false)
+    private LocalDateTime erstelltAm;
+
+    @Column(name = "gesendet_am")
+    private LocalDateTime gesendetAm;
+
+    @PrePersist
+    protected void onCreate() {
+        erstelltAm = LocalDateTime.now();
+        if (naechsterVersuch == null) {
+            naechsterVersuch = erstelltAm;
+        }
+    }
+}
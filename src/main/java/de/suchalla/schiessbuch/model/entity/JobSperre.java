@@ -0,0 +1,33 @@
+package de.suchalla.schiessbuch.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity-Klasse für Lease-Sperren geplanter Jobs. Ein Knoten hält die Sperre eines Jobs bis
+ * {@code gesperrtBis}; danach kann ein anderer Knoten sie übernehmen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "job_sperre")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class JobSperre {
+
+    @Id
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "gesperrt_bis", nullable = false)
+    private LocalDateTime gesperrtBis;
+
+    @Column(name = "gesperrt_von", nullable = false)
+    private String gesperrtVon;
+}
@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 public class SchiessnachweisEintrag {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schiessnachweise_eintrag_seq")
+    @SequenceGenerator(name = "schiessnachweise_eintrag_seq", sequenceName = "schiessnachweise_eintrag_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
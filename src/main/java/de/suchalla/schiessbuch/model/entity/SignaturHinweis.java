@@ -0,0 +1,51 @@
+package de.suchalla.schiessbuch.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vorgemerkte Signaturanfrage für einen Empfänger im Modus
+ * {@link de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus#ZUSAMMENFASSUNG}.
+ * Schießstand und Eintrag werden nur als Momentaufnahme gespeichert, damit Löschungen nicht blockiert werden.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "signatur_hinweis")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "empfaenger")
+public class SignaturHinweis {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "signatur_hinweis_seq")
+    @SequenceGenerator(name = "signatur_hinweis_seq", sequenceName = "signatur_hinweis_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "empfaenger_id", nullable = false)
+    private Benutzer empfaenger;
+
+    @Column(name = "schiesstand_id")
+    private Long schiesstandId;
+
+    @Column(name = "schiesstand_name")
+    private String schiesstandName;
+
+    @Column(name = "eintrag_id")
+    private Long eintragId;
+
+    @Column(name = "erstellt_am", nullable = false, updatable = false)
+    private LocalDateTime erstelltAm;
+
+    @PrePersist
+    protected void onCreate() {
+        erstelltAm = LocalDateTime.now();
+    }
+}
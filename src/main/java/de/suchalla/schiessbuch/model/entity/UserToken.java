@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Table(name = "user_token")
 public class UserToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_token_seq")
+    @SequenceGenerator(name = "user_token_seq", sequenceName = "user_token_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -24,10 +26,12 @@ import java.util.Set;
 @Builder
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(exclude = "vereine")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "verband")
 public class Verband {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "verband_seq")
+    @SequenceGenerator(name = "verband_seq", sequenceName = "verband_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -46,6 +50,7 @@ public class Verband {
     private LocalDateTime aktualisiertAm;
 
     @ManyToMany(mappedBy = "verbaende")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "verband-vereine")
     @Builder.Default
     @JsonIgnore
     private Set<Verein> vereine = new HashSet<>();
@@ -4,6 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -23,10 +26,12 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "verein")
 public class Verein {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "verein_seq")
+    @SequenceGenerator(name = "verein_seq", sequenceName = "verein_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -39,7 +44,14 @@ public class Verein {
     @Column(length = 1000)
     private String beschreibung;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    /**
+     * Verbände des Vereins. Wird bewusst nicht mehr eager geladen, damit nicht jede Verein-Referenz
+     * (etwa über Schießstände oder Mitgliedschaften) eine weitere Abfrage auslöst; wo die Verbände
+     * benötigt werden, laden Entity-Graphen sie mit, ansonsten werden sie gebündelt nachgeladen.
+     */
+    @ManyToMany
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "verein-verbaende")
     @JoinTable(
             name = "verein_verband",
             joinColumns = @JoinColumn(name = "verein_id"),
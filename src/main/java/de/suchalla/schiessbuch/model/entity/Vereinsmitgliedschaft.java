@@ -26,7 +26,8 @@ import java.time.LocalDateTime;
 public class Vereinsmitgliedschaft {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vereinsmitgliedschaft_seq")
+    @SequenceGenerator(name = "vereinsmitgliedschaft_seq", sequenceName = "vereinsmitgliedschaft_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -0,0 +1,49 @@
+package de.suchalla.schiessbuch.model.entity;
+
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Entity-Klasse für vorberechnete Zähler des Dashboards.
+ * Die Zähler werden in derselben Transaktion wie die gezählten Daten fortgeschrieben und
+ * regelmäßig gegen die Quelltabellen abgeglichen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "zaehler")
+@IdClass(Zaehler.Schluessel.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class Zaehler {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private ZaehlerTyp typ;
+
+    @Id
+    @Column(name = "bezug_id", nullable = false)
+    private Long bezugId;
+
+    @Column(nullable = false)
+    private Long anzahl;
+
+    /**
+     * Zusammengesetzter Schlüssel aus Zählertyp und Bezugs-ID.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Schluessel implements Serializable {
+        private ZaehlerTyp typ;
+        private Long bezugId;
+    }
+}
@@ -0,0 +1,14 @@
+package de.suchalla.schiessbuch.model.enums;
+
+/**
+ * Zustellart der Signaturanfragen für Vereinschefs und Aufseher.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public enum BenachrichtigungsModus {
+    /** Eine E-Mail je neuem Eintrag. */
+    SOFORT,
+    /** Anfragen werden gesammelt und periodisch als eine Zusammenfassung versendet. */
+    ZUSAMMENFASSUNG
+}
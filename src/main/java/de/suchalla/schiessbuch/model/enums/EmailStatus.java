@@ -0,0 +1,16 @@
+package de.suchalla.schiessbuch.model.enums;
+
+/**
+ * Status einer E-Mail im Postausgang.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public enum EmailStatus {
+    /** Wartet auf den (nächsten) Versuch. */
+    OFFEN,
+    /** Vom SMTP-Server angenommen. */
+    GESENDET,
+    /** Nach der maximalen Anzahl Versuche aufgegeben. */
+    FEHLGESCHLAGEN
+}
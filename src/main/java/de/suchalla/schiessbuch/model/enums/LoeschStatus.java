@@ -0,0 +1,27 @@
+package de.suchalla.schiessbuch.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Enum für den Status eines im Hintergrund laufenden Löschauftrags.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Getter
+public enum LoeschStatus {
+    LAEUFT("Läuft"),
+    ABGESCHLOSSEN("Abgeschlossen"),
+    FEHLGESCHLAGEN("Fehlgeschlagen");
+
+    private final String bezeichnung;
+
+    LoeschStatus(String bezeichnung) {
+        this.bezeichnung = bezeichnung;
+    }
+
+    @Override
+    public String toString() {
+        return bezeichnung;
+    }
+}
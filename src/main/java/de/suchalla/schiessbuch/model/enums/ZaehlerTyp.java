@@ -0,0 +1,30 @@
+package de.suchalla.schiessbuch.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Enum für die Art eines vorberechneten Zählers. Bestimmt, worauf sich die Bezugs-ID bezieht.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Getter
+public enum ZaehlerTyp {
+    /** Unsignierte Einträge je Schießstand (Bezug: Schießstand). */
+    OFFENE_SIGNATUREN("Offene Signaturen"),
+    /** Offene Beitrittsanfragen je Verein (Bezug: Verein). */
+    OFFENE_BEITRITTSANFRAGEN("Offene Beitrittsanfragen"),
+    /** Unsignierte Einträge je Schütze (Bezug: Benutzer). */
+    UNSIGNIERTE_EINTRAEGE("Unsignierte Einträge");
+
+    private final String bezeichnung;
+
+    ZaehlerTyp(String bezeichnung) {
+        this.bezeichnung = bezeichnung;
+    }
+
+    @Override
+    public String toString() {
+        return bezeichnung;
+    }
+}
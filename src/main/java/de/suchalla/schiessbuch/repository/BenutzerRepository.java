@@ -1,11 +1,15 @@
 package de.suchalla.schiessbuch.repository;
 
 import de.suchalla.schiessbuch.model.entity.Benutzer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -42,4 +46,45 @@ public interface BenutzerRepository extends JpaRepository<Benutzer, Long> {
     @Query("SELECT b FROM Benutzer b LEFT JOIN FETCH b.vereinsmitgliedschaften WHERE b.email = :email")
     Optional<Benutzer> findByEmailWithMitgliedschaften(@Param("email") String email);
 
+    /**
+     * Liefert die IDs aller Benutzer ab einer ID in aufsteigender Reihenfolge (Keyset-Paginierung).
+     * Wird vom Zähler-Abgleich blockweise aufgerufen.
+     *
+     * @param nachId Letzte bereits verarbeitete ID (exklusiv)
+     * @param limit Maximale Anzahl
+     * @return IDs
+     */
+    @Query("SELECT b.id FROM Benutzer b WHERE b.id > :nachId ORDER BY b.id")
+    List<Long> findIdsNach(@Param("nachId") Long nachId, Limit limit);
+
+    /**
+     * Liefert den Berechtigungsstand eines Benutzers, ohne die Entity zu laden.
+     *
+     * @param id ID des Benutzers
+     * @return Optional mit Stand, leer wenn der Benutzer nicht existiert
+     */
+    @Query("SELECT b.berechtigungStand FROM Benutzer b WHERE b.id = :id")
+    Optional<Long> findBerechtigungStand(@Param("id") Long id);
+
+    /**
+     * Erhöht den Berechtigungsstand eines Benutzers in der laufenden Transaktion.
+     *
+     * @param id ID des Benutzers
+     * @return Anzahl geänderter Zeilen
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Benutzer b SET b.berechtigungStand = b.berechtigungStand + 1 WHERE b.id = :id")
+    int erhoeheBerechtigungStand(@Param("id") Long id);
+
+    /**
+     * Erhöht den Berechtigungsstand aller Benutzer in der laufenden Transaktion.
+     *
+     * @return Anzahl geänderter Zeilen
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Benutzer b SET b.berechtigungStand = b.berechtigungStand + 1")
+    int erhoeheBerechtigungStandAlle();
+
 }
@@ -5,7 +5,9 @@ import de.suchalla.schiessbuch.model.entity.DigitalesZertifikat;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -144,4 +146,36 @@ public interface DigitalesZertifikatRepository extends JpaRepository<DigitalesZe
      */
     @Query("SELECT z FROM DigitalesZertifikat z LEFT JOIN FETCH z.benutzer b LEFT JOIN FETCH b.vereinsmitgliedschaften LEFT JOIN FETCH z.verein LEFT JOIN FETCH z.schiesstand LEFT JOIN FETCH z.parentZertifikat WHERE z.widerrufen = true")
     List<DigitalesZertifikat> findAllWiderrufeneWithDetailsAndMitgliedschaften();
+
+    /**
+     * Löst die Verweise auf übergeordnete Zertifikate des Vereins, damit dessen Zertifikate
+     * unabhängig von ihrer Hierarchie in einer Anweisung gelöscht werden können.
+     *
+     * @param vereinId Die ID des Vereins
+     * @return Anzahl geänderter Zertifikate
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DigitalesZertifikat z SET z.parentZertifikat = null " +
+            "WHERE z.parentZertifikat.id IN (SELECT p.id FROM DigitalesZertifikat p WHERE p.verein.id = :vereinId)")
+    int loeseVonVereinsZertifikaten(@Param("vereinId") Long vereinId);
+
+    /**
+     * Löscht alle Zertifikate eines Vereins per Massen-DELETE.
+     *
+     * @param vereinId Die ID des Vereins
+     * @return Anzahl gelöschter Zertifikate
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DigitalesZertifikat z WHERE z.verein.id = :vereinId")
+    int loescheVonVerein(@Param("vereinId") Long vereinId);
+
+    /**
+     * Löscht alle Zertifikate eines Schießstands per Massen-DELETE.
+     *
+     * @param schiesstandId Die ID des Schießstands
+     * @return Anzahl gelöschter Zertifikate
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DigitalesZertifikat z WHERE z.schiesstand.id = :schiesstandId")
+    int loescheVonSchiesstand(@Param("schiesstandId") Long schiesstandId);
 }
@@ -1,7 +1,13 @@
 package de.suchalla.schiessbuch.repository;
 
 import de.suchalla.schiessbuch.model.entity.Disziplin;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -30,6 +36,7 @@ public interface DisziplinRepository extends JpaRepository<Disziplin, Long> {
      * @param archiviert Der Archivierungsstatus (false für aktive Disziplinen)
      * @return Liste der nicht-archivierten Disziplinen
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Disziplin> findByVerbandIdAndArchiviert(Long verbandId, Boolean archiviert);
 
     /**
@@ -38,5 +45,17 @@ public interface DisziplinRepository extends JpaRepository<Disziplin, Long> {
      * @param verbandId Die ID des Verbands
      * @return Liste aller Disziplinen
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Disziplin> findAllByVerbandId(Long verbandId);
+
+    /**
+     * Löscht alle Disziplinen eines Verbands per Massen-DELETE.
+     * Die Einträge der Disziplinen müssen vorher gelöscht sein.
+     *
+     * @param verbandId Die ID des Verbands
+     * @return Anzahl gelöschter Disziplinen
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Disziplin d WHERE d.verband.id = :verbandId")
+    int loescheVonVerband(@Param("verbandId") Long verbandId);
 }
@@ -0,0 +1,65 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.entity.EmailNachricht;
+import de.suchalla.schiessbuch.model.enums.EmailStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository für den E-Mail-Postausgang.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Repository
+public interface EmailNachrichtRepository extends JpaRepository<EmailNachricht, Long> {
+
+    /**
+     * Findet offene Nachrichten, deren nächster Versuch fällig ist, älteste zuerst
+     * (Index idx_email_outbox_status_faellig).
+     *
+     * @param jetzt Der aktuelle Zeitpunkt
+     * @param limit Blockgröße
+     * @return Fällige Nachrichten
+     */
+    @Query("SELECT n FROM EmailNachricht n WHERE n.status = de.suchalla.schiessbuch.model.enums.EmailStatus.OFFEN " +
+            "AND n.naechsterVersuch <= :jetzt ORDER BY n.naechsterVersuch, n.id")
+    List<EmailNachricht> findFaellige(@Param("jetzt") LocalDateTime jetzt, Limit limit);
+
+    /**
+     * Zählt die Nachrichten mit einem Status.
+     *
+     * @param status Der Status
+     * @return Anzahl der Nachrichten
+     */
+    long countByStatus(EmailStatus status);
+
+    /**
+     * Liefert die IDs der Nachrichten, die vor einem Zeitpunkt gesendet wurden, für das blockweise Aufräumen.
+     *
+     * @param vor Sendezeitpunkt (exklusiv)
+     * @param limit Blockgröße
+     * @return IDs der Nachrichten
+     */
+    @Query("SELECT n.id FROM EmailNachricht n WHERE n.status = de.suchalla.schiessbuch.model.enums.EmailStatus.GESENDET " +
+            "AND n.gesendetAm < :vor")
+    List<Long> findIdsGesendetVor(@Param("vor") LocalDateTime vor, Limit limit);
+
+    /**
+     * Löscht die Nachrichten mit den angegebenen IDs per Massen-DELETE.
+     *
+     * @param ids Die IDs
+     * @return Anzahl gelöschter Nachrichten
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM EmailNachricht n WHERE n.id IN :ids")
+    int loescheAlle(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,61 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.entity.JobSperre;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository für Lease-Sperren geplanter Jobs.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Repository
+public interface JobSperreRepository extends JpaRepository<JobSperre, String> {
+
+    /**
+     * Übernimmt oder verlängert eine bestehende Sperre, sofern sie abgelaufen ist oder bereits dem Knoten gehört.
+     * Die Bedingung wird in derselben Anweisung geprüft, sodass höchstens ein Knoten erfolgreich ist.
+     *
+     * @param name Der Name des Jobs
+     * @param knoten Der anfragende Knoten
+     * @param jetzt Der aktuelle Zeitpunkt
+     * @param bis Neues Ende der Sperre
+     * @return 1, wenn die Sperre übernommen wurde, sonst 0
+     */
+    @Modifying
+    @Query("UPDATE JobSperre s SET s.gesperrtBis = :bis, s.gesperrtVon = :knoten " +
+            "WHERE s.name = :name AND (s.gesperrtBis <= :jetzt OR s.gesperrtVon = :knoten)")
+    int uebernehme(@Param("name") String name, @Param("knoten") String knoten,
+                   @Param("jetzt") LocalDateTime jetzt, @Param("bis") LocalDateTime bis);
+
+    /**
+     * Gibt eine Sperre des Knotens frei.
+     *
+     * @param name Der Name des Jobs
+     * @param knoten Der haltende Knoten
+     * @param jetzt Der aktuelle Zeitpunkt
+     * @return 1, wenn die Sperre freigegeben wurde, sonst 0
+     */
+    @Modifying
+    @Query("UPDATE JobSperre s SET s.gesperrtBis = :jetzt WHERE s.name = :name AND s.gesperrtVon = :knoten")
+    int gebeFrei(@Param("name") String name, @Param("knoten") String knoten, @Param("jetzt") LocalDateTime jetzt);
+
+    /**
+     * Legt die Sperre eines Jobs an, der noch nie gesperrt war. Legt ein anderer Knoten sie gleichzeitig an,
+     * schlägt die Anweisung mit einem Primärschlüsselkonflikt fehl.
+     *
+     * @param name Der Name des Jobs
+     * @param knoten Der anfragende Knoten
+     * @param bis Ende der Sperre
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_sperre (name, gesperrt_bis, gesperrt_von) VALUES (:name, :bis, :knoten)",
+            nativeQuery = true)
+    void legeAn(@Param("name") String name, @Param("knoten") String knoten, @Param("bis") LocalDateTime bis);
+}
@@ -1,16 +1,29 @@
 package de.suchalla.schiessbuch.repository;
 
+import de.suchalla.schiessbuch.model.dto.AnzahlProBezug;
+import de.suchalla.schiessbuch.model.dto.AnzahlProSchiesstand;
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
 import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository für SchiessnachweisEintrag-Entitäten.
@@ -19,60 +32,72 @@ import java.util.Optional;
  * @version 1.0.0
  */
 @Repository
-public interface SchiessnachweisEintragRepository extends JpaRepository<SchiessnachweisEintrag, Long> {
+public interface SchiessnachweisEintragRepository extends JpaRepository<SchiessnachweisEintrag, Long>,
+        SchiessnachweisEintragSeiten {
 
     /**
-     * Findet alle Einträge eines Schützen in einem Zeitraum.
-     *
-     * @param schuetze Der Schütze
-     * @param von Start-Datum
-     * @param bis End-Datum
-     * @return Liste der Einträge
+     * Gemeinsamer SELECT- und FROM-Teil der Listen-Projektion {@link SchiessnachweisEintragListDTO}.
+     * Lädt nur die angezeigten Spalten statt der vollständigen Entity-Graphen.
      */
-    @EntityGraph(attributePaths = {"schuetze", "disziplin", "schiesstand", "schiesstand.verein", "aufseher", "zertifikat"})
-    List<SchiessnachweisEintrag> findBySchuetzeAndDatumBetween(Benutzer schuetze, LocalDate von, LocalDate bis);
+    String LISTE_SELECT = "SELECT new de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO(" +
+            "e.id, e.datum, e.status, sch.vorname, sch.nachname, d.kennziffer, d.programm, d.waffeKlasse, " +
+            "s.name, v.name, e.kaliber, e.waffenart, e.anzahlSchuesse, e.ergebnis, " +
+            "a.vorname, a.nachname, e.signiertAm, z.seriennummer) " +
+            "FROM SchiessnachweisEintrag e JOIN e.schuetze sch JOIN e.disziplin d JOIN e.schiesstand s " +
+            "LEFT JOIN s.verein v LEFT JOIN e.aufseher a LEFT JOIN e.zertifikat z ";
 
     /**
-     * Findet alle signierten Einträge eines Schützen in einem Zeitraum.
+     * ZÃ¤hlt EintrÃ¤ge eines SchÃ¼tzen mit bestimmtem Status.
      *
-     * @param schuetze Der Schütze
-     * @param von Start-Datum
-     * @param bis End-Datum
+     * @param schuetze Der SchÃ¼tze
      * @param status Der Status
-     * @return Liste der Einträge
+     * @return Anzahl der EintrÃ¤ge
      */
-    @EntityGraph(attributePaths = {"schuetze", "disziplin", "schiesstand", "schiesstand.verein", "aufseher", "zertifikat"})
-    List<SchiessnachweisEintrag> findBySchuetzeAndDatumBetweenAndStatus(
-            Benutzer schuetze, LocalDate von, LocalDate bis, EintragStatus status);
+    long countBySchuetzeAndStatus(Benutzer schuetze, EintragStatus status);
 
     /**
-     * Findet alle Einträge an einem SchieÃŸstand.
+     * Zählt die Einträge mit bestimmtem Status je Schießstand eines Vereins in einer einzigen Abfrage.
+     * Schießstände ohne passende Einträge fehlen im Ergebnis.
      *
-     * @param schiesstand Der SchieÃŸstand
-     * @return Liste der EintrÃ¤ge
+     * @param vereinId Die Vereins-ID
+     * @param status Der Status
+     * @return Anzahl je Schießstand
      */
-    @EntityGraph(attributePaths = {"schuetze", "disziplin", "schiesstand", "schiesstand.verein", "aufseher", "zertifikat"})
-    List<SchiessnachweisEintrag> findBySchiesstand(Schiesstand schiesstand);
+    @Query("SELECT new de.suchalla.schiessbuch.model.dto.AnzahlProSchiesstand(s.id, COUNT(e)) " +
+            "FROM SchiessnachweisEintrag e JOIN e.schiesstand s " +
+            "WHERE s.verein.id = :vereinId AND e.status = :status GROUP BY s.id")
+    List<AnzahlProSchiesstand> zaehleProSchiesstandVonVerein(@Param("vereinId") Long vereinId,
+                                                            @Param("status") EintragStatus status);
 
     /**
-     * Findet alle EintrÃ¤ge an einem SchieÃŸstand mit bestimmtem Status.
+     * Zählt die Einträge mit bestimmtem Status je Schießstand im ID-Bereich (von exklusiv, bis inklusiv).
+     * Wird vom Zähler-Abgleich blockweise aufgerufen.
      *
-     * @param schiesstand Der SchieÃŸstand
+     * @param von Untere Grenze der Schießstand-ID (exklusiv)
+     * @param bis Obere Grenze der Schießstand-ID (inklusiv)
      * @param status Der Status
-     * @return Liste der EintrÃ¤ge
+     * @return Anzahl je Schießstand
      */
-    @EntityGraph(attributePaths = {"schuetze", "disziplin", "schiesstand", "schiesstand.verein", "aufseher", "zertifikat"})
-    List<SchiessnachweisEintrag> findBySchiesstandAndStatus(Schiesstand schiesstand, EintragStatus status);
-
+    @Query("SELECT new de.suchalla.schiessbuch.model.dto.AnzahlProBezug(e.schiesstand.id, COUNT(e)) " +
+            "FROM SchiessnachweisEintrag e " +
+            "WHERE e.schiesstand.id > :von AND e.schiesstand.id <= :bis AND e.status = :status GROUP BY e.schiesstand.id")
+    List<AnzahlProBezug> zaehleProSchiesstand(@Param("von") Long von, @Param("bis") Long bis,
+                                             @Param("status") EintragStatus status);
 
     /**
-     * ZÃ¤hlt EintrÃ¤ge eines SchÃ¼tzen mit bestimmtem Status.
+     * Zählt die Einträge mit bestimmtem Status je Schütze im ID-Bereich (von exklusiv, bis inklusiv).
+     * Wird vom Zähler-Abgleich blockweise aufgerufen.
      *
-     * @param schuetze Der SchÃ¼tze
+     * @param von Untere Grenze der Benutzer-ID (exklusiv)
+     * @param bis Obere Grenze der Benutzer-ID (inklusiv)
      * @param status Der Status
-     * @return Anzahl der EintrÃ¤ge
+     * @return Anzahl je Schütze
      */
-    long countBySchuetzeAndStatus(Benutzer schuetze, EintragStatus status);
+    @Query("SELECT new de.suchalla.schiessbuch.model.dto.AnzahlProBezug(e.schuetze.id, COUNT(e)) " +
+            "FROM SchiessnachweisEintrag e " +
+            "WHERE e.schuetze.id > :von AND e.schuetze.id <= :bis AND e.status = :status GROUP BY e.schuetze.id")
+    List<AnzahlProBezug> zaehleProSchuetze(@Param("von") Long von, @Param("bis") Long bis,
+                                          @Param("status") EintragStatus status);
 
     /**
      * Findet einen Eintrag mit allen Beziehungen inkl. Verein über Schiesstand.
@@ -84,15 +109,6 @@ public interface SchiessnachweisEintragRepository extends JpaRepository<Schiessn
     @EntityGraph(attributePaths = {"schuetze", "disziplin", "schiesstand", "schiesstand.verein", "aufseher", "zertifikat"})
     Optional<SchiessnachweisEintrag> findById(Long id);
 
-    /**
-     * Findet alle Einträge eines Schützen ohne Datumsfilter.
-     *
-     * @param schuetze Der Schütze
-     * @return Liste der Einträge
-     */
-    @EntityGraph(attributePaths = {"schuetze", "disziplin", "schiesstand", "schiesstand.verein", "aufseher", "zertifikat"})
-    List<SchiessnachweisEintrag> findBySchuetze(Benutzer schuetze);
-
     /**
      * Zählt Einträge einer bestimmten Disziplin.
      *
@@ -109,4 +125,192 @@ public interface SchiessnachweisEintragRepository extends JpaRepository<Schiessn
      */
     List<SchiessnachweisEintrag> findByDisziplin(de.suchalla.schiessbuch.model.entity.Disziplin disziplin);
 
-}
\ No newline at end of file
+    /**
+     * Prüft, ob an einem Schießstand Einträge existieren.
+     *
+     * @param schiesstand Der Schießstand
+     * @return true, wenn mindestens ein Eintrag existiert
+     */
+    boolean existsBySchiesstand(Schiesstand schiesstand);
+
+    /**
+     * Zählt die Einträge aller Disziplinen eines Verbands.
+     *
+     * @param verbandId Die ID des Verbands
+     * @return Anzahl der Einträge
+     */
+    long countByDisziplinVerbandId(Long verbandId);
+
+    /**
+     * Zählt die Einträge einer Disziplin.
+     *
+     * @param disziplinId Die ID der Disziplin
+     * @return Anzahl der Einträge
+     */
+    long countByDisziplinId(Long disziplinId);
+
+    /**
+     * Zählt die Einträge an einem Schießstand.
+     *
+     * @param schiesstandId Die ID des Schießstands
+     * @return Anzahl der Einträge
+     */
+    long countBySchiesstandId(Long schiesstandId);
+
+    /**
+     * Zählt die Einträge, die mit einem Zertifikat des Vereins signiert wurden.
+     *
+     * @param vereinId Die ID des Vereins
+     * @return Anzahl der Einträge
+     */
+    long countByZertifikatVereinId(Long vereinId);
+
+    /**
+     * Liefert die IDs der ersten Einträge aller Disziplinen eines Verbands für das blockweise Löschen.
+     *
+     * @param verbandId Die ID des Verbands
+     * @param limit Blockgröße
+     * @return IDs aufsteigend sortiert
+     */
+    @Query("SELECT e.id FROM SchiessnachweisEintrag e WHERE e.disziplin.verband.id = :verbandId ORDER BY e.id")
+    List<Long> findIdsVonVerband(@Param("verbandId") Long verbandId, Limit limit);
+
+    /**
+     * Liefert die IDs der ersten Einträge einer Disziplin für das blockweise Löschen.
+     *
+     * @param disziplinId Die ID der Disziplin
+     * @param limit Blockgröße
+     * @return IDs aufsteigend sortiert
+     */
+    @Query("SELECT e.id FROM SchiessnachweisEintrag e WHERE e.disziplin.id = :disziplinId ORDER BY e.id")
+    List<Long> findIdsVonDisziplin(@Param("disziplinId") Long disziplinId, Limit limit);
+
+    /**
+     * Liefert die IDs der ersten Einträge an einem Schießstand oder mit einem Zertifikat des Schießstands
+     * für das blockweise Löschen.
+     *
+     * @param schiesstandId Die ID des Schießstands
+     * @param limit Blockgröße
+     * @return IDs aufsteigend sortiert
+     */
+    @Query("SELECT e.id FROM SchiessnachweisEintrag e LEFT JOIN e.zertifikat z " +
+            "WHERE e.schiesstand.id = :schiesstandId OR z.schiesstand.id = :schiesstandId ORDER BY e.id")
+    List<Long> findIdsVonSchiesstand(@Param("schiesstandId") Long schiesstandId, Limit limit);
+
+    /**
+     * Liefert die IDs der ersten Einträge, die mit einem Zertifikat des Vereins signiert wurden,
+     * für das blockweise Löschen.
+     *
+     * @param vereinId Die ID des Vereins
+     * @param limit Blockgröße
+     * @return IDs aufsteigend sortiert
+     */
+    @Query("SELECT e.id FROM SchiessnachweisEintrag e JOIN e.zertifikat z WHERE z.verein.id = :vereinId ORDER BY e.id")
+    List<Long> findIdsVonVereinsZertifikaten(@Param("vereinId") Long vereinId, Limit limit);
+
+    /**
+     * Zählt die Einträge mit bestimmtem Status je Schießstand unter den angegebenen IDs.
+     *
+     * @param ids Die Eintrags-IDs
+     * @param status Der Status
+     * @return Anzahl je Schießstand
+     */
+    @Query("SELECT new de.suchalla.schiessbuch.model.dto.AnzahlProBezug(e.schiesstand.id, COUNT(e)) " +
+            "FROM SchiessnachweisEintrag e WHERE e.id IN :ids AND e.status = :status GROUP BY e.schiesstand.id")
+    List<AnzahlProBezug> zaehleProSchiesstandUnter(@Param("ids") Collection<Long> ids,
+                                                   @Param("status") EintragStatus status);
+
+    /**
+     * Zählt die Einträge mit bestimmtem Status je Schütze unter den angegebenen IDs.
+     *
+     * @param ids Die Eintrags-IDs
+     * @param status Der Status
+     * @return Anzahl je Schütze
+     */
+    @Query("SELECT new de.suchalla.schiessbuch.model.dto.AnzahlProBezug(e.schuetze.id, COUNT(e)) " +
+            "FROM SchiessnachweisEintrag e WHERE e.id IN :ids AND e.status = :status GROUP BY e.schuetze.id")
+    List<AnzahlProBezug> zaehleProSchuetzeUnter(@Param("ids") Collection<Long> ids,
+                                                @Param("status") EintragStatus status);
+
+    /**
+     * Löscht Einträge per Massen-DELETE ohne sie zu laden.
+     *
+     * @param ids Die Eintrags-IDs
+     * @return Anzahl gelöschter Einträge
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SchiessnachweisEintrag e WHERE e.id IN :ids")
+    int loescheAlle(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lädt die Listen-Projektion der Einträge eines Schützen mit bestimmtem Status in einem Zeitraum.
+     * Die Zeilen werden per Cursor blockweise gelesen (siehe {@link StreamLeser}); der Stream muss
+     * innerhalb einer Transaktion verarbeitet und geschlossen werden.
+     *
+     * @param schuetzeId Die ID des Schützen
+     * @param von Start-Datum
+     * @param bis End-Datum
+     * @param status Der Status
+     * @return Stream der Einträge, aufsteigend nach Datum sortiert
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamLeser.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(LISTE_SELECT +
+            "WHERE sch.id = :schuetzeId AND e.status = :status AND e.datum BETWEEN :von AND :bis " +
+            "ORDER BY e.datum ASC, e.id ASC")
+    Stream<SchiessnachweisEintragListDTO> streamListeBySchuetzeImZeitraum(@Param("schuetzeId") Long schuetzeId,
+                                                                          @Param("von") LocalDate von,
+                                                                          @Param("bis") LocalDate bis,
+                                                                          @Param("status") EintragStatus status);
+
+    /**
+     * Lädt die Listen-Projektion der Einträge an einem Schießstand.
+     *
+     * @param schiesstandId Die ID des Schießstands
+     * @param status Der Status oder null für alle Einträge
+     * @return Liste der Einträge, neueste zuerst
+     */
+    @Query(LISTE_SELECT +
+            "WHERE s.id = :schiesstandId AND (:status IS NULL OR e.status = :status) " +
+            "ORDER BY e.datum DESC, e.id DESC")
+    List<SchiessnachweisEintragListDTO> findListeBySchiesstand(@Param("schiesstandId") Long schiesstandId,
+                                                               @Param("status") EintragStatus status);
+
+    /**
+     * Lädt die Listen-Projektion einzelner Einträge eines Schießstands, z. B. um geänderte Zeilen
+     * einer offenen Ansicht gezielt zu aktualisieren.
+     *
+     * @param schiesstandId Die ID des Schießstands
+     * @param ids Die IDs der Einträge
+     * @return Die noch vorhandenen Einträge des Schießstands, neueste zuerst
+     */
+    @Query(LISTE_SELECT +
+            "WHERE s.id = :schiesstandId AND e.id IN :ids " +
+            "ORDER BY e.datum DESC, e.id DESC")
+    List<SchiessnachweisEintragListDTO> findListeBySchiesstandAndIdIn(@Param("schiesstandId") Long schiesstandId,
+                                                                      @Param("ids") Collection<Long> ids);
+
+    /**
+     * Liefert die Programme aller Disziplinen, in denen ein Schütze Einträge hat.
+     * Wird für Filter-Auswahlfelder verwendet, ohne die Einträge selbst zu laden.
+     *
+     * @param schuetzeId ID des Schützen
+     * @return Liste der Disziplin-Programme
+     */
+    @Query("SELECT DISTINCT d.programm FROM SchiessnachweisEintrag e JOIN e.disziplin d WHERE e.schuetze.id = :schuetzeId AND d.programm IS NOT NULL")
+    List<String> findDisziplinProgrammeBySchuetze(@Param("schuetzeId") Long schuetzeId);
+
+    /**
+     * Liefert die IDs der ersten Einträge eines Status, die vor dem Zeitpunkt zuletzt geändert wurden,
+     * für das blockweise Aufräumen (Index idx_eintrag_abgelehnt).
+     *
+     * @param status Der Status
+     * @param vor Zeitpunkt der letzten Änderung (exklusiv)
+     * @param limit Blockgröße
+     * @return IDs der Einträge
+     */
+    @Query("SELECT e.id FROM SchiessnachweisEintrag e WHERE e.status = :status AND e.aktualisiertAm < :vor")
+    List<Long> findIdsNachStatusVor(@Param("status") EintragStatus status, @Param("vor") LocalDateTime vor, Limit limit);
+}
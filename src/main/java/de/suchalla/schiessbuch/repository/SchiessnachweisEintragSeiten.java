@@ -0,0 +1,51 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fragment des {@link SchiessnachweisEintragRepository} für die Keyset-Pagination mit optionalen Filtern.
+ * Die Abfrage wird je Aufruf nur aus den gesetzten Filtern zusammengesetzt (siehe
+ * {@link SchiessnachweisEintragSeitenImpl}).
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public interface SchiessnachweisEintragSeiten {
+
+    /**
+     * Lädt eine Seite der Einträge eines Schützen per Keyset-Pagination.
+     * Sortiert wird nach (datum, id), absteigend oder aufsteigend; beides deckt der Index auf
+     * (schuetze_id, datum DESC, id DESC) ab, sodass jede Seite unabhängig von ihrer
+     * Position gleich viel kostet. Alle Filter werden in SQL ausgewertet; null bedeutet "nicht filtern".
+     *
+     * @param schuetzeId Die ID des Schützen
+     * @param status Erlaubte Status (nicht leer)
+     * @param von Start-Datum oder null
+     * @param bis End-Datum oder null
+     * @param disziplinProgramm Programm der Disziplin oder null
+     * @param vereinName Name des Vereins oder null
+     * @param verbandName Name des Verbands oder null
+     * @param nachDatum Datum des letzten Eintrags der vorherigen Seite oder null für die erste Seite
+     * @param nachId ID des letzten Eintrags der vorherigen Seite oder null für die erste Seite
+     * @param aufsteigend true für älteste zuerst, false für neueste zuerst
+     * @param limit Maximale Anzahl der Einträge
+     * @return Liste der Einträge der Seite
+     */
+    List<SchiessnachweisEintragListDTO> findSeiteFuerSchuetze(Long schuetzeId,
+                                                              Collection<EintragStatus> status,
+                                                              LocalDate von,
+                                                              LocalDate bis,
+                                                              String disziplinProgramm,
+                                                              String vereinName,
+                                                              String verbandName,
+                                                              LocalDate nachDatum,
+                                                              Long nachId,
+                                                              boolean aufsteigend,
+                                                              Limit limit);
+}
@@ -0,0 +1,112 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
+import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.entity.DigitalesZertifikat;
+import de.suchalla.schiessbuch.model.entity.Disziplin;
+import de.suchalla.schiessbuch.model.entity.Schiesstand;
+import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
+import de.suchalla.schiessbuch.model.entity.Verband;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria-Implementierung von {@link SchiessnachweisEintragSeiten}.
+ * <p>
+ * Statt {@code (:x IS NULL OR ...)} enthält die Abfrage nur die Bedingungen der gesetzten Filter, sodass
+ * der Planer für jede Filterkombination einen eigenen, passenden Plan wählen kann. Die Folgeseite schränkt
+ * mit {@code datum <= :nachDatum} (aufsteigend {@code >=}) zuerst den Indexbereich ein und schließt erst
+ * darin die bereits gezeigten Einträge desselben Datums aus; die Criteria-API kennt keinen
+ * Zeilenwert-Vergleich {@code (datum, id) < (...)}.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+class SchiessnachweisEintragSeitenImpl implements SchiessnachweisEintragSeiten {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SchiessnachweisEintragListDTO> findSeiteFuerSchuetze(Long schuetzeId,
+                                                                     Collection<EintragStatus> status,
+                                                                     LocalDate von,
+                                                                     LocalDate bis,
+                                                                     String disziplinProgramm,
+                                                                     String vereinName,
+                                                                     String verbandName,
+                                                                     LocalDate nachDatum,
+                                                                     Long nachId,
+                                                                     boolean aufsteigend,
+                                                                     Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SchiessnachweisEintragListDTO> abfrage = cb.createQuery(SchiessnachweisEintragListDTO.class);
+        Root<SchiessnachweisEintrag> e = abfrage.from(SchiessnachweisEintrag.class);
+        Join<SchiessnachweisEintrag, Benutzer> sch = e.join("schuetze");
+        Join<SchiessnachweisEintrag, Disziplin> d = e.join("disziplin");
+        Join<SchiessnachweisEintrag, Schiesstand> s = e.join("schiesstand");
+        Join<Schiesstand, Verein> v = s.join("verein", JoinType.LEFT);
+        Join<SchiessnachweisEintrag, Benutzer> a = e.join("aufseher", JoinType.LEFT);
+        Join<SchiessnachweisEintrag, DigitalesZertifikat> z = e.join("zertifikat", JoinType.LEFT);
+        Path<LocalDate> datum = e.get("datum");
+        Path<Long> id = e.get("id");
+
+        abfrage.select(cb.construct(SchiessnachweisEintragListDTO.class,
+                id, datum, e.get("status"), sch.get("vorname"), sch.get("nachname"),
+                d.get("kennziffer"), d.get("programm"), d.get("waffeKlasse"),
+                s.get("name"), v.get("name"), e.get("kaliber"), e.get("waffenart"), e.get("anzahlSchuesse"),
+                e.get("ergebnis"), a.get("vorname"), a.get("nachname"), e.get("signiertAm"), z.get("seriennummer")));
+
+        List<Predicate> bedingungen = new ArrayList<>();
+        bedingungen.add(cb.equal(sch.get("id"), schuetzeId));
+        bedingungen.add(e.get("status").in(status));
+        if (von != null) {
+            bedingungen.add(cb.greaterThanOrEqualTo(datum, von));
+        }
+        if (bis != null) {
+            bedingungen.add(cb.lessThanOrEqualTo(datum, bis));
+        }
+        if (disziplinProgramm != null) {
+            bedingungen.add(cb.equal(d.get("programm"), disziplinProgramm));
+        }
+        if (vereinName != null) {
+            bedingungen.add(cb.equal(v.get("name"), vereinName));
+        }
+        if (verbandName != null) {
+            Subquery<Integer> verband = abfrage.subquery(Integer.class);
+            Root<Verein> vv = verband.from(Verein.class);
+            Join<Verein, Verband> vb = vv.join("verbaende");
+            verband.select(cb.literal(1)).where(cb.equal(vv, v), cb.equal(vb.get("name"), verbandName));
+            bedingungen.add(cb.exists(verband));
+        }
+        if (nachDatum != null && aufsteigend) {
+            bedingungen.add(cb.greaterThanOrEqualTo(datum, nachDatum));
+            bedingungen.add(cb.or(cb.greaterThan(datum, nachDatum), cb.greaterThan(id, nachId)));
+        } else if (nachDatum != null) {
+            bedingungen.add(cb.lessThanOrEqualTo(datum, nachDatum));
+            bedingungen.add(cb.or(cb.lessThan(datum, nachDatum), cb.lessThan(id, nachId)));
+        }
+
+        abfrage.where(bedingungen.toArray(Predicate[]::new))
+                .orderBy(aufsteigend ? List.of(cb.asc(datum), cb.asc(id)) : List.of(cb.desc(datum), cb.desc(id)));
+        return entityManager.createQuery(abfrage)
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+}
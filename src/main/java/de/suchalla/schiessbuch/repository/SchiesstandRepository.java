@@ -2,9 +2,13 @@ package de.suchalla.schiessbuch.repository;
 
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.entity.Verein;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,6 +29,7 @@ public interface SchiesstandRepository extends JpaRepository<Schiesstand, Long>
      * @param verein Der Verein
      * @return Liste der Schießstände
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT s FROM Schiesstand s LEFT JOIN FETCH s.verein LEFT JOIN FETCH s.aufseher WHERE s.verein = :verein")
     List<Schiesstand> findByVerein(@Param("verein") Verein verein);
 
@@ -33,6 +38,7 @@ public interface SchiesstandRepository extends JpaRepository<Schiesstand, Long>
      *
      * @return Liste aller Schießstände mit Verein und Aufseher
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT s FROM Schiesstand s LEFT JOIN FETCH s.verein LEFT JOIN FETCH s.aufseher")
     List<Schiesstand> findAllWithVerein();
 
@@ -44,4 +50,33 @@ public interface SchiesstandRepository extends JpaRepository<Schiesstand, Long>
      */
     @Query("SELECT DISTINCT s FROM Schiesstand s LEFT JOIN FETCH s.verein LEFT JOIN FETCH s.aufseher WHERE s.verein IN :vereine")
     List<Schiesstand> findByVereinInWithFetch(List<Verein> vereine);
+
+    /**
+     * Findet alle Schießstände, die ein Benutzer beaufsichtigen darf: Schießstände, an denen er als
+     * Aufseher eingetragen ist, sowie die Schießstände der Vereine, in denen er Aufseher oder Vereinschef ist.
+     * Beide Wege laufen über Indizes (schiesstand.aufseher_id bzw. vereinsmitgliedschaft.benutzer_id und
+     * schiesstand.verein_id), ohne alle Schießstände zu lesen.
+     *
+     * @param benutzerId Die Benutzer-ID
+     * @param limit Maximale Anzahl
+     * @return Schießstände mit Verein und Aufseher, aufsteigend nach ID
+     */
+    @Query("SELECT s FROM Schiesstand s LEFT JOIN FETCH s.verein LEFT JOIN FETCH s.aufseher WHERE s.id IN (" +
+            "SELECT a.id FROM Schiesstand a WHERE a.aufseher.id = :benutzerId " +
+            "UNION " +
+            "SELECT v.id FROM Vereinsmitgliedschaft m JOIN Schiesstand v ON v.verein = m.verein " +
+            "WHERE m.benutzer.id = :benutzerId AND (m.istAufseher = true OR m.istVereinschef = true)) " +
+            "ORDER BY s.id")
+    List<Schiesstand> findBerechtigteSchiesstaende(@Param("benutzerId") Long benutzerId, Limit limit);
+
+    /**
+     * Liefert die IDs aller Schießstände ab einer ID in aufsteigender Reihenfolge (Keyset-Paginierung).
+     * Wird vom Zähler-Abgleich blockweise aufgerufen.
+     *
+     * @param nachId Letzte bereits verarbeitete ID (exklusiv)
+     * @param limit Maximale Anzahl
+     * @return IDs
+     */
+    @Query("SELECT s.id FROM Schiesstand s WHERE s.id > :nachId ORDER BY s.id")
+    List<Long> findIdsNach(@Param("nachId") Long nachId, Limit limit);
 }
@@ -0,0 +1,63 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.entity.SignaturHinweis;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository für vorgemerkte Signaturanfragen (Sammel-Benachrichtigung).
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Repository
+public interface SignaturHinweisRepository extends JpaRepository<SignaturHinweis, Long> {
+
+    /**
+     * Findet die Empfänger, deren Zusammenfassung fällig ist: Der älteste Hinweis liegt vor der Grenze
+     * oder es liegen mindestens {@code maxAnzahl} Hinweise vor (Index idx_signatur_hinweis_empfaenger).
+     *
+     * @param grenze Ende des Sammelzeitraums
+     * @param maxAnzahl Anzahl Hinweise, ab der sofort zusammengefasst wird
+     * @return IDs der Empfänger
+     */
+    @Query("SELECT h.empfaenger.id FROM SignaturHinweis h GROUP BY h.empfaenger.id " +
+            "HAVING MIN(h.erstelltAm) <= :grenze OR COUNT(h) >= :maxAnzahl")
+    List<Long> findFaelligeEmpfaenger(@Param("grenze") LocalDateTime grenze, @Param("maxAnzahl") long maxAnzahl);
+
+    /**
+     * Lädt alle Hinweise eines Empfängers samt Empfänger, älteste zuerst.
+     *
+     * @param empfaengerId ID des Empfängers
+     * @return Die Hinweise
+     */
+    @Query("SELECT h FROM SignaturHinweis h JOIN FETCH h.empfaenger WHERE h.empfaenger.id = :empfaengerId " +
+            "ORDER BY h.erstelltAm, h.id")
+    List<SignaturHinweis> findByEmpfaenger(@Param("empfaengerId") Long empfaengerId);
+
+    /**
+     * Löscht die Hinweise mit den angegebenen IDs per Massen-DELETE.
+     *
+     * @param ids Die IDs
+     * @return Anzahl gelöschter Hinweise
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SignaturHinweis h WHERE h.id IN :ids")
+    int loescheAlle(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Löscht alle Hinweise eines Empfängers (vor dem Löschen des Benutzers).
+     *
+     * @param empfaengerId ID des Empfängers
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM SignaturHinweis h WHERE h.empfaenger.id = :empfaengerId")
+    void loescheAlleFuerEmpfaenger(@Param("empfaengerId") Long empfaengerId);
+}
@@ -0,0 +1,78 @@
+package de.suchalla.schiessbuch.repository;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Hilfsmittel für Repository-Methoden, die ihr Ergebnis als {@link Stream} liefern.
+ * <p>
+ * Solche Methoden werden mit {@link #FETCH_SIZE} als JDBC-Fetch-Size und als read-only markiert,
+ * sodass der Treiber die Zeilen blockweise über einen Cursor holt und Hibernate keine Snapshots
+ * für das Dirty-Checking anlegt. Die Streams müssen innerhalb einer Transaktion gelesen und danach
+ * geschlossen werden (try-with-resources).
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public final class StreamLeser {
+
+    /** Fetch-Size für gestreamte Abfragen (als String für {@code @QueryHint}). */
+    public static final String FETCH_SIZE = "500";
+
+    /** Anzahl Entities, nach der der Persistenzkontext beim Streamen geleert wird. */
+    public static final int BLOCK_GROESSE = 500;
+
+    private StreamLeser() {
+    }
+
+    /**
+     * Leert den Persistenzkontext jeweils nach {@code blockGroesse} gelesenen Entities.
+     * <p>
+     * Geleert wird jeweils, bevor das nächste Element gelesen wird; zu diesem Zeitpunkt hat ein
+     * sequenzieller Verbraucher die vorherigen Elemente bereits verarbeitet. Das neu gelesene Element
+     * bleibt verwaltet, sodass dessen Lazy-Beziehungen weiter nachgeladen werden können. Damit bleibt
+     * der Speicherbedarf auch bei langen Entity-Streams durch die Blockgröße begrenzt.
+     * <p>
+     * Darf nur in Transaktionen verwendet werden, in denen keine ungespeicherten Änderungen anstehen.
+     *
+     * @param stream Der Stream aus dem Repository
+     * @param entityManager Der Entity-Manager der laufenden Transaktion
+     * @param blockGroesse Anzahl Elemente pro Block
+     * @param <T> Typ der Entities
+     * @return Stream, der beim Schließen den ursprünglichen Stream schließt
+     */
+    public static <T> Stream<T> leereBlockweise(Stream<T> stream, EntityManager entityManager, int blockGroesse) {
+        Iterator<T> quelle = stream.iterator();
+        Iterator<T> blockweise = new Iterator<>() {
+            private long gelesen;
+            private long geleertBei;
+
+            @Override
+            public boolean hasNext() {
+                // Vor dem Weiterschalten leeren: der Cursor liest die nächste Zeile bereits in hasNext()
+                if (gelesen > 0 && gelesen % blockGroesse == 0 && geleertBei != gelesen) {
+                    entityManager.clear();
+                    geleertBei = gelesen;
+                }
+                return quelle.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                gelesen++;
+                return quelle.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(blockweise, Spliterator.ORDERED), false)
+                .onClose(stream::close);
+    }
+}
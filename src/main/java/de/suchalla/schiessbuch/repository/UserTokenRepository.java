@@ -1,7 +1,15 @@
 package de.suchalla.schiessbuch.repository;
 
 import de.suchalla.schiessbuch.model.entity.UserToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
@@ -10,5 +18,11 @@ public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
     void deleteAllByBenutzer(de.suchalla.schiessbuch.model.entity.Benutzer benutzer);
     // Löscht alle Tokens für einen Benutzer anhand der Benutzer-ID (vermeidet Laden der Entity)
     void deleteAllByBenutzerId(Long benutzerId);
+    // IDs abgelaufener Tokens für das blockweise Aufräumen (Index idx_user_token_ablaufdatum)
+    @Query("SELECT t.id FROM UserToken t WHERE t.ablaufdatum < :zeitpunkt")
+    List<Long> findIdsAbgelaufen(@Param("zeitpunkt") LocalDateTime zeitpunkt, Limit limit);
+    // Löscht die Tokens mit den angegebenen IDs per Massen-DELETE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM UserToken t WHERE t.id IN :ids")
+    int loescheAlle(@Param("ids") Collection<Long> ids);
 }
-
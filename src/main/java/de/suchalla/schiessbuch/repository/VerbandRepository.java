@@ -1,8 +1,11 @@
 package de.suchalla.schiessbuch.repository;
 
 import de.suchalla.schiessbuch.model.entity.Verband;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -26,9 +29,11 @@ public interface VerbandRepository extends JpaRepository<Verband, Long> {
 
     /**
      * Findet alle Verbände mit  Vereinen.
+     * Das Ergebnis liegt im Query-Cache.
      *
      * @return Liste aller Verbände mit Vereinen
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT v FROM Verband v LEFT JOIN FETCH v.vereine")
     List<Verband> findAllWithVereine();
 }
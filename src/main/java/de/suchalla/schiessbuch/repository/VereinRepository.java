@@ -2,9 +2,14 @@ package de.suchalla.schiessbuch.repository;
 
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.entity.Verband;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,8 +30,18 @@ public interface VereinRepository extends JpaRepository<Verein, Long> {
      * @param verband Der Verband
      * @return Liste der Vereine
      */
+    @EntityGraph(attributePaths = {"verbaende"})
     List<Verein> findByVerbaendeContaining(Verband verband);
 
+    /**
+     * Findet alle Vereine nach Namen sortiert, nur mit ihren Verbänden (ohne Mitgliedschaften).
+     * Für Auswahllisten, die keine Mitglieder anzeigen.
+     *
+     * @return Liste aller Vereine
+     */
+    @EntityGraph(attributePaths = {"verbaende"})
+    List<Verein> findAllByOrderByNameAsc();
+
     /**
      * Findet alle Vereine mit Verband und Mitgliedschaften.
      *
@@ -46,10 +61,22 @@ public interface VereinRepository extends JpaRepository<Verein, Long> {
 
     /**
      * Liefert nur die Namen aller Vereine (als Strings). Wird verwendet, um LazyInitializationExceptions
-     * zu vermeiden, wenn die View nur die Namen für einen Filter benötigt.
+     * zu vermeiden, wenn die View nur die Namen für einen Filter benötigt. Das Ergebnis liegt im Query-Cache.
      *
      * @return Liste mit Vereinsnamen
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT v.name FROM Verein v")
     List<String> findAllNames();
+
+    /**
+     * Liefert die IDs aller Vereine ab einer ID in aufsteigender Reihenfolge (Keyset-Paginierung).
+     * Wird vom Zähler-Abgleich blockweise aufgerufen.
+     *
+     * @param nachId Letzte bereits verarbeitete ID (exklusiv)
+     * @param limit Maximale Anzahl
+     * @return IDs
+     */
+    @Query("SELECT v.id FROM Verein v WHERE v.id > :nachId ORDER BY v.id")
+    List<Long> findIdsNach(@Param("nachId") Long nachId, Limit limit);
 }
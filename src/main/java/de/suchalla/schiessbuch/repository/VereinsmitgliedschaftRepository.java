@@ -1,14 +1,26 @@
 package de.suchalla.schiessbuch.repository;
 
+import de.suchalla.schiessbuch.model.dto.AnzahlProBezug;
+import de.suchalla.schiessbuch.model.dto.Benachrichtigungsempfaenger;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
 import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository für Vereinsmitgliedschaft-Entitäten.
@@ -54,6 +66,30 @@ public interface VereinsmitgliedschaftRepository extends JpaRepository<Vereinsmi
     @EntityGraph(attributePaths = {"benutzer", "verein"})
     List<Vereinsmitgliedschaft> findByVereinAndStatus(Verein verein, MitgliedschaftsStatus status);
 
+    /**
+     * Zählt die Mitgliedschaften eines Vereins mit bestimmtem Status.
+     *
+     * @param verein Der Verein
+     * @param status Der Status
+     * @return Anzahl der Mitgliedschaften
+     */
+    long countByVereinAndStatus(Verein verein, MitgliedschaftsStatus status);
+
+    /**
+     * Zählt die Mitgliedschaften mit bestimmtem Status je Verein im ID-Bereich (von exklusiv, bis inklusiv).
+     * Wird vom Zähler-Abgleich blockweise aufgerufen.
+     *
+     * @param von Untere Grenze der Vereins-ID (exklusiv)
+     * @param bis Obere Grenze der Vereins-ID (inklusiv)
+     * @param status Der Status
+     * @return Anzahl je Verein
+     */
+    @Query("SELECT new de.suchalla.schiessbuch.model.dto.AnzahlProBezug(m.verein.id, COUNT(m)) " +
+            "FROM Vereinsmitgliedschaft m " +
+            "WHERE m.verein.id > :von AND m.verein.id <= :bis AND m.status = :status GROUP BY m.verein.id")
+    List<AnzahlProBezug> zaehleProVerein(@Param("von") Long von, @Param("bis") Long bis,
+                                        @Param("status") MitgliedschaftsStatus status);
+
     /**
      * Findet alle Mitgliedschaften eines Vereins.
      * Lädt Benutzer und Verein via @EntityGraph.
@@ -64,6 +100,26 @@ public interface VereinsmitgliedschaftRepository extends JpaRepository<Vereinsmi
     @EntityGraph(attributePaths = {"benutzer", "verein"})
     List<Vereinsmitgliedschaft> findByVerein(Verein verein);
 
+    /**
+     * Liefert die Mitgliedschaften eines Vereins samt Benutzer als Stream, sortiert nach Namen.
+     * Die Zeilen werden per Cursor blockweise gelesen; für lange Streams wird der Persistenzkontext
+     * mit {@link StreamLeser#leereBlockweise} begrenzt. Der (eager) Verein wird mitgeladen, damit er
+     * nicht nach jedem geleerten Block erneut abgefragt wird.
+     *
+     * @param vereinId Die Vereins-ID
+     * @param status Der Status oder null für alle Mitgliedschaften
+     * @return Stream der Mitgliedschaften
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamLeser.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM Vereinsmitgliedschaft m JOIN FETCH m.benutzer b JOIN FETCH m.verein " +
+            "WHERE m.verein.id = :vereinId AND (:status IS NULL OR m.status = :status) " +
+            "ORDER BY b.nachname, b.vorname, m.id")
+    Stream<Vereinsmitgliedschaft> streamByVerein(@Param("vereinId") Long vereinId,
+                                                @Param("status") MitgliedschaftsStatus status);
+
     /**
      * Findet Vereinsmitgliedschaften, bei denen das Mitglied als Vereinschef markiert ist.
      * Lädt Benutzer und Verein via @EntityGraph.
@@ -85,4 +141,68 @@ public interface VereinsmitgliedschaftRepository extends JpaRepository<Vereinsmi
      */
     @EntityGraph(attributePaths = {"benutzer", "verein"})
     List<Vereinsmitgliedschaft> findByVereinAndIstAufseher(Verein verein, boolean istAufseher);
+
+    /**
+     * Liefert die IDs aller Vereinschefs und Aufseher eines Vereins, jeweils einmal.
+     *
+     * @param vereinId ID des Vereins
+     * @return IDs der Benutzer mit Aufsichtsfunktion im Verein
+     */
+    @Query("SELECT DISTINCT m.benutzer.id FROM Vereinsmitgliedschaft m WHERE m.verein.id = :vereinId " +
+            "AND (m.istVereinschef = TRUE OR m.istAufseher = TRUE)")
+    List<Long> findAufsichtsBenutzerIds(@Param("vereinId") Long vereinId);
+
+    /**
+     * Ermittelt in einer Abfrage die Empfänger einer Vereinsbenachrichtigung: Vereinschefs und/oder Aufseher
+     * des Vereins, jeweils einmal. Ob ein Empfänger auch per E-Mail benachrichtigt werden darf, steht in
+     * {@link Benachrichtigungsempfaenger#perEmail()}.
+     *
+     * @param vereinId ID des Vereins
+     * @param vereinschefs true, um Vereinschefs einzubeziehen
+     * @param aufseher true, um Aufseher einzubeziehen
+     * @return Die Empfänger, nach Benutzer-ID sortiert
+     */
+    @Query("SELECT DISTINCT new de.suchalla.schiessbuch.model.dto.Benachrichtigungsempfaenger(" +
+            "b.id, b.email, CONCAT(b.vorname, ' ', b.nachname), b.benachrichtigungsModus, " +
+            "CASE WHEN b.emailNotificationsEnabled = TRUE AND b.email IS NOT NULL AND TRIM(b.email) <> '' " +
+            "THEN TRUE ELSE FALSE END) " +
+            "FROM Vereinsmitgliedschaft m JOIN m.benutzer b WHERE m.verein.id = :vereinId " +
+            "AND ((:vereinschefs = TRUE AND m.istVereinschef = TRUE) OR (:aufseher = TRUE AND m.istAufseher = TRUE)) " +
+            "ORDER BY b.id")
+    List<Benachrichtigungsempfaenger> findBenachrichtigungsempfaenger(@Param("vereinId") Long vereinId,
+                                                                     @Param("vereinschefs") boolean vereinschefs,
+                                                                     @Param("aufseher") boolean aufseher);
+
+    /**
+     * Löscht alle Mitgliedschaften eines Vereins per Massen-DELETE.
+     *
+     * @param vereinId Die ID des Vereins
+     * @return Anzahl gelöschter Mitgliedschaften
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Vereinsmitgliedschaft m WHERE m.verein.id = :vereinId")
+    int loescheVonVerein(@Param("vereinId") Long vereinId);
+
+    /**
+     * Liefert die IDs der ersten Mitgliedschaften eines Status, die vor dem Zeitpunkt zuletzt geändert wurden,
+     * für das blockweise Aufräumen (Index idx_mitgliedschaft_abgelehnt).
+     *
+     * @param status Der Status
+     * @param vor Zeitpunkt der letzten Änderung (exklusiv)
+     * @param limit Blockgröße
+     * @return IDs der Mitgliedschaften
+     */
+    @Query("SELECT m.id FROM Vereinsmitgliedschaft m WHERE m.status = :status AND m.aktualisiertAm < :vor")
+    List<Long> findIdsNachStatusVor(@Param("status") MitgliedschaftsStatus status,
+                                    @Param("vor") LocalDateTime vor, Limit limit);
+
+    /**
+     * Löscht die Mitgliedschaften mit den angegebenen IDs per Massen-DELETE.
+     *
+     * @param ids Die IDs
+     * @return Anzahl gelöschter Mitgliedschaften
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Vereinsmitgliedschaft m WHERE m.id IN :ids")
+    int loescheAlle(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,94 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.dto.AnzahlProSchiesstand;
+import de.suchalla.schiessbuch.model.entity.Zaehler;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository für vorberechnete Zähler.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Repository
+public interface ZaehlerRepository extends JpaRepository<Zaehler, Zaehler.Schluessel> {
+
+    /**
+     * Liest den Stand eines Zählers.
+     *
+     * @param typ Der Zählertyp
+     * @param bezugId Die Bezugs-ID
+     * @return Optional mit dem Zählerstand
+     */
+    @Query("SELECT z.anzahl FROM Zaehler z WHERE z.typ = :typ AND z.bezugId = :bezugId")
+    Optional<Long> findAnzahl(@Param("typ") ZaehlerTyp typ, @Param("bezugId") Long bezugId);
+
+    /**
+     * Liest die offenen Signaturen je Schießstand eines Vereins.
+     * Schießstände ohne offene Signaturen fehlen im Ergebnis.
+     *
+     * @param vereinId Die Vereins-ID
+     * @return Anzahl je Schießstand
+     */
+    @Query("SELECT new de.suchalla.schiessbuch.model.dto.AnzahlProSchiesstand(s.id, z.anzahl) " +
+            "FROM Zaehler z JOIN Schiesstand s ON s.id = z.bezugId " +
+            "WHERE z.typ = de.suchalla.schiessbuch.model.enums.ZaehlerTyp.OFFENE_SIGNATUREN " +
+            "AND s.verein.id = :vereinId AND z.anzahl > 0")
+    List<AnzahlProSchiesstand> findOffeneSignaturenVonVerein(@Param("vereinId") Long vereinId);
+
+    /**
+     * Ändert einen Zähler atomar um den angegebenen Wert; der Stand fällt nie unter 0.
+     *
+     * @param typ Der Zählertyp
+     * @param bezugId Die Bezugs-ID
+     * @param delta Die Änderung
+     * @return Anzahl geänderter Zeilen (0, wenn der Zähler noch nicht existiert)
+     */
+    @Modifying
+    @Query("UPDATE Zaehler z SET z.anzahl = CASE WHEN z.anzahl + :delta < 0 THEN 0 ELSE z.anzahl + :delta END " +
+            "WHERE z.typ = :typ AND z.bezugId = :bezugId")
+    int aendere(@Param("typ") ZaehlerTyp typ, @Param("bezugId") Long bezugId, @Param("delta") long delta);
+
+    /**
+     * Legt einen Zähler mit Stand 0 an.
+     *
+     * @param typ Der Zählertyp
+     * @param bezugId Die Bezugs-ID
+     */
+    @Modifying
+    @Query(value = "INSERT INTO zaehler (typ, bezug_id, anzahl) VALUES (:#{#typ.name()}, :bezugId, 0)", nativeQuery = true)
+    void legeAn(@Param("typ") ZaehlerTyp typ, @Param("bezugId") Long bezugId);
+
+    /**
+     * Entfernt den Zähler eines gelöschten Bezugsobjekts.
+     *
+     * @param typ Der Zählertyp
+     * @param bezugId Die Bezugs-ID
+     * @return Anzahl entfernter Zähler
+     */
+    @Modifying
+    @Query("DELETE FROM Zaehler z WHERE z.typ = :typ AND z.bezugId = :bezugId")
+    int entferne(@Param("typ") ZaehlerTyp typ, @Param("bezugId") Long bezugId);
+
+    /**
+     * Lädt und sperrt die Zähler eines Typs im Bezugs-ID-Bereich (von exklusiv, bis inklusiv) für den Abgleich.
+     * Die Sperre lässt parallele Fortschreibungen warten, bis der Abgleich des Bereichs abgeschlossen ist.
+     * Nativ mit FOR UPDATE, da H2 das von Hibernate für PostgreSQL erzeugte FOR NO KEY UPDATE nicht kennt.
+     *
+     * @param typ Der Zählertyp
+     * @param von Untere Grenze (exklusiv)
+     * @param bis Obere Grenze (inklusiv)
+     * @return Gesperrte Zähler
+     */
+    @Query(value = "SELECT * FROM zaehler WHERE typ = :#{#typ.name()} AND bezug_id > :von AND bezug_id <= :bis FOR UPDATE",
+            nativeQuery = true)
+    List<Zaehler> findZumAbgleich(@Param("typ") ZaehlerTyp typ, @Param("von") Long von, @Param("bis") Long bis);
+}
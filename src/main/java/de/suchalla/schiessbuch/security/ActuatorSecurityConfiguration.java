@@ -0,0 +1,48 @@
+package de.suchalla.schiessbuch.security;
+
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Eigene Security-Filterkette für die Actuator-Endpunkte, vor der Kette der {@link SecurityConfiguration}.
+ * <p>
+ * Die Endpunkte werden von Skripten und {@code curl} aufgerufen, etwa {@code POST /actuator/jfr/sichern}.
+ * Sie verwenden daher HTTP Basic ohne Sitzung statt des Vaadin-Logins; da kein Sitzungs-Cookie ausgewertet
+ * wird, entfällt der CSRF-Schutz, der schreibende Operationen sonst abweisen würde. Health ist öffentlich,
+ * alle übrigen Endpunkte sind Administratoren vorbehalten.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Configuration
+public class ActuatorSecurityConfiguration {
+
+    /**
+     * Filterkette für alle Actuator-Endpunkte.
+     *
+     * @param http HttpSecurity-Objekt
+     * @return Die Filterkette
+     * @throws Exception bei Konfigurationsfehlern
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole("ADMIN"))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(sitzung -> sitzung.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(AbstractHttpConfigurer::disable)
+                .build();
+    }
+}
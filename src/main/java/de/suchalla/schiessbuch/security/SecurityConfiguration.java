@@ -12,7 +12,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
- * Security-Konfiguration für Spring Security und Vaadin.
+ * Security-Konfiguration für Spring Security und Vaadin. Die Actuator-Endpunkte sichert eine eigene
+ * Filterkette ({@link ActuatorSecurityConfiguration}).
  *
  * @author Markus Suchalla
  * @version 1.0.0
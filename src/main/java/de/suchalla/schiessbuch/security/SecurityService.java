@@ -1,21 +1,37 @@
 package de.suchalla.schiessbuch.security;
 
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.spring.security.AuthenticationContext;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.repository.BenutzerRepository;
+import de.suchalla.schiessbuch.repository.SchiesstandRepository;
+import de.suchalla.schiessbuch.service.BerechtigungGeaendertEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Collections;
+import java.util.List;
 import org.springframework.stereotype.Component;
 import com.vaadin.flow.component.UI;
 
 /**
  * Service für Security-Utilities.
+ * <p>
+ * Für Menü und Berechtigungsprüfungen hält der Service einen {@link AngemeldeterBenutzer Schnappschuss}
+ * des angemeldeten Benutzers in der Vaadin-Session. Über {@link BerechtigungGeaendertEvent} gemeldete
+ * Änderungen erhöhen den Berechtigungsstand des Benutzers in der Datenbank, und zwar in derselben Transaktion
+ * wie die Änderung selbst. Bei jedem Zugriff wird nur dieser Stand gelesen; ist er neuer als der des
+ * Schnappschusses, wird neu geladen. So sehen alle Knoten Änderungen, die auf einem anderen Knoten
+ * vorgenommen wurden.
  *
  * @author Markus Suchalla
  * @version 1.0.0
@@ -26,16 +42,50 @@ public class SecurityService {
 
     private final AuthenticationContext authenticationContext;
     private final BenutzerRepository benutzerRepository;
+    private final SchiesstandRepository schiesstandRepository;
 
     /**
-     * Gibt den aktuell angemeldeten Benutzer zurück.
+     * Gibt den Schnappschuss des angemeldeten Benutzers zurück. Innerhalb einer Vaadin-Session wird er
+     * zwischengespeichert und erst neu geladen, wenn der gespeicherte Berechtigungsstand neuer ist.
+     * Vergleich und Laden laufen in einer Transaktion, also auf derselben Verbindung.
      *
-     * @return Aktueller Benutzer oder null
+     * @return Schnappschuss des aktuellen Benutzers oder null
      */
-    public Benutzer getAuthenticatedUser() {
-        return authenticationContext.getAuthenticatedUser(UserDetails.class)
-                .flatMap(userDetails -> benutzerRepository.findByEmailWithMitgliedschaften(userDetails.getUsername()))
+    @Transactional(readOnly = true)
+    public AngemeldeterBenutzer getAngemeldeterBenutzer() {
+        String email = authenticationContext.getAuthenticatedUser(UserDetails.class)
+                .map(UserDetails::getUsername)
                 .orElse(null);
+        if (email == null) {
+            return null;
+        }
+
+        VaadinSession session = VaadinSession.getCurrent();
+        AngemeldeterBenutzer gespeichert = session != null ? session.getAttribute(AngemeldeterBenutzer.class) : null;
+        if (gespeichert != null && gespeichert.email().equals(email) && istAktuell(gespeichert)) {
+            return gespeichert;
+        }
+
+        AngemeldeterBenutzer geladen = ladeAngemeldetenBenutzer(email);
+        if (session != null) {
+            session.setAttribute(AngemeldeterBenutzer.class, geladen);
+        }
+        return geladen;
+    }
+
+    /**
+     * Erhöht den Berechtigungsstand der betroffenen Benutzer in der Transaktion der Änderung. Er wird
+     * gemeinsam mit ihr committet oder zurückgerollt.
+     *
+     * @param event Das Ereignis
+     */
+    @EventListener
+    public void berechtigungGeaendert(BerechtigungGeaendertEvent event) {
+        if (event.benutzerId() == null) {
+            benutzerRepository.erhoeheBerechtigungStandAlle();
+        } else {
+            benutzerRepository.erhoeheBerechtigungStand(event.benutzerId());
+        }
     }
 
     /**
@@ -71,4 +121,23 @@ public class SecurityService {
         Authentication auth = new UsernamePasswordAuthenticationToken(userDetails, userDetails.getPassword(), userDetails.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(auth);
     }
+
+    private boolean istAktuell(AngemeldeterBenutzer benutzer) {
+        // Nur ein neuerer Stand lädt neu; ein nachlaufendes Lesereplikat ersetzt keinen frischeren Schnappschuss
+        return benutzerRepository.findBerechtigungStand(benutzer.id())
+                .map(stand -> stand <= benutzer.stand())
+                .orElse(false);
+    }
+
+    private AngemeldeterBenutzer ladeAngemeldetenBenutzer(String email) {
+        Benutzer benutzer = benutzerRepository.findByEmailWithMitgliedschaften(email).orElse(null);
+        if (benutzer == null) {
+            return null;
+        }
+
+        List<Long> schiesstandIds = schiesstandRepository.findBerechtigteSchiesstaende(benutzer.getId(), Limit.unlimited()).stream()
+                .map(Schiesstand::getId)
+                .toList();
+        return AngemeldeterBenutzer.von(benutzer, schiesstandIds);
+    }
 }
@@ -0,0 +1,173 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.repository.EmailNachrichtRepository;
+import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
+import de.suchalla.schiessbuch.repository.UserTokenRepository;
+import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Entfernt regelmäßig Daten, die nicht mehr gebraucht werden:
+ * <ul>
+ *     <li>abgelaufene Verifizierungs- und Passwort-Reset-Tokens, die nie eingelöst wurden,</li>
+ *     <li>abgelehnte Vereinsmitgliedschaften und abgelehnte Einträge nach Ablauf der Aufbewahrungsfrist,</li>
+ *     <li>gesendete E-Mails aus dem Postausgang nach Ablauf ihrer Aufbewahrungsfrist.</li>
+ * </ul>
+ * Gelöscht wird blockweise per Massen-DELETE, jeder Block in eigener Transaktion. Bei mehreren Knoten
+ * räumt nur derjenige auf, der die {@link JobSperren Lease-Sperre} erhält.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class Aufraeumdienst {
+
+    /** Name des Jobs in {@code job_sperre}. */
+    static final String JOB = "aufraeumen";
+
+    private final UserTokenRepository userTokenRepository;
+    private final VereinsmitgliedschaftRepository mitgliedschaftRepository;
+    private final SchiessnachweisEintragRepository eintragRepository;
+    private final EmailNachrichtRepository emailNachrichtRepository;
+    private final SchiessnachweisService schiessnachweisService;
+    private final JobSperren jobSperren;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaktion;
+    private final int batchGroesse;
+    private final Duration aufbewahrungAbgelehnt;
+    private final Duration aufbewahrungEmails;
+    private final Duration sperrDauer;
+
+    /**
+     * Konstruktor.
+     *
+     * @param userTokenRepository Repository für Benutzer-Tokens
+     * @param mitgliedschaftRepository Repository für Vereinsmitgliedschaften
+     * @param eintragRepository Repository für Schießnachweis-Einträge
+     * @param emailNachrichtRepository Repository für den E-Mail-Postausgang
+     * @param schiessnachweisService Service für Schießnachweis-Einträge (Löschen mit Zählern)
+     * @param jobSperren Lease-Sperren für geplante Jobs
+     * @param eventPublisher Veröffentlicht Berechtigungsänderungen
+     * @param transactionManager Transaktionsmanager für die Blöcke
+     * @param batchGroesse Anzahl Zeilen je Block
+     * @param aufbewahrungAbgelehnt Aufbewahrungsfrist abgelehnter Mitgliedschaften und Einträge
+     * @param aufbewahrungEmails Aufbewahrungsfrist gesendeter E-Mails
+     * @param sperrDauer Längste erwartete Laufzeit eines Durchlaufs
+     */
+    public Aufraeumdienst(UserTokenRepository userTokenRepository,
+                          VereinsmitgliedschaftRepository mitgliedschaftRepository,
+                          SchiessnachweisEintragRepository eintragRepository,
+                          EmailNachrichtRepository emailNachrichtRepository,
+                          SchiessnachweisService schiessnachweisService,
+                          JobSperren jobSperren,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${aufraeumen.batch-groesse:500}") int batchGroesse,
+                          @Value("${aufraeumen.aufbewahrung-abgelehnt:P180D}") Duration aufbewahrungAbgelehnt,
+                          @Value("${aufraeumen.aufbewahrung-emails:P30D}") Duration aufbewahrungEmails,
+                          @Value("${aufraeumen.sperr-dauer:PT30M}") Duration sperrDauer) {
+        this.userTokenRepository = userTokenRepository;
+        this.mitgliedschaftRepository = mitgliedschaftRepository;
+        this.eintragRepository = eintragRepository;
+        this.emailNachrichtRepository = emailNachrichtRepository;
+        this.schiessnachweisService = schiessnachweisService;
+        this.jobSperren = jobSperren;
+        this.eventPublisher = eventPublisher;
+        this.transaktion = new TransactionTemplate(transactionManager);
+        this.batchGroesse = Math.min(batchGroesse, SchiessnachweisService.LOESCH_BLOCK);
+        this.aufbewahrungAbgelehnt = aufbewahrungAbgelehnt;
+        this.aufbewahrungEmails = aufbewahrungEmails;
+        this.sperrDauer = sperrDauer;
+    }
+
+    /**
+     * Geplantes Aufräumen, sofern kein anderer Knoten gerade aufräumt.
+     */
+    @Scheduled(initialDelayString = "${aufraeumen.verzoegerung:PT10M}",
+            fixedDelayString = "${aufraeumen.intervall:PT6H}")
+    public void geplantesAufraeumen() {
+        try {
+            jobSperren.fuehreAus(JOB, sperrDauer, () -> {
+                Ergebnis ergebnis = raeumeAuf();
+                log.info("Aufräumen: {} Tokens, {} Mitgliedschaften, {} Einträge und {} E-Mails gelöscht",
+                        ergebnis.tokens(), ergebnis.mitgliedschaften(), ergebnis.eintraege(), ergebnis.emails());
+            });
+        } catch (Exception e) {
+            log.error("Aufräumen fehlgeschlagen", e);
+        }
+    }
+
+    /**
+     * Löscht abgelaufene Tokens, abgelehnte Mitgliedschaften und Einträge, die länger als die
+     * Aufbewahrungsfrist unverändert sind, sowie gesendete E-Mails nach deren Aufbewahrungsfrist.
+     *
+     * @return Anzahl gelöschter Zeilen je Art
+     */
+    public Ergebnis raeumeAuf() {
+        LocalDateTime jetzt = LocalDateTime.now();
+        LocalDateTime grenze = jetzt.minus(aufbewahrungAbgelehnt);
+
+        long tokens = loescheBlockweise(
+                limit -> userTokenRepository.findIdsAbgelaufen(jetzt, limit),
+                userTokenRepository::loescheAlle);
+        long mitgliedschaften = loescheBlockweise(
+                limit -> mitgliedschaftRepository.findIdsNachStatusVor(MitgliedschaftsStatus.ABGELEHNT, grenze, limit),
+                mitgliedschaftRepository::loescheAlle);
+        long eintraege = loescheBlockweise(
+                limit -> eintragRepository.findIdsNachStatusVor(EintragStatus.ABGELEHNT, grenze, limit),
+                schiessnachweisService::loescheEintraege);
+        LocalDateTime emailGrenze = jetzt.minus(aufbewahrungEmails);
+        long emails = loescheBlockweise(
+                limit -> emailNachrichtRepository.findIdsGesendetVor(emailGrenze, limit),
+                emailNachrichtRepository::loescheAlle);
+
+        if (mitgliedschaften > 0) {
+            eventPublisher.publishEvent(BerechtigungGeaendertEvent.alle());
+        }
+        return new Ergebnis(tokens, mitgliedschaften, eintraege, emails);
+    }
+
+    private long loescheBlockweise(Function<Limit, List<Long>> auswahl, ToIntFunction<Collection<Long>> loeschen) {
+        long geloescht = 0;
+        Block block;
+        do {
+            block = transaktion.execute(status -> {
+                List<Long> ids = auswahl.apply(Limit.of(batchGroesse));
+                return new Block(ids.size(), ids.isEmpty() ? 0 : loeschen.applyAsInt(ids));
+            });
+            geloescht += block.geloescht();
+        } while (block.gefunden() == batchGroesse);
+        return geloescht;
+    }
+
+    /**
+     * Anzahl gelöschter Zeilen eines Durchlaufs.
+     *
+     * @param tokens Abgelaufene Tokens
+     * @param mitgliedschaften Abgelehnte Mitgliedschaften
+     * @param eintraege Abgelehnte Einträge
+     * @param emails Gesendete E-Mails
+     */
+    public record Ergebnis(long tokens, long mitgliedschaften, long eintraege, long emails) {
+    }
+
+    private record Block(int gefunden, int geloescht) {
+    }
+}
@@ -0,0 +1,225 @@
+package de.suchalla.schiessbuch.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vaadin.flow.shared.Registration;
+import de.suchalla.schiessbuch.model.dto.InAppBenachrichtigung;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Stellt Benachrichtigungen an angemeldete Benutzer direkt in der Anwendung zu.
+ * <p>
+ * Jede geöffnete Oberfläche (UI) eines Benutzers meldet sich mit einer Zustellfunktion an, die per
+ * {@code UI.access} und Server-Push die Glocke im Hauptlayout aktualisiert. Die Zustellung läuft im Thread
+ * des Auslösers und blockiert nicht: {@code UI.access} reiht die Änderung nur ein. Es gibt daher keinen Thread
+ * je Sitzung, und Lesen und Zustellen kommen ohne Sperren aus.
+ * <p>
+ * Zusätzlich hält ein Postfach je Benutzer die letzten Benachrichtigungen, damit sie nach einem Neuladen
+ * oder einer späteren Anmeldung innerhalb der Aufbewahrungszeit noch in der Glocke stehen. Ob ein Benutzer
+ * gerade angemeldet ist, entscheidet, ob Benachrichtigungen in der Anwendung statt per E-Mail ankommen
+ * (siehe {@link EmailService}).
+ * <p>
+ * Eine geschlossene Oberfläche meldet sich erst ab, wenn Vaadin sie nach mehreren ausgebliebenen Heartbeats
+ * verwirft. Als angemeldet zählt daher nur eine Oberfläche, die innerhalb des Lebenszeichen-Fensters ein
+ * {@link Anmeldung#lebenszeichen() Lebenszeichen} gegeben hat, etwa einen Heartbeat; andernfalls geht die
+ * Benachrichtigung per E-Mail hinaus, statt ungelesen im Postfach zu liegen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class BenachrichtigungsZentrale {
+
+    private final ConcurrentHashMap<Long, Set<Anmeldung>> zustellungen = new ConcurrentHashMap<>();
+    private final Cache<Long, Postfach> postfaecher;
+    private final int postfachGroesse;
+    private final long lebenszeichenFensterNanos;
+
+    /**
+     * Konstruktor.
+     *
+     * @param postfachGroesse Anzahl Benachrichtigungen, die je Benutzer aufbewahrt werden
+     * @param aufbewahrung Zeit ohne Zugriff, nach der ein Postfach verworfen wird
+     * @param maxPostfaecher Höchstanzahl aufbewahrter Postfächer
+     * @param lebenszeichenFenster Zeit seit dem letzten Lebenszeichen, bis zu der eine Oberfläche als geöffnet gilt
+     */
+    public BenachrichtigungsZentrale(@Value("${benachrichtigung.postfach-groesse:50}") int postfachGroesse,
+                                     @Value("${benachrichtigung.aufbewahrung:PT12H}") Duration aufbewahrung,
+                                     @Value("${benachrichtigung.max-postfaecher:10000}") long maxPostfaecher,
+                                     @Value("${benachrichtigung.lebenszeichen-fenster:PT3M}") Duration lebenszeichenFenster) {
+        this.postfachGroesse = postfachGroesse;
+        this.lebenszeichenFensterNanos = lebenszeichenFenster.toNanos();
+        this.postfaecher = Caffeine.newBuilder()
+                .expireAfterAccess(aufbewahrung)
+                .maximumSize(maxPostfaecher)
+                .build();
+    }
+
+    /**
+     * Meldet eine Oberfläche des Benutzers für die Zustellung an.
+     *
+     * @param benutzerId ID des Benutzers
+     * @param zustellung Wird für jede neue Benachrichtigung aufgerufen, ggf. aus einem fremden Thread
+     * @return Anmeldung für Lebenszeichen und zum Abmelden, z. B. beim Schließen der Oberfläche
+     */
+    public Anmeldung registriere(Long benutzerId, Consumer<InAppBenachrichtigung> zustellung) {
+        Anmeldung anmeldung = new Anmeldung(benutzerId, zustellung);
+        zustellungen.compute(benutzerId, (id, vorhandene) -> {
+            Set<Anmeldung> menge = vorhandene != null ? vorhandene : new CopyOnWriteArraySet<>();
+            menge.add(anmeldung);
+            return menge;
+        });
+        return anmeldung;
+    }
+
+    /**
+     * Prüft, ob der Benutzer gerade mindestens eine geöffnete Oberfläche hat, die sich innerhalb des
+     * Lebenszeichen-Fensters gemeldet hat.
+     *
+     * @param benutzerId ID des Benutzers
+     * @return true, wenn Benachrichtigungen sofort angezeigt werden
+     */
+    public boolean istAngemeldet(Long benutzerId) {
+        Set<Anmeldung> menge = benutzerId != null ? zustellungen.get(benutzerId) : null;
+        if (menge == null) {
+            return false;
+        }
+        long jetzt = System.nanoTime();
+        return menge.stream().anyMatch(anmeldung -> jetzt - anmeldung.letztesLebenszeichen <= lebenszeichenFensterNanos);
+    }
+
+    /**
+     * Legt die Benachrichtigung im Postfach ab und stellt sie allen geöffneten Oberflächen zu. Innerhalb
+     * einer Transaktion geschieht das erst nach dem Commit, damit nichts Zurückgerolltes angezeigt wird.
+     *
+     * @param benutzerId ID des Empfängers
+     * @param benachrichtigung Die Benachrichtigung
+     */
+    public void zustellen(Long benutzerId, InAppBenachrichtigung benachrichtigung) {
+        if (benutzerId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stelleZu(benutzerId, benachrichtigung);
+                }
+            });
+        } else {
+            stelleZu(benutzerId, benachrichtigung);
+        }
+    }
+
+    /**
+     * Liefert die aufbewahrten Benachrichtigungen, die neueste zuerst.
+     *
+     * @param benutzerId ID des Benutzers
+     * @return Die Benachrichtigungen
+     */
+    public List<InAppBenachrichtigung> getBenachrichtigungen(Long benutzerId) {
+        Postfach postfach = postfaecher.getIfPresent(benutzerId);
+        return postfach != null ? List.copyOf(postfach.eintraege) : List.of();
+    }
+
+    /**
+     * @param benutzerId ID des Benutzers
+     * @return Anzahl ungelesener Benachrichtigungen
+     */
+    public int getUngelesen(Long benutzerId) {
+        Postfach postfach = postfaecher.getIfPresent(benutzerId);
+        return postfach != null ? postfach.ungelesen.get() : 0;
+    }
+
+    /**
+     * Markiert alle Benachrichtigungen des Benutzers als gelesen.
+     *
+     * @param benutzerId ID des Benutzers
+     */
+    public void markiereGelesen(Long benutzerId) {
+        Postfach postfach = postfaecher.getIfPresent(benutzerId);
+        if (postfach != null) {
+            postfach.ungelesen.set(0);
+        }
+    }
+
+    private void stelleZu(Long benutzerId, InAppBenachrichtigung benachrichtigung) {
+        postfaecher.get(benutzerId, id -> new Postfach()).hinzufuegen(benachrichtigung, postfachGroesse);
+        Set<Anmeldung> menge = zustellungen.get(benutzerId);
+        if (menge == null) {
+            return;
+        }
+        for (Anmeldung anmeldung : menge) {
+            try {
+                anmeldung.zustellung.accept(benachrichtigung);
+            } catch (RuntimeException e) {
+                log.debug("Zustellung an Benutzer {} fehlgeschlagen: {}", benutzerId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Anmeldung einer geöffneten Oberfläche.
+     */
+    public final class Anmeldung implements Registration {
+
+        private final Long benutzerId;
+        private final Consumer<InAppBenachrichtigung> zustellung;
+        private volatile long letztesLebenszeichen = System.nanoTime();
+
+        private Anmeldung(Long benutzerId, Consumer<InAppBenachrichtigung> zustellung) {
+            this.benutzerId = benutzerId;
+            this.zustellung = zustellung;
+        }
+
+        /**
+         * Meldet, dass die Oberfläche noch geöffnet ist, z. B. bei jedem Heartbeat des Browsers.
+         */
+        public void lebenszeichen() {
+            letztesLebenszeichen = System.nanoTime();
+        }
+
+        /**
+         * Meldet die Oberfläche ab.
+         */
+        @Override
+        public void remove() {
+            zustellungen.computeIfPresent(benutzerId, (id, menge) -> {
+                menge.remove(this);
+                return menge.isEmpty() ? null : menge;
+            });
+        }
+    }
+
+    /**
+     * Die letzten Benachrichtigungen eines Benutzers, die neueste vorn.
+     */
+    private static final class Postfach {
+
+        private final ConcurrentLinkedDeque<InAppBenachrichtigung> eintraege = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger anzahl = new AtomicInteger();
+        private final AtomicInteger ungelesen = new AtomicInteger();
+
+        void hinzufuegen(InAppBenachrichtigung benachrichtigung, int maxAnzahl) {
+            eintraege.addFirst(benachrichtigung);
+            ungelesen.updateAndGet(n -> Math.min(n + 1, maxAnzahl));
+            if (anzahl.incrementAndGet() > maxAnzahl && eintraege.pollLast() != null) {
+                anzahl.decrementAndGet();
+            }
+        }
+    }
+}
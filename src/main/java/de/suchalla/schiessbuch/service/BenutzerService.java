@@ -8,8 +8,10 @@ import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
 import de.suchalla.schiessbuch.model.enums.UserTokenTyp;
 import de.suchalla.schiessbuch.repository.BenutzerRepository;
 import de.suchalla.schiessbuch.repository.DigitalesZertifikatRepository;
+import de.suchalla.schiessbuch.repository.SignaturHinweisRepository;
 import de.suchalla.schiessbuch.repository.UserTokenRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,7 +36,9 @@ public class BenutzerService {
     private final PasswordEncoder passwordEncoder;
     private final UserTokenRepository userTokenRepository;
     private final DigitalesZertifikatRepository digitalesZertifikatRepository;
+    private final SignaturHinweisRepository signaturHinweisRepository;
     private final BenutzerMapper benutzerMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Registriert einen neuen Benutzer.
@@ -81,6 +85,7 @@ public class BenutzerService {
      */
     public void aktualisiereBenutzer(Benutzer benutzer) {
         benutzerRepository.save(benutzer);
+        eventPublisher.publishEvent(new BerechtigungGeaendertEvent(benutzer.getId()));
     }
 
     /**
@@ -120,11 +125,13 @@ public class BenutzerService {
         // Zuerst alle zugehörigen Zertifikate löschen (DB FK verhindert sonst das Löschen des Benutzers)
         digitalesZertifikatRepository.deleteAllByBenutzerId(managed.getId());
 
-        // Dann alle zugehörigen UserTokens löschen
+        // Dann alle zugehörigen UserTokens und vorgemerkten Signaturanfragen löschen
         userTokenRepository.deleteAllByBenutzer(managed);
+        signaturHinweisRepository.loescheAlleFuerEmpfaenger(managed.getId());
 
         // Anschließend den Benutzer löschen (Children wie Vereinsmitgliedschaften/Schiessnachweise werden per Cascade entfernt)
         benutzerRepository.delete(managed);
+        eventPublisher.publishEvent(new BerechtigungGeaendertEvent(managed.getId()));
     }
 
     /**
@@ -147,9 +154,11 @@ public class BenutzerService {
 
         // Tokens per ID löschen (vermeidet das Laden einer transient/ detached Benutzer-Instanz)
         userTokenRepository.deleteAllByBenutzerId(benutzerId);
+        signaturHinweisRepository.loescheAlleFuerEmpfaenger(benutzerId);
 
         // Benutzer direkt per Id löschen
         benutzerRepository.deleteById(benutzerId);
+        eventPublisher.publishEvent(new BerechtigungGeaendertEvent(benutzerId));
     }
 
     /**
@@ -176,6 +185,17 @@ public class BenutzerService {
         return createToken(benutzer, UserTokenTyp.PASSWORD_RESET, Duration.ofHours(2));
     }
 
+    /**
+     * Findet einen Benutzer anhand der ID, ohne Mitgliedschaften zu laden.
+     *
+     * @param id Die Benutzer-ID
+     * @return Benutzer oder null
+     */
+    @Transactional(readOnly = true)
+    public Benutzer findeBenutzer(Long id) {
+        return benutzerRepository.findById(id).orElse(null);
+    }
+
     /**
      * Findet einen Benutzer anhand der E-Mail-Adresse.
      *
@@ -0,0 +1,21 @@
+package de.suchalla.schiessbuch.service;
+
+/**
+ * Wird veröffentlicht, wenn sich Rolle, Vereinsmitgliedschaften oder beaufsichtigte Schießstände
+ * eines Benutzers geändert haben. Zwischengespeicherte Benutzerdaten werden nach dem Commit verworfen.
+ *
+ * @param benutzerId ID des betroffenen Benutzers; {@code null} betrifft alle Benutzer
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record BerechtigungGeaendertEvent(Long benutzerId) {
+
+    /**
+     * Ereignis für eine Änderung, die beliebig viele Benutzer betreffen kann.
+     *
+     * @return Das Ereignis
+     */
+    public static BerechtigungGeaendertEvent alle() {
+        return new BerechtigungGeaendertEvent(null);
+    }
+}
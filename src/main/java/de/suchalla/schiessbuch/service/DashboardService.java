@@ -0,0 +1,76 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
+import de.suchalla.schiessbuch.model.dto.DashboardStatistik;
+import de.suchalla.schiessbuch.model.dto.VereinsStatistik;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Service für die Kennzahlen des Dashboards.
+ * Liest ausschließlich die vorberechneten Zähler (siehe {@link ZaehlerService}), sodass die Kosten
+ * unabhängig von der Anzahl der Einträge und Mitgliedschaften konstant bleiben.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    private static final Set<BenutzerRolle> VEREINS_ROLLEN = EnumSet.of(
+            BenutzerRolle.AUFSEHER, BenutzerRolle.SCHIESSSTAND_AUFSEHER, BenutzerRolle.VEREINS_CHEF, BenutzerRolle.ADMIN);
+
+    private final ZaehlerService zaehlerService;
+
+    /**
+     * Ermittelt die Kennzahlen für die Statistik-Kacheln eines Benutzers.
+     * Die Vereinskennzahlen beziehen sich auf den ersten Verein, in dem der Benutzer Aufseher
+     * oder Vereinschef ist.
+     *
+     * @param benutzer Schnappschuss des angemeldeten Benutzers
+     * @return Kennzahlen des Benutzers
+     */
+    public DashboardStatistik ermittleStatistik(AngemeldeterBenutzer benutzer) {
+        long unsignierteEintraege = zaehlerService.lese(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, benutzer.id());
+
+        VereinsStatistik vereinsStatistik = VereinsStatistik.LEER;
+        if (VEREINS_ROLLEN.contains(benutzer.rolle())) {
+            Long vereinId = benutzer.mitgliedschaften().stream()
+                    .filter(m -> (m.istAufseher() || m.istVereinschef()) && m.vereinId() != null)
+                    .map(AngemeldeterBenutzer.Mitgliedschaft::vereinId)
+                    .findFirst()
+                    .orElse(null);
+            if (vereinId != null) {
+                vereinsStatistik = ermittleVereinsStatistik(vereinId);
+            }
+        }
+
+        return new DashboardStatistik(unsignierteEintraege,
+                vereinsStatistik.offeneEintraege(), vereinsStatistik.beitrittsanfragen());
+    }
+
+    /**
+     * Liefert die Kennzahlen eines Vereins aus den Zählern.
+     * Benötigt zwei Primärschlüssel-Zugriffe bzw. eine Abfrage über die Schießstände des Vereins.
+     *
+     * @param verein Der Verein
+     * @return Kennzahlen des Vereins
+     */
+    public VereinsStatistik ermittleVereinsStatistik(Verein verein) {
+        return ermittleVereinsStatistik(verein.getId());
+    }
+
+    private VereinsStatistik ermittleVereinsStatistik(Long vereinId) {
+        return new VereinsStatistik(zaehlerService.leseOffeneSignaturenVonVerein(vereinId),
+                zaehlerService.lese(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, vereinId));
+    }
+}
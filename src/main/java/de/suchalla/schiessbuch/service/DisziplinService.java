@@ -7,6 +7,7 @@ import de.suchalla.schiessbuch.repository.DisziplinRepository;
 import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
 import de.suchalla.schiessbuch.repository.SchiesstandRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +27,8 @@ public class DisziplinService {
     private final DisziplinRepository disziplinRepository;
     private final SchiesstandRepository schiesstandRepository;
     private final SchiessnachweisEintragRepository eintragRepository;
+    private final SchiessnachweisService schiessnachweisService;
+    private final ReferenzdatenCache referenzdatenCache;
 
     /**
      * Erstellt eine neue Disziplin.
@@ -34,6 +37,7 @@ public class DisziplinService {
      */
     public void erstelleDisziplin(Disziplin disziplin) {
         disziplinRepository.save(disziplin);
+        referenzdatenCache.leereNachCommit(Disziplin.class);
     }
 
 
@@ -62,6 +66,7 @@ public class DisziplinService {
                 .orElseThrow(() -> new IllegalArgumentException("Disziplin nicht gefunden"));
         disziplin.setArchiviert(true);
         disziplinRepository.save(disziplin);
+        referenzdatenCache.leereNachCommit(Disziplin.class);
     }
 
     /**
@@ -71,6 +76,7 @@ public class DisziplinService {
      */
     public void erstelleSchiesstand(Schiesstand schiesstand) {
         schiesstandRepository.save(schiesstand);
+        referenzdatenCache.leereNachCommit(Schiesstand.class);
     }
 
     /**
@@ -129,6 +135,7 @@ public class DisziplinService {
                 .orElseThrow(() -> new IllegalArgumentException("Disziplin nicht gefunden"));
         disziplin.setArchiviert(false);
         disziplinRepository.save(disziplin);
+        referenzdatenCache.leereNachCommit(Disziplin.class);
     }
 
     /**
@@ -145,13 +152,15 @@ public class DisziplinService {
     }
 
     /**
-     * Löscht eine Disziplin endgültig inklusive aller zugehörigen Einträge.
-     * WARNUNG: Diese Aktion kann nicht rückgängig gemacht werden!
-     * Sollte nur für archivierte Disziplinen verwendet werden.
+     * Prüft, ob eine Disziplin endgültig gelöscht werden darf.
      *
      * @param disziplinId Die Disziplin-ID
+     * @return Die Disziplin
+     * @throws IllegalArgumentException wenn die Disziplin nicht existiert
+     * @throws IllegalStateException wenn die Disziplin nicht archiviert ist
      */
-    public void loescheDisziplinMitEintraegen(Long disziplinId) {
+    @Transactional(readOnly = true)
+    public Disziplin pruefeLoeschbar(Long disziplinId) {
         Disziplin disziplin = disziplinRepository.findById(disziplinId)
                 .orElseThrow(() -> new IllegalArgumentException("Disziplin nicht gefunden"));
 
@@ -159,13 +168,25 @@ public class DisziplinService {
         if (!Boolean.TRUE.equals(disziplin.getArchiviert())) {
             throw new IllegalStateException("Nur archivierte Disziplinen können gelöscht werden. Bitte archivieren Sie die Disziplin zuerst.");
         }
+        return disziplin;
+    }
+
+    /**
+     * Löscht eine Disziplin endgültig inklusive aller zugehörigen Einträge.
+     * WARNUNG: Diese Aktion kann nicht rückgängig gemacht werden!
+     * Sollte nur für archivierte Disziplinen verwendet werden.
+     *
+     * @param disziplinId Die Disziplin-ID
+     */
+    public void loescheDisziplinMitEintraegen(Long disziplinId) {
+        pruefeLoeschbar(disziplinId);
 
-        // Lösche alle Einträge, die diese Disziplin verwenden
-        var eintraege = eintragRepository.findByDisziplin(disziplin);
-        eintragRepository.deleteAll(eintraege);
+        // Lösche alle Einträge, die diese Disziplin verwenden, per Massen-DELETE
+        schiessnachweisService.loescheAlleEintraege(limit -> eintragRepository.findIdsVonDisziplin(disziplinId, limit));
 
         // Lösche die Disziplin selbst
-        disziplinRepository.delete(disziplin);
+        disziplinRepository.deleteById(disziplinId);
+        referenzdatenCache.leereNachCommit(Disziplin.class);
     }
 
     /**
@@ -185,6 +206,7 @@ public class DisziplinService {
      */
     public void aktualisiereSchiesstand(Schiesstand schiesstand) {
         schiesstandRepository.save(schiesstand);
+        referenzdatenCache.leereNachCommit(Schiesstand.class);
     }
 
     /**
@@ -198,12 +220,13 @@ public class DisziplinService {
                 .orElseThrow(() -> new IllegalArgumentException("Schießstand nicht gefunden"));
 
         // Prüfe über Repository, ob Einträge vorhanden sind
-        if (!eintragRepository.findBySchiesstand(schiesstand).isEmpty()) {
+        if (eintragRepository.existsBySchiesstand(schiesstand)) {
             throw new IllegalStateException(
                     "Schießstand kann nicht gelöscht werden, da noch Einträge vorhanden sind");
         }
 
         schiesstandRepository.delete(schiesstand);
+        referenzdatenCache.leereNachCommit(Schiesstand.class);
     }
 
     /**
@@ -211,39 +234,37 @@ public class DisziplinService {
      * Ein Benutzer ist berechtigt, wenn er:
      * - Als Aufseher direkt im Schießstand eingetragen ist, oder
      * - Aufseher oder Vereinschef im Verein des Schießstands ist
+     * Bei mehreren berechtigten Schießständen wird der mit der kleinsten ID geliefert.
      *
-     * @param benutzer Der Benutzer
+     * @param benutzerId ID des Benutzers
      * @return Der erste berechtigte Schießstand
-     * @throws IllegalArgumentException wenn der Benutzer null ist oder kein berechtigter Schießstand gefunden wird
+     * @throws IllegalArgumentException wenn die ID null ist oder kein berechtigter Schießstand gefunden wird
      */
     @Transactional(readOnly = true)
-    public Schiesstand findeBerechtigtenSchiesstand(de.suchalla.schiessbuch.model.entity.Benutzer benutzer) {
-        if (benutzer == null) {
+    public Schiesstand findeBerechtigtenSchiesstand(Long benutzerId) {
+        if (benutzerId == null) {
             throw new IllegalArgumentException("Benutzer darf nicht null sein");
         }
 
-        List<Schiesstand> alleSchiesstaende = schiesstandRepository.findAllWithVerein();
-
-        return alleSchiesstaende.stream()
-                .filter(schiesstand -> {
-                    // Prüfe ob Benutzer als Aufseher direkt im Schießstand eingetragen ist
-                    boolean istStandaufseher = schiesstand.getAufseher() != null &&
-                            schiesstand.getAufseher().getId().equals(benutzer.getId());
-
-                    // Prüfe ob Benutzer Aufseher ODER Vereinschef im Verein des Schießstands ist
-                    boolean istVereinsAufseherOderChef = false;
-                    if (benutzer.getVereinsmitgliedschaften() != null && !benutzer.getVereinsmitgliedschaften().isEmpty()
-                            && schiesstand.getVerein() != null) {
-                        istVereinsAufseherOderChef = benutzer.getVereinsmitgliedschaften().stream()
-                                .anyMatch(m -> m.getVerein() != null && m.getVerein().getId().equals(schiesstand.getVerein().getId()) &&
-                                        (Boolean.TRUE.equals(m.getIstAufseher()) ||
-                                                Boolean.TRUE.equals(m.getIstVereinschef())));
-                    }
-
-                    return istStandaufseher || istVereinsAufseherOderChef;
-                })
+        return schiesstandRepository.findBerechtigteSchiesstaende(benutzerId, Limit.of(1)).stream()
                 .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Kein berechtigter Schießstand für Benutzer " + benutzer.getEmail() + " gefunden"));
+                .orElseThrow(() -> new IllegalArgumentException("Kein berechtigter Schießstand für Benutzer " + benutzerId + " gefunden"));
+    }
+
+    /**
+     * Findet alle Schießstände, die ein Benutzer beaufsichtigen darf (als Standaufseher oder als
+     * Aufseher bzw. Vereinschef des Vereins).
+     *
+     * @param benutzer Der Benutzer
+     * @return Berechtigte Schießstände, aufsteigend nach ID
+     * @throws IllegalArgumentException wenn der Benutzer null ist
+     */
+    @Transactional(readOnly = true)
+    public List<Schiesstand> findeBerechtigteSchiesstaende(de.suchalla.schiessbuch.model.entity.Benutzer benutzer) {
+        if (benutzer == null) {
+            throw new IllegalArgumentException("Benutzer darf nicht null sein");
+        }
+        return schiesstandRepository.findBerechtigteSchiesstaende(benutzer.getId(), Limit.unlimited());
     }
 
     /**
@@ -0,0 +1,18 @@
+package de.suchalla.schiessbuch.service;
+
+/**
+ * Gemeinsamer Typ der fachlichen Ereignisse im Lebenszyklus von Einträgen, Mitgliedschaften und Zertifikaten.
+ * <p>
+ * Die Services veröffentlichen die Ereignisse innerhalb ihrer Transaktion über den
+ * {@link org.springframework.context.ApplicationEventPublisher}. Zuhörer, deren Ergebnis mit der Änderung
+ * committet werden muss (der E-Mail-Postausgang), hören mit {@code @EventListener} synchron mit. Alle anderen
+ * Zuhörer (Benachrichtigungen in der Anwendung, Metriken, Aktualisierung offener Ansichten) hören mit
+ * {@code @Async(AsyncKonfiguration.EREIGNIS)} und {@code @TransactionalEventListener}: Sie laufen erst nach
+ * dem Commit auf dem Ereignis-Executor und verlängern die Anfrage des Benutzers nicht. Da die enthaltenen
+ * Entities dann losgelöst sind, verwenden solche Zuhörer nur IDs und bereits geladene Werte.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public interface Domaenenereignis {
+}
@@ -0,0 +1,13 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
+
+/**
+ * Wird veröffentlicht, wenn ein Aufseher einen Eintrag abgelehnt hat.
+ *
+ * @param eintrag Der abgelehnte Eintrag
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record EintragAbgelehntEvent(SchiessnachweisEintrag eintrag) implements EintragEreignis {
+}
@@ -0,0 +1,156 @@
+package de.suchalla.schiessbuch.service;
+
+import com.vaadin.flow.shared.Registration;
+import de.suchalla.schiessbuch.config.AsyncKonfiguration;
+import de.suchalla.schiessbuch.config.BegrenzterExecutor;
+import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Meldet offenen Ansichten die Einträge ihres Schießstands, die erstellt, signiert oder abgelehnt wurden.
+ * <p>
+ * Die Meldung folgt nach dem Commit auf die {@link EintragEreignis}se. Je Anmeldung werden die IDs für die
+ * Dauer der Bündelung gesammelt und dann gemeinsam zugestellt, sodass eine Ansicht bei vielen Einträgen
+ * in kurzer Folge nur einen {@code UI.access} je Bündelungsfenster auslöst. Ein einzelner Zeitgeber-Thread
+ * plant alle Anmeldungen; zugestellt wird auf dem Ereignis-Executor. Weist dieser eine Zustellung ab,
+ * bleiben die IDs vorgemerkt und werden im nächsten Bündelungsfenster erneut zugestellt.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class EintragAenderungen {
+
+    private final ConcurrentHashMap<Long, Set<Abonnement>> abonnements = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService zeitgeber = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("eintrag-aenderungen").daemon().factory());
+    private final BegrenzterExecutor zustellung;
+    private final long buendelungMillis;
+
+    /**
+     * Konstruktor.
+     *
+     * @param zustellung Executor, auf dem die gesammelten Änderungen zugestellt werden
+     * @param buendelung Zeitraum, über den Änderungen je Ansicht gesammelt werden
+     */
+    public EintragAenderungen(@Qualifier(AsyncKonfiguration.EREIGNIS) BegrenzterExecutor zustellung,
+                              @Value("${eintraege.live.buendelung:PT0.25S}") Duration buendelung) {
+        this.zustellung = zustellung;
+        this.buendelungMillis = buendelung.toMillis();
+    }
+
+    /**
+     * Meldet eine Ansicht für die Änderungen an einem Schießstand an.
+     *
+     * @param schiesstandId ID des Schießstands
+     * @param beiAenderung Erhält die IDs der seit der letzten Zustellung geänderten Einträge, aus einem fremden Thread
+     * @return Registrierung zum Abmelden
+     */
+    public Registration registriere(Long schiesstandId, Consumer<Set<Long>> beiAenderung) {
+        Abonnement abonnement = new Abonnement(beiAenderung);
+        abonnements.computeIfAbsent(schiesstandId, id -> new CopyOnWriteArraySet<>()).add(abonnement);
+        return () -> {
+            abonnement.aktiv = false;
+            abonnements.computeIfPresent(schiesstandId, (id, menge) -> {
+                menge.remove(abonnement);
+                return menge.isEmpty() ? null : menge;
+            });
+        };
+    }
+
+    /**
+     * Merkt einen geänderten Eintrag für alle Ansichten seines Schießstands vor.
+     *
+     * @param ereignis Das Ereignis des erstellten, signierten oder abgelehnten Eintrags
+     */
+    @Async(AsyncKonfiguration.EREIGNIS)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void eintragGeaendert(EintragEreignis ereignis) {
+        SchiessnachweisEintrag eintrag = ereignis.eintrag();
+        if (eintrag.getId() == null || eintrag.getSchiesstand() == null) {
+            return;
+        }
+        Set<Abonnement> menge = abonnements.get(eintrag.getSchiesstand().getId());
+        if (menge != null) {
+            menge.forEach(abonnement -> abonnement.vormerken(eintrag.getId()));
+        }
+    }
+
+    /**
+     * Beendet den Zeitgeber beim Herunterfahren.
+     */
+    @PreDestroy
+    public void beenden() {
+        zeitgeber.shutdownNow();
+    }
+
+    /**
+     * Eine angemeldete Ansicht mit den seit der letzten Zustellung vorgemerkten Einträgen.
+     */
+    private final class Abonnement {
+
+        private final Consumer<Set<Long>> beiAenderung;
+        private final Set<Long> vorgemerkt = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean geplant = new AtomicBoolean();
+        private volatile boolean aktiv = true;
+
+        private Abonnement(Consumer<Set<Long>> beiAenderung) {
+            this.beiAenderung = beiAenderung;
+        }
+
+        void vormerken(Long eintragId) {
+            vorgemerkt.add(eintragId);
+            planen();
+        }
+
+        private void planen() {
+            if (geplant.compareAndSet(false, true)) {
+                zeitgeber.schedule(this::zustellen, buendelungMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void zustellen() {
+            // Erst freigeben, dann leeren: später Vorgemerktes plant eine eigene Zustellung
+            geplant.set(false);
+            if (!aktiv) {
+                return;
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Iterator<Long> it = vorgemerkt.iterator(); it.hasNext(); ) {
+                ids.add(it.next());
+                it.remove();
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            try {
+                zustellung.execute(() -> beiAenderung.accept(ids));
+            } catch (TaskRejectedException e) {
+                log.warn("Zustellung von {} Eintragsänderungen abgewiesen, neuer Versuch in {} ms: {}",
+                        ids.size(), buendelungMillis, e.getMessage());
+                vorgemerkt.addAll(ids);
+                planen();
+            }
+        }
+    }
+}
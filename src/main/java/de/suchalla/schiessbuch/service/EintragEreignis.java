@@ -0,0 +1,17 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
+
+/**
+ * Domänenereignis, das genau einen Schießnachweis-Eintrag betrifft (erstellt, signiert oder abgelehnt).
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public interface EintragEreignis extends Domaenenereignis {
+
+    /**
+     * @return Der betroffene Eintrag
+     */
+    SchiessnachweisEintrag eintrag();
+}
@@ -0,0 +1,14 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
+
+/**
+ * Wird veröffentlicht, wenn ein Schütze einen Eintrag erstellt hat. Synchrone Zuhörer laufen in der
+ * Transaktion der Erstellung, sodass z. B. Benachrichtigungen nur mit dem Eintrag committet werden.
+ *
+ * @param eintrag Der erstellte Eintrag
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record EintragErstelltEvent(SchiessnachweisEintrag eintrag) implements EintragEreignis {
+}
@@ -1,76 +1,139 @@
-
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.config.JfrEreignisse;
+import de.suchalla.schiessbuch.config.Leistungsmessung;
+import de.suchalla.schiessbuch.model.dto.Benachrichtigungsempfaenger;
+import de.suchalla.schiessbuch.model.dto.InAppBenachrichtigung;
 import de.suchalla.schiessbuch.model.entity.*;
-import jakarta.mail.internet.MimeMessage;
+import de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.repository.BenutzerRepository;
+import de.suchalla.schiessbuch.repository.EmailNachrichtRepository;
+import de.suchalla.schiessbuch.repository.SignaturHinweisRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.scheduling.annotation.Async;
-import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.Scanner;
 
+/**
+ * Erstellt E-Mails aus Templates und stellt sie in den Postausgang ({@code email_outbox}) ein.
+ * Das Einstellen läuft in der Transaktion des Aufrufers, sodass eine Benachrichtigung genau dann
+ * versendet wird, wenn die auslösende Änderung committet ist. Den Versand übernimmt {@link EmailVersand}.
+ * Ausgelöst wird das Einstellen über die {@link Domaenenereignis}se der Services; ein Fehler dabei wird
+ * nur protokolliert und verhindert die auslösende Änderung nicht. Dafür darf kein Fehler innerhalb eines
+ * transaktionalen Aufrufs entstehen, der die gemeinsame Transaktion als rollback-only markieren würde:
+ * Fehler beim Laden der Empfänger fängt das {@link EmpfaengerVerzeichnis} selbst ab, und Nachrichten sowie
+ * vorgemerkte Anfragen werden vor dem Speichern geprüft, statt erst beim Flush an einer Constraint zu scheitern.
+ * <p>
+ * Benutzer, die gerade angemeldet sind, erhalten Signaturanfragen, Signaturen und Beitrittsanfragen
+ * stattdessen über die {@link BenachrichtigungsZentrale} direkt in der Anwendung. Ablehnungen und
+ * Entscheidungen über Beitrittsanfragen werden nur dort gemeldet.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
 @Service
 @Slf4j
+@Transactional
 public class EmailService {
-    private final JavaMailSender mailSender;
-    private final VereinsmitgliedschaftRepository mitgliedschaftRepository;
+    /** Länge der Spalten {@code empfaenger} und {@code betreff} im Postausgang. */
+    private static final int MAX_LAENGE = 255;
+    private final EmailNachrichtRepository emailNachrichtRepository;
+    private final EmailVorlagen emailVorlagen;
+    private final SignaturHinweisRepository signaturHinweisRepository;
+    private final BenutzerRepository benutzerRepository;
+    private final EmpfaengerVerzeichnis empfaengerVerzeichnis;
+    private final BenachrichtigungsZentrale benachrichtigungsZentrale;
+    private final Leistungsmessung leistungsmessung;
     @Value("${email.enabled}")
     private boolean emailEnabled;
-    @Value("${spring.mail.from}")
-    private String from;
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
 
     /**
      * Konstruktor für den E-Mail-Service.
      *
-     * @param mailSender Mail-Sender zum Versenden von MIME-Nachrichten
-     * @param mitgliedschaftRepository Repository zur Abfrage von Vereinsmitgliedschaften (für Benachrichtigungen)
+     * @param emailNachrichtRepository Repository für den Postausgang
+     * @param emailVorlagen Vorkompilierte E-Mail-Templates
+     * @param signaturHinweisRepository Repository für vorgemerkte Signaturanfragen (Zusammenfassung)
+     * @param benutzerRepository Repository für Benutzer (Referenz auf den Empfänger vorgemerkter Anfragen)
+     * @param empfaengerVerzeichnis Zwischengespeicherte Empfänger von Vereinsbenachrichtigungen
+     * @param benachrichtigungsZentrale Zustellung an angemeldete Benutzer in der Anwendung
+     * @param leistungsmessung Misst das Einstellen in den Postausgang
      */
-    public EmailService(JavaMailSender mailSender, VereinsmitgliedschaftRepository mitgliedschaftRepository) {
-        this.mailSender = mailSender;
-        this.mitgliedschaftRepository = mitgliedschaftRepository;
+    public EmailService(EmailNachrichtRepository emailNachrichtRepository,
+                        EmailVorlagen emailVorlagen,
+                        SignaturHinweisRepository signaturHinweisRepository,
+                        BenutzerRepository benutzerRepository,
+                        EmpfaengerVerzeichnis empfaengerVerzeichnis,
+                        BenachrichtigungsZentrale benachrichtigungsZentrale,
+                        Leistungsmessung leistungsmessung) {
+        this.emailNachrichtRepository = emailNachrichtRepository;
+        this.emailVorlagen = emailVorlagen;
+        this.signaturHinweisRepository = signaturHinweisRepository;
+        this.benutzerRepository = benutzerRepository;
+        this.empfaengerVerzeichnis = empfaengerVerzeichnis;
+        this.benachrichtigungsZentrale = benachrichtigungsZentrale;
+        this.leistungsmessung = leistungsmessung;
     }
 
     @jakarta.annotation.PostConstruct
     public void logConfiguration() {
-        log.info("EmailService konfiguriert - Base-URL: {}, E-Mail aktiviert: {}, Von-Adresse: {}", baseUrl, emailEnabled, from);
+        log.info("EmailService konfiguriert - Base-URL: {}, E-Mail aktiviert: {}", baseUrl, emailEnabled);
     }
 
     /**
-     * Sendet eine HTML-E-Mail basierend auf einem Template.
+     * Stellt eine HTML-E-Mail basierend auf einem Template in den Postausgang ein.
      *
      * @param to Empfänger-Adresse
      * @param subject Betreff der E-Mail
      * @param templateName Dateiname des HTML-Templates in `resources/templates`
      * @param variables Map mit Template-Variablen (Platzhalter im Format `{{name}}`)
+     * @throws IllegalArgumentException wenn das Template unbekannt ist, eine Variable fehlt oder Empfänger
+     *         bzw. Betreff leer oder zu lang sind
      */
     public void sendMail(String to, String subject, String templateName, Map<String, Object> variables) {
+        leistungsmessung.messe("email.einstellen", Leistungsmessung.OHNE_BEZUG, () -> {
+            stelleEin(to, subject, templateName, variables);
+            return null;
+        });
+    }
+
+    private void stelleEin(String to, String subject, String templateName, Map<String, Object> variables) {
         if (!emailEnabled) {
             log.info("E-Mail-Versand deaktiviert. E-Mail an {} würde nicht gesendet.", to);
             return;
         }
-        try {
-            log.info("Sende E-Mail an {} mit Betreff: {}", to, subject);
-            String body = renderTemplate(templateName, variables);
-            log.debug("E-Mail-Body geladen: {}", body);
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, StandardCharsets.UTF_8.name());
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body, true);
-            helper.setFrom(from);
-            mailSender.send(message);
-            log.info("E-Mail erfolgreich an {} gesendet", to);
-        } catch (Exception e) {
-            log.error("Fehler beim E-Mail-Versand an {}: {}", to, e.getMessage(), e);
+        JfrEreignisse.EmailEreignis ereignis = new JfrEreignisse.EmailEreignis();
+        ereignis.begin();
+        ergaenzeLinks(templateName, variables);
+        String body = emailVorlagen.rendere(templateName, variables);
+        log.debug("E-Mail-Body geladen: {}", body);
+        pruefeNachricht(to, subject, body);
+        emailNachrichtRepository.save(EmailNachricht.builder()
+                .empfaenger(to)
+                .betreff(subject)
+                .inhalt(body)
+                .build());
+        ereignis.melde(templateName, body);
+        log.info("E-Mail an {} mit Betreff '{}' in den Postausgang gestellt", to, subject);
+    }
+
+    /**
+     * Prüft eine Nachricht gegen die Constraints des Postausgangs, bevor sie gespeichert wird.
+     */
+    private static void pruefeNachricht(String to, String subject, String body) {
+        if (to == null || to.isBlank() || to.length() > MAX_LAENGE) {
+            throw new IllegalArgumentException("Ungültige Empfänger-Adresse: " + to);
+        }
+        if (subject == null || subject.isBlank() || subject.length() > MAX_LAENGE) {
+            throw new IllegalArgumentException("Ungültiger Betreff für E-Mail an " + to);
+        }
+        if (body == null) {
+            throw new IllegalArgumentException("Leerer Inhalt für E-Mail an " + to);
         }
     }
 
@@ -83,46 +146,38 @@ public class EmailService {
         return baseUrl;
     }
 
-    private String renderTemplate(String templateName, Map<String, Object> variables) {
-        try (InputStream is = EmailService.class.getResourceAsStream("/templates/" + templateName)) {
-            if (is == null) {
-                log.error("Template nicht gefunden: /templates/{}", templateName);
-                return "";
-            }
-            try (Scanner scanner = new Scanner(is, StandardCharsets.UTF_8)) {
-                String template = scanner.useDelimiter("\\A").hasNext() ? scanner.next() : "";
-
-                // Wenn der Aufrufer nur ein Token übergibt, erzeugen wir hier die benötigten Links
-                if (variables != null) {
-                    // Verifizierungs-E-Mail: baue verificationLink aus token
-                    // Erkennen sowohl von Templates mit "verify" als auch "verification"
-                    String tn = templateName.toLowerCase();
-                    if (!variables.containsKey("verificationLink") && variables.containsKey("token") && tn.contains("verif")) {
-                        String token = variables.get("token").toString();
-                        variables.put("verificationLink", resolveBaseUrl() + "/email-verifizieren?token=" + token);
-                    }
-                    // Passwort-Reset: baue resetLink aus token
-                    if (!variables.containsKey("resetLink") && variables.containsKey("token") && templateName.toLowerCase().contains("password")) {
-                        String token = variables.get("token").toString();
-                        variables.put("resetLink", resolveBaseUrl() + "/passwort-reset?token=" + token);
-                    }
-
-                    // Ersetze alle Platzhalter im Template
-                    for (Map.Entry<String, Object> entry : variables.entrySet()) {
-                        if (entry.getValue() != null) {
-                            template = template.replace("{{" + entry.getKey() + "}}", entry.getValue().toString());
-                        }
-                    }
-                }
-                return template;
-            }
-        } catch (Exception e) {
-            log.error("Fehler beim Laden des Templates {}: {}", templateName, e.getMessage(), e);
-            return "";
+    /**
+     * Ergänzt aus einem übergebenen Token die Links für Verifizierungs- und Passwort-Reset-E-Mails.
+     */
+    private void ergaenzeLinks(String templateName, Map<String, Object> variables) {
+        if (variables == null || !variables.containsKey("token")) {
+            return;
+        }
+        String token = variables.get("token").toString();
+        String tn = templateName.toLowerCase();
+        // Erkennen sowohl von Templates mit "verify"/"verification" als auch "passwort"/"password"
+        if (!variables.containsKey("verificationLink") && tn.contains("verif")) {
+            variables.put("verificationLink", resolveBaseUrl() + "/email-verifizieren?token=" + token);
+        }
+        if (!variables.containsKey("resetLink") && tn.contains("passwor")) {
+            variables.put("resetLink", resolveBaseUrl() + "/passwort-reset?token=" + token);
+        }
+    }
+
+    /**
+     * Benachrichtigt Vereinschefs und Aufseher über einen neu erstellten Eintrag.
+     *
+     * @param ereignis Das Ereignis des erstellten Eintrags
+     */
+    @EventListener
+    public void eintragErstellt(EintragErstelltEvent ereignis) {
+        try {
+            notifySignatureRequest(ereignis.eintrag());
+        } catch (RuntimeException e) {
+            log.warn("Fehler beim Senden der Signatur-Benachrichtigung: {}", e.getMessage());
         }
     }
 
-    @Async
     public void notifySignatureRequest(SchiessnachweisEintrag eintrag) {
         Verein verein = eintrag.getSchiesstand() != null ? eintrag.getSchiesstand().getVerein() : null;
         if (verein == null) {
@@ -139,49 +194,93 @@ public class EmailService {
         }
         vars.put("actionUrl", actionUrl);
 
-        java.util.Set<Long> sentUserIds = new java.util.HashSet<>();
-        java.util.Set<String> sentEmails = new java.util.HashSet<>();
-
-        java.util.List<Vereinsmitgliedschaft> chefs =
-                mitgliedschaftRepository.findByVereinAndIstVereinschef(verein, true);
-        for (var m : chefs) {
-            var b = m.getBenutzer();
-            if (b == null) continue;
-            Long uid = b.getId();
-            String email = b.getEmail();
-            if ((uid != null && sentUserIds.contains(uid)) || (email != null && sentEmails.contains(email))) continue;
-            if (email == null || email.isBlank()) {
-                log.warn("Benutzer {} hat keine E-Mail-Adresse, überspringe Benachrichtigung", b);
-                continue;
-            }
-            if (Boolean.TRUE.equals(b.isEmailNotificationsEnabled())) {
-                this.sendMail(email, "Digitales Schießbuch - Eintrag zur Signatur", "signatur-request.html", vars);
-                if (uid != null) sentUserIds.add(uid);
-                sentEmails.add(email);
-            }
+        for (Benachrichtigungsempfaenger empfaenger : empfaengerVerzeichnis.findeEmpfaenger(verein.getId(), true, true)) {
+            benachrichtigeSignatur(empfaenger, eintrag, vars);
         }
+    }
 
-        java.util.List<Vereinsmitgliedschaft> aufseher =
-                mitgliedschaftRepository.findByVereinAndIstAufseher(verein, true);
-        for (var m : aufseher) {
-            var b = m.getBenutzer();
-            if (b == null) continue;
-            Long uid = b.getId();
-            String email = b.getEmail();
-            if ((uid != null && sentUserIds.contains(uid)) || (email != null && sentEmails.contains(email))) continue;
-            if (email == null || email.isBlank()) {
-                log.warn("Benutzer {} hat keine E-Mail-Adresse, überspringe Benachrichtigung", b);
-                continue;
-            }
-            if (Boolean.TRUE.equals(b.isEmailNotificationsEnabled())) {
-                this.sendMail(email, "Digitales Schießbuch - Eintrag zur Signatur", "signatur-request.html", vars);
-                if (uid != null) sentUserIds.add(uid);
-                sentEmails.add(email);
+    /**
+     * Meldet die Signaturanfrage angemeldeten Empfängern in der Anwendung; anderen wird sie sofort gesendet
+     * oder für die Zusammenfassung vorgemerkt, je nach {@link Benutzer#getBenachrichtigungsModus() Zustellart},
+     * sofern sie E-Mail-Benachrichtigungen erhalten.
+     */
+    private void benachrichtigeSignatur(Benachrichtigungsempfaenger empfaenger, SchiessnachweisEintrag eintrag,
+                                        Map<String, Object> vars) {
+        if (benachrichtigungsZentrale.istAngemeldet(empfaenger.benutzerId())) {
+            Schiesstand schiesstand = eintrag.getSchiesstand();
+            benachrichtigungsZentrale.zustellen(empfaenger.benutzerId(), InAppBenachrichtigung.jetzt(
+                    "Eintrag zur Signatur",
+                    "Neuer Eintrag am Schießstand " + schiesstand.getName() + " wartet auf Ihre Signatur.",
+                    "eintraege-verwaltung?schiesstandId=" + schiesstand.getId()));
+            return;
+        }
+        if (!empfaenger.perEmail()) {
+            return;
+        }
+        if (empfaenger.modus() == BenachrichtigungsModus.ZUSAMMENFASSUNG) {
+            if (empfaenger.benutzerId() == null) {
+                throw new IllegalArgumentException("Empfänger ohne Benutzer-ID für Eintrag " + eintrag.getId());
             }
+            Schiesstand schiesstand = eintrag.getSchiesstand();
+            signaturHinweisRepository.save(SignaturHinweis.builder()
+                    .empfaenger(benutzerRepository.getReferenceById(empfaenger.benutzerId()))
+                    .schiesstandId(schiesstand.getId())
+                    .schiesstandName(schiesstand.getName())
+                    .eintragId(eintrag.getId())
+                    .build());
+            return;
+        }
+        this.sendMail(empfaenger.email(), "Digitales Schießbuch - Eintrag zur Signatur", "signatur-request.html", vars);
+    }
+
+    /**
+     * Sendet einem Empfänger die Zusammenfassung seiner vorgemerkten Signaturanfragen.
+     *
+     * @param empfaenger Der Empfänger
+     * @param hinweise Die vorgemerkten Anfragen, älteste zuerst
+     */
+    public void notifySignatureDigest(Benutzer empfaenger, java.util.List<SignaturHinweis> hinweise) {
+        if (hinweise.isEmpty() || !empfaenger.isEmailNotificationsEnabled()) {
+            return;
+        }
+        Map<String, Long> anzahlProStand = new java.util.LinkedHashMap<>();
+        java.util.Set<Long> schiesstandIds = new java.util.HashSet<>();
+        for (SignaturHinweis hinweis : hinweise) {
+            String name = hinweis.getSchiesstandName() != null ? hinweis.getSchiesstandName() : "Unbekannter Schießstand";
+            anzahlProStand.merge(name, 1L, Long::sum);
+            schiesstandIds.add(hinweis.getSchiesstandId());
+        }
+
+        Map<String, Object> vars = new java.util.HashMap<>();
+        vars.put("username", empfaenger.getVollstaendigerName());
+        vars.put("anzahl", hinweise.size());
+        vars.put("schiesstaende", anzahlProStand.entrySet().stream()
+                .map(e -> e.getKey() + ": " + e.getValue())
+                .collect(java.util.stream.Collectors.joining(", ")));
+        String actionUrl = resolveBaseUrl() + "/eintraege-verwaltung";
+        if (schiesstandIds.size() == 1 && schiesstandIds.iterator().next() != null) {
+            actionUrl += "?schiesstandId=" + schiesstandIds.iterator().next();
+        }
+        vars.put("actionUrl", actionUrl);
+
+        this.sendMail(empfaenger.getEmail(), "Digitales Schießbuch - " + hinweise.size() + " Einträge zur Signatur",
+                "signatur-zusammenfassung.html", vars);
+    }
+
+    /**
+     * Benachrichtigt die Vereinschefs über eine neue Beitrittsanfrage.
+     *
+     * @param ereignis Das Ereignis der Beitrittsanfrage
+     */
+    @EventListener
+    public void mitgliedschaftBeantragt(MitgliedschaftBeantragtEvent ereignis) {
+        try {
+            notifyMembershipRequest(ereignis.verein(), ereignis.antragsteller());
+        } catch (RuntimeException e) {
+            log.warn("Fehler beim Senden der Beitrittsanfrage-Benachrichtigung: {}", e.getMessage());
         }
     }
 
-    @Async
     public void notifyMembershipRequest(Verein verein, Benutzer antragsteller) {
         Map<String, Object> vars = new java.util.HashMap<>();
         vars.put("username", "Empfänger");
@@ -193,32 +292,44 @@ public class EmailService {
         }
         vars.put("actionUrl", actionUrlMembership);
 
-        java.util.Set<Long> sentUserIds = new java.util.HashSet<>();
-        java.util.Set<String> sentEmails = new java.util.HashSet<>();
-
-        java.util.List<Vereinsmitgliedschaft> chefs =
-                mitgliedschaftRepository.findByVereinAndIstVereinschef(verein, true);
-        for (var m : chefs) {
-            var b = m.getBenutzer();
-            if (b == null) continue;
-            Long uid = b.getId();
-            String email = b.getEmail();
-            if ((uid != null && sentUserIds.contains(uid)) || (email != null && sentEmails.contains(email))) continue;
-            if (email == null || email.isBlank()) {
-                log.warn("Benutzer {} hat keine E-Mail-Adresse, überspringe Benachrichtigung", b);
+        for (Benachrichtigungsempfaenger empfaenger : empfaengerVerzeichnis.findeEmpfaenger(verein.getId(), true, false)) {
+            if (benachrichtigungsZentrale.istAngemeldet(empfaenger.benutzerId())) {
+                benachrichtigungsZentrale.zustellen(empfaenger.benutzerId(), InAppBenachrichtigung.jetzt(
+                        "Neue Beitrittsanfrage",
+                        antragsteller.getVollstaendigerName() + " möchte dem Verein " + verein.getName() + " beitreten.",
+                        "verein-details?vereinId=" + verein.getId()));
                 continue;
             }
-            if (Boolean.TRUE.equals(b.isEmailNotificationsEnabled())) {
-                this.sendMail(email, "Digitales Schießbuch - Neue Beitrittsanfrage", "Mitgliedsanfrage.html", vars);
-                if (uid != null) sentUserIds.add(uid);
-                sentEmails.add(email);
+            if (!empfaenger.perEmail()) {
+                continue;
             }
+            this.sendMail(empfaenger.email(), "Digitales Schießbuch - Neue Beitrittsanfrage", "Mitgliedsanfrage.html", vars);
+        }
+    }
+
+    /**
+     * Benachrichtigt den Schützen über die Signierung seines Eintrags.
+     *
+     * @param ereignis Das Ereignis des signierten Eintrags
+     */
+    @EventListener
+    public void eintragSigniert(EintragSigniertEvent ereignis) {
+        try {
+            notifyEntrySigned(ereignis.eintrag());
+        } catch (RuntimeException e) {
+            log.warn("Fehler beim Senden der Signierungs-Benachrichtigung: {}", e.getMessage());
         }
     }
 
-    @Async
     public void notifyEntrySigned(SchiessnachweisEintrag eintrag) {
         Benutzer schuetze = eintrag.getSchuetze();
+        if (schuetze != null && benachrichtigungsZentrale.istAngemeldet(schuetze.getId())) {
+            benachrichtigungsZentrale.zustellen(schuetze.getId(), InAppBenachrichtigung.jetzt(
+                    "Eintrag signiert",
+                    "Ihr Eintrag vom " + formatiereDatum(eintrag) + " wurde signiert.",
+                    "meine-eintraege"));
+            return;
+        }
         if (schuetze != null && schuetze.isEmailNotificationsEnabled()) {
             Map<String, Object> vars = new java.util.HashMap<>();
             vars.put("username", schuetze.getVollstaendigerName());
@@ -228,7 +339,81 @@ public class EmailService {
         }
     }
 
-    @Async
+    /**
+     * Meldet dem Schützen die Ablehnung seines Eintrags in der Anwendung.
+     *
+     * @param ereignis Das Ereignis des abgelehnten Eintrags
+     */
+    @EventListener
+    public void eintragAbgelehnt(EintragAbgelehntEvent ereignis) {
+        try {
+            notifyEntryRejected(ereignis.eintrag());
+        } catch (RuntimeException e) {
+            log.warn("Fehler beim Senden der Ablehnungs-Benachrichtigung: {}", e.getMessage());
+        }
+    }
+
+    public void notifyEntryRejected(SchiessnachweisEintrag eintrag) {
+        Benutzer schuetze = eintrag.getSchuetze();
+        if (schuetze == null) {
+            return;
+        }
+        String grund = eintrag.getAblehnungsgrund() != null && !eintrag.getAblehnungsgrund().isBlank()
+                ? " Grund: " + eintrag.getAblehnungsgrund() : "";
+        benachrichtigungsZentrale.zustellen(schuetze.getId(), InAppBenachrichtigung.jetzt(
+                "Eintrag abgelehnt",
+                "Ihr Eintrag vom " + formatiereDatum(eintrag) + " wurde abgelehnt." + grund,
+                "meine-eintraege"));
+    }
+
+    /**
+     * Meldet dem Antragsteller die Entscheidung über seine Beitrittsanfrage in der Anwendung.
+     *
+     * @param ereignis Das Ereignis der Entscheidung
+     */
+    @EventListener
+    public void mitgliedschaftEntschieden(MitgliedschaftEntschiedenEvent ereignis) {
+        try {
+            notifyMembershipDecision(ereignis.mitgliedschaft());
+        } catch (RuntimeException e) {
+            log.warn("Fehler beim Senden der Entscheidungs-Benachrichtigung: {}", e.getMessage());
+        }
+    }
+
+    public void notifyMembershipDecision(Vereinsmitgliedschaft mitgliedschaft) {
+        Benutzer benutzer = mitgliedschaft.getBenutzer();
+        if (benutzer == null) {
+            return;
+        }
+        boolean genehmigt = mitgliedschaft.getStatus() == MitgliedschaftsStatus.AKTIV;
+        String vereinName = mitgliedschaft.getVerein() != null ? mitgliedschaft.getVerein().getName() : "";
+        String grund = !genehmigt && mitgliedschaft.getAblehnungsgrund() != null && !mitgliedschaft.getAblehnungsgrund().isBlank()
+                ? " Grund: " + mitgliedschaft.getAblehnungsgrund() : "";
+        benachrichtigungsZentrale.zustellen(benutzer.getId(), InAppBenachrichtigung.jetzt(
+                genehmigt ? "Beitritt genehmigt" : "Beitritt abgelehnt",
+                "Ihre Beitrittsanfrage für " + vereinName + " wurde " + (genehmigt ? "genehmigt." : "abgelehnt.") + grund,
+                "meine-vereine"));
+    }
+
+    private static String formatiereDatum(SchiessnachweisEintrag eintrag) {
+        return eintrag.getDatum() != null
+                ? eintrag.getDatum().format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy")) : "-";
+    }
+
+    /**
+     * Benachrichtigt den Inhaber über den Widerruf seines Zertifikats.
+     *
+     * @param ereignis Das Ereignis des widerrufenen Zertifikats
+     */
+    @EventListener
+    public void zertifikatWiderrufen(ZertifikatWiderrufenEvent ereignis) {
+        try {
+            notifyCertificateRevoked(ereignis.zertifikat());
+        } catch (RuntimeException e) {
+            log.warn("Fehler beim Senden der Widerrufs-Benachrichtigung: {}", e.getMessage());
+        }
+    }
+
     public void notifyCertificateRevoked(DigitalesZertifikat zertifikat) {
         Benutzer benutzer = zertifikat.getBenutzer();
         if (benutzer == null || benutzer.getEmail() == null || benutzer.getEmail().isBlank()) {
@@ -0,0 +1,270 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.config.AsyncKonfiguration;
+import de.suchalla.schiessbuch.config.JfrEreignisse;
+import de.suchalla.schiessbuch.config.Leistungsmessung;
+import de.suchalla.schiessbuch.model.entity.EmailNachricht;
+import de.suchalla.schiessbuch.model.enums.EmailStatus;
+import de.suchalla.schiessbuch.repository.EmailNachrichtRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versendet die E-Mails aus dem Postausgang ({@code email_outbox}).
+ * <p>
+ * Fällige Nachrichten werden blockweise gelesen und je Block mit einem Aufruf von
+ * {@link JavaMailSender#send(MimeMessage...)} über eine einzige SMTP-Verbindung übertragen. Nachrichten,
+ * die der Server ablehnt oder die wegen eines Verbindungsfehlers nicht ankommen, werden mit exponentiell
+ * wachsender Wartezeit erneut versucht und nach der maximalen Anzahl Versuche als fehlgeschlagen markiert.
+ * Bei mehreren Knoten versendet nur derjenige, der die {@link JobSperren Lease-Sperre} erhält.
+ * <p>
+ * Die Durchläufe laufen im {@link AsyncKonfiguration#MAIL Mail-Executor}, damit ein hängender SMTP-Server
+ * nicht den gemeinsamen Scheduler-Thread blockiert; solange ein Durchlauf läuft, werden weitere übersprungen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class EmailVersand {
+
+    /** Name des Jobs in {@code job_sperre}. */
+    static final String JOB = "email-versand";
+
+    private final EmailNachrichtRepository emailNachrichtRepository;
+    private final JavaMailSender mailSender;
+    private final JobSperren jobSperren;
+    private final TransactionTemplate transaktion;
+    private final TaskExecutor mailExecutor;
+    private final Leistungsmessung leistungsmessung;
+    private final String absender;
+    private final int batchGroesse;
+    private final int maxVersuche;
+    private final Duration wartezeit;
+    private final Duration maxWartezeit;
+    private final Duration sperrDauer;
+
+    /**
+     * Konstruktor.
+     *
+     * @param emailNachrichtRepository Repository für den Postausgang
+     * @param mailSender Mail-Sender für den SMTP-Versand
+     * @param jobSperren Lease-Sperren für geplante Jobs
+     * @param transactionManager Transaktionsmanager für das Lesen und Fortschreiben der Blöcke
+     * @param mailExecutor Executor für die Versanddurchläufe
+     * @param leistungsmessung Misst die Übertragung der Blöcke
+     * @param absender Absenderadresse
+     * @param batchGroesse Anzahl Nachrichten je SMTP-Verbindung
+     * @param maxVersuche Anzahl Versuche, bevor eine Nachricht als fehlgeschlagen gilt
+     * @param wartezeit Wartezeit vor dem zweiten Versuch; verdoppelt sich mit jedem weiteren
+     * @param maxWartezeit Obergrenze der Wartezeit zwischen zwei Versuchen
+     * @param sperrDauer Längste erwartete Laufzeit eines Durchlaufs
+     */
+    public EmailVersand(EmailNachrichtRepository emailNachrichtRepository,
+                        JavaMailSender mailSender,
+                        JobSperren jobSperren,
+                        PlatformTransactionManager transactionManager,
+                        @Qualifier(AsyncKonfiguration.MAIL) TaskExecutor mailExecutor,
+                        Leistungsmessung leistungsmessung,
+                        @Value("${spring.mail.from}") String absender,
+                        @Value("${email.versand.batch-groesse:50}") int batchGroesse,
+                        @Value("${email.versand.max-versuche:8}") int maxVersuche,
+                        @Value("${email.versand.wartezeit:PT1M}") Duration wartezeit,
+                        @Value("${email.versand.max-wartezeit:PT6H}") Duration maxWartezeit,
+                        @Value("${email.versand.sperr-dauer:PT5M}") Duration sperrDauer) {
+        this.emailNachrichtRepository = emailNachrichtRepository;
+        this.mailSender = mailSender;
+        this.jobSperren = jobSperren;
+        this.transaktion = new TransactionTemplate(transactionManager);
+        this.mailExecutor = mailExecutor;
+        this.leistungsmessung = leistungsmessung;
+        this.absender = absender;
+        this.batchGroesse = batchGroesse;
+        this.maxVersuche = maxVersuche;
+        this.wartezeit = wartezeit;
+        this.maxWartezeit = maxWartezeit;
+        this.sperrDauer = sperrDauer;
+    }
+
+    /**
+     * Geplanter Versand im Mail-Executor, sofern dort kein Durchlauf mehr läuft.
+     */
+    @Scheduled(initialDelayString = "${email.versand.verzoegerung:PT30S}",
+            fixedDelayString = "${email.versand.intervall:PT15S}")
+    public void geplanterVersand() {
+        try {
+            mailExecutor.execute(this::versendeUnterSperre);
+        } catch (TaskRejectedException e) {
+            log.debug("E-Mail-Versand übersprungen: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Versendet, sofern kein anderer Knoten gerade versendet.
+     */
+    private void versendeUnterSperre() {
+        try {
+            jobSperren.fuehreAus(JOB, sperrDauer, () -> {
+                Ergebnis ergebnis = versende();
+                if (ergebnis.gesendet() > 0 || ergebnis.fehlgeschlagen() > 0) {
+                    log.info("E-Mail-Versand: {} gesendet, {} fehlgeschlagen", ergebnis.gesendet(), ergebnis.fehlgeschlagen());
+                }
+            });
+        } catch (Exception e) {
+            log.error("E-Mail-Versand fehlgeschlagen", e);
+        }
+    }
+
+    /**
+     * Versendet alle fälligen Nachrichten blockweise. Scheitert ein ganzer Block (z. B. SMTP-Server nicht
+     * erreichbar), wird der Durchlauf beendet und erst beim nächsten Lauf erneut versucht.
+     *
+     * @return Anzahl gesendeter und fehlgeschlagener Zustellversuche
+     */
+    public Ergebnis versende() {
+        long gesendet = 0;
+        long fehlgeschlagen = 0;
+        while (true) {
+            LocalDateTime jetzt = LocalDateTime.now();
+            List<EmailNachricht> block = transaktion.execute(status ->
+                    emailNachrichtRepository.findFaellige(jetzt, Limit.of(batchGroesse)));
+            if (block == null || block.isEmpty()) {
+                break;
+            }
+
+            Map<Long, String> fehler = sende(block);
+            transaktion.executeWithoutResult(status -> schreibeFort(block, fehler));
+            gesendet += block.size() - fehler.size();
+            fehlgeschlagen += fehler.size();
+
+            if (block.size() < batchGroesse || fehler.size() == block.size()) {
+                break;
+            }
+        }
+        return new Ergebnis(gesendet, fehlgeschlagen);
+    }
+
+    /**
+     * Überträgt einen Block über eine SMTP-Verbindung.
+     *
+     * @return Fehlermeldung je nicht zugestellter Nachricht
+     */
+    private Map<Long, String> sende(List<EmailNachricht> block) {
+        Map<Long, String> fehler = new HashMap<>();
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        List<MimeMessage> nachrichten = new ArrayList<>();
+        for (EmailNachricht nachricht : block) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED,
+                        StandardCharsets.UTF_8.name());
+                helper.setTo(nachricht.getEmpfaenger());
+                helper.setSubject(nachricht.getBetreff());
+                helper.setText(nachricht.getInhalt(), true);
+                helper.setFrom(absender);
+                ids.put(message, nachricht.getId());
+                nachrichten.add(message);
+            } catch (MessagingException e) {
+                fehler.put(nachricht.getId(), e.getMessage());
+            }
+        }
+        if (nachrichten.isEmpty()) {
+            return fehler;
+        }
+
+        JfrEreignisse.SmtpEreignis ereignis = new JfrEreignisse.SmtpEreignis();
+        ereignis.begin();
+        try {
+            leistungsmessung.messe("email.versand", Leistungsmessung.OHNE_BEZUG, () -> {
+                mailSender.send(nachrichten.toArray(MimeMessage[]::new));
+                return null;
+            });
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                ids.values().forEach(id -> fehler.put(id, e.getMessage()));
+            }
+            e.getFailedMessages().forEach((message, ursache) -> fehler.put(ids.get(message), ursache.getMessage()));
+        } catch (MailException e) {
+            ids.values().forEach(id -> fehler.put(id, e.getMessage()));
+        }
+        if (ereignis.shouldCommit()) {
+            ereignis.melde(nachrichten.size(), fehler.size(),
+                    block.stream().mapToLong(n -> n.getInhalt().getBytes(StandardCharsets.UTF_8).length).sum());
+        }
+        return fehler;
+    }
+
+    private void schreibeFort(List<EmailNachricht> block, Map<Long, String> fehler) {
+        LocalDateTime jetzt = LocalDateTime.now();
+        List<Long> ids = block.stream().map(EmailNachricht::getId).toList();
+        for (EmailNachricht nachricht : emailNachrichtRepository.findAllById(ids)) {
+            nachricht.setVersuche(nachricht.getVersuche() + 1);
+            String ursache = fehler.get(nachricht.getId());
+            if (!fehler.containsKey(nachricht.getId())) {
+                nachricht.setStatus(EmailStatus.GESENDET);
+                nachricht.setGesendetAm(jetzt);
+                nachricht.setLetzterFehler(null);
+            } else if (nachricht.getVersuche() >= maxVersuche) {
+                nachricht.setStatus(EmailStatus.FEHLGESCHLAGEN);
+                nachricht.setLetzterFehler(kuerze(ursache));
+                log.warn("E-Mail {} an {} nach {} Versuchen aufgegeben: {}",
+                        nachricht.getId(), nachricht.getEmpfaenger(), nachricht.getVersuche(), ursache);
+            } else {
+                nachricht.setNaechsterVersuch(jetzt.plus(wartezeitNach(nachricht.getVersuche())));
+                nachricht.setLetzterFehler(kuerze(ursache));
+                log.debug("E-Mail {} an {} nicht zugestellt (Versuch {}): {}",
+                        nachricht.getId(), nachricht.getEmpfaenger(), nachricht.getVersuche(), ursache);
+            }
+        }
+    }
+
+    /**
+     * Wartezeit nach dem n-ten erfolglosen Versuch: wartezeit * 2^(n-1), höchstens maxWartezeit.
+     *
+     * @param versuche Anzahl bisheriger Versuche
+     * @return Wartezeit bis zum nächsten Versuch
+     */
+    private Duration wartezeitNach(int versuche) {
+        Duration dauer = wartezeit.multipliedBy(1L << Math.min(versuche - 1, 20));
+        return dauer.compareTo(maxWartezeit) > 0 ? maxWartezeit : dauer;
+    }
+
+    private static String kuerze(String text) {
+        if (text == null) {
+            return null;
+        }
+        return text.length() > 1000 ? text.substring(0, 1000) : text;
+    }
+
+    /**
+     * Ergebnis eines Versanddurchlaufs.
+     *
+     * @param gesendet Zugestellte Nachrichten
+     * @param fehlgeschlagen Nicht zugestellte Nachrichten (werden erneut versucht oder aufgegeben)
+     */
+    public record Ergebnis(long gesendet, long fehlgeschlagen) {
+    }
+}
@@ -0,0 +1,166 @@
+package de.suchalla.schiessbuch.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Vorkompilierte E-Mail-Vorlagen aus {@code resources/templates}.
+ * <p>
+ * Jede Vorlage wird beim Start einmal gelesen und in abwechselnde Text- und Platzhalter-Segmente
+ * ({@code {{name}}}) zerlegt. Beim Rendern werden die Segmente in einen passend vorbemessenen
+ * {@link StringBuilder} geschrieben; Variablenwerte werden HTML-maskiert. Fehlt eine Variable,
+ * schlägt das Rendern sofort fehl, statt einen Platzhalter im Klartext zu versenden.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class EmailVorlagen {
+
+    private static final String MUSTER = "classpath:/templates/*.html";
+    private static final Pattern NAME = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+
+    private final Map<String, Vorlage> vorlagen;
+
+    /**
+     * Konstruktor. Liest und kompiliert alle Vorlagen.
+     *
+     * @throws IllegalStateException wenn eine Vorlage nicht gelesen werden kann oder fehlerhaft ist
+     */
+    public EmailVorlagen() {
+        Map<String, Vorlage> geladen = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(MUSTER)) {
+                String name = resource.getFilename();
+                geladen.put(name, kompiliere(name, resource.getContentAsString(StandardCharsets.UTF_8)));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("E-Mail-Vorlagen konnten nicht geladen werden", e);
+        }
+        this.vorlagen = Map.copyOf(geladen);
+        log.info("{} E-Mail-Vorlagen kompiliert: {}", vorlagen.size(), vorlagen.keySet());
+    }
+
+    /**
+     * Rendert eine Vorlage.
+     *
+     * @param name Dateiname der Vorlage, z. B. {@code signatur-request.html}
+     * @param variablen Werte der Platzhalter; zusätzliche Einträge werden ignoriert
+     * @return Das HTML der E-Mail
+     * @throws IllegalArgumentException wenn die Vorlage unbekannt ist oder eine Variable fehlt
+     */
+    public String rendere(String name, Map<String, ?> variablen) {
+        Vorlage vorlage = vorlagen.get(name);
+        if (vorlage == null) {
+            throw new IllegalArgumentException("E-Mail-Vorlage nicht gefunden: " + name);
+        }
+        return vorlage.rendere(variablen != null ? variablen : Map.of());
+    }
+
+    /**
+     * Zerlegt den Quelltext einer Vorlage in Segmente.
+     *
+     * @param name Name der Vorlage (für Fehlermeldungen)
+     * @param quelle Quelltext der Vorlage
+     * @return Die kompilierte Vorlage
+     * @throws IllegalStateException bei nicht geschlossenem oder ungültigem Platzhalter
+     */
+    static Vorlage kompiliere(String name, String quelle) {
+        List<String> texte = new ArrayList<>();
+        List<String> platzhalter = new ArrayList<>();
+        int position = 0;
+        int beginn;
+        while ((beginn = quelle.indexOf("{{", position)) >= 0) {
+            int ende = quelle.indexOf("}}", beginn + 2);
+            if (ende < 0) {
+                throw new IllegalStateException("Nicht geschlossener Platzhalter in Vorlage " + name + " an Position " + beginn);
+            }
+            String variable = quelle.substring(beginn + 2, ende).trim();
+            if (!NAME.matcher(variable).matches()) {
+                throw new IllegalStateException("Ungültiger Platzhalter '" + variable + "' in Vorlage " + name);
+            }
+            texte.add(quelle.substring(position, beginn));
+            platzhalter.add(variable);
+            position = ende + 2;
+        }
+        texte.add(quelle.substring(position));
+        return new Vorlage(name, texte.toArray(String[]::new), platzhalter.toArray(String[]::new));
+    }
+
+    /**
+     * Kompilierte Vorlage: {@code texte[0] platzhalter[0] texte[1] ... platzhalter[n-1] texte[n]}.
+     */
+    static final class Vorlage {
+
+        /** Geschätzte Länge eines eingesetzten Werts für die Vorbemessung. */
+        private static final int WERT_LAENGE = 48;
+
+        private final String name;
+        private final String[] texte;
+        private final String[] platzhalter;
+        private final Set<String> variablen;
+        private final int kapazitaet;
+
+        private Vorlage(String name, String[] texte, String[] platzhalter) {
+            this.name = name;
+            this.texte = texte;
+            this.platzhalter = platzhalter;
+            this.variablen = Collections.unmodifiableSet(new LinkedHashSet<>(List.of(platzhalter)));
+            int laenge = 0;
+            for (String text : texte) {
+                laenge += text.length();
+            }
+            this.kapazitaet = laenge + platzhalter.length * WERT_LAENGE;
+        }
+
+        /**
+         * @return Namen aller Platzhalter in Reihenfolge ihres ersten Auftretens
+         */
+        Set<String> getVariablen() {
+            return variablen;
+        }
+
+        String rendere(Map<String, ?> werte) {
+            for (String variable : variablen) {
+                if (werte.get(variable) == null) {
+                    throw new IllegalArgumentException("Fehlende Variablen für E-Mail-Vorlage " + name + ": "
+                            + variablen.stream().filter(v -> werte.get(v) == null).toList());
+                }
+            }
+            StringBuilder html = new StringBuilder(kapazitaet);
+            for (int i = 0; i < platzhalter.length; i++) {
+                html.append(texte[i]);
+                maskiere(werte.get(platzhalter[i]).toString(), html);
+            }
+            return html.append(texte[platzhalter.length]).toString();
+        }
+
+        private static void maskiere(String wert, StringBuilder html) {
+            for (int i = 0; i < wert.length(); i++) {
+                char zeichen = wert.charAt(i);
+                switch (zeichen) {
+                    case '&' -> html.append("&amp;");
+                    case '<' -> html.append("&lt;");
+                    case '>' -> html.append("&gt;");
+                    case '"' -> html.append("&quot;");
+                    case '\'' -> html.append("&#39;");
+                    default -> html.append(zeichen);
+                }
+            }
+        }
+    }
+}
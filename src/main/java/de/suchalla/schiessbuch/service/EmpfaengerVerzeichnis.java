@@ -0,0 +1,93 @@
+package de.suchalla.schiessbuch.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.suchalla.schiessbuch.model.dto.Benachrichtigungsempfaenger;
+import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Kurzlebiger Zwischenspeicher der Benachrichtigungsempfänger je Verein.
+ * <p>
+ * An einem Wettkampftag wird für jeden neuen Eintrag dieselbe Empfängerliste benötigt; sie wird daher
+ * je Verein und Empfängergruppe für kurze Zeit gehalten. Jede gemeldete {@link BerechtigungGeaendertEvent
+ * Änderung} an Mitgliedschaften, Rollen oder Benutzerdaten verwirft nach dem Commit alle Einträge, da
+ * ein Benutzer Mitglied mehrerer Vereine sein kann.
+ * <p>
+ * Fehlende Listen werden in der Transaktion des Aufrufers geladen, meist der einer fachlichen Änderung
+ * (über den {@link EmailService}). So belegt ein Cache-Fehltreffer keine zweite Verbindung aus dem Pool.
+ * Schlägt das Laden fehl, wird der Fehler hier protokolliert und eine leere Liste geliefert, die nicht
+ * zwischengespeichert wird; der Fehler erreicht den transaktionalen Aufrufer nicht.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class EmpfaengerVerzeichnis {
+
+    private final VereinsmitgliedschaftRepository mitgliedschaftRepository;
+    private final Cache<Schluessel, List<Benachrichtigungsempfaenger>> empfaenger;
+
+    /**
+     * Konstruktor.
+     *
+     * @param mitgliedschaftRepository Repository für Vereinsmitgliedschaften
+     * @param gueltigkeit Längste Zeit, die eine Empfängerliste zwischengespeichert wird
+     * @param maxVereine Höchstanzahl zwischengespeicherter Empfängerlisten
+     */
+    public EmpfaengerVerzeichnis(VereinsmitgliedschaftRepository mitgliedschaftRepository,
+                                 @Value("${email.empfaenger.gueltigkeit:PT5M}") Duration gueltigkeit,
+                                 @Value("${email.empfaenger.max-vereine:1000}") long maxVereine) {
+        this.mitgliedschaftRepository = mitgliedschaftRepository;
+        this.empfaenger = Caffeine.newBuilder()
+                .expireAfterWrite(gueltigkeit)
+                .maximumSize(maxVereine)
+                .build();
+    }
+
+    /**
+     * Liefert die Empfänger einer Vereinsbenachrichtigung, bei Bedarf mit einer einzigen Abfrage geladen.
+     *
+     * @param vereinId ID des Vereins
+     * @param vereinschefs true, um Vereinschefs einzubeziehen
+     * @param aufseher true, um Aufseher einzubeziehen
+     * @return Die Empfänger, jeder Benutzer höchstens einmal; leer, wenn sie nicht geladen werden konnten
+     */
+    public List<Benachrichtigungsempfaenger> findeEmpfaenger(Long vereinId, boolean vereinschefs, boolean aufseher) {
+        Schluessel schluessel = new Schluessel(vereinId, vereinschefs, aufseher);
+        List<Benachrichtigungsempfaenger> gespeichert = empfaenger.getIfPresent(schluessel);
+        if (gespeichert != null) {
+            return gespeichert;
+        }
+
+        try {
+            List<Benachrichtigungsempfaenger> geladen = List.copyOf(
+                    mitgliedschaftRepository.findBenachrichtigungsempfaenger(vereinId, vereinschefs, aufseher));
+            empfaenger.put(schluessel, geladen);
+            return geladen;
+        } catch (RuntimeException e) {
+            log.warn("Empfänger für Verein {} konnten nicht geladen werden: {}", vereinId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Verwirft alle Empfängerlisten nach einer Berechtigungs- oder Benutzeränderung.
+     *
+     * @param event Das Ereignis
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void berechtigungGeaendert(BerechtigungGeaendertEvent event) {
+        empfaenger.invalidateAll();
+    }
+
+    private record Schluessel(Long vereinId, boolean vereinschefs, boolean aufseher) {
+    }
+}
@@ -0,0 +1,40 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.config.AsyncKonfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Zählt committete {@link Domaenenereignis}se je Typ als Metrik {@code schiessbuch.ereignisse} (Tag {@code typ}).
+ * Zurückgerollte Änderungen werden nicht gezählt; das Zählen läuft nach dem Commit auf dem Ereignis-Executor.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+public class EreignisMetriken {
+
+    private final MeterRegistry registry;
+
+    /**
+     * Konstruktor.
+     *
+     * @param registry Registry für die Metriken
+     */
+    public EreignisMetriken(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Zählt ein committetes Ereignis.
+     *
+     * @param ereignis Das Ereignis
+     */
+    @Async(AsyncKonfiguration.EREIGNIS)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void ereignis(Domaenenereignis ereignis) {
+        registry.counter("schiessbuch.ereignisse", "typ", ereignis.getClass().getSimpleName()).increment();
+    }
+}
@@ -0,0 +1,106 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.repository.JobSperreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Lease-Sperren für geplante Jobs, damit bei mehreren Anwendungsknoten nur einer die Arbeit erledigt.
+ * <p>
+ * Die Sperre liegt als Zeile in {@code job_sperre} und gilt bis zu einem Ablaufzeitpunkt. Sie wird per
+ * bedingtem UPDATE übernommen, sodass genau ein Knoten erfolgreich ist, und nach dem Job wieder
+ * freigegeben. Stürzt der haltende Knoten ab, übernimmt nach Ablauf der nächste. Die Sperrdauer muss
+ * daher länger als die übliche Laufzeit des Jobs gewählt werden.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class JobSperren {
+
+    private final JobSperreRepository jobSperreRepository;
+    private final TransactionTemplate neueTransaktion;
+    private final String knoten;
+
+    /**
+     * Konstruktor.
+     *
+     * @param jobSperreRepository Repository für Job-Sperren
+     * @param transactionManager Transaktionsmanager für die Sperr-Anweisungen
+     * @param knoten Kennung dieses Knotens (leer: Prozess-ID und Hostname)
+     */
+    public JobSperren(JobSperreRepository jobSperreRepository,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${app.knoten-id:}") String knoten) {
+        this.jobSperreRepository = jobSperreRepository;
+        this.neueTransaktion = new TransactionTemplate(transactionManager);
+        this.neueTransaktion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.knoten = knoten.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : knoten;
+    }
+
+    /**
+     * Führt einen Job aus, sofern dieser Knoten die Sperre erhält.
+     *
+     * @param name Der Name des Jobs
+     * @param dauer Längste erwartete Laufzeit; danach gilt die Sperre als verwaist
+     * @param job Der Job
+     * @return true, wenn der Job auf diesem Knoten ausgeführt wurde
+     */
+    public boolean fuehreAus(String name, Duration dauer, Runnable job) {
+        if (!sperre(name, dauer)) {
+            log.debug("Job {} läuft auf einem anderen Knoten", name);
+            return false;
+        }
+        try {
+            job.run();
+            return true;
+        } finally {
+            gebeFrei(name);
+        }
+    }
+
+    /**
+     * Versucht, die Sperre eines Jobs zu erhalten.
+     *
+     * @param name Der Name des Jobs
+     * @param dauer Dauer der Sperre
+     * @return true, wenn dieser Knoten die Sperre hält
+     */
+    public boolean sperre(String name, Duration dauer) {
+        LocalDateTime jetzt = LocalDateTime.now();
+        LocalDateTime bis = jetzt.plus(dauer);
+        Integer uebernommen = neueTransaktion.execute(status -> jobSperreRepository.uebernehme(name, knoten, jetzt, bis));
+        if (uebernommen != null && uebernommen > 0) {
+            return true;
+        }
+        if (jobSperreRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            neueTransaktion.executeWithoutResult(status -> jobSperreRepository.legeAn(name, knoten, bis));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Sperre für Job {} wurde parallel angelegt", name);
+            return false;
+        }
+    }
+
+    /**
+     * Gibt die Sperre eines Jobs frei, sofern dieser Knoten sie hält.
+     *
+     * @param name Der Name des Jobs
+     */
+    public void gebeFrei(String name) {
+        neueTransaktion.executeWithoutResult(status -> jobSperreRepository.gebeFrei(name, knoten, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,76 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.enums.LoeschStatus;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fortschritt eines im Hintergrund laufenden Löschauftrags von {@link LoeschService}.
+ * Wird vom Hintergrund-Thread fortgeschrieben und von der Oberfläche gelesen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public class LoeschAuftrag {
+
+    @Getter
+    private final String bezeichnung;
+    @Getter
+    private final long gesamt;
+    private final AtomicLong geloescht = new AtomicLong();
+    @Getter
+    private volatile LoeschStatus status = LoeschStatus.LAEUFT;
+    @Getter
+    private volatile String fehler;
+
+    /**
+     * Konstruktor.
+     *
+     * @param bezeichnung Anzeigename, z. B. "Verband DSB"
+     * @param gesamt Anzahl der zu löschenden Einträge
+     */
+    public LoeschAuftrag(String bezeichnung, long gesamt) {
+        this.bezeichnung = bezeichnung;
+        this.gesamt = gesamt;
+    }
+
+    /**
+     * @return Anzahl bisher gelöschter Einträge
+     */
+    public long getGeloescht() {
+        return geloescht.get();
+    }
+
+    /**
+     * Liefert den Fortschritt zwischen 0 und 1 anhand der gelöschten Einträge.
+     *
+     * @return Fortschritt
+     */
+    public double getFortschritt() {
+        if (status == LoeschStatus.ABGESCHLOSSEN) {
+            return 1.0;
+        }
+        return gesamt == 0 ? 0.0 : Math.min(1.0, (double) geloescht.get() / gesamt);
+    }
+
+    /**
+     * @return true, solange der Auftrag läuft
+     */
+    public boolean laeuft() {
+        return status == LoeschStatus.LAEUFT;
+    }
+
+    void addGeloescht(long anzahl) {
+        geloescht.addAndGet(anzahl);
+    }
+
+    void abgeschlossen() {
+        status = LoeschStatus.ABGESCHLOSSEN;
+    }
+
+    void fehlgeschlagen(String meldung) {
+        fehler = meldung;
+        status = LoeschStatus.FEHLGESCHLAGEN;
+    }
+}
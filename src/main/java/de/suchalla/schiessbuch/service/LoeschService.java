@@ -0,0 +1,178 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.entity.Disziplin;
+import de.suchalla.schiessbuch.model.entity.Schiesstand;
+import de.suchalla.schiessbuch.model.entity.Verband;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
+import de.suchalla.schiessbuch.repository.SchiesstandRepository;
+import de.suchalla.schiessbuch.repository.VerbandRepository;
+import de.suchalla.schiessbuch.repository.VereinRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Führt das Löschen großer Verbände, Vereine, Schießstände und Disziplinen im Hintergrund aus.
+ * <p>
+ * Die Einträge werden blockweise per Massen-DELETE gelöscht, jeder Block in eigener Transaktion,
+ * sodass weder Sperren noch Undo-Daten über die gesamte Löschung gehalten werden und der Fortschritt
+ * im {@link LoeschAuftrag} sichtbar ist. Anschließend entfernt die jeweilige Löschmethode des
+ * Fach-Services die übrigen abhängigen Daten und das Objekt selbst in einer Transaktion.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class LoeschService {
+
+    private final VerbandService verbandService;
+    private final SchiesstandService schiesstandService;
+    private final DisziplinService disziplinService;
+    private final SchiessnachweisService schiessnachweisService;
+    private final SchiessnachweisEintragRepository eintragRepository;
+    private final VerbandRepository verbandRepository;
+    private final VereinRepository vereinRepository;
+    private final SchiesstandRepository schiesstandRepository;
+    private final TransactionTemplate transaktion;
+    private final TaskExecutor executor;
+
+    /**
+     * Konstruktor.
+     *
+     * @param verbandService Service für Verbände und Vereine
+     * @param schiesstandService Service für Schießstände
+     * @param disziplinService Service für Disziplinen
+     * @param schiessnachweisService Service für Schießnachweis-Einträge
+     * @param eintragRepository Repository für Schießnachweis-Einträge
+     * @param verbandRepository Repository für Verbände
+     * @param vereinRepository Repository für Vereine
+     * @param schiesstandRepository Repository für Schießstände
+     * @param transactionManager Transaktionsmanager für die Blöcke
+     * @param executor Executor für die Hintergrundausführung
+     */
+    public LoeschService(VerbandService verbandService,
+                         SchiesstandService schiesstandService,
+                         DisziplinService disziplinService,
+                         SchiessnachweisService schiessnachweisService,
+                         SchiessnachweisEintragRepository eintragRepository,
+                         VerbandRepository verbandRepository,
+                         VereinRepository vereinRepository,
+                         SchiesstandRepository schiesstandRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor executor) {
+        this.verbandService = verbandService;
+        this.schiesstandService = schiesstandService;
+        this.disziplinService = disziplinService;
+        this.schiessnachweisService = schiessnachweisService;
+        this.eintragRepository = eintragRepository;
+        this.verbandRepository = verbandRepository;
+        this.vereinRepository = vereinRepository;
+        this.schiesstandRepository = schiesstandRepository;
+        this.transaktion = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+    }
+
+    /**
+     * Startet das Löschen eines Verbands samt Disziplinen und Einträgen.
+     *
+     * @param verbandId Die Verbands-ID
+     * @return Der laufende Auftrag
+     * @throws IllegalArgumentException wenn der Verband nicht existiert
+     */
+    public LoeschAuftrag starteVerbandLoeschung(Long verbandId) {
+        Verband verband = verbandRepository.findById(verbandId)
+                .orElseThrow(() -> new IllegalArgumentException("Verband nicht gefunden"));
+        return starte("Verband " + verband.getName(),
+                eintragRepository.countByDisziplinVerbandId(verbandId),
+                limit -> eintragRepository.findIdsVonVerband(verbandId, limit),
+                () -> verbandService.loescheVerband(verbandId));
+    }
+
+    /**
+     * Startet das Löschen eines Vereins samt Zertifikaten, damit signierten Einträgen und Mitgliedschaften.
+     *
+     * @param vereinId Die Vereins-ID
+     * @return Der laufende Auftrag
+     * @throws IllegalArgumentException wenn der Verein nicht existiert
+     */
+    public LoeschAuftrag starteVereinLoeschung(Long vereinId) {
+        Verein verein = vereinRepository.findById(vereinId)
+                .orElseThrow(() -> new IllegalArgumentException("Verein nicht gefunden"));
+        return starte("Verein " + verein.getName(),
+                eintragRepository.countByZertifikatVereinId(vereinId),
+                limit -> eintragRepository.findIdsVonVereinsZertifikaten(vereinId, limit),
+                () -> verbandService.loescheVerein(vereinId));
+    }
+
+    /**
+     * Startet das Löschen eines Schießstands samt Einträgen und Zertifikaten.
+     *
+     * @param schiesstandId Die Schießstand-ID
+     * @return Der laufende Auftrag
+     * @throws IllegalArgumentException wenn der Schießstand nicht existiert
+     */
+    public LoeschAuftrag starteSchiesstandLoeschung(Long schiesstandId) {
+        Schiesstand schiesstand = schiesstandRepository.findById(schiesstandId)
+                .orElseThrow(() -> new IllegalArgumentException("Schießstand nicht gefunden"));
+        return starte("Schießstand " + schiesstand.getName(),
+                eintragRepository.countBySchiesstandId(schiesstandId),
+                limit -> eintragRepository.findIdsVonSchiesstand(schiesstandId, limit),
+                () -> schiesstandService.loescheSchiesstand(schiesstandId));
+    }
+
+    /**
+     * Startet das endgültige Löschen einer archivierten Disziplin samt Einträgen.
+     *
+     * @param disziplinId Die Disziplin-ID
+     * @return Der laufende Auftrag
+     * @throws IllegalArgumentException wenn die Disziplin nicht existiert
+     * @throws IllegalStateException wenn die Disziplin nicht archiviert ist
+     */
+    public LoeschAuftrag starteDisziplinLoeschung(Long disziplinId) {
+        Disziplin disziplin = disziplinService.pruefeLoeschbar(disziplinId);
+        return starte("Disziplin " + disziplin.getKennziffer(),
+                eintragRepository.countByDisziplinId(disziplinId),
+                limit -> eintragRepository.findIdsVonDisziplin(disziplinId, limit),
+                () -> disziplinService.loescheDisziplinMitEintraegen(disziplinId));
+    }
+
+    private LoeschAuftrag starte(String bezeichnung, long gesamt, Function<Limit, List<Long>> auswahl,
+                                 Runnable abschluss) {
+        LoeschAuftrag auftrag = new LoeschAuftrag(bezeichnung, gesamt);
+        log.info("Löschen von {} gestartet ({} Einträge)", bezeichnung, gesamt);
+        executor.execute(() -> fuehreAus(auftrag, auswahl, abschluss));
+        return auftrag;
+    }
+
+    /**
+     * Löscht die ausgewählten Einträge blockweise in je eigener Transaktion und führt danach den Abschluss aus.
+     */
+    void fuehreAus(LoeschAuftrag auftrag, Function<Limit, List<Long>> auswahl, Runnable abschluss) {
+        long start = System.nanoTime();
+        try {
+            int geloescht;
+            do {
+                geloescht = transaktion.execute(status ->
+                        schiessnachweisService.loescheEintraege(auswahl.apply(Limit.of(SchiessnachweisService.LOESCH_BLOCK))));
+                auftrag.addGeloescht(geloescht);
+            } while (geloescht > 0);
+            abschluss.run();
+            auftrag.abgeschlossen();
+            log.info("{} gelöscht: {} Einträge in {} ms", auftrag.getBezeichnung(), auftrag.getGeloescht(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Löschen von {} fehlgeschlagen", auftrag.getBezeichnung(), e);
+            auftrag.fehlgeschlagen(e.getMessage());
+        }
+    }
+}
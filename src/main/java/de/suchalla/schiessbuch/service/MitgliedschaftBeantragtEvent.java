@@ -0,0 +1,15 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.entity.Verein;
+
+/**
+ * Wird veröffentlicht, wenn ein Benutzer den Beitritt zu einem Verein beantragt hat.
+ *
+ * @param verein Der Verein
+ * @param antragsteller Der Antragsteller
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record MitgliedschaftBeantragtEvent(Verein verein, Benutzer antragsteller) implements Domaenenereignis {
+}
@@ -0,0 +1,13 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
+
+/**
+ * Wird veröffentlicht, wenn über eine Beitrittsanfrage entschieden wurde.
+ *
+ * @param mitgliedschaft Die genehmigte oder abgelehnte Mitgliedschaft
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record MitgliedschaftEntschiedenEvent(Vereinsmitgliedschaft mitgliedschaft) implements Domaenenereignis {
+}
@@ -3,8 +3,10 @@ package de.suchalla.schiessbuch.service;
 import be.quodlibet.boxable.BaseTable;
 import be.quodlibet.boxable.Cell;
 import be.quodlibet.boxable.Row;
+import de.suchalla.schiessbuch.config.JfrEreignisse;
+import de.suchalla.schiessbuch.config.Leistungsmessung;
 import de.suchalla.schiessbuch.model.dto.BenutzerDTO;
-import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
 import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
@@ -16,18 +18,20 @@ import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Map;
 import java.util.LinkedHashMap;
 import java.util.Set;
 import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Service für PDF-Export von Schießnachweisen mit PKI-Signaturinformationen.
@@ -43,6 +47,8 @@ public class  PdfExportService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
+    private final Leistungsmessung leistungsmessung;
+
     /**
      * Exportiert Schießnachweise als PDF mit PKI-Signaturinformationen.
      * Verwendet DTOs für sichere Datenübergabe.
@@ -54,41 +60,58 @@ public class  PdfExportService {
      * @return PDF als Byte-Array
      * @throws IOException bei Fehlern
      */
-    public byte[] exportiereSchiessnachweise(BenutzerDTO schuetze, List<SchiessnachweisEintrag> eintraege,
+    public byte[] exportiereSchiessnachweise(BenutzerDTO schuetze, List<SchiessnachweisEintragListDTO> eintraege,
+                                              LocalDate von, LocalDate bis) throws IOException {
+        return exportiereSchiessnachweise(schuetze, eintraege::stream, von, bis);
+    }
+
+    /**
+     * Exportiert Schießnachweise als PDF mit PKI-Signaturinformationen, ohne alle Einträge im Speicher zu halten.
+     * <p>
+     * Die Einträge werden zweimal gelesen: zuerst für Kopfzeile (Anzahl, Zeitraum, Aufseher-Zertifikate),
+     * danach für die Tabellenzeilen. Der Lieferant muss daher bei jedem Aufruf einen neuen Stream liefern,
+     * z. B. aus einer gestreamten Repository-Abfrage; die Transaktion dieser Methode hält den Cursor offen.
+     *
+     * @param schuetze Der Schütze (DTO)
+     * @param eintraege Lieferant für den Stream der Einträge (DTOs), aufsteigend nach Datum
+     * @param von Start-Datum
+     * @param bis End-Datum
+     * @return PDF als Byte-Array
+     * @throws IOException bei Fehlern
+     */
+    @Transactional(readOnly = true)
+    public byte[] exportiereSchiessnachweise(BenutzerDTO schuetze, Supplier<Stream<SchiessnachweisEintragListDTO>> eintraege,
                                               LocalDate von, LocalDate bis) throws IOException {
+        return leistungsmessung.messe("pdf.schiessnachweise", Leistungsmessung.OHNE_BEZUG,
+                () -> erstelleSchiessnachweise(schuetze, eintraege, von, bis));
+    }
+
+    private byte[] erstelleSchiessnachweise(BenutzerDTO schuetze, Supplier<Stream<SchiessnachweisEintragListDTO>> eintraege,
+                                            LocalDate von, LocalDate bis) throws IOException {
         log.info("=== PDF-EXPORT GESTARTET ===");
         log.info("Schütze: {}", schuetze.getVollstaendigerName());
         log.info("Zeitraum: {} bis {}", von, bis);
-        log.info("Anzahl Einträge: {}", eintraege.size());
 
-        for (SchiessnachweisEintrag eintrag : eintraege) {
-            log.info("Eintrag {}: Aufseher={}, Signiert am={}",
-                eintrag.getId(),
-                eintrag.getAufseher() != null ? eintrag.getAufseher().getVollstaendigerName() : "-",
-                eintrag.getSigniertAm());
+        Uebersicht uebersicht = new Uebersicht();
+        try (Stream<SchiessnachweisEintragListDTO> stream = eintraege.get()) {
+            stream.forEach(eintrag -> {
+                log.debug("Eintrag {}: Aufseher={}, Signiert am={}",
+                        eintrag.id(),
+                        eintrag.aufseherName() != null ? eintrag.aufseherName() : "-",
+                        eintrag.signiertAm());
+                uebersicht.add(eintrag);
+            });
         }
+        log.info("Anzahl Einträge: {}", uebersicht.anzahl);
         log.info("============================");
 
-        List<SchiessnachweisEintrag> sortierteEintraege = new ArrayList<>(eintraege);
-        
-        // Sortiere Einträge nach Datum aufsteigend (nulls last)
-        sortierteEintraege.sort(Comparator.comparing(SchiessnachweisEintrag::getDatum, Comparator.nullsLast(Comparator.naturalOrder())));
-
-        // Ermittelter Anzeige-Zeitraum basierend auf den tatsächlichen Einträgen (falls vorhanden)
-        LocalDate displayVon = null;
-        LocalDate displayBis = null;
-        if (!sortierteEintraege.isEmpty()) {
-            for (SchiessnachweisEintrag e : sortierteEintraege) {
-                if (e == null || e.getDatum() == null) continue;
-                LocalDate d = e.getDatum();
-                if (displayVon == null || d.isBefore(displayVon)) displayVon = d;
-                if (displayBis == null || d.isAfter(displayBis)) displayBis = d;
-            }
-        }
+        // Ermittelter Anzeige-Zeitraum basierend auf den tatsächlichen Einträgen (falls vorhanden),
         // Fallback auf übergebene Parameter, falls keine Einträge vorhanden oder keine Daten in Einträgen
-        if (displayVon == null) displayVon = von;
-        if (displayBis == null) displayBis = bis;
+        LocalDate displayVon = uebersicht.erstesDatum != null ? uebersicht.erstesDatum : von;
+        LocalDate displayBis = uebersicht.letztesDatum != null ? uebersicht.letztesDatum : bis;
 
+        JfrEreignisse.PdfLayoutEreignis layout = new JfrEreignisse.PdfLayoutEreignis();
+        layout.begin();
         try (PDDocument document = new PDDocument()) {
             PDPage page = new PDPage(PDRectangle.A4);
             document.addPage(page);
@@ -133,21 +156,12 @@ public class  PdfExportService {
                 yPosition -= 20;
                 contentStream.beginText();
                 contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Anzahl Einträge: " + sortierteEintraege.size());
+                contentStream.showText("Anzahl Einträge: " + uebersicht.anzahl);
                 contentStream.endText();
 
                 yPosition -= 30;
 
-                // Sammle zuerst alle Aufseher-Namen und Seriennummern für PKI-Hinweis
-                Map<String, Set<String>> aufseherToSns = new LinkedHashMap<>();
-                for (SchiessnachweisEintrag eintrag : eintraege) {
-                    String aufseherName = eintrag.getAufseher() != null ? eintrag.getAufseher().getVollstaendigerName() : null;
-                    if (aufseherName != null && !aufseherName.equals("-")) {
-                        String sn = eintrag.getZertifikat() != null ? eintrag.getZertifikat().getSeriennummer() : null != null ?
-                                eintrag.getZertifikat() != null ? eintrag.getZertifikat().getSeriennummer() : null : "PKI-signiert";
-                        aufseherToSns.computeIfAbsent(aufseherName, k -> new LinkedHashSet<>()).add(sn);
-                    }
-                }
+                Map<String, Set<String>> aufseherToSns = uebersicht.aufseherSeriennummern;
 
                 // PKI-Zertifikatsdetails VOR der Tabelle ausgeben
                 contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
@@ -220,32 +234,34 @@ public class  PdfExportService {
             cell7.setFont(PDType1Font.HELVETICA_BOLD);
             cell7.setFontSize(10);
 
-            for (SchiessnachweisEintrag eintrag : eintraege) {
-                Row<PDPage> row = table.createRow(15);
+            try (Stream<SchiessnachweisEintragListDTO> stream = eintraege.get()) {
+                stream.forEach(eintrag -> {
+                    Row<PDPage> row = table.createRow(15);
 
-                row.createCell(10, eintrag.getDatum() != null ? eintrag.getDatum().format(DATE_FORMATTER) : "-").setFontSize(8);
-                row.createCell(18, eintrag.getDisziplin() != null ? eintrag.getDisziplin().getProgramm() : null != null ? eintrag.getDisziplin() != null ? eintrag.getDisziplin().getProgramm() : null : "-").setFontSize(9);
-                row.createCell(10, eintrag.getKaliber() != null ? eintrag.getKaliber() : "-").setFontSize(8);
-                row.createCell(12, eintrag.getSchiesstand() != null ? eintrag.getSchiesstand().getName() : null != null ? eintrag.getSchiesstand() != null ? eintrag.getSchiesstand().getName() : null : "-").setFontSize(9);
+                    row.createCell(10, eintrag.datum() != null ? eintrag.datum().format(DATE_FORMATTER) : "-").setFontSize(8);
+                    row.createCell(18, eintrag.disziplinProgramm() != null ? eintrag.disziplinProgramm() : "-").setFontSize(9);
+                    row.createCell(10, eintrag.kaliber() != null ? eintrag.kaliber() : "-").setFontSize(8);
+                    row.createCell(12, eintrag.schiesstandName() != null ? eintrag.schiesstandName() : "-").setFontSize(9);
 
-                // Anzahl Schüsse und Ergebnis anzeigen
-                row.createCell(8, eintrag.getAnzahlSchuesse() != null ? eintrag.getAnzahlSchuesse().toString() : "-").setFontSize(9);
-                row.createCell(15, eintrag.getErgebnis() != null ? eintrag.getErgebnis() : "-").setFontSize(9);
+                    // Anzahl Schüsse und Ergebnis anzeigen
+                    row.createCell(8, eintrag.anzahlSchuesse() != null ? eintrag.anzahlSchuesse().toString() : "-").setFontSize(9);
+                    row.createCell(15, eintrag.ergebnis() != null ? eintrag.ergebnis() : "-").setFontSize(9);
 
-                String aufseherName = eintrag.getAufseher() != null ? eintrag.getAufseher().getVollstaendigerName() : "-";
-                row.createCell(15, aufseherName).setFontSize(9);
+                    String aufseherName = eintrag.aufseherName() != null ? eintrag.aufseherName() : "-";
+                    row.createCell(15, aufseherName).setFontSize(9);
 
-                String signiertAm = eintrag.getSigniertAm() != null ?
-                        eintrag.getSigniertAm().format(DATETIME_FORMATTER) : "-";
-                row.createCell(10, signiertAm).setFontSize(8);
+                    String signiertAm = eintrag.signiertAm() != null ?
+                            eintrag.signiertAm().format(DATETIME_FORMATTER) : "-";
+                    row.createCell(10, signiertAm).setFontSize(8);
+                });
             }
 
             table.draw();
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            document.save(outputStream);
-            log.info("PDF für {} mit {} Einträgen und PKI-Signaturinformationen erstellt (DTOs verwendet)", schuetze.getEmail(), sortierteEintraege.size());
-            return outputStream.toByteArray();
+            layout.melde("schiessnachweise", null, uebersicht.anzahl, document.getNumberOfPages());
+            byte[] pdf = speichere(document, "schiessnachweise");
+            log.info("PDF für {} mit {} Einträgen und PKI-Signaturinformationen erstellt (DTOs verwendet)", schuetze.getEmail(), uebersicht.anzahl);
+            return pdf;
         }
     }
 
@@ -254,33 +270,28 @@ public class  PdfExportService {
      * Zeigt zusätzlich die Spalte Schütze an und verwendet in der Kopfzeile den Schießstandnamen.
      * Verwendet DTOs für sichere Datenübergabe.
      */
-    public byte[] exportiereEintragsverwaltungSchiesstand(Schiesstand schiesstand, List<SchiessnachweisEintrag> eintraege,
+    public byte[] exportiereEintragsverwaltungSchiesstand(Schiesstand schiesstand, List<SchiessnachweisEintragListDTO> eintraege,
                                                          LocalDate von, LocalDate bis) throws IOException {
+        return leistungsmessung.messe("pdf.eintragsverwaltung", Leistungsmessung.bezug(schiesstand),
+                () -> erstelleEintragsverwaltung(schiesstand, eintraege, von, bis));
+    }
+
+    private byte[] erstelleEintragsverwaltung(Schiesstand schiesstand, List<SchiessnachweisEintragListDTO> eintraege,
+                                              LocalDate von, LocalDate bis) throws IOException {
         log.info("=== PDF-EXPORT EINTRAGSVERWALTUNG (Schießstand) GESTARTET ===");
         log.info("Schießstand: {}", schiesstand != null ? schiesstand.getName() : "-" );
         log.info("Zeitraum: {} bis {}", von, bis);
         log.info("Anzahl Einträge: {}", eintraege.size());
 
-        // Erstelle mutable Kopie für Sortierung
-        List<SchiessnachweisEintrag> sortierteEintraege = new ArrayList<>(eintraege);
-        
-        // Sortiere nach Datum
-        sortierteEintraege.sort(Comparator.comparing(SchiessnachweisEintrag::getDatum, Comparator.nullsLast(Comparator.naturalOrder())));
+        Uebersicht uebersicht = new Uebersicht();
+        eintraege.forEach(uebersicht::add);
 
         // Ermittlung Zeitraum (wie in der anderen Methode)
-        LocalDate displayVon = null;
-        LocalDate displayBis = null;
-        if (!sortierteEintraege.isEmpty()) {
-            for (SchiessnachweisEintrag e : sortierteEintraege) {
-                if (e == null || e.getDatum() == null) continue;
-                LocalDate d = e.getDatum();
-                if (displayVon == null || d.isBefore(displayVon)) displayVon = d;
-                if (displayBis == null || d.isAfter(displayBis)) displayBis = d;
-            }
-        }
-        if (displayVon == null) displayVon = von;
-        if (displayBis == null) displayBis = bis;
+        LocalDate displayVon = uebersicht.erstesDatum != null ? uebersicht.erstesDatum : von;
+        LocalDate displayBis = uebersicht.letztesDatum != null ? uebersicht.letztesDatum : bis;
 
+        JfrEreignisse.PdfLayoutEreignis layout = new JfrEreignisse.PdfLayoutEreignis();
+        layout.begin();
         try (PDDocument document = new PDDocument()) {
             PDPage page = new PDPage(PDRectangle.A4);
             document.addPage(page);
@@ -321,21 +332,12 @@ public class  PdfExportService {
                 yPosition -= 20;
                 contentStream.beginText();
                 contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Anzahl Einträge: " + sortierteEintraege.size());
+                contentStream.showText("Anzahl Einträge: " + uebersicht.anzahl);
                 contentStream.endText();
 
                 yPosition -= 30;
 
-                // Sammle zuerst alle Aufseher-Namen und Seriennummern für PKI-Hinweis
-                Map<String, Set<String>> aufseherToSeriennummer = new LinkedHashMap<>();
-                for (SchiessnachweisEintrag eintrag : eintraege) {
-                    String aufName = eintrag.getAufseher() != null ? eintrag.getAufseher().getVollstaendigerName() : null;
-                    if (aufName != null && !aufName.equals("-")) {
-                        String sn = eintrag.getZertifikat() != null ? eintrag.getZertifikat().getSeriennummer() : null != null ?
-                                eintrag.getZertifikat() != null ? eintrag.getZertifikat().getSeriennummer() : null : "PKI-signiert";
-                        aufseherToSeriennummer.computeIfAbsent(aufName, k -> new LinkedHashSet<>()).add(sn);
-                    }
-                }
+                Map<String, Set<String>> aufseherToSeriennummer = uebersicht.aufseherSeriennummern;
 
                 // PKI-Zertifikatsdetails VOR der Tabelle ausgeben
                 contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
@@ -406,25 +408,26 @@ public class  PdfExportService {
             h8.setFont(PDType1Font.HELVETICA_BOLD);
             h8.setFontSize(10);
 
-            for (SchiessnachweisEintrag eintrag : eintraege) {
+            for (SchiessnachweisEintragListDTO eintrag : eintraege) {
                 Row<PDPage> row = table.createRow(15);
-                row.createCell(10, eintrag.getDatum() != null ? eintrag.getDatum().format(DATE_FORMATTER) : "-").setFontSize(8);
-                row.createCell(15, eintrag.getSchuetze() != null ? eintrag.getSchuetze().getVollstaendigerName() : "-" != null ? eintrag.getSchuetze() != null ? eintrag.getSchuetze().getVollstaendigerName() : "-" : "-").setFontSize(9);
-                row.createCell(18, eintrag.getDisziplin() != null ? eintrag.getDisziplin().getProgramm() : null != null ? eintrag.getDisziplin() != null ? eintrag.getDisziplin().getProgramm() : null : "-").setFontSize(9);
-                row.createCell(10, eintrag.getKaliber() != null ? eintrag.getKaliber() : "-").setFontSize(8);
-                row.createCell(8, eintrag.getAnzahlSchuesse() != null ? eintrag.getAnzahlSchuesse().toString() : "-").setFontSize(9);
-                row.createCell(15, eintrag.getErgebnis() != null ? eintrag.getErgebnis() : "-").setFontSize(9);
-                String aufName = eintrag.getAufseher() != null ? eintrag.getAufseher().getVollstaendigerName() : "-";
+                row.createCell(10, eintrag.datum() != null ? eintrag.datum().format(DATE_FORMATTER) : "-").setFontSize(8);
+                row.createCell(15, eintrag.schuetzeName()).setFontSize(9);
+                row.createCell(18, eintrag.disziplinProgramm() != null ? eintrag.disziplinProgramm() : "-").setFontSize(9);
+                row.createCell(10, eintrag.kaliber() != null ? eintrag.kaliber() : "-").setFontSize(8);
+                row.createCell(8, eintrag.anzahlSchuesse() != null ? eintrag.anzahlSchuesse().toString() : "-").setFontSize(9);
+                row.createCell(15, eintrag.ergebnis() != null ? eintrag.ergebnis() : "-").setFontSize(9);
+                String aufName = eintrag.aufseherName() != null ? eintrag.aufseherName() : "-";
                 row.createCell(14, aufName).setFontSize(9);
-                row.createCell(10, eintrag.getSigniertAm() != null ? eintrag.getSigniertAm().format(DATETIME_FORMATTER) : "-").setFontSize(8);
+                row.createCell(10, eintrag.signiertAm() != null ? eintrag.signiertAm().format(DATETIME_FORMATTER) : "-").setFontSize(8);
             }
 
             table.draw();
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            document.save(outputStream);
-            log.info("Eintragsverwaltungs-PDF für Schießstand {} erstellt ({} Einträge)", schiesstand != null ? schiesstand.getName() : "-", sortierteEintraege.size());
-            return outputStream.toByteArray();
+            layout.melde("eintragsverwaltung", schiesstand != null ? schiesstand.getId() : null, uebersicht.anzahl,
+                    document.getNumberOfPages());
+            byte[] pdf = speichere(document, "eintragsverwaltung");
+            log.info("Eintragsverwaltungs-PDF für Schießstand {} erstellt ({} Einträge)", schiesstand != null ? schiesstand.getName() : "-", uebersicht.anzahl);
+            return pdf;
         }
     }
 
@@ -441,6 +444,31 @@ public class  PdfExportService {
      */
     public byte[] exportiereVereinsmitgliedschaften(Verein verein, List<Vereinsmitgliedschaft> mitgliedschaften,
                                                      LocalDate von, LocalDate bis) throws IOException {
+        return exportiereVereinsmitgliedschaften(verein, mitgliedschaften::stream, von, bis);
+    }
+
+    /**
+     * Exportiert Vereinsmitgliedschaften als PDF, ohne alle Mitgliedschaften im Speicher zu halten.
+     * Der Stream wird innerhalb der Transaktion dieser Methode gelesen und danach geschlossen.
+     *
+     * @param verein Der Verein
+     * @param mitgliedschaften Lieferant für den Stream der Mitgliedschaften (inkl. Benutzer)
+     * @param von Start-Datum (optional)
+     * @param bis End-Datum (optional)
+     * @return PDF als Byte-Array
+     * @throws IOException bei Fehlern
+     */
+    @Transactional(readOnly = true)
+    public byte[] exportiereVereinsmitgliedschaften(Verein verein, Supplier<Stream<Vereinsmitgliedschaft>> mitgliedschaften,
+                                                     LocalDate von, LocalDate bis) throws IOException {
+        return leistungsmessung.messe("pdf.vereinsmitgliedschaften", Leistungsmessung.bezug(verein),
+                () -> erstelleVereinsmitgliedschaften(verein, mitgliedschaften, von, bis));
+    }
+
+    private byte[] erstelleVereinsmitgliedschaften(Verein verein, Supplier<Stream<Vereinsmitgliedschaft>> mitgliedschaften,
+                                                   LocalDate von, LocalDate bis) throws IOException {
+        JfrEreignisse.PdfLayoutEreignis layout = new JfrEreignisse.PdfLayoutEreignis();
+        layout.begin();
         try (PDDocument document = new PDDocument()) {
             PDPage page = new PDPage(PDRectangle.A4);
             document.addPage(page);
@@ -500,21 +528,25 @@ public class  PdfExportService {
             cell4.setFontSize(10);
 
             // Datenzeilen (mit Entities)
-            for (Vereinsmitgliedschaft mitgliedschaft : mitgliedschaften) {
-                Row<PDPage> row = table.createRow(15);
-                row.createCell(35, mitgliedschaft.getBenutzer().getVollstaendigerName()).setFontSize(9);
-                row.createCell(20, mitgliedschaft.getBeitrittDatum().format(DATE_FORMATTER)).setFontSize(9);
-                row.createCell(20, mitgliedschaft.getStatus().name()).setFontSize(9);
-
-                String rolle;
-                if (Boolean.TRUE.equals(mitgliedschaft.getIstVereinschef())) {
-                    rolle = "Vereinschef";
-                } else if (Boolean.TRUE.equals(mitgliedschaft.getIstAufseher())) {
-                    rolle = "Aufseher";
-                } else {
-                    rolle = "Mitglied";
-                }
-                row.createCell(25, rolle).setFontSize(9);
+            AtomicInteger anzahl = new AtomicInteger();
+            try (Stream<Vereinsmitgliedschaft> stream = mitgliedschaften.get()) {
+                stream.forEach(mitgliedschaft -> {
+                    anzahl.incrementAndGet();
+                    Row<PDPage> row = table.createRow(15);
+                    row.createCell(35, mitgliedschaft.getBenutzer().getVollstaendigerName()).setFontSize(9);
+                    row.createCell(20, mitgliedschaft.getBeitrittDatum().format(DATE_FORMATTER)).setFontSize(9);
+                    row.createCell(20, mitgliedschaft.getStatus().name()).setFontSize(9);
+
+                    String rolle;
+                    if (Boolean.TRUE.equals(mitgliedschaft.getIstVereinschef())) {
+                        rolle = "Vereinschef";
+                    } else if (Boolean.TRUE.equals(mitgliedschaft.getIstAufseher())) {
+                        rolle = "Aufseher";
+                    } else {
+                        rolle = "Mitglied";
+                    }
+                    row.createCell(25, rolle).setFontSize(9);
+                });
             }
 
             table.draw();
@@ -531,14 +563,51 @@ public class  PdfExportService {
 
                 contentStream.beginText();
                 contentStream.newLineAtOffset(margin, margin - 30);
-                contentStream.showText("Anzahl Mitgliedschaften: " + mitgliedschaften.size());
+                contentStream.showText("Anzahl Mitgliedschaften: " + anzahl.get());
                 contentStream.endText();
             }
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            document.save(outputStream);
+            layout.melde("vereinsmitgliedschaften", null, anzahl.get(), document.getNumberOfPages());
+            byte[] pdf = speichere(document, "vereinsmitgliedschaften");
             log.info("Mitgliedschafts-PDF erstellt für Verein {}", verein.getName());
-            return outputStream.toByteArray();
+            return pdf;
+        }
+    }
+
+    /**
+     * Speichert das fertig aufgebaute Dokument und meldet Größe und Dauer an JFR.
+     */
+    private static byte[] speichere(PDDocument document, String export) throws IOException {
+        JfrEreignisse.PdfSpeicherEreignis ereignis = new JfrEreignisse.PdfSpeicherEreignis();
+        ereignis.begin();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        document.save(outputStream);
+        ereignis.melde(export, document.getNumberOfPages(), outputStream.size());
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Kennzahlen für die Kopfzeile eines Eintrags-Exports, in einem Durchlauf über die Einträge ermittelt.
+     */
+    private static final class Uebersicht {
+        private int anzahl;
+        private LocalDate erstesDatum;
+        private LocalDate letztesDatum;
+        private final Map<String, Set<String>> aufseherSeriennummern = new LinkedHashMap<>();
+
+        private void add(SchiessnachweisEintragListDTO eintrag) {
+            anzahl++;
+            LocalDate d = eintrag.datum();
+            if (d != null) {
+                if (erstesDatum == null || d.isBefore(erstesDatum)) erstesDatum = d;
+                if (letztesDatum == null || d.isAfter(letztesDatum)) letztesDatum = d;
+            }
+            // Aufseher-Namen und Seriennummern für PKI-Hinweis
+            String aufseherName = eintrag.aufseherName();
+            if (aufseherName != null && !aufseherName.equals("-")) {
+                String sn = eintrag.zertifikatSeriennummer() != null ? eintrag.zertifikatSeriennummer() : "PKI-signiert";
+                aufseherSeriennummern.computeIfAbsent(aufseherName, k -> new LinkedHashSet<>()).add(sn);
+            }
         }
     }
 }
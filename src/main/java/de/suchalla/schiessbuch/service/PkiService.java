@@ -1,5 +1,9 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.config.AsyncKonfiguration;
+import de.suchalla.schiessbuch.config.BegrenzterExecutor;
+import de.suchalla.schiessbuch.config.JfrEreignisse;
+import de.suchalla.schiessbuch.config.Leistungsmessung;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.DigitalesZertifikat;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
@@ -9,7 +13,6 @@ import de.suchalla.schiessbuch.repository.SchiesstandRepository;
 import de.suchalla.schiessbuch.repository.VereinRepository;
 import de.suchalla.schiessbuch.repository.BenutzerRepository;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.bouncycastle.asn1.x500.X500Name;
@@ -26,6 +29,7 @@ import org.bouncycastle.operator.ContentSigner;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.bouncycastle.util.io.pem.PemObject;
 import org.bouncycastle.util.io.pem.PemReader;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -49,7 +53,6 @@ import java.util.Date;
  * @version 1.0.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PkiService {
 
@@ -57,6 +60,32 @@ public class PkiService {
     private final VereinRepository vereinRepository;
     private final BenutzerRepository benutzerRepository;
     private final SchiesstandRepository schiesstandRepository;
+    private final BegrenzterExecutor pkiExecutor;
+    private final Leistungsmessung leistungsmessung;
+
+    /**
+     * Konstruktor.
+     *
+     * @param zertifikatRepository Repository für Zertifikate
+     * @param vereinRepository Repository für Vereine
+     * @param benutzerRepository Repository für Benutzer
+     * @param schiesstandRepository Repository für Schießstände
+     * @param pkiExecutor Executor, der die gleichzeitige Schlüsselerzeugung begrenzt
+     * @param leistungsmessung Misst die Erstellung von Zertifikaten
+     */
+    public PkiService(DigitalesZertifikatRepository zertifikatRepository,
+                      VereinRepository vereinRepository,
+                      BenutzerRepository benutzerRepository,
+                      SchiesstandRepository schiesstandRepository,
+                      @Qualifier(AsyncKonfiguration.PKI) BegrenzterExecutor pkiExecutor,
+                      Leistungsmessung leistungsmessung) {
+        this.zertifikatRepository = zertifikatRepository;
+        this.vereinRepository = vereinRepository;
+        this.benutzerRepository = benutzerRepository;
+        this.schiesstandRepository = schiesstandRepository;
+        this.pkiExecutor = pkiExecutor;
+        this.leistungsmessung = leistungsmessung;
+    }
 
     static {
         // Bouncy Castle Provider registrieren
@@ -74,9 +103,7 @@ public class PkiService {
                 log.info("Erstelle Root-Zertifikat...");
 
                 // RSA Key Pair generieren
-                KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA", "BC");
-                keyGen.initialize(4096, new SecureRandom());
-                KeyPair rootKeyPair = keyGen.generateKeyPair();
+                KeyPair rootKeyPair = erzeugeSchluesselpaar(4096);
 
                 // Root CA Distinguished Name
                 X500Name rootDN = new X500Name("CN=Digitales Schiessbuch Root CA, O=Digitales Schiessbuch, C=DE");
@@ -102,14 +129,7 @@ public class PkiService {
                 certBuilder.addExtension(Extension.keyUsage, true,
                         new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
 
-                ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
-                        .setProvider("BC")
-                        .build(rootKeyPair.getPrivate());
-
-                X509CertificateHolder certHolder = certBuilder.build(signer);
-                X509Certificate rootCert = new JcaX509CertificateConverter()
-                        .setProvider("BC")
-                        .getCertificate(certHolder);
+                X509Certificate rootCert = baueZertifikat(certBuilder, rootKeyPair.getPrivate(), "ROOT", null, null);
 
                 // In Datenbank speichern
                 DigitalesZertifikat rootZertifikat = DigitalesZertifikat.builder()
@@ -141,6 +161,11 @@ public class PkiService {
      */
     @Transactional
     public DigitalesZertifikat createVereinCertificate(Verein verein) {
+        return leistungsmessung.messe("pki.zertifikat.verein", Leistungsmessung.bezug(verein),
+                () -> erstelleVereinszertifikat(verein));
+    }
+
+    private DigitalesZertifikat erstelleVereinszertifikat(Verein verein) {
         try {
             // Verein aus DB laden, um LazyInitializationException zu vermeiden
             Verein managedVerein = vereinRepository.findById(verein.getId())
@@ -159,9 +184,7 @@ public class PkiService {
                     .orElseThrow(() -> new RuntimeException("Root-Zertifikat nicht gefunden"));
 
             // Key Pair für Verein generieren
-            KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA", "BC");
-            keyGen.initialize(2048, new SecureRandom());
-            KeyPair vereinKeyPair = keyGen.generateKeyPair();
+            KeyPair vereinKeyPair = erzeugeSchluesselpaar(2048);
 
             // Vereinszertifikat erstellen
             X500Name issuerDN = new X500Name(rootZertifikat.getSubjectDN());
@@ -193,14 +216,7 @@ public class PkiService {
 
             // Mit Root-Private-Key signieren
             PrivateKey rootPrivateKey = loadPrivateKeyFromPEM(rootZertifikat.getPrivateKeyPEM());
-            ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
-                    .setProvider("BC")
-                    .build(rootPrivateKey);
-
-            X509CertificateHolder certHolder = certBuilder.build(signer);
-            X509Certificate vereinCert = new JcaX509CertificateConverter()
-                    .setProvider("BC")
-                    .getCertificate(certHolder);
+            X509Certificate vereinCert = baueZertifikat(certBuilder, rootPrivateKey, "VEREIN", managedVerein.getId(), null);
 
             // In Datenbank speichern
             DigitalesZertifikat vereinZertifikat = DigitalesZertifikat.builder()
@@ -233,6 +249,11 @@ public class PkiService {
      */
     @Transactional
     public DigitalesZertifikat createAufseherCertificate(Benutzer benutzer, Verein verein) {
+        return leistungsmessung.messe("pki.zertifikat.aufseher", Leistungsmessung.bezug(verein),
+                () -> erstelleAufseherzertifikat(benutzer, verein));
+    }
+
+    private DigitalesZertifikat erstelleAufseherzertifikat(Benutzer benutzer, Verein verein) {
         try {
             // Benutzer und Verein aus DB laden, um LazyInitializationException zu vermeiden
             Benutzer managedBenutzer = benutzerRepository.findById(benutzer.getId())
@@ -255,9 +276,7 @@ public class PkiService {
                     .orElseGet(() -> createVereinCertificate(managedVerein));
 
             // Key Pair für Aufseher generieren
-            KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA", "BC");
-            keyGen.initialize(2048, new SecureRandom());
-            KeyPair aufseherKeyPair = keyGen.generateKeyPair();
+            KeyPair aufseherKeyPair = erzeugeSchluesselpaar(2048);
 
             // Aufseher-Zertifikat erstellen
             X500Name issuerDN = new X500Name(vereinZertifikat.getSubjectDN());
@@ -289,14 +308,7 @@ public class PkiService {
 
             // Mit Vereins-Private-Key signieren
             PrivateKey vereinPrivateKey = loadPrivateKeyFromPEM(vereinZertifikat.getPrivateKeyPEM());
-            ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
-                    .setProvider("BC")
-                    .build(vereinPrivateKey);
-
-            X509CertificateHolder certHolder = certBuilder.build(signer);
-            X509Certificate aufseherCert = new JcaX509CertificateConverter()
-                    .setProvider("BC")
-                    .getCertificate(certHolder);
+            X509Certificate aufseherCert = baueZertifikat(certBuilder, vereinPrivateKey, "AUFSEHER", managedVerein.getId(), null);
 
             // In Datenbank speichern
             DigitalesZertifikat aufseherZertifikat = DigitalesZertifikat.builder()
@@ -331,6 +343,11 @@ public class PkiService {
      */
     @Transactional
     public DigitalesZertifikat createSchiesstandaufseheCertificate(Benutzer benutzer, Schiesstand schiesstand) {
+        return leistungsmessung.messe("pki.zertifikat.schiesstandaufseher", Leistungsmessung.bezug(schiesstand),
+                () -> erstelleSchiesstandaufseherzertifikat(benutzer, schiesstand));
+    }
+
+    private DigitalesZertifikat erstelleSchiesstandaufseherzertifikat(Benutzer benutzer, Schiesstand schiesstand) {
         try {
             // Benutzer und Schießstand aus DB laden, um LazyInitializationException zu vermeiden
             Benutzer managedBenutzer = benutzerRepository.findById(benutzer.getId())
@@ -352,9 +369,7 @@ public class PkiService {
                     .orElseThrow(() -> new RuntimeException("Root-Zertifikat nicht gefunden"));
 
             // Key Pair für Schießstandaufseher generieren
-            KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA", "BC");
-            keyGen.initialize(2048, new SecureRandom());
-            KeyPair aufseherKeyPair = keyGen.generateKeyPair();
+            KeyPair aufseherKeyPair = erzeugeSchluesselpaar(2048);
 
             // Schießstandaufseher-Zertifikat erstellen
             X500Name issuerDN = new X500Name(rootZertifikat.getSubjectDN());
@@ -386,14 +401,7 @@ public class PkiService {
 
             // Mit Root-Private-Key signieren (direktes Child vom Root)
             PrivateKey rootPrivateKey = loadPrivateKeyFromPEM(rootZertifikat.getPrivateKeyPEM());
-            ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
-                    .setProvider("BC")
-                    .build(rootPrivateKey);
-
-            X509CertificateHolder certHolder = certBuilder.build(signer);
-            X509Certificate aufseherCert = new JcaX509CertificateConverter()
-                    .setProvider("BC")
-                    .getCertificate(certHolder);
+            X509Certificate aufseherCert = baueZertifikat(certBuilder, rootPrivateKey, "SCHIESSTANDAUFSEHER", null, managedSchiesstand.getId());
 
             // In Datenbank speichern
             DigitalesZertifikat schiesstandaufseherZertifikat = DigitalesZertifikat.builder()
@@ -450,6 +458,41 @@ public class PkiService {
         return stringWriter.toString();
     }
 
+    /**
+     * Erzeugt ein RSA-Schlüsselpaar im PKI-Executor, damit gleichzeitige Zertifikatserstellungen nicht
+     * alle Prozessorkerne belegen.
+     */
+    private KeyPair erzeugeSchluesselpaar(int bits) throws Exception {
+        return pkiExecutor.fuehreAusUndWarte(() -> {
+            JfrEreignisse.SchluesselEreignis ereignis = new JfrEreignisse.SchluesselEreignis();
+            ereignis.begin();
+            KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA", "BC");
+            keyGen.initialize(bits, new SecureRandom());
+            KeyPair schluesselpaar = keyGen.generateKeyPair();
+            ereignis.melde(bits);
+            return schluesselpaar;
+        });
+    }
+
+    /**
+     * Signiert das Zertifikat mit dem Schlüssel des Ausstellers und meldet die Erstellung an JFR.
+     */
+    private X509Certificate baueZertifikat(X509v3CertificateBuilder certBuilder, PrivateKey ausstellerSchluessel,
+                                           String typ, Long vereinId, Long schiesstandId) throws Exception {
+        JfrEreignisse.ZertifikatEreignis ereignis = new JfrEreignisse.ZertifikatEreignis();
+        ereignis.begin();
+        ContentSigner signer = new JcaContentSignerBuilder("SHA256WithRSA")
+                .setProvider("BC")
+                .build(ausstellerSchluessel);
+
+        X509CertificateHolder certHolder = certBuilder.build(signer);
+        X509Certificate zertifikat = new JcaX509CertificateConverter()
+                .setProvider("BC")
+                .getCertificate(certHolder);
+        ereignis.melde(typ, vereinId, schiesstandId, certHolder.getEncoded().length);
+        return zertifikat;
+    }
+
     /**
      * Konvertiert PrivateKey zu PEM-Format
      */
@@ -0,0 +1,62 @@
+package de.suchalla.schiessbuch.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+
+/**
+ * Verwaltet den Hibernate Second-Level-Cache der Referenzdaten (Verband, Verein, Disziplin, Schießstand).
+ * Die Schreibmethoden der Services leeren hierüber die betroffenen Regionen explizit, damit auch
+ * Änderungen an Hibernate vorbei (z. B. Massenlöschungen) nie veraltete Auswahllisten hinterlassen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenzdatenCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Leert die Cache-Regionen der angegebenen Entities sowie alle Collection- und Query-Regionen.
+     * Innerhalb einer Transaktion erst nach erfolgreichem Commit, damit parallele Leser den Cache
+     * nicht vorher mit dem alten Stand neu befüllen.
+     *
+     * @param entityKlassen Geänderte Entity-Klassen
+     */
+    public void leereNachCommit(Class<?>... entityKlassen) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    leere(entityKlassen);
+                }
+            });
+        } else {
+            leere(entityKlassen);
+        }
+    }
+
+    /**
+     * Leert die Cache-Regionen sofort.
+     *
+     * @param entityKlassen Geänderte Entity-Klassen
+     */
+    void leere(Class<?>... entityKlassen) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        for (Class<?> entityKlasse : entityKlassen) {
+            cache.evictEntityData(entityKlasse);
+        }
+        cache.evictCollectionData();
+        cache.evictQueryRegions();
+        log.debug("Referenzdaten-Cache geleert: {}", Arrays.toString(entityKlassen));
+    }
+}
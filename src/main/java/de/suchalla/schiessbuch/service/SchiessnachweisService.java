@@ -1,18 +1,26 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.model.dto.EintragFilter;
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
 import de.suchalla.schiessbuch.model.enums.EintragStatus;
 import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
-import de.suchalla.schiessbuch.repository.SchiesstandRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service für Schießnachweis-Einträge.
@@ -25,8 +33,16 @@ import java.util.List;
 @Transactional
 public class SchiessnachweisService {
 
+    /** Entspricht hibernate.jdbc.batch_size; nach jedem Block wird geflusht und der Persistence-Context geleert. */
+    static final int BATCH_GROESSE = 50;
+
+    /** Anzahl Einträge je Massen-DELETE beim Löschen ganzer Verbände, Vereine, Disziplinen oder Schießstände. */
+    static final int LOESCH_BLOCK = 1000;
+
     private final SchiessnachweisEintragRepository eintragRepository;
-    private final SchiesstandRepository schiesstandRepository;
+    private final EntityManager entityManager;
+    private final ZaehlerService zaehlerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Findet einen Eintrag anhand der ID.
@@ -42,75 +58,138 @@ public class SchiessnachweisService {
     }
 
     /**
-     * Erstellt einen neuen Schießnachweis-Eintrag.
+     * Erstellt einen neuen Schießnachweis-Eintrag. Die Benachrichtigung der Vereinschefs und Aufseher
+     * wird über {@link EintragErstelltEvent} in derselben Transaktion in den Postausgang gestellt.
      *
      * @param eintrag Der zu erstellende Eintrag
      */
     public void erstelleEintrag(SchiessnachweisEintrag eintrag) {
         eintrag.setStatus(EintragStatus.UNSIGNIERT);
         eintragRepository.save(eintrag);
+        zaehlerService.eintragGeaendert(eintrag, null, EintragStatus.UNSIGNIERT);
+        eventPublisher.publishEvent(new EintragErstelltEvent(eintrag));
     }
 
     /**
-     * Findet alle Einträge eines Schützen in einem Zeitraum.
+     * Erstellt einen neuen Schießnachweis-Eintrag für den Schützen mit der angegebenen ID.
      *
-     * @param schuetze Der Schütze
-     * @param von Start-Datum
-     * @param bis End-Datum
-     * @return Liste der Einträge
+     * @param eintrag Der zu erstellende Eintrag ohne Schützen
+     * @param schuetzeId ID des Schützen
+     * @throws IllegalArgumentException wenn der Schütze nicht existiert
+     */
+    public void erstelleEintrag(SchiessnachweisEintrag eintrag, Long schuetzeId) {
+        eintrag.setSchuetze(ladeBenutzer(schuetzeId));
+        erstelleEintrag(eintrag);
+    }
+
+    /**
+     * Erstellt viele Schießnachweis-Einträge in einer Transaktion (z. B. für Importe).
+     * Die Inserts werden in Blöcken von {@value #BATCH_GROESSE} per JDBC-Batch geschrieben; nach jedem
+     * Block wird der Persistence-Context geleert, damit der Speicherbedarf nicht mit der Anzahl wächst.
+     *
+     * @param eintraege Die zu erstellenden Einträge
+     * @return Anzahl der erstellten Einträge
+     */
+    public int erstelleEintraege(List<SchiessnachweisEintrag> eintraege) {
+        for (int i = 0; i < eintraege.size(); i++) {
+            SchiessnachweisEintrag eintrag = eintraege.get(i);
+            eintrag.setStatus(EintragStatus.UNSIGNIERT);
+            entityManager.persist(eintrag);
+            if ((i + 1) % BATCH_GROESSE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        zaehlerService.eintraegeAngelegt(eintraege);
+        return eintraege.size();
+    }
+
+    /**
+     * Lädt eine Seite der Einträge eines Schützen per Keyset-Pagination.
+     * Die Seite beginnt direkt nach dem übergebenen Eintrag (Sortierung nach Datum und ID).
+     *
+     * @param schuetzeId ID des Schützen
+     * @param filter Die Filterkriterien
+     * @param nach Letzter Eintrag der vorherigen Seite oder null für die erste Seite
+     * @param aufsteigend true für älteste zuerst, false für neueste zuerst
+     * @param limit Maximale Anzahl der Einträge
+     * @return Liste der Einträge der Seite
      */
     @Transactional(readOnly = true)
-    public List<SchiessnachweisEintrag> findeEintraegeImZeitraum(Benutzer schuetze, LocalDate von, LocalDate bis) {
-        return eintragRepository.findBySchuetzeAndDatumBetween(schuetze, von, bis);
+    public List<SchiessnachweisEintragListDTO> findeEintraegeSeite(Long schuetzeId, EintragFilter filter,
+                                                                  SchiessnachweisEintragListDTO nach,
+                                                                  boolean aufsteigend, int limit) {
+        if (schuetzeId == null || filter.getStatus() == null || filter.getStatus().isEmpty()) {
+            return List.of();
+        }
+        return eintragRepository.findSeiteFuerSchuetze(
+                schuetzeId,
+                filter.getStatus(),
+                filter.getVon(),
+                filter.getBis(),
+                leerAlsNull(filter.getDisziplinProgramm()),
+                leerAlsNull(filter.getVereinName()),
+                leerAlsNull(filter.getVerbandName()),
+                nach != null ? nach.datum() : null,
+                nach != null ? nach.id() : null,
+                aufsteigend,
+                Limit.of(limit));
     }
 
     /**
-     * Findet alle Einträge eines Schützen.
+     * Liefert die Programme aller Disziplinen, in denen ein Schütze Einträge hat.
      *
-     * @param schuetze Der Schütze
-     * @return Liste der Einträge
+     * @param schuetzeId ID des Schützen
+     * @return Liste der Disziplin-Programme
      */
     @Transactional(readOnly = true)
-    public List<SchiessnachweisEintrag> findeEintraegeFuerSchuetze(Benutzer schuetze) {
-        return eintragRepository.findBySchuetze(schuetze);
+    public List<String> findeDisziplinProgrammeVonSchuetze(Long schuetzeId) {
+        return eintragRepository.findDisziplinProgrammeBySchuetze(schuetzeId);
     }
 
     /**
-     * Findet alle signierten Einträge eines Schützen in einem Zeitraum.
+     * Liefert alle signierten Einträge eines Schützen in einem Zeitraum als Stream für Exporte.
+     * Der Stream muss innerhalb einer umgebenden Transaktion gelesen und danach geschlossen werden.
      *
-     * @param schuetze Der Schütze
+     * @param schuetzeId ID des Schützen
      * @param von Start-Datum
      * @param bis End-Datum
-     * @return Liste der signierten Einträge
+     * @return Stream der signierten Einträge (Listen-Projektion), aufsteigend nach Datum
      */
-    @Transactional(readOnly = true)
-    public List<SchiessnachweisEintrag> findeSignierteEintraegeImZeitraum(Benutzer schuetze, LocalDate von, LocalDate bis) {
-        return eintragRepository.findBySchuetzeAndDatumBetweenAndStatus(
-                schuetze, von, bis, EintragStatus.SIGNIERT);
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Stream<SchiessnachweisEintragListDTO> streameSignierteEintraegeImZeitraum(Long schuetzeId, LocalDate von,
+                                                                                   LocalDate bis) {
+        return eintragRepository.streamListeBySchuetzeImZeitraum(
+                schuetzeId, von, bis, EintragStatus.SIGNIERT);
     }
 
     /**
-     * Findet alle unsignierten Einträge an einem Schießstand.
+     * Findet alle Einträge an einem Schießstand.
      *
      * @param schiesstand Der Schießstand
-     * @return Liste der unsignierten Einträge
+     * @param status Der Status oder null für alle Einträge
+     * @return Liste der Einträge (Listen-Projektion), neueste zuerst
      */
     @Transactional(readOnly = true)
-    public List<SchiessnachweisEintrag> findeUnsignierteEintraege(Schiesstand schiesstand) {
-        return eintragRepository.findBySchiesstandAndStatus(schiesstand, EintragStatus.UNSIGNIERT);
+    public List<SchiessnachweisEintragListDTO> findeEintraegeAnSchiesstand(Schiesstand schiesstand, EintragStatus status) {
+        return eintragRepository.findListeBySchiesstand(schiesstand.getId(), status);
     }
 
     /**
-     * Findet alle Einträge an einem Schießstand.
+     * Lädt einzelne Einträge eines Schießstands für die Aktualisierung einer offenen Ansicht.
      *
      * @param schiesstand Der Schießstand
-     * @return Liste der Einträge
+     * @param ids Die IDs der geänderten Einträge
+     * @return Die noch vorhandenen Einträge (Listen-Projektion); gelöschte oder fremde fehlen
      */
     @Transactional(readOnly = true)
-    public List<SchiessnachweisEintrag> findeEintraegeAnSchiesstand(Schiesstand schiesstand) {
-        Schiesstand managedSchiesstand = schiesstandRepository.findById(schiesstand.getId())
-                .orElse(schiesstand);
-        return eintragRepository.findBySchiesstand(managedSchiesstand);
+    public List<SchiessnachweisEintragListDTO> findeEintraegeMitIds(Schiesstand schiesstand, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return eintragRepository.findListeBySchiesstandAndIdIn(schiesstand.getId(), ids);
     }
 
     /**
@@ -134,18 +213,21 @@ public class SchiessnachweisService {
         eintrag.setDigitaleSignatur(signatur);
 
         eintragRepository.save(eintrag);
+        zaehlerService.eintragGeaendert(eintrag, EintragStatus.UNSIGNIERT, EintragStatus.SIGNIERT);
+        eventPublisher.publishEvent(new EintragSigniertEvent(eintrag));
     }
 
     /**
      * Lehnt einen Eintrag ab.
      *
      * @param eintragId       Die Eintrags-ID
-     * @param aufseher        Der Aufseher
+     * @param aufseherId      ID des Aufsehers
      * @param ablehnungsgrund Der Grund der Ablehnung
      * @throws IllegalStateException wenn Eintrag bereits bearbeitet
      */
     @Transactional
-    public void lehneEintragAb(Long eintragId, Benutzer aufseher, String ablehnungsgrund) {
+    public void lehneEintragAb(Long eintragId, Long aufseherId, String ablehnungsgrund) {
+        Benutzer aufseher = ladeBenutzer(aufseherId);
         SchiessnachweisEintrag eintrag = eintragRepository.findById(eintragId)
                 .orElseThrow(() -> new IllegalArgumentException("Eintrag nicht gefunden"));
 
@@ -159,6 +241,8 @@ public class SchiessnachweisService {
         eintrag.setSigniertAm(LocalDateTime.now());
 
         eintragRepository.save(eintrag);
+        zaehlerService.eintragGeaendert(eintrag, EintragStatus.UNSIGNIERT, EintragStatus.ABGELEHNT);
+        eventPublisher.publishEvent(new EintragAbgelehntEvent(eintrag));
     }
 
 
@@ -178,9 +262,39 @@ public class SchiessnachweisService {
         }
 
         eintragRepository.delete(eintrag);
+        zaehlerService.eintragGeaendert(eintrag, eintrag.getStatus(), null);
     }
 
+    /**
+     * Löscht Einträge per Massen-DELETE, ohne sie zu laden, und schreibt die Zähler fort.
+     *
+     * @param ids IDs der zu löschenden Einträge (höchstens {@link #LOESCH_BLOCK})
+     * @return Anzahl gelöschter Einträge
+     */
+    public int loescheEintraege(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        zaehlerService.eintraegeGeloescht(
+                eintragRepository.zaehleProSchiesstandUnter(ids, EintragStatus.UNSIGNIERT),
+                eintragRepository.zaehleProSchuetzeUnter(ids, EintragStatus.UNSIGNIERT));
+        return eintragRepository.loescheAlle(ids);
+    }
 
+    /**
+     * Löscht alle ausgewählten Einträge blockweise innerhalb der laufenden Transaktion.
+     *
+     * @param auswahl Liefert die IDs des nächsten Blocks, z. B. {@code limit -> eintragRepository.findIdsVonDisziplin(id, limit)}
+     * @return Anzahl gelöschter Einträge
+     */
+    public long loescheAlleEintraege(Function<Limit, List<Long>> auswahl) {
+        long geloescht = 0;
+        List<Long> ids;
+        while (!(ids = auswahl.apply(Limit.of(LOESCH_BLOCK))).isEmpty()) {
+            geloescht += loescheEintraege(ids);
+        }
+        return geloescht;
+    }
 
     /**
      * Zählt unsignierte Einträge eines Schützen.
@@ -192,4 +306,16 @@ public class SchiessnachweisService {
     public long zaehleUnsignierteEintraege(Benutzer schuetze) {
         return eintragRepository.countBySchuetzeAndStatus(schuetze, EintragStatus.UNSIGNIERT);
     }
+
+    private Benutzer ladeBenutzer(Long benutzerId) {
+        Benutzer benutzer = benutzerId != null ? entityManager.find(Benutzer.class, benutzerId) : null;
+        if (benutzer == null) {
+            throw new IllegalArgumentException("Benutzer nicht gefunden");
+        }
+        return benutzer;
+    }
+
+    private static String leerAlsNull(String wert) {
+        return wert == null || wert.isBlank() ? null : wert;
+    }
 }
\ No newline at end of file
@@ -3,18 +3,24 @@ package de.suchalla.schiessbuch.service;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.DigitalesZertifikat;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
-import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
+import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
 import de.suchalla.schiessbuch.repository.BenutzerRepository;
 import de.suchalla.schiessbuch.repository.DigitalesZertifikatRepository;
 import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
 import de.suchalla.schiessbuch.repository.SchiesstandRepository;
+import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Service für Schießstandsverwaltung.
@@ -31,8 +37,12 @@ public class SchiesstandService {
     private final SchiessnachweisEintragRepository eintragRepository;
     private final DigitalesZertifikatRepository zertifikatRepository;
     private final BenutzerRepository benutzerRepository;
+    private final VereinsmitgliedschaftRepository mitgliedschaftRepository;
     private final PkiService pkiService;
-    private final EmailService emailService;
+    private final ReferenzdatenCache referenzdatenCache;
+    private final SchiessnachweisService schiessnachweisService;
+    private final ZaehlerService zaehlerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Konstruktor.
@@ -41,30 +51,46 @@ public class SchiesstandService {
      * @param eintragRepository Repository für Schießnachweis-Einträge
      * @param zertifikatRepository Repository für digitale Zertifikate
      * @param benutzerRepository Repository für Benutzer
+     * @param mitgliedschaftRepository Repository für Vereinsmitgliedschaften
      * @param pkiService Service für PKI-Zertifikatsverwaltung
-     * @param emailService Service für E-Mail-Benachrichtigungen
+     * @param referenzdatenCache Second-Level-Cache der Referenzdaten
+     * @param schiessnachweisService Service für Schießnachweis-Einträge
+     * @param zaehlerService Service für die Dashboard-Zähler
+     * @param eventPublisher Veröffentlicht Berechtigungsänderungen und Zertifikatswiderrufe
      */
     public SchiesstandService(SchiesstandRepository schiesstandRepository,
                               SchiessnachweisEintragRepository eintragRepository,
                               DigitalesZertifikatRepository zertifikatRepository,
                               BenutzerRepository benutzerRepository,
+                              VereinsmitgliedschaftRepository mitgliedschaftRepository,
                               PkiService pkiService,
-                              EmailService emailService) {
+                              ReferenzdatenCache referenzdatenCache,
+                              SchiessnachweisService schiessnachweisService,
+                              ZaehlerService zaehlerService,
+                              ApplicationEventPublisher eventPublisher) {
         this.schiesstandRepository = schiesstandRepository;
         this.eintragRepository = eintragRepository;
         this.zertifikatRepository = zertifikatRepository;
         this.benutzerRepository = benutzerRepository;
+        this.mitgliedschaftRepository = mitgliedschaftRepository;
         this.pkiService = pkiService;
-        this.emailService = emailService;
+        this.referenzdatenCache = referenzdatenCache;
+        this.schiessnachweisService = schiessnachweisService;
+        this.zaehlerService = zaehlerService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Erstellt einen neuen Schießstand.
+     * Erstellt einen neuen Schießstand. Betroffen sind nur sein Aufseher sowie Vereinschefs und
+     * Aufseher seines Vereins.
      *
      * @param schiesstand Der zu erstellende Schießstand
      */
+    @Transactional
     public void erstelleSchiesstand(Schiesstand schiesstand) {
         schiesstandRepository.save(schiesstand);
+        referenzdatenCache.leereNachCommit(Schiesstand.class);
+        meldeBerechtigungsaenderung(betroffeneBenutzer(schiesstand.getAufseher(), schiesstand.getVerein()));
     }
 
     /**
@@ -92,16 +118,35 @@ public class SchiesstandService {
     }
 
     /**
-     * Aktualisiert einen bestehenden Schießstand.
+     * Aktualisiert einen bestehenden Schießstand. Berechtigungen ändern sich nur, wenn Aufseher oder
+     * Verein wechseln; dann sind die bisherigen und die neuen Berechtigten betroffen.
      *
      * @param schiesstand Der zu aktualisierende Schießstand
      */
+    @Transactional
     public void aktualisiereSchiesstand(Schiesstand schiesstand) {
+        Schiesstand bisher = schiesstand.getId() != null
+                ? schiesstandRepository.findById(schiesstand.getId()).orElse(null)
+                : null;
+        Set<Long> betroffene = new LinkedHashSet<>();
+        if (bisher == null) {
+            betroffene.addAll(betroffeneBenutzer(schiesstand.getAufseher(), schiesstand.getVerein()));
+        } else if (!Objects.equals(idVon(bisher.getAufseher()), idVon(schiesstand.getAufseher()))
+                || !Objects.equals(idVon(bisher.getVerein()), idVon(schiesstand.getVerein()))) {
+            // IDs vor dem Speichern lesen, da save() die neuen Werte in die verwaltete Instanz übernimmt
+            betroffene.addAll(betroffeneBenutzer(bisher.getAufseher(), bisher.getVerein()));
+            betroffene.addAll(betroffeneBenutzer(schiesstand.getAufseher(), schiesstand.getVerein()));
+        }
+
         schiesstandRepository.save(schiesstand);
+        referenzdatenCache.leereNachCommit(Schiesstand.class);
+        meldeBerechtigungsaenderung(betroffene);
     }
 
     /**
-     * Löscht einen Schießstand, sofern keine Einträge mehr vorhanden sind.
+     * Löscht einen Schießstand samt seiner Einträge und Zertifikate per Massen-DELETE,
+     * ohne die Entities zu laden. Für sehr große Schießstände siehe
+     * {@link LoeschService#starteSchiesstandLoeschung(Long)}.
      *
      * @param schiesstandId Die Schießstand-ID
      * @throws IllegalArgumentException Wenn der Schießstand nicht existiert
@@ -110,18 +155,19 @@ public class SchiesstandService {
     public void loescheSchiesstand(Long schiesstandId) {
         Schiesstand schiesstand = schiesstandRepository.findById(schiesstandId)
                 .orElseThrow(() -> new IllegalArgumentException("Schießstand nicht gefunden"));
+        Set<Long> betroffene = betroffeneBenutzer(schiesstand.getAufseher(), schiesstand.getVerein());
 
-        // Lösche alle zugehörigen Zertifikate
-        List<DigitalesZertifikat> zertifikate = zertifikatRepository.findBySchiesstand(schiesstand);
-        zertifikatRepository.deleteAll(zertifikate);
-
-        // Lösche alle zugehörigen Einträge
-        List<SchiessnachweisEintrag> eintraege = eintragRepository.findBySchiesstand(schiesstand);
-        eintragRepository.deleteAll(eintraege);
-        log.info("Gelöschte {} Einträge und {} Zertifikate für Schießstand {}", eintraege.size(), zertifikate.size(), schiesstandId);
+        // Einträge zuerst, da sie auf die Zertifikate des Schießstands verweisen können
+        long eintraege = schiessnachweisService.loescheAlleEintraege(
+                limit -> eintragRepository.findIdsVonSchiesstand(schiesstandId, limit));
+        int zertifikate = zertifikatRepository.loescheVonSchiesstand(schiesstandId);
+        log.info("Gelöschte {} Einträge und {} Zertifikate für Schießstand {}", eintraege, zertifikate, schiesstandId);
 
         // Lösche den Schießstand selbst
-        schiesstandRepository.delete(schiesstand);
+        zaehlerService.bezugGeloescht(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstandId);
+        schiesstandRepository.deleteById(schiesstandId);
+        referenzdatenCache.leereNachCommit(Schiesstand.class);
+        meldeBerechtigungsaenderung(betroffene);
         log.info("Schießstand {} erfolgreich gelöscht", schiesstandId);
     }
 
@@ -135,6 +181,9 @@ public class SchiesstandService {
     @Transactional
     public void setzeSchiesstandAufseher(Schiesstand schiesstand, Benutzer neuerAufseher) {
         Benutzer alterAufseher = schiesstand.getAufseher();
+        if (alterAufseher != null) {
+            eventPublisher.publishEvent(new BerechtigungGeaendertEvent(alterAufseher.getId()));
+        }
         
         // Altes Zertifikat widerrufen, falls vorhanden
         if (alterAufseher != null) {
@@ -147,9 +196,7 @@ public class SchiesstandService {
                 zertifikatRepository.save(altesZertifikat);
                 log.info("Zertifikat von {} für Schießstand {} widerrufen (SN: {})",
                     alterAufseher.getVollstaendigerName(), schiesstand.getName(), altesZertifikat.getSeriennummer());
-
-                // Sende E-Mail-Benachrichtigung an den Benutzer
-                emailService.notifyCertificateRevoked(altesZertifikat);
+                eventPublisher.publishEvent(new ZertifikatWiderrufenEvent(altesZertifikat));
             }
             
             // Rolle auf SCHÜTZE zurücksetzen, falls keine anderen Aufseherfunktionen
@@ -167,6 +214,8 @@ public class SchiesstandService {
         if (neuerAufseher != null) {
             schiesstand.setAufseher(neuerAufseher);
             schiesstandRepository.save(schiesstand);
+            referenzdatenCache.leereNachCommit(Schiesstand.class);
+            eventPublisher.publishEvent(new BerechtigungGeaendertEvent(neuerAufseher.getId()));
             
             // Zertifikat für neuen Aufseher erstellen
             try {
@@ -197,4 +246,31 @@ public class SchiesstandService {
             }
         }
     }
+
+    /**
+     * Ermittelt die Benutzer, deren berechtigte Schießstände von einem Schießstand abhängen: seinen
+     * Aufseher sowie Vereinschefs und Aufseher seines Vereins.
+     */
+    private Set<Long> betroffeneBenutzer(Benutzer aufseher, Verein verein) {
+        Set<Long> betroffene = new LinkedHashSet<>();
+        if (aufseher != null && aufseher.getId() != null) {
+            betroffene.add(aufseher.getId());
+        }
+        if (verein != null && verein.getId() != null) {
+            betroffene.addAll(mitgliedschaftRepository.findAufsichtsBenutzerIds(verein.getId()));
+        }
+        return betroffene;
+    }
+
+    private void meldeBerechtigungsaenderung(Set<Long> benutzerIds) {
+        benutzerIds.forEach(id -> eventPublisher.publishEvent(new BerechtigungGeaendertEvent(id)));
+    }
+
+    private static Long idVon(Benutzer benutzer) {
+        return benutzer != null ? benutzer.getId() : null;
+    }
+
+    private static Long idVon(Verein verein) {
+        return verein != null ? verein.getId() : null;
+    }
 }
@@ -1,9 +1,12 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.config.JfrEreignisse;
+import de.suchalla.schiessbuch.config.Leistungsmessung;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.DigitalesZertifikat;
 import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
 import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.repository.BenutzerRepository;
 import de.suchalla.schiessbuch.repository.DigitalesZertifikatRepository;
 import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -26,18 +30,33 @@ public class SignaturService {
 
     private final PkiService pkiService;
     private final DigitalesZertifikatRepository zertifikatRepository;
+    private final BenutzerRepository benutzerRepository;
     private final SchiessnachweisService schiessnachweisService;
-    private final EmailService notificationService;
+    private final Leistungsmessung leistungsmessung;
 
     /**
      * Signiert einen Schießnachweis-Eintrag mit dem Zertifikat des Aufsehers.
      *
      * @param eintrag Der zu signierende Eintrag
-     * @param aufseher Der Aufseher, der signiert
+     * @param aufseherId ID des Aufsehers, der signiert
+     * @throws IllegalArgumentException wenn der Aufseher nicht existiert
      * @throws RuntimeException wenn die Signierung fehlschlägt
      */
     @Transactional
-    public void signEintrag(SchiessnachweisEintrag eintrag, Benutzer aufseher) {
+    public void signEintrag(SchiessnachweisEintrag eintrag, Long aufseherId) {
+        Benutzer aufseher = benutzerRepository.findById(aufseherId)
+                .orElseThrow(() -> new IllegalArgumentException("Aufseher nicht gefunden"));
+        leistungsmessung.messe("signatur.signieren", Leistungsmessung.bezug(eintrag.getSchiesstand()), () -> {
+            signiere(eintrag, aufseher);
+            return null;
+        });
+    }
+
+    private void signiere(SchiessnachweisEintrag eintrag, Benutzer aufseher) {
+        JfrEreignisse.SignaturEreignis ereignis = new JfrEreignisse.SignaturEreignis();
+        ereignis.begin();
+        long nutzdatenBytes = 0;
+        boolean erfolgreich = false;
         try {
             log.info("Starte Signierung für Eintrag-ID: {} durch Aufseher: {}", eintrag.getId(), aufseher.getId());
 
@@ -50,6 +69,7 @@ public class SignaturService {
             }
 
             String dataToSign = buildSignatureData(eintrag);
+            nutzdatenBytes = dataToSign.getBytes(StandardCharsets.UTF_8).length;
             String signature = pkiService.signData(dataToSign, aufseherZertifikat);
 
             eintrag.setAufseher(aufseher);
@@ -57,18 +77,14 @@ public class SignaturService {
             eintrag.setZertifikat(aufseherZertifikat);
 
             schiessnachweisService.signiereEintrag(eintrag, aufseher, signature);
+            erfolgreich = true;
             log.info("Eintrag {} erfolgreich signiert", eintrag.getId());
-
-            // Benachrichtige den Schützen asynchron über die erfolgreiche Signierung
-            try {
-                notificationService.notifyEntrySigned(eintrag);
-            } catch (Exception nEx) {
-                log.warn("Fehler beim Senden der Signierungs-Benachrichtigung: {}", nEx.getMessage());
-            }
-
         } catch (Exception e) {
             log.error("Fehler beim Signieren des Eintrags {}: {}", eintrag.getId(), e.getMessage());
             throw new RuntimeException("Eintrag konnte nicht signiert werden: " + e.getMessage(), e);
+        } finally {
+            ereignis.melde(eintrag.getId(), eintrag.getSchiesstand() != null ? eintrag.getSchiesstand().getId() : null,
+                    nutzdatenBytes, erfolgreich);
         }
     }
 
@@ -0,0 +1,120 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.entity.SignaturHinweis;
+import de.suchalla.schiessbuch.repository.SignaturHinweisRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Versendet die gesammelten Signaturanfragen an Empfänger im Modus
+ * {@link de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus#ZUSAMMENFASSUNG}.
+ * <p>
+ * Eine Zusammenfassung ist fällig, sobald die älteste vorgemerkte Anfrage eines Empfängers älter als das
+ * Sammelfenster ist oder die Anzahl der Anfragen die Obergrenze erreicht. Je Empfänger wird in einer
+ * Transaktion die E-Mail in den Postausgang gestellt und die Vormerkungen gelöscht. Bei mehreren Knoten
+ * fasst nur derjenige zusammen, der die {@link JobSperren Lease-Sperre} erhält.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class SignaturZusammenfassung {
+
+    /** Name des Jobs in {@code job_sperre}. */
+    static final String JOB = "signatur-zusammenfassung";
+
+    private final SignaturHinweisRepository signaturHinweisRepository;
+    private final EmailService emailService;
+    private final JobSperren jobSperren;
+    private final TransactionTemplate transaktion;
+    private final Duration fenster;
+    private final int maxAnzahl;
+    private final Duration sperrDauer;
+
+    /**
+     * Konstruktor.
+     *
+     * @param signaturHinweisRepository Repository für vorgemerkte Signaturanfragen
+     * @param emailService Service zum Einstellen der Zusammenfassung
+     * @param jobSperren Lease-Sperren für geplante Jobs
+     * @param transactionManager Transaktionsmanager für die Zusammenfassung je Empfänger
+     * @param fenster Längste Zeit, die eine Anfrage gesammelt wird
+     * @param maxAnzahl Anzahl Anfragen, ab der vor Ablauf des Fensters zusammengefasst wird
+     * @param sperrDauer Längste erwartete Laufzeit eines Durchlaufs
+     */
+    public SignaturZusammenfassung(SignaturHinweisRepository signaturHinweisRepository,
+                                   EmailService emailService,
+                                   JobSperren jobSperren,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${email.zusammenfassung.fenster:PT30M}") Duration fenster,
+                                   @Value("${email.zusammenfassung.max-anzahl:50}") int maxAnzahl,
+                                   @Value("${email.zusammenfassung.sperr-dauer:PT5M}") Duration sperrDauer) {
+        this.signaturHinweisRepository = signaturHinweisRepository;
+        this.emailService = emailService;
+        this.jobSperren = jobSperren;
+        this.transaktion = new TransactionTemplate(transactionManager);
+        this.fenster = fenster;
+        this.maxAnzahl = maxAnzahl;
+        this.sperrDauer = sperrDauer;
+    }
+
+    /**
+     * Geplante Zusammenfassung, sofern kein anderer Knoten gerade zusammenfasst.
+     */
+    @Scheduled(initialDelayString = "${email.zusammenfassung.verzoegerung:PT1M}",
+            fixedDelayString = "${email.zusammenfassung.intervall:PT1M}")
+    public void geplanteZusammenfassung() {
+        try {
+            jobSperren.fuehreAus(JOB, sperrDauer, () -> {
+                int empfaenger = fasseZusammen();
+                if (empfaenger > 0) {
+                    log.info("Signatur-Zusammenfassung an {} Empfänger eingestellt", empfaenger);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Signatur-Zusammenfassung fehlgeschlagen", e);
+        }
+    }
+
+    /**
+     * Stellt für alle fälligen Empfänger eine Zusammenfassung in den Postausgang.
+     *
+     * @return Anzahl der Empfänger, deren Anfragen zusammengefasst wurden
+     */
+    public int fasseZusammen() {
+        LocalDateTime grenze = LocalDateTime.now().minus(fenster);
+        List<Long> empfaenger = transaktion.execute(status ->
+                signaturHinweisRepository.findFaelligeEmpfaenger(grenze, maxAnzahl));
+        if (empfaenger == null) {
+            return 0;
+        }
+        int anzahl = 0;
+        for (Long empfaengerId : empfaenger) {
+            try {
+                transaktion.executeWithoutResult(status -> fasseZusammen(empfaengerId));
+                anzahl++;
+            } catch (RuntimeException e) {
+                log.warn("Signatur-Zusammenfassung für Benutzer {} fehlgeschlagen: {}", empfaengerId, e.getMessage());
+            }
+        }
+        return anzahl;
+    }
+
+    private void fasseZusammen(Long empfaengerId) {
+        List<SignaturHinweis> hinweise = signaturHinweisRepository.findByEmpfaenger(empfaengerId);
+        if (hinweise.isEmpty()) {
+            return;
+        }
+        emailService.notifySignatureDigest(hinweise.getFirst().getEmpfaenger(), hinweise);
+        signaturHinweisRepository.loescheAlle(hinweise.stream().map(SignaturHinweis::getId).toList());
+    }
+}
@@ -3,8 +3,9 @@ package de.suchalla.schiessbuch.service;
 import de.suchalla.schiessbuch.model.entity.Verband;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
-import de.suchalla.schiessbuch.model.entity.DigitalesZertifikat;
 import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
+import de.suchalla.schiessbuch.model.entity.Disziplin;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
 import de.suchalla.schiessbuch.repository.DigitalesZertifikatRepository;
 import de.suchalla.schiessbuch.repository.DisziplinRepository;
 import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
@@ -12,10 +13,13 @@ import de.suchalla.schiessbuch.repository.VerbandRepository;
 import de.suchalla.schiessbuch.repository.VereinRepository;
 import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service für Verbands- und Vereinsverwaltung.
@@ -35,6 +39,10 @@ public class VerbandService {
     private final DisziplinRepository disziplinRepository;
     private final SchiessnachweisEintragRepository eintragRepository;
     private final VereinsmitgliedschaftService vereinsmitgliedschaftService;
+    private final SchiessnachweisService schiessnachweisService;
+    private final ZaehlerService zaehlerService;
+    private final ReferenzdatenCache referenzdatenCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Erstellt einen neuen Verband.
@@ -47,6 +55,7 @@ public class VerbandService {
             throw new IllegalArgumentException("Verband mit diesem Namen existiert bereits");
         }
         verbandRepository.save(verband);
+        referenzdatenCache.leereNachCommit(Verband.class);
     }
 
     /**
@@ -92,19 +101,19 @@ public class VerbandService {
     }
 
     /**
-     * Prüft, ob ein Benutzer ein aktives Mitglied in einem Verband ist (über die Vereine).
+     * Liefert die IDs der Verbände, in denen ein Benutzer über seine Vereine aktives Mitglied ist.
      *
-     * @param benutzer  Der Benutzer
-     * @param verbandId Die Verbands-ID
-     * @return true wenn der Benutzer in mindestens einem Verein des Verbands aktiv ist
+     * @param benutzerId ID des Benutzers
+     * @return IDs der Verbände
      */
     @Transactional(readOnly = true)
-    public boolean istMitgliedImVerband(Benutzer benutzer, Long verbandId) {
-        if (benutzer == null || verbandId == null) {
-            return false;
+    public Set<Long> findeVerbandIdsVonBenutzer(Long benutzerId) {
+        if (benutzerId == null) {
+            return Set.of();
         }
-        return vereinsmitgliedschaftService.findeVerbaendeVonBenutzer(benutzer).stream()
-                .anyMatch(v -> v.getId() != null && v.getId().equals(verbandId));
+        return vereinsmitgliedschaftService.findeVerbaendeVonBenutzer(benutzerId).stream()
+                .map(Verband::getId)
+                .collect(Collectors.toSet());
     }
 
     /**
@@ -124,7 +133,7 @@ public class VerbandService {
             throw new IllegalArgumentException("Kein Verein im Verband zum Beitreten vorhanden");
         }
         // Beitreten zum ersten Verein des Verbands und automatisch genehmigen
-        var mitgliedschaft = vereinsmitgliedschaftService.vereinBeitreten(benutzer, vereine.get(0));
+        var mitgliedschaft = vereinsmitgliedschaftService.vereinBeitreten(benutzer.getId(), vereine.get(0));
         vereinsmitgliedschaftService.genehmigeAnfrage(mitgliedschaft.getId());
     }
 
@@ -150,28 +159,19 @@ public class VerbandService {
     /**
      * Löscht einen Verband samt aller abhängiger Disziplinen und deren Einträge.
      * WARNUNG: Diese Aktion kann nicht rückgängig gemacht werden!
-     * Löscht in korrekter Reihenfolge:
-     * 1. Alle Schießnachweis-Einträge der Disziplinen
+     * Löscht per Massen-DELETE ohne die Entities zu laden, in korrekter Reihenfolge:
+     * 1. Alle Schießnachweis-Einträge der Disziplinen (blockweise)
      * 2. Alle Disziplinen des Verbands
      * 3. Den Verband selbst
+     * Für sehr große Verbände siehe {@link LoeschService#starteVerbandLoeschung(Long)}.
      *
      * @param verbandId Die Verbands-ID
      */
     public void loescheVerband(Long verbandId) {
-        // Finde alle Disziplinen des Verbands
-        var disziplinen = disziplinRepository.findByVerbandId(verbandId);
-
-        // Lösche für jede Disziplin alle Schießnachweis-Einträge
-        for (var disziplin : disziplinen) {
-            var eintraege = eintragRepository.findByDisziplin(disziplin);
-            eintragRepository.deleteAll(eintraege);
-        }
-
-        // Lösche alle Disziplinen
-        disziplinRepository.deleteAll(disziplinen);
-
-        // Lösche den Verband
+        schiessnachweisService.loescheAlleEintraege(limit -> eintragRepository.findIdsVonVerband(verbandId, limit));
+        disziplinRepository.loescheVonVerband(verbandId);
         verbandRepository.deleteById(verbandId);
+        referenzdatenCache.leereNachCommit(Verband.class, Disziplin.class);
     }
 
     /**
@@ -181,7 +181,9 @@ public class VerbandService {
      * @return Der gespeicherte Verein
      */
     public Verein erstelleVerein(Verein verein) {
-        return vereinRepository.save(verein);
+        Verein gespeichert = vereinRepository.save(verein);
+        referenzdatenCache.leereNachCommit(Verein.class, Verband.class);
+        return gespeichert;
     }
 
     /**
@@ -214,7 +216,7 @@ public class VerbandService {
      */
     @Transactional(readOnly = true)
     public List<Verein> findeAlleVereineEntities() {
-        return vereinRepository.findAll();
+        return vereinRepository.findAllByOrderByNameAsc();
     }
 
     /**
@@ -231,44 +233,32 @@ public class VerbandService {
     /**
      * Löscht einen Verein samt aller abhängiger Entities.
      * WARNUNG: Diese Aktion kann nicht rückgängig gemacht werden!
-     * Löscht in korrekter Reihenfolge:
-     * 1. Alle Schießnachweis-Einträge, die Zertifikate des Vereins verwenden
+     * Löscht per Massen-DELETE ohne die Entities zu laden, in korrekter Reihenfolge:
+     * 1. Alle Schießnachweis-Einträge, die Zertifikate des Vereins verwenden (blockweise)
      * 2. Digitale Zertifikate des Vereins
-     * 3. Mitgliedschaften werden als inaktiv markiert
+     * 3. Mitgliedschaften des Vereins
      * 4. Den Verein selbst
+     * Für sehr große Vereine siehe {@link LoeschService#starteVereinLoeschung(Long)}.
      *
      * @param vereinId Die Vereins-ID
      * @throws IllegalArgumentException wenn Verein nicht gefunden
      */
     public void loescheVerein(Long vereinId) {
-        Verein verein = vereinRepository.findById(vereinId)
-                .orElseThrow(() -> new IllegalArgumentException("Verein nicht gefunden"));
-
-        // 1. Finde alle Zertifikate des Vereins
-        List<DigitalesZertifikat> zertifikate = zertifikatRepository.findByVerein(verein);
-
-        // 2. Lösche alle Schießnachweis-Einträge, die diese Zertifikate verwenden
-        for (DigitalesZertifikat zertifikat : zertifikate) {
-            // Finde alle Einträge, die dieses Zertifikat verwenden
-            var eintraege = eintragRepository.findAll().stream()
-                    .filter(e -> e.getZertifikat() != null && e.getZertifikat().getId().equals(zertifikat.getId()))
-                    .toList();
-            eintragRepository.deleteAll(eintraege);
+        if (!vereinRepository.existsById(vereinId)) {
+            throw new IllegalArgumentException("Verein nicht gefunden");
         }
 
-        // 3. Lösche alle Zertifikate des Vereins
-        zertifikatRepository.deleteAll(zertifikate);
+        schiessnachweisService.loescheAlleEintraege(limit -> eintragRepository.findIdsVonVereinsZertifikaten(vereinId, limit));
 
-        // 4. Mitgliedschaften nicht löschen, sondern als inaktiv markieren
-        if (!verein.getMitgliedschaften().isEmpty()) {
-            for (Vereinsmitgliedschaft mitgliedschaft : verein.getMitgliedschaften()) {
-                mitgliedschaft.setAktiv(false);
-                mitgliedschaft.setAustrittDatum(java.time.LocalDate.now());
-                mitgliedschaftRepository.save(mitgliedschaft);
-            }
-        }
+        zertifikatRepository.loeseVonVereinsZertifikaten(vereinId);
+        zertifikatRepository.loescheVonVerein(vereinId);
+
+        // Mitgliedschaften wurden schon bisher per Cascade mit dem Verein entfernt, jetzt in einer Anweisung
+        mitgliedschaftRepository.loescheVonVerein(vereinId);
+        zaehlerService.bezugGeloescht(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, vereinId);
 
-        // 5. Lösche den Verein
-        vereinRepository.delete(verein);
+        vereinRepository.deleteById(vereinId);
+        referenzdatenCache.leereNachCommit(Verein.class, Verband.class);
+        eventPublisher.publishEvent(BerechtigungGeaendertEvent.alle());
     }
 }
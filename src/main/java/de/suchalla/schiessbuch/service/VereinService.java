@@ -1,8 +1,10 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.model.entity.Verband;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.repository.VereinRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class VereinService {
 
     private final VereinRepository vereinRepository;
+    private final ReferenzdatenCache referenzdatenCache;
 
 
     /**
@@ -38,14 +41,16 @@ public class VereinService {
         existierend.setAdresse(verein.getAdresse());
         existierend.setBeschreibung(verein.getBeschreibung());
 
-        if (verein.getVerbaende() != null && !verein.getVerbaende().isEmpty()) {
-            existierend.getVerbaende().clear();
-            existierend.getVerbaende().addAll(verein.getVerbaende());
-        } else {
+        // Nicht mitgeladene Verbände können auch nicht geändert worden sein
+        if (Hibernate.isInitialized(verein.getVerbaende())) {
             existierend.getVerbaende().clear();
+            if (verein.getVerbaende() != null) {
+                existierend.getVerbaende().addAll(verein.getVerbaende());
+            }
         }
 
         vereinRepository.save(existierend);
+        referenzdatenCache.leereNachCommit(Verein.class, Verband.class);
     }
 
     /**
@@ -11,7 +11,11 @@ import de.suchalla.schiessbuch.repository.BenutzerRepository;
 import de.suchalla.schiessbuch.repository.VereinRepository;
 import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
 import de.suchalla.schiessbuch.repository.DigitalesZertifikatRepository;
+import de.suchalla.schiessbuch.repository.StreamLeser;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.dao.DataIntegrityViolationException;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +25,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Service für Vereinsmitgliedschaftsverwaltung.
@@ -39,7 +44,9 @@ public class VereinsmitgliedschaftService {
     private final DigitalesZertifikatRepository zertifikatRepository;
     private final BenutzerRepository benutzerRepository;
     private final PkiService pkiService;
-    private final EmailService notificationService;
+    private final ZaehlerService zaehlerService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Beantragt eine Vereinsmitgliedschaft.
@@ -114,14 +121,12 @@ public class VereinsmitgliedschaftService {
             }
             throw ex;
         }
+        zaehlerService.mitgliedschaftGeaendert(saved, null, MitgliedschaftsStatus.BEANTRAGT);
+        berechtigungGeaendert(benutzer);
 
         // Nur Benachrichtigung senden, wenn nicht unterdrückt
         if (!suppressNotification) {
-            try {
-                notificationService.notifyMembershipRequest(verein, benutzer);
-            } catch (Exception nEx) {
-                log.warn("Fehler beim Senden der Beitrittsanfrage-Benachrichtigung: {}", nEx.getMessage());
-            }
+            eventPublisher.publishEvent(new MitgliedschaftBeantragtEvent(verein, benutzer));
         }
 
         return saved;
@@ -136,10 +141,14 @@ public class VereinsmitgliedschaftService {
         Vereinsmitgliedschaft mitgliedschaft = mitgliedschaftRepository.findById(mitgliedschaftId)
                 .orElseThrow(() -> new IllegalArgumentException("Mitgliedschaft nicht gefunden"));
 
+        MitgliedschaftsStatus vorher = mitgliedschaft.getStatus();
         mitgliedschaft.setStatus(MitgliedschaftsStatus.AKTIV);
         mitgliedschaft.setAktiv(true);
 
         mitgliedschaftRepository.save(mitgliedschaft);
+        zaehlerService.mitgliedschaftGeaendert(mitgliedschaft, vorher, MitgliedschaftsStatus.AKTIV);
+        berechtigungGeaendert(mitgliedschaft.getBenutzer());
+        eventPublisher.publishEvent(new MitgliedschaftEntschiedenEvent(mitgliedschaft));
     }
 
     /**
@@ -151,10 +160,14 @@ public class VereinsmitgliedschaftService {
         Vereinsmitgliedschaft mitgliedschaft = mitgliedschaftRepository.findById(mitgliedschaftId)
                 .orElseThrow(() -> new IllegalArgumentException("Mitgliedschaft nicht gefunden"));
 
+        MitgliedschaftsStatus vorher = mitgliedschaft.getStatus();
         mitgliedschaft.setStatus(MitgliedschaftsStatus.ABGELEHNT);
         mitgliedschaft.setAktiv(false);
 
         mitgliedschaftRepository.save(mitgliedschaft);
+        zaehlerService.mitgliedschaftGeaendert(mitgliedschaft, vorher, MitgliedschaftsStatus.ABGELEHNT);
+        berechtigungGeaendert(mitgliedschaft.getBenutzer());
+        eventPublisher.publishEvent(new MitgliedschaftEntschiedenEvent(mitgliedschaft));
     }
 
     /**
@@ -167,11 +180,15 @@ public class VereinsmitgliedschaftService {
         Vereinsmitgliedschaft mitgliedschaft = mitgliedschaftRepository.findById(mitgliedschaftId)
                 .orElseThrow(() -> new IllegalArgumentException("Mitgliedschaft nicht gefunden"));
 
+        MitgliedschaftsStatus vorher = mitgliedschaft.getStatus();
         mitgliedschaft.setStatus(MitgliedschaftsStatus.ABGELEHNT);
         mitgliedschaft.setAktiv(false);
         mitgliedschaft.setAblehnungsgrund(grund);
 
         mitgliedschaftRepository.save(mitgliedschaft);
+        zaehlerService.mitgliedschaftGeaendert(mitgliedschaft, vorher, MitgliedschaftsStatus.ABGELEHNT);
+        berechtigungGeaendert(mitgliedschaft.getBenutzer());
+        eventPublisher.publishEvent(new MitgliedschaftEntschiedenEvent(mitgliedschaft));
     }
 
     /**
@@ -199,22 +216,25 @@ public class VereinsmitgliedschaftService {
     /**
      * Gibt alle Mitgliedschaften eines Benutzers als DTOs zurück.
      *
-     * @param benutzer Der Benutzer
+     * @param benutzerId ID des Benutzers
      * @return Liste der Mitgliedschaften als DTOs
      */
     @Transactional(readOnly = true)
-    public List<Vereinsmitgliedschaft> findeMitgliedschaften(Benutzer benutzer) {
-        return mitgliedschaftRepository.findByBenutzer(benutzer);
+    public List<Vereinsmitgliedschaft> findeMitgliedschaften(Long benutzerId) {
+        return mitgliedschaftRepository.findByBenutzer(benutzerRepository.getReferenceById(benutzerId));
     }
 
     /**
      * Lässt einen Benutzer einem Verein beitreten (erstellt eine Beitrittsanfrage).
      *
-     * @param benutzer Der Benutzer
+     * @param benutzerId ID des Benutzers
      * @param verein Der Verein
      * @return Die erstellte Mitgliedschaft
+     * @throws IllegalArgumentException wenn der Benutzer nicht existiert
      */
-    public Vereinsmitgliedschaft vereinBeitreten(Benutzer benutzer, Verein verein) {
+    public Vereinsmitgliedschaft vereinBeitreten(Long benutzerId, Verein verein) {
+        Benutzer benutzer = benutzerRepository.findById(benutzerId)
+                .orElseThrow(() -> new IllegalArgumentException("Benutzer nicht gefunden"));
         return beantragenMitgliedschaft(benutzer, verein.getId());
     }
 
@@ -227,11 +247,14 @@ public class VereinsmitgliedschaftService {
         Vereinsmitgliedschaft mitgliedschaft = mitgliedschaftRepository.findById(mitgliedschaftId)
                 .orElseThrow(() -> new IllegalArgumentException("Mitgliedschaft nicht gefunden"));
 
+        MitgliedschaftsStatus vorher = mitgliedschaft.getStatus();
         mitgliedschaft.setStatus(MitgliedschaftsStatus.VERLASSEN);
         mitgliedschaft.setAktiv(false);
         mitgliedschaft.setAustrittDatum(LocalDate.now());
 
         mitgliedschaftRepository.save(mitgliedschaft);
+        zaehlerService.mitgliedschaftGeaendert(mitgliedschaft, vorher, MitgliedschaftsStatus.VERLASSEN);
+        berechtigungGeaendert(mitgliedschaft.getBenutzer());
     }
 
     /**
@@ -251,6 +274,7 @@ public class VereinsmitgliedschaftService {
         }
 
         mitgliedschaftRepository.deleteById(mitgliedschaftId);
+        berechtigungGeaendert(mitgliedschaft.getBenutzer());
     }
 
     /**
@@ -270,12 +294,12 @@ public class VereinsmitgliedschaftService {
      * Findet alle Mitgliedschaften eines Benutzers als Entities (inkl. Anfragen und beendete Mitgliedschaften).
      * Diese Methode liefert alle Status zurück und wird von UI-Views verwendet, die auch BEANTRAGT/ABGELEHNT sehen sollen.
      *
-     * @param benutzer Der Benutzer
+     * @param benutzerId ID des Benutzers
      * @return Liste aller Mitgliedschaften als Entities
      */
     @Transactional(readOnly = true)
-    public List<Vereinsmitgliedschaft> findeAlleMitgliedschaftenVonBenutzerEntities(Benutzer benutzer) {
-        return mitgliedschaftRepository.findByBenutzer(benutzer);
+    public List<Vereinsmitgliedschaft> findeAlleMitgliedschaftenVonBenutzerEntities(Long benutzerId) {
+        return mitgliedschaftRepository.findByBenutzer(benutzerRepository.getReferenceById(benutzerId));
     }
 
     /**
@@ -339,8 +363,7 @@ public class VereinsmitgliedschaftService {
                     log.info("Zertifikat von {} widerrufen (Aufseher-Status entzogen, SN: {})",
                             benutzer.getVollstaendigerName(), cert.getSeriennummer());
 
-                    // Sende E-Mail-Benachrichtigung an den Benutzer
-                    notificationService.notifyCertificateRevoked(cert);
+                    eventPublisher.publishEvent(new ZertifikatWiderrufenEvent(cert));
                 }
 
                 // Rolle auf SCHUETZE zurücksetzen, falls keine anderen Aufseherfunktionen
@@ -357,17 +380,18 @@ public class VereinsmitgliedschaftService {
         }
 
         mitgliedschaftRepository.save(mitgliedschaft);
+        berechtigungGeaendert(mitgliedschaft.getBenutzer());
     }
 
     /**
      * Gibt die Verbände zurück, bei denen der Benutzer aktive Mitgliedschaften hat.
      *
-     * @param benutzer Der Benutzer
+     * @param benutzerId ID des Benutzers
      * @return Liste der Verbände als DTOs
      */
     @Transactional(readOnly = true)
-    public List<Verband> findeVerbaendeVonBenutzer(Benutzer benutzer) {
-        return mitgliedschaftRepository.findByBenutzer(benutzer).stream()
+    public List<Verband> findeVerbaendeVonBenutzer(Long benutzerId) {
+        return mitgliedschaftRepository.findByBenutzer(benutzerRepository.getReferenceById(benutzerId)).stream()
         .filter((Vereinsmitgliedschaft m) -> m.getStatus() == MitgliedschaftsStatus.AKTIV && m.getAktiv())
         .flatMap((Vereinsmitgliedschaft m) -> m.getVerein().getVerbaende().stream())
         .distinct()
@@ -377,12 +401,12 @@ public class VereinsmitgliedschaftService {
     /**
      * Gibt die Verbände zurück, bei denen der Benutzer aktive Mitgliedschaften hat (als Entities).
      *
-     * @param benutzer Der Benutzer
+     * @param benutzerId ID des Benutzers
      * @return Liste der Verbände als Entities
      */
     @Transactional(readOnly = true)
-    public List<de.suchalla.schiessbuch.model.entity.Verband> findeVerbaendeVonBenutzerEntities(Benutzer benutzer) {
-        return mitgliedschaftRepository.findByBenutzer(benutzer).stream()
+    public List<de.suchalla.schiessbuch.model.entity.Verband> findeVerbaendeVonBenutzerEntities(Long benutzerId) {
+        return mitgliedschaftRepository.findByBenutzer(benutzerRepository.getReferenceById(benutzerId)).stream()
                 .filter((Vereinsmitgliedschaft m) -> m.getStatus() == MitgliedschaftsStatus.AKTIV && m.getAktiv())
                 .flatMap((Vereinsmitgliedschaft m) -> m.getVerein().getVerbaende().stream())
                 .distinct()
@@ -399,11 +423,14 @@ public class VereinsmitgliedschaftService {
         Vereinsmitgliedschaft mitgliedschaft = mitgliedschaftRepository.findById(mitgliedschaftId)
                 .orElseThrow(() -> new IllegalArgumentException("Mitgliedschaft nicht gefunden"));
 
+        MitgliedschaftsStatus vorher = mitgliedschaft.getStatus();
         mitgliedschaft.setStatus(MitgliedschaftsStatus.BEENDET);
         mitgliedschaft.setAktiv(false);
         mitgliedschaft.setAustrittDatum(LocalDate.now());
 
         mitgliedschaftRepository.save(mitgliedschaft);
+        zaehlerService.mitgliedschaftGeaendert(mitgliedschaft, vorher, MitgliedschaftsStatus.BEENDET);
+        berechtigungGeaendert(mitgliedschaft.getBenutzer());
     }
 
     /**
@@ -429,6 +456,22 @@ public class VereinsmitgliedschaftService {
         return mitgliedschaftRepository.findByVereinAndStatus(verein, status);
     }
 
+    /**
+     * Liefert die Mitgliedschaften eines Vereins samt Benutzer als Stream für Exporte.
+     * Der Persistenzkontext wird blockweise geleert, sodass auch große Vereine mit begrenztem
+     * Speicher gelesen werden. Der Stream muss innerhalb einer umgebenden Transaktion gelesen
+     * und danach geschlossen werden.
+     *
+     * @param verein Der Verein
+     * @param status Der Status oder null für alle Mitgliedschaften
+     * @return Stream der Mitgliedschaften, sortiert nach Namen
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Stream<Vereinsmitgliedschaft> streameMitgliedschaften(Verein verein, MitgliedschaftsStatus status) {
+        return StreamLeser.leereBlockweise(mitgliedschaftRepository.streamByVerein(verein.getId(), status),
+                entityManager, StreamLeser.BLOCK_GROESSE);
+    }
+
 
     /**
      * Setzt einen neuen Vereinschef für einen Verein.
@@ -444,6 +487,7 @@ public class VereinsmitgliedschaftService {
             if (Boolean.TRUE.equals(mi.getIstVereinschef())) {
                 mi.setIstVereinschef(false);
                 mitgliedschaftRepository.save(mi);
+                berechtigungGeaendert(mi.getBenutzer());
 
                 // Zertifikat des alten Vereinschefs widerrufen
                 Benutzer alterChefDetached = mi.getBenutzer();
@@ -459,8 +503,7 @@ public class VereinsmitgliedschaftService {
                         zertifikatRepository.save(zert);
                         log.info("Zertifikat von {} widerrufen (SN: {})", alterChef.getVollstaendigerName(), zert.getSeriennummer());
 
-                        // Sende E-Mail-Benachrichtigung an den Benutzer
-                        notificationService.notifyCertificateRevoked(zert);
+                        eventPublisher.publishEvent(new ZertifikatWiderrufenEvent(zert));
                     }
 
                     // Rolle auf SCHUETZE zurücksetzen, falls keine anderen Aufseherfunktionen
@@ -480,6 +523,7 @@ public class VereinsmitgliedschaftService {
         // Neuen Vereinschef setzen
         neueChef.setIstVereinschef(true);
         mitgliedschaftRepository.save(neueChef);
+        berechtigungGeaendert(neueChef.getBenutzer());
 
         // Zertifikat für neuen Vereinschef erstellen
         Benutzer neuerChefDetached = neueChef.getBenutzer();
@@ -514,4 +558,66 @@ public class VereinsmitgliedschaftService {
             }
         }
     }
+
+    /**
+     * Widerruft ein Personen-Zertifikat und entzieht dem Inhaber die Vereinsrollen im betroffenen Verein
+     * sowie eine daran gebundene globale Rolle. Root- und Vereinszertifikate können nicht widerrufen werden.
+     *
+     * @param zertifikatId Die Zertifikats-ID
+     * @param grund Der Widerrufsgrund (optional)
+     * @return Das widerrufene Zertifikat
+     * @throws IllegalArgumentException wenn das Zertifikat nicht existiert oder nicht widerrufen werden kann
+     */
+    public DigitalesZertifikat widerrufeZertifikat(Long zertifikatId, String grund) {
+        DigitalesZertifikat zertifikat = zertifikatRepository.findById(zertifikatId)
+                .orElseThrow(() -> new IllegalArgumentException("Zertifikat nicht gefunden"));
+        String typ = zertifikat.getZertifikatsTyp() != null ? zertifikat.getZertifikatsTyp().toUpperCase() : "";
+        if ("ROOT".equals(typ) || "VEREIN".equals(typ)) {
+            throw new IllegalArgumentException("Dieses Zertifikat kann nicht widerrufen werden.");
+        }
+
+        zertifikat.setWiderrufen(true);
+        zertifikat.setWiderrufenAm(LocalDateTime.now());
+        zertifikat.setWiderrufsGrund(grund != null && !grund.isBlank() ? grund : "Vom Administrator widerrufen");
+
+        Benutzer benutzer = zertifikat.getBenutzer();
+        if (benutzer != null) {
+            Verein zertifikatVerein = zertifikat.getVerein();
+            if (zertifikatVerein == null && zertifikat.getSchiesstand() != null) {
+                zertifikatVerein = zertifikat.getSchiesstand().getVerein();
+            }
+
+            // Vereinsrollen nur im betroffenen Verein entziehen
+            for (Vereinsmitgliedschaft mitgliedschaft : mitgliedschaftRepository.findByBenutzer(benutzer)) {
+                if (zertifikatVerein == null || mitgliedschaft.getVerein() == null
+                        || mitgliedschaft.getVerein().getId().equals(zertifikatVerein.getId())) {
+                    mitgliedschaft.setIstVereinschef(false);
+                    mitgliedschaft.setIstAufseher(false);
+                }
+            }
+
+            if ("AUFSEHER".equals(typ) || "SCHIESSTANDAUFSEHER".equals(typ) || "SCHIESSSTAND_AUFSEHER".equals(typ)
+                    || "VEREINS_CHEF".equals(typ)) {
+                benutzer.setRolle(BenutzerRolle.SCHUETZE);
+            }
+            berechtigungGeaendert(benutzer);
+        }
+
+        zertifikatRepository.save(zertifikat);
+        log.info("Zertifikat {} widerrufen (SN: {})", zertifikat.getId(), zertifikat.getSeriennummer());
+        eventPublisher.publishEvent(new ZertifikatWiderrufenEvent(zertifikat));
+        return zertifikat;
+    }
+
+    /**
+     * Meldet eine Änderung an Mitgliedschaften oder Rolle des Benutzers, damit zwischengespeicherte
+     * Benutzerdaten nach dem Commit neu geladen werden.
+     *
+     * @param benutzer Der betroffene Benutzer
+     */
+    private void berechtigungGeaendert(Benutzer benutzer) {
+        if (benutzer != null && benutzer.getId() != null) {
+            eventPublisher.publishEvent(new BerechtigungGeaendertEvent(benutzer.getId()));
+        }
+    }
 }
@@ -0,0 +1,185 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.dto.AnzahlProBezug;
+import de.suchalla.schiessbuch.model.entity.Zaehler;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
+import de.suchalla.schiessbuch.repository.BenutzerRepository;
+import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
+import de.suchalla.schiessbuch.repository.SchiesstandRepository;
+import de.suchalla.schiessbuch.repository.VereinRepository;
+import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
+import de.suchalla.schiessbuch.repository.ZaehlerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Gleicht die vorberechneten Zähler regelmäßig mit den Quelltabellen ab und behebt Abweichungen,
+ * z. B. nach Massenlöschungen oder manuellen Datenbankänderungen.
+ * <p>
+ * Der Abgleich läuft je Zählertyp blockweise über die Bezugs-IDs (Keyset-Paginierung), jeder Block in
+ * eigener Transaktion. Die Zähler des Blocks werden vor dem Zählen gesperrt, sodass parallel
+ * fortgeschriebene Änderungen weder verloren gehen noch doppelt gezählt werden.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class ZaehlerAbgleich {
+
+    private final ZaehlerRepository zaehlerRepository;
+    private final ZaehlerService zaehlerService;
+    private final TransactionTemplate transaktion;
+    private final JobSperren jobSperren;
+    private final Duration sperrDauer;
+    private final int batchGroesse;
+    private final Map<ZaehlerTyp, Quelle> quellen;
+
+    /**
+     * Konstruktor.
+     *
+     * @param zaehlerRepository Repository für Zähler
+     * @param zaehlerService Service für Zähler
+     * @param schiesstandRepository Repository für Schießstände
+     * @param vereinRepository Repository für Vereine
+     * @param benutzerRepository Repository für Benutzer
+     * @param eintragRepository Repository für Schießnachweis-Einträge
+     * @param mitgliedschaftRepository Repository für Vereinsmitgliedschaften
+     * @param transactionManager Transaktionsmanager für die Blöcke
+     * @param jobSperren Lease-Sperren für geplante Jobs
+     * @param batchGroesse Anzahl Bezugs-IDs je Block
+     * @param sperrDauer Längste erwartete Laufzeit eines Abgleichs
+     */
+    public ZaehlerAbgleich(ZaehlerRepository zaehlerRepository,
+                           ZaehlerService zaehlerService,
+                           SchiesstandRepository schiesstandRepository,
+                           VereinRepository vereinRepository,
+                           BenutzerRepository benutzerRepository,
+                           SchiessnachweisEintragRepository eintragRepository,
+                           VereinsmitgliedschaftRepository mitgliedschaftRepository,
+                           PlatformTransactionManager transactionManager,
+                           JobSperren jobSperren,
+                           @Value("${zaehler.abgleich.batch-groesse:500}") int batchGroesse,
+                           @Value("${zaehler.abgleich.sperr-dauer:PT30M}") Duration sperrDauer) {
+        this.zaehlerRepository = zaehlerRepository;
+        this.zaehlerService = zaehlerService;
+        this.transaktion = new TransactionTemplate(transactionManager);
+        this.jobSperren = jobSperren;
+        this.batchGroesse = batchGroesse;
+        this.sperrDauer = sperrDauer;
+        this.quellen = Map.of(
+                ZaehlerTyp.OFFENE_SIGNATUREN, new Quelle(schiesstandRepository::findIdsNach,
+                        (von, bis) -> eintragRepository.zaehleProSchiesstand(von, bis, EintragStatus.UNSIGNIERT)),
+                ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, new Quelle(benutzerRepository::findIdsNach,
+                        (von, bis) -> eintragRepository.zaehleProSchuetze(von, bis, EintragStatus.UNSIGNIERT)),
+                ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, new Quelle(vereinRepository::findIdsNach,
+                        (von, bis) -> mitgliedschaftRepository.zaehleProVerein(von, bis, MitgliedschaftsStatus.BEANTRAGT)));
+    }
+
+    /**
+     * Geplanter Abgleich aller Zähler, sofern kein anderer Knoten gerade abgleicht.
+     */
+    @Scheduled(initialDelayString = "${zaehler.abgleich.verzoegerung:PT5M}",
+            fixedDelayString = "${zaehler.abgleich.intervall:PT1H}")
+    public void geplanterAbgleich() {
+        try {
+            jobSperren.fuehreAus("zaehler-abgleich", sperrDauer, () -> {
+                int korrigiert = gleicheAb();
+                if (korrigiert > 0) {
+                    log.warn("Zähler-Abgleich: {} Zähler korrigiert", korrigiert);
+                } else {
+                    log.debug("Zähler-Abgleich: keine Abweichungen");
+                }
+            });
+        } catch (Exception e) {
+            log.error("Zähler-Abgleich fehlgeschlagen", e);
+        }
+    }
+
+    /**
+     * Gleicht alle Zählertypen ab.
+     *
+     * @return Anzahl korrigierter, angelegter oder entfernter Zähler
+     */
+    public int gleicheAb() {
+        int korrigiert = 0;
+        for (ZaehlerTyp typ : ZaehlerTyp.values()) {
+            korrigiert += gleicheAb(typ);
+        }
+        return korrigiert;
+    }
+
+    /**
+     * Gleicht einen Zählertyp blockweise ab.
+     *
+     * @param typ Der Zählertyp
+     * @return Anzahl korrigierter, angelegter oder entfernter Zähler
+     */
+    public int gleicheAb(ZaehlerTyp typ) {
+        int korrigiert = 0;
+        Block block = new Block(0L, 0, false);
+        do {
+            Long nachId = block.bis();
+            block = transaktion.execute(status -> gleicheBlockAb(typ, nachId));
+            korrigiert += block.korrigiert();
+        } while (!block.letzter());
+        return korrigiert;
+    }
+
+    private Block gleicheBlockAb(ZaehlerTyp typ, Long nachId) {
+        Quelle quelle = quellen.get(typ);
+        List<Long> ids = quelle.ids().apply(nachId, Limit.of(batchGroesse));
+        boolean letzter = ids.size() < batchGroesse;
+        // Der letzte Block reicht bis zum Ende, damit auch verwaiste Zähler hinter der höchsten ID erfasst werden
+        Long bis = letzter ? Long.MAX_VALUE : ids.getLast();
+
+        Map<Long, Zaehler> gespeichert = zaehlerRepository.findZumAbgleich(typ, nachId, bis).stream()
+                .collect(Collectors.toMap(Zaehler::getBezugId, Function.identity()));
+        Map<Long, Long> ist = quelle.zaehle().apply(nachId, bis).stream()
+                .collect(Collectors.toMap(AnzahlProBezug::bezugId, AnzahlProBezug::anzahl));
+
+        int korrigiert = 0;
+        for (Long id : ids) {
+            long soll = ist.getOrDefault(id, 0L);
+            Zaehler zaehler = gespeichert.remove(id);
+            if (zaehler == null) {
+                if (soll > 0) {
+                    zaehlerService.aendere(typ, id, soll);
+                    korrigiert++;
+                }
+            } else if (zaehler.getAnzahl() != soll) {
+                log.debug("Zähler {} {}: {} statt {}", typ.name(), id, zaehler.getAnzahl(), soll);
+                zaehler.setAnzahl(soll);
+                korrigiert++;
+            }
+        }
+        // Übrig sind Zähler, deren Bezugsobjekt nicht mehr existiert
+        zaehlerRepository.deleteAll(gespeichert.values());
+        korrigiert += gespeichert.size();
+        return new Block(bis, korrigiert, letzter);
+    }
+
+    /**
+     * Liefert die Bezugs-IDs und die tatsächlichen Anzahlen eines Zählertyps.
+     */
+    private record Quelle(BiFunction<Long, Limit, List<Long>> ids,
+                          BiFunction<Long, Long, List<AnzahlProBezug>> zaehle) {
+    }
+
+    private record Block(Long bis, int korrigiert, boolean letzter) {
+    }
+}
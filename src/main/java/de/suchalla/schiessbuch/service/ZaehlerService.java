@@ -0,0 +1,178 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.dto.AnzahlProBezug;
+import de.suchalla.schiessbuch.model.dto.AnzahlProSchiesstand;
+import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
+import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
+import de.suchalla.schiessbuch.repository.ZaehlerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service für die vorberechneten Zähler des Dashboards (offene Signaturen je Schießstand,
+ * offene Beitrittsanfragen je Verein, unsignierte Einträge je Schütze).
+ * <p>
+ * Die Schreibmethoden der Fach-Services melden Statusänderungen hierher; der Zähler wird per
+ * atomarem UPDATE in derselben Transaktion fortgeschrieben und damit gemeinsam mit der Änderung
+ * committet oder zurückgerollt. Abweichungen durch Änderungen an den Services vorbei behebt
+ * {@link ZaehlerAbgleich}.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Service
+@Transactional
+@Slf4j
+public class ZaehlerService {
+
+    private final ZaehlerRepository zaehlerRepository;
+    private final TransactionTemplate neueTransaktion;
+
+    /**
+     * Konstruktor.
+     *
+     * @param zaehlerRepository Repository für Zähler
+     * @param transactionManager Transaktionsmanager für das Anlegen fehlender Zähler
+     */
+    public ZaehlerService(ZaehlerRepository zaehlerRepository, PlatformTransactionManager transactionManager) {
+        this.zaehlerRepository = zaehlerRepository;
+        this.neueTransaktion = new TransactionTemplate(transactionManager);
+        this.neueTransaktion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Schreibt die Zähler nach einer Statusänderung eines Eintrags fort.
+     *
+     * @param eintrag Der Eintrag
+     * @param vorher Status vor der Änderung ({@code null} bei neuen Einträgen)
+     * @param nachher Status nach der Änderung ({@code null} bei gelöschten Einträgen)
+     */
+    public void eintragGeaendert(SchiessnachweisEintrag eintrag, EintragStatus vorher, EintragStatus nachher) {
+        long delta = (nachher == EintragStatus.UNSIGNIERT ? 1 : 0) - (vorher == EintragStatus.UNSIGNIERT ? 1 : 0);
+        if (delta == 0) {
+            return;
+        }
+        aendere(ZaehlerTyp.OFFENE_SIGNATUREN, eintrag.getSchiesstand().getId(), delta);
+        aendere(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, eintrag.getSchuetze().getId(), delta);
+    }
+
+    /**
+     * Schreibt die Zähler für viele neu angelegte, unsignierte Einträge fort (ein UPDATE je Schießstand und Schütze).
+     *
+     * @param eintraege Die neuen Einträge
+     */
+    public void eintraegeAngelegt(Collection<SchiessnachweisEintrag> eintraege) {
+        Map<Long, Long> proSchiesstand = eintraege.stream()
+                .filter(e -> e.getStatus() == EintragStatus.UNSIGNIERT)
+                .collect(Collectors.groupingBy(e -> e.getSchiesstand().getId(), Collectors.counting()));
+        Map<Long, Long> proSchuetze = eintraege.stream()
+                .filter(e -> e.getStatus() == EintragStatus.UNSIGNIERT)
+                .collect(Collectors.groupingBy(e -> e.getSchuetze().getId(), Collectors.counting()));
+        proSchiesstand.forEach((id, anzahl) -> aendere(ZaehlerTyp.OFFENE_SIGNATUREN, id, anzahl));
+        proSchuetze.forEach((id, anzahl) -> aendere(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, id, anzahl));
+    }
+
+    /**
+     * Schreibt die Zähler nach einer Massenlöschung von Einträgen fort.
+     *
+     * @param unsigniertProSchiesstand Gelöschte unsignierte Einträge je Schießstand
+     * @param unsigniertProSchuetze Gelöschte unsignierte Einträge je Schütze
+     */
+    public void eintraegeGeloescht(Collection<AnzahlProBezug> unsigniertProSchiesstand,
+                                   Collection<AnzahlProBezug> unsigniertProSchuetze) {
+        unsigniertProSchiesstand.forEach(a -> aendere(ZaehlerTyp.OFFENE_SIGNATUREN, a.bezugId(), -a.anzahl()));
+        unsigniertProSchuetze.forEach(a -> aendere(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, a.bezugId(), -a.anzahl()));
+    }
+
+    /**
+     * Schreibt den Zähler der offenen Beitrittsanfragen nach einer Statusänderung fort.
+     *
+     * @param mitgliedschaft Die Mitgliedschaft
+     * @param vorher Status vor der Änderung ({@code null} bei neuen Mitgliedschaften)
+     * @param nachher Status nach der Änderung ({@code null} bei gelöschten Mitgliedschaften)
+     */
+    public void mitgliedschaftGeaendert(Vereinsmitgliedschaft mitgliedschaft, MitgliedschaftsStatus vorher,
+                                        MitgliedschaftsStatus nachher) {
+        long delta = (nachher == MitgliedschaftsStatus.BEANTRAGT ? 1 : 0) - (vorher == MitgliedschaftsStatus.BEANTRAGT ? 1 : 0);
+        if (delta != 0) {
+            aendere(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, mitgliedschaft.getVerein().getId(), delta);
+        }
+    }
+
+    /**
+     * Entfernt den Zähler eines gelöschten Bezugsobjekts (Schießstand, Verein oder Benutzer).
+     *
+     * @param typ Der Zählertyp
+     * @param bezugId Die Bezugs-ID
+     */
+    public void bezugGeloescht(ZaehlerTyp typ, Long bezugId) {
+        zaehlerRepository.entferne(typ, bezugId);
+    }
+
+    /**
+     * Liest einen Zählerstand.
+     *
+     * @param typ Der Zählertyp
+     * @param bezugId Die Bezugs-ID
+     * @return Zählerstand, 0 wenn kein Zähler existiert
+     */
+    @Transactional(readOnly = true)
+    public long lese(ZaehlerTyp typ, Long bezugId) {
+        return zaehlerRepository.findAnzahl(typ, bezugId).orElse(0L);
+    }
+
+    /**
+     * Liest die offenen Signaturen je Schießstand eines Vereins.
+     *
+     * @param vereinId Die Vereins-ID
+     * @return Anzahl je Schießstand (nur Stände mit offenen Signaturen)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> leseOffeneSignaturenVonVerein(Long vereinId) {
+        return zaehlerRepository.findOffeneSignaturenVonVerein(vereinId).stream()
+                .collect(Collectors.toUnmodifiableMap(AnzahlProSchiesstand::schiesstandId, AnzahlProSchiesstand::anzahl));
+    }
+
+    /**
+     * Ändert einen Zähler um den angegebenen Wert und legt ihn bei Bedarf an.
+     * Fehlt der Zähler beim Herunterzählen, bleibt er fehlend; der Abgleich legt ihn mit dem korrekten Stand an.
+     *
+     * @param typ Der Zählertyp
+     * @param bezugId Die Bezugs-ID
+     * @param delta Die Änderung
+     */
+    void aendere(ZaehlerTyp typ, Long bezugId, long delta) {
+        if (delta == 0 || bezugId == null) {
+            return;
+        }
+        if (zaehlerRepository.aendere(typ, bezugId, delta) > 0 || delta < 0) {
+            return;
+        }
+        legeAn(typ, bezugId);
+        zaehlerRepository.aendere(typ, bezugId, delta);
+    }
+
+    /**
+     * Legt einen Zähler mit Stand 0 in eigener Transaktion an, damit ein gleichzeitiges Anlegen durch eine
+     * andere Transaktion (Primärschlüsselkonflikt) nicht die fachliche Transaktion abbricht.
+     */
+    private void legeAn(ZaehlerTyp typ, Long bezugId) {
+        try {
+            neueTransaktion.executeWithoutResult(status -> zaehlerRepository.legeAn(typ, bezugId));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Zähler {} {} wurde parallel angelegt", typ.name(), bezugId);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.entity.DigitalesZertifikat;
+
+/**
+ * Wird veröffentlicht, wenn ein Zertifikat widerrufen wurde.
+ *
+ * @param zertifikat Das widerrufene Zertifikat
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public record ZertifikatWiderrufenEvent(DigitalesZertifikat zertifikat) implements Domaenenereignis {
+}
@@ -0,0 +1,141 @@
+package de.suchalla.schiessbuch.ui.component;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.popover.Popover;
+import com.vaadin.flow.component.popover.PopoverPosition;
+import com.vaadin.flow.shared.Registration;
+import de.suchalla.schiessbuch.model.dto.InAppBenachrichtigung;
+import de.suchalla.schiessbuch.service.BenachrichtigungsZentrale;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Glocke im Header mit der Anzahl ungelesener Benachrichtigungen und einer Liste der letzten Meldungen.
+ * Solange die Glocke angezeigt wird, ist die Oberfläche bei der {@link BenachrichtigungsZentrale} angemeldet
+ * und meldet jeden Heartbeat des Browsers als Lebenszeichen; neue Benachrichtigungen kommen per Server-Push
+ * und werden zusätzlich kurz eingeblendet.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public class BenachrichtigungsGlocke extends Div {
+
+    private static final DateTimeFormatter ZEIT_FORMAT = DateTimeFormatter.ofPattern("dd.MM. HH:mm");
+
+    private final BenachrichtigungsZentrale zentrale;
+    private final Long benutzerId;
+    private final Span zaehler = new Span();
+    private final VerticalLayout liste = new VerticalLayout();
+    private BenachrichtigungsZentrale.Anmeldung anmeldung;
+    private Registration heartbeat;
+
+    /**
+     * Konstruktor.
+     *
+     * @param zentrale Die Benachrichtigungszentrale
+     * @param benutzerId ID des angemeldeten Benutzers
+     */
+    public BenachrichtigungsGlocke(BenachrichtigungsZentrale zentrale, Long benutzerId) {
+        this.zentrale = zentrale;
+        this.benutzerId = benutzerId;
+
+        Button knopf = new Button(VaadinIcon.BELL.create());
+        knopf.addThemeVariants(ButtonVariant.LUMO_TERTIARY_INLINE);
+        knopf.getElement().setAttribute("aria-label", "Benachrichtigungen");
+
+        zaehler.getElement().getThemeList().add("badge error primary small pill");
+        zaehler.getStyle()
+                .set("position", "absolute")
+                .set("top", "-6px")
+                .set("right", "-8px");
+
+        liste.setPadding(false);
+        liste.setSpacing(false);
+
+        Popover popover = new Popover(liste);
+        popover.setTarget(knopf);
+        popover.setPosition(PopoverPosition.BOTTOM_END);
+        popover.setWidth("320px");
+        popover.addOpenedChangeListener(e -> {
+            if (e.isOpened()) {
+                if (anmeldung != null) {
+                    anmeldung.lebenszeichen();
+                }
+                zentrale.markiereGelesen(benutzerId);
+                aktualisiere();
+            }
+        });
+
+        getStyle().set("position", "relative").set("display", "inline-flex");
+        add(knopf, zaehler, popover);
+        aktualisiere();
+
+        addAttachListener(e -> {
+            UI ui = e.getUI();
+            aktualisiere();
+            anmeldung = zentrale.registriere(benutzerId, benachrichtigung -> ui.access(() -> empfange(benachrichtigung)));
+            BenachrichtigungsZentrale.Anmeldung aktuelle = anmeldung;
+            heartbeat = ui.addHeartbeatListener(h -> aktuelle.lebenszeichen());
+        });
+        addDetachListener(e -> {
+            if (heartbeat != null) {
+                heartbeat.remove();
+                heartbeat = null;
+            }
+            if (anmeldung != null) {
+                anmeldung.remove();
+                anmeldung = null;
+            }
+        });
+    }
+
+    private void empfange(InAppBenachrichtigung benachrichtigung) {
+        aktualisiere();
+        Notification.show(benachrichtigung.titel() + ": " + benachrichtigung.text(), 5000, Notification.Position.TOP_END);
+    }
+
+    private void aktualisiere() {
+        int ungelesen = zentrale.getUngelesen(benutzerId);
+        zaehler.setText(ungelesen > 9 ? "9+" : String.valueOf(ungelesen));
+        zaehler.setVisible(ungelesen > 0);
+
+        liste.removeAll();
+        List<InAppBenachrichtigung> benachrichtigungen = zentrale.getBenachrichtigungen(benutzerId);
+        if (benachrichtigungen.isEmpty()) {
+            Span leer = new Span("Keine Benachrichtigungen");
+            leer.getStyle().set("color", "var(--lumo-secondary-text-color)").set("padding", "var(--lumo-space-s)");
+            liste.add(leer);
+            return;
+        }
+        benachrichtigungen.forEach(b -> liste.add(eintrag(b)));
+    }
+
+    private Div eintrag(InAppBenachrichtigung benachrichtigung) {
+        Span titel = new Span(benachrichtigung.titel());
+        titel.getStyle().set("font-weight", "600");
+        Span zeit = new Span(benachrichtigung.zeitpunkt().format(ZEIT_FORMAT));
+        zeit.getStyle()
+                .set("float", "right")
+                .set("font-size", "var(--lumo-font-size-xs)")
+                .set("color", "var(--lumo-secondary-text-color)");
+        Div text = new Div(benachrichtigung.text());
+        text.getStyle().set("font-size", "var(--lumo-font-size-s)");
+
+        Div eintrag = new Div(zeit, titel, text);
+        eintrag.setWidthFull();
+        eintrag.getStyle()
+                .set("padding", "var(--lumo-space-s)")
+                .set("border-bottom", "1px solid var(--lumo-contrast-10pct)")
+                .set("cursor", "pointer");
+        eintrag.addClickListener(e -> getUI().ifPresent(ui -> ui.navigate(benachrichtigung.link())));
+        return eintrag;
+    }
+}
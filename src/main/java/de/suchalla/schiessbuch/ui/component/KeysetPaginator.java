@@ -0,0 +1,86 @@
+package de.suchalla.schiessbuch.ui.component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Übersetzt die offset-basierten Anfragen eines Lazy-Grids in Keyset-Abfragen.
+ * Zu jedem bereits geladenen Offset wird der letzte Datensatz als Cursor gemerkt,
+ * sodass die nächste Seite direkt ab diesem Datensatz geladen werden kann und
+ * tiefes Scrollen so viel kostet wie die erste Seite.
+ *
+ * @param <T> Typ der Datensätze
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public class KeysetPaginator<T> {
+
+    /** Offset -> letzter Datensatz vor diesem Offset (null = Anfang der Liste). */
+    private final NavigableMap<Integer, T> cursor = new TreeMap<>();
+
+    /**
+     * Lädt Datensätze nach Keyset-Prinzip.
+     */
+    @FunctionalInterface
+    public interface SeitenLader<T> {
+        /**
+         * Lädt bis zu {@code limit} Datensätze, die direkt auf {@code nach} folgen.
+         *
+         * @param nach Letzter bekannter Datensatz oder null für den Anfang
+         * @param limit Maximale Anzahl
+         * @return Geladene Datensätze
+         */
+        List<T> lade(T nach, int limit);
+    }
+
+    public KeysetPaginator() {
+        reset();
+    }
+
+    /**
+     * Verwirft alle gemerkten Cursor, z. B. nach einer Filteränderung.
+     */
+    public synchronized void reset() {
+        cursor.clear();
+        cursor.put(0, null);
+    }
+
+    /**
+     * Liefert die Datensätze für den angefragten Bereich.
+     * Springt das Grid über noch nicht geladene Bereiche hinweg, wird vom nächstgelegenen
+     * bekannten Cursor aus seitenweise vorgerückt.
+     *
+     * @param offset Offset der Anfrage
+     * @param limit Anzahl der angefragten Datensätze
+     * @param lader Funktion zum Laden einer Seite
+     * @return Stream der Datensätze
+     */
+    public synchronized Stream<T> fetch(int offset, int limit, SeitenLader<T> lader) {
+        Map.Entry<Integer, T> start = cursor.floorEntry(offset);
+        int position = start.getKey();
+        T nach = start.getValue();
+
+        while (position < offset) {
+            int schritt = Math.min(limit, offset - position);
+            List<T> uebersprungen = lader.lade(nach, schritt);
+            if (uebersprungen.isEmpty()) {
+                return Stream.empty();
+            }
+            position += uebersprungen.size();
+            nach = uebersprungen.getLast();
+            cursor.put(position, nach);
+            if (uebersprungen.size() < schritt) {
+                return Stream.empty();
+            }
+        }
+
+        List<T> seite = lader.lade(nach, limit);
+        if (!seite.isEmpty()) {
+            cursor.put(offset + seite.size(), seite.getLast());
+        }
+        return seite.stream();
+    }
+}
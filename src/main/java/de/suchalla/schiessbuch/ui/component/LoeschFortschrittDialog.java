@@ -0,0 +1,76 @@
+package de.suchalla.schiessbuch.ui.component;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.dialog.Dialog;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.shared.Registration;
+import de.suchalla.schiessbuch.model.enums.LoeschStatus;
+import de.suchalla.schiessbuch.service.LoeschAuftrag;
+
+/**
+ * Zeigt den Fortschritt eines im Hintergrund laufenden Löschauftrags an.
+ * Der Stand wird per Polling abgefragt; nach Abschluss schließt sich der Dialog,
+ * meldet das Ergebnis und ruft die übergebene Aktualisierung auf.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public class LoeschFortschrittDialog extends Dialog {
+
+    /** Abfrageintervall in Millisekunden. */
+    private static final int POLL_INTERVALL = 500;
+
+    private final LoeschAuftrag auftrag;
+    private final Runnable nachAbschluss;
+    private final ProgressBar fortschritt = new ProgressBar();
+    private final Span text = new Span();
+    private Registration pollRegistrierung;
+
+    /**
+     * Konstruktor.
+     *
+     * @param auftrag Der laufende Auftrag
+     * @param nachAbschluss Wird nach erfolgreichem Abschluss aufgerufen, z. B. zum Neuladen des Grids
+     */
+    public LoeschFortschrittDialog(LoeschAuftrag auftrag, Runnable nachAbschluss) {
+        this.auftrag = auftrag;
+        this.nachAbschluss = nachAbschluss;
+        setHeaderTitle(auftrag.getBezeichnung() + " wird gelöscht");
+        setWidth("400px");
+        setCloseOnEsc(false);
+        setCloseOnOutsideClick(false);
+        add(fortschritt, text);
+        aktualisiere();
+
+        addAttachListener(e -> {
+            UI ui = e.getUI();
+            ui.setPollInterval(POLL_INTERVALL);
+            pollRegistrierung = ui.addPollListener(p -> aktualisiere());
+        });
+        addDetachListener(e -> {
+            e.getUI().setPollInterval(-1);
+            if (pollRegistrierung != null) {
+                pollRegistrierung.remove();
+            }
+        });
+    }
+
+    private void aktualisiere() {
+        fortschritt.setValue(auftrag.getFortschritt());
+        text.setText(auftrag.getGeloescht() + " von " + auftrag.getGesamt() + " Einträgen gelöscht");
+        if (auftrag.laeuft()) {
+            return;
+        }
+        close();
+        if (auftrag.getStatus() == LoeschStatus.ABGESCHLOSSEN) {
+            Notification.show(auftrag.getBezeichnung() + " erfolgreich gelöscht")
+                    .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+            nachAbschluss.run();
+        } else {
+            Notification.show("Fehler: " + auftrag.getFehler()).addThemeVariants(NotificationVariant.LUMO_ERROR);
+        }
+    }
+}
@@ -9,8 +9,11 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.sidenav.SideNav;
 import com.vaadin.flow.component.sidenav.SideNavItem;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
 import de.suchalla.schiessbuch.security.SecurityService;
+import de.suchalla.schiessbuch.service.BenachrichtigungsZentrale;
+import de.suchalla.schiessbuch.ui.component.BenachrichtigungsGlocke;
 import de.suchalla.schiessbuch.ui.view.administrativ.*;
 import de.suchalla.schiessbuch.ui.view.oeffentlich.ZertifikatVerifizierungView;
 import de.suchalla.schiessbuch.ui.view.organisatorisch.*;
@@ -41,13 +44,15 @@ import com.vaadin.flow.component.html.Span;
 public class MainLayout extends AppLayout {
 
     private final SecurityService securityService;
-        private final Benutzer currentUser;
+    private final BenachrichtigungsZentrale benachrichtigungsZentrale;
+        private final AngemeldeterBenutzer currentUser;
         private Button profilButtonDesktop;
         private Button profilButtonMobile;
 
-    public MainLayout(SecurityService securityService) {
+    public MainLayout(SecurityService securityService, BenachrichtigungsZentrale benachrichtigungsZentrale) {
         this.securityService = securityService;
-        this.currentUser = securityService.getAuthenticatedUser();
+        this.benachrichtigungsZentrale = benachrichtigungsZentrale;
+        this.currentUser = securityService.getAngemeldeterBenutzer();
 
         createHeader();
         createDrawer();
@@ -88,7 +93,7 @@ public class MainLayout extends AppLayout {
                 .set("display", "flex")
                 .set("align-items", "center");
 
-        String username = currentUser != null ? currentUser.getVollstaendigerName() : "Gast";
+        String username = currentUser != null ? currentUser.vollstaendigerName() : "Gast";
 
         Button hilfeButton = new Button("Hilfe", VaadinIcon.QUESTION_CIRCLE.create());
         hilfeButton.addClickListener(e -> {
@@ -131,6 +136,9 @@ public class MainLayout extends AppLayout {
         rightButtons.setSpacing(true);
         rightButtons.setAlignItems(FlexComponent.Alignment.CENTER);
         rightButtons.getStyle().set("gap", "var(--lumo-space-s)");
+        if (currentUser != null) {
+            rightButtons.addComponentAsFirst(new BenachrichtigungsGlocke(benachrichtigungsZentrale, currentUser.id()));
+        }
 
         HorizontalLayout header = new HorizontalLayout(toggle, logoLink, rightButtons);
         header.setDefaultVerticalComponentAlignment(FlexComponent.Alignment.CENTER);
@@ -172,15 +180,8 @@ public class MainLayout extends AppLayout {
             Details persoenlichDetails = createModernDetailsSection("Persönlich", persoenlichNav, VaadinIcon.USER, true, true);
             drawerLayout.add(persoenlichDetails);
 
-            Benutzer aktuellerBenutzer = securityService.getAuthenticatedUser();
-            boolean istAufseherOderChef = aktuellerBenutzer != null && 
-                    aktuellerBenutzer.getVereinsmitgliedschaften() != null &&
-                    aktuellerBenutzer.getVereinsmitgliedschaften().stream()
-                            .anyMatch(m -> Boolean.TRUE.equals(m.getIstAufseher()) ||
-                                    Boolean.TRUE.equals(m.getIstVereinschef()));
-
-            boolean istSchiesstandAufseher = aktuellerBenutzer != null &&
-                    aktuellerBenutzer.getRolle() == de.suchalla.schiessbuch.model.enums.BenutzerRolle.SCHIESSSTAND_AUFSEHER;
+            boolean istAufseherOderChef = currentUser.istAufseher() || currentUser.istVereinschef();
+            boolean istSchiesstandAufseher = currentUser.hatRolle(BenutzerRolle.SCHIESSSTAND_AUFSEHER);
 
             boolean zeigeOrganisatorisches = istAufseherOderChef && !istSchiesstandAufseher;
 
@@ -194,14 +195,12 @@ public class MainLayout extends AppLayout {
                 vereinNav.addItem(createDebouncedSideNavItem(
                         VaadinIcon.RECORDS.create()));
 
-                if (currentUser.getVereinsmitgliedschaften().stream()
-                        .anyMatch(m -> Boolean.TRUE.equals(m.getIstAufseher()))) {
+                if (currentUser.istAufseher()) {
                     vereinNav.addItem(new SideNavItem("Meine Zertifikate", ZertifikateView.class,
                             VaadinIcon.DIPLOMA.create()));
                 }
 
-                if (currentUser.getVereinsmitgliedschaften().stream()
-                        .anyMatch(m -> Boolean.TRUE.equals(m.getIstVereinschef()))) {
+                if (currentUser.istVereinschef()) {
                     vereinNav.addItem(new SideNavItem("Vereinsdetails", VereinDetailsView.class,
                             VaadinIcon.COG.create()));
                     vereinNav.addItem(new SideNavItem("Mitgliedsverwaltung", MitgliedschaftenVerwaltenView.class,
@@ -216,7 +215,7 @@ public class MainLayout extends AppLayout {
                 drawerLayout.add(vereinDetails);
             }
 
-            if (currentUser.getRolle() == de.suchalla.schiessbuch.model.enums.BenutzerRolle.ADMIN) {
+            if (currentUser.hatRolle(BenutzerRolle.ADMIN)) {
                 SideNav adminNav = new SideNav();
                 adminNav.setWidthFull();
                 adminNav.getStyle()
@@ -232,7 +231,7 @@ public class MainLayout extends AppLayout {
                 drawerLayout.add(adminDetails);
             }
 
-            if (currentUser.getRolle() == de.suchalla.schiessbuch.model.enums.BenutzerRolle.SCHIESSSTAND_AUFSEHER) {
+            if (currentUser.hatRolle(BenutzerRolle.SCHIESSSTAND_AUFSEHER)) {
                 SideNav schiesstandNav = new SideNav();
                 schiesstandNav.setWidthFull();
                 schiesstandNav.getStyle()
@@ -285,7 +284,7 @@ public class MainLayout extends AppLayout {
                 .set("padding-top", "var(--lumo-space-m)")
                 .set("border-top", "2px solid var(--lumo-contrast-10pct)");
 
-        String username = currentUser != null ? currentUser.getVollstaendigerName() : "Gast";
+        String username = currentUser != null ? currentUser.vollstaendigerName() : "Gast";
 
         Button hilfeButtonMobile = new Button("Hilfe", VaadinIcon.QUESTION_CIRCLE.create());
         hilfeButtonMobile.addClickListener(e -> {
@@ -26,7 +26,9 @@ import com.vaadin.flow.router.BeforeEnterEvent;
 import de.suchalla.schiessbuch.model.entity.Disziplin;
 import de.suchalla.schiessbuch.model.entity.Verband;
 import de.suchalla.schiessbuch.service.DisziplinService;
+import de.suchalla.schiessbuch.service.LoeschService;
 import de.suchalla.schiessbuch.service.VerbandService;
+import de.suchalla.schiessbuch.ui.component.LoeschFortschrittDialog;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
@@ -48,6 +50,7 @@ import java.util.List;
 public class DisziplinenVerwaltungView extends VerticalLayout implements BeforeEnterObserver {
     private final DisziplinService disziplinService;
     private final VerbandService verbandService;
+    private final LoeschService loeschService;
     private final Grid<Disziplin> grid = new Grid<>(Disziplin.class, false);
     private Div emptyStateMessage;
     private final TextField kennzifferField = new TextField("Kennziffer");
@@ -55,9 +58,11 @@ public class DisziplinenVerwaltungView extends VerticalLayout implements BeforeE
     private final TextField waffeKlasseField = new TextField("Waffe/Disziplin");
     private Verband aktuellerVerband;
 
-    public DisziplinenVerwaltungView(DisziplinService disziplinService, VerbandService verbandService) {
+    public DisziplinenVerwaltungView(DisziplinService disziplinService, VerbandService verbandService,
+                                     LoeschService loeschService) {
         this.disziplinService = disziplinService;
         this.verbandService = verbandService;
+        this.loeschService = loeschService;
         setSpacing(false);
         setPadding(false);
         setSizeFull();
@@ -375,10 +380,7 @@ public class DisziplinenVerwaltungView extends VerticalLayout implements BeforeE
 
     private void endgueltigLoescheDisziplin(Disziplin disziplin) {
         try {
-            disziplinService.loescheDisziplinMitEintraegen(disziplin.getId());
-            Notification.show("Disziplin und alle zugehörigen Einträge wurden gelöscht")
-                    .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
-            updateGrid();
+            new LoeschFortschrittDialog(loeschService.starteDisziplinLoeschung(disziplin.getId()), this::updateGrid).open();
         } catch (Exception e) {
             Notification.show("Fehler: " + e.getMessage())
                     .addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -24,9 +24,11 @@ import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.enums.SchiesstandTyp;
 import de.suchalla.schiessbuch.service.BenutzerService;
+import de.suchalla.schiessbuch.service.LoeschService;
 import de.suchalla.schiessbuch.service.SchiessnachweisService;
 import de.suchalla.schiessbuch.service.SchiesstandService;
 import de.suchalla.schiessbuch.service.VerbandService;
+import de.suchalla.schiessbuch.ui.component.LoeschFortschrittDialog;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
@@ -45,6 +47,7 @@ public class SchiesstaendeVerwaltungView extends VerticalLayout {
     private final SchiesstandService schiesstandService;
     private final VerbandService verbandService;
     private final SchiessnachweisService schiessnachweisService;
+    private final LoeschService loeschService;
     private final Grid<Schiesstand> grid = new Grid<>(Schiesstand.class, false);
     private Div emptyStateMessage;
 
@@ -56,11 +59,13 @@ public class SchiesstaendeVerwaltungView extends VerticalLayout {
     public SchiesstaendeVerwaltungView(BenutzerService benutzerService,
                                       SchiesstandService schiesstandService,
                                       VerbandService verbandService,
-                                      SchiessnachweisService schiessnachweisService) {
+                                      SchiessnachweisService schiessnachweisService,
+                                      LoeschService loeschService) {
         this.benutzerService = benutzerService;
         this.schiesstandService = schiesstandService;
         this.verbandService = verbandService;
         this.schiessnachweisService = schiessnachweisService;
+        this.loeschService = loeschService;
 
         setSpacing(false);
         setPadding(false);
@@ -286,9 +291,7 @@ public class SchiesstaendeVerwaltungView extends VerticalLayout {
 
     private void loescheSchiesstand(Schiesstand schiesstand) {
         try {
-            schiesstandService.loescheSchiesstand(schiesstand.getId());
-            Notification.show("Schießstand erfolgreich gelöscht").addThemeVariants(NotificationVariant.LUMO_SUCCESS);
-            updateGrid();
+            new LoeschFortschrittDialog(loeschService.starteSchiesstandLoeschung(schiesstand.getId()), this::updateGrid).open();
         } catch (Exception e) {
             Notification.show("Fehler: " + e.getMessage()).addThemeVariants(NotificationVariant.LUMO_ERROR);
         }
@@ -405,29 +408,29 @@ public class SchiesstaendeVerwaltungView extends VerticalLayout {
                 .set("margin-bottom", "var(--lumo-space-m)");
 
         // Grid für Einträge
-        Grid<de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag> eintraegeGrid =
-                new Grid<>(de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag.class, false);
+        Grid<de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO> eintraegeGrid =
+                new Grid<>(de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO.class, false);
         eintraegeGrid.setHeight("100%");
         eintraegeGrid.addClassName("rounded-grid");
 
-        eintraegeGrid.addColumn(de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag::getDatum)
+        eintraegeGrid.addColumn(de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO::datum)
                 .setHeader("Datum")
                 .setSortable(true)
                 .setAutoWidth(true);
 
-        eintraegeGrid.addColumn(e -> e.getSchuetze() != null ? e.getSchuetze().getVollstaendigerName() : "-")
+        eintraegeGrid.addColumn(de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO::schuetzeName)
                 .setHeader("Schütze")
                 .setAutoWidth(true);
 
-        eintraegeGrid.addColumn(e -> e.getDisziplin() != null ? e.getDisziplin().getProgramm() : "-")
+        eintraegeGrid.addColumn(e -> e.disziplinProgramm() != null ? e.disziplinProgramm() : "-")
                 .setHeader("Disziplin")
                 .setAutoWidth(true);
 
-        eintraegeGrid.addColumn(de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag::getKaliber)
+        eintraegeGrid.addColumn(de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO::kaliber)
                 .setHeader("Kaliber")
                 .setAutoWidth(true);
 
-        eintraegeGrid.addColumn(de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag::getAnzahlSchuesse)
+        eintraegeGrid.addColumn(de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO::anzahlSchuesse)
                 .setHeader("Schüsse")
                 .setAutoWidth(true)
                 .setTextAlign(ColumnTextAlign.END);
@@ -439,8 +442,8 @@ public class SchiesstaendeVerwaltungView extends VerticalLayout {
         // Lade Einträge
         try {
             // Lade alle Einträge und filtere nach Schießstand-ID
-            List<de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag> eintraege =
-                    schiessnachweisService.findeEintraegeAnSchiesstand(schiesstand);
+            List<de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO> eintraege =
+                    schiessnachweisService.findeEintraegeAnSchiesstand(schiesstand, null);
 
             if (eintraege.isEmpty()) {
                 Paragraph emptyText = new Paragraph("Noch keine Einträge an diesem Schießstand vorhanden.");
@@ -470,7 +473,7 @@ public class SchiesstaendeVerwaltungView extends VerticalLayout {
      * Erstellt ein Status-Badge für Einträge.
      */
     private com.vaadin.flow.component.html.Span createEintragStatusBadge(
-            de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag eintrag) {
+            de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO eintrag) {
         com.vaadin.flow.component.html.Span badge = new com.vaadin.flow.component.html.Span();
         badge.getStyle()
                 .set("padding", "4px 12px")
@@ -479,7 +482,7 @@ public class SchiesstaendeVerwaltungView extends VerticalLayout {
                 .set("font-size", "12px")
                 .set("display", "inline-block");
 
-        switch (eintrag.getStatus()) {
+        switch (eintrag.status()) {
             case OFFEN, UNSIGNIERT -> {
                 badge.setText("Unsigniert");
                 badge.getStyle()
@@ -19,7 +19,9 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.component.UI;
 import de.suchalla.schiessbuch.model.entity.Verband;
+import de.suchalla.schiessbuch.service.LoeschService;
 import de.suchalla.schiessbuch.service.VerbandService;
+import de.suchalla.schiessbuch.ui.component.LoeschFortschrittDialog;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
@@ -35,14 +37,16 @@ import java.util.List;
 public class VerbaendeVerwaltungView extends VerticalLayout {
 
     private final VerbandService verbandService;
+    private final LoeschService loeschService;
     private final Grid<Verband> grid = new Grid<>(Verband.class, false);
     private Div emptyStateMessage;
 
     private final TextField nameField = new TextField("Name");
     private final TextArea beschreibungField = new TextArea("Beschreibung");
 
-    public VerbaendeVerwaltungView(VerbandService verbandService) {
+    public VerbaendeVerwaltungView(VerbandService verbandService, LoeschService loeschService) {
         this.verbandService = verbandService;
+        this.loeschService = loeschService;
 
         setSpacing(false);
         setPadding(false);
@@ -179,9 +183,7 @@ public class VerbaendeVerwaltungView extends VerticalLayout {
 
     private void loescheVerband(Verband verband) {
         try {
-            verbandService.loescheVerband(verband.getId());
-            Notification.show("Verband erfolgreich gelöscht").addThemeVariants(NotificationVariant.LUMO_SUCCESS);
-            updateGrid();
+            new LoeschFortschrittDialog(loeschService.starteVerbandLoeschung(verband.getId()), this::updateGrid).open();
         } catch (Exception e) {
             Notification.show("Fehler: " + e.getMessage()).addThemeVariants(NotificationVariant.LUMO_ERROR);
         }
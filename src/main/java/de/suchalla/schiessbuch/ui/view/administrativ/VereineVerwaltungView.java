@@ -25,8 +25,10 @@ import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.Verband;
 import de.suchalla.schiessbuch.service.BenutzerService;
+import de.suchalla.schiessbuch.service.LoeschService;
 import de.suchalla.schiessbuch.service.VerbandService;
 import de.suchalla.schiessbuch.service.VereinsmitgliedschaftService;
+import de.suchalla.schiessbuch.ui.component.LoeschFortschrittDialog;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
@@ -50,6 +52,7 @@ public class VereineVerwaltungView extends VerticalLayout {
     private final VerbandService verbandService;
     private final VereinsmitgliedschaftService mitgliedschaftService;
     private final BenutzerService benutzerService;
+    private final LoeschService loeschService;
     private final Grid<Verein> grid = new Grid<>(Verein.class, false);
     private Div emptyStateMessage;
 
@@ -58,10 +61,12 @@ public class VereineVerwaltungView extends VerticalLayout {
     private final MultiSelectComboBox<Verband> verbaendeComboBox = new MultiSelectComboBox<>("Verbände");
     private final ComboBox<Benutzer> vereinschefComboBox = new ComboBox<>("Vereinschef");
 
-    public VereineVerwaltungView(VerbandService verbandService, VereinsmitgliedschaftService mitgliedschaftService, BenutzerService benutzerService) {
+    public VereineVerwaltungView(VerbandService verbandService, VereinsmitgliedschaftService mitgliedschaftService, BenutzerService benutzerService,
+                                 LoeschService loeschService) {
         this.verbandService = verbandService;
         this.mitgliedschaftService = mitgliedschaftService;
         this.benutzerService = benutzerService;
+        this.loeschService = loeschService;
 
         setSpacing(false);
         setPadding(false);
@@ -260,9 +265,7 @@ public class VereineVerwaltungView extends VerticalLayout {
     }
     private void loescheVerein(Long vereinId) {
         try {
-            verbandService.loescheVerein(vereinId);
-            Notification.show("Verein erfolgreich gelöscht").addThemeVariants(NotificationVariant.LUMO_SUCCESS);
-            updateGrid();
+            new LoeschFortschrittDialog(loeschService.starteVereinLoeschung(vereinId), this::updateGrid).open();
         } catch (Exception e) {
             Notification.show("Fehler: " + e.getMessage()).addThemeVariants(NotificationVariant.LUMO_ERROR);
         }
@@ -1,5 +1,6 @@
 package de.suchalla.schiessbuch.ui.view.organisatorisch;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -7,6 +8,7 @@ import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.grid.ColumnTextAlign;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.dataview.GridListDataView;
 import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
@@ -28,12 +30,17 @@ import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.router.PreserveOnRefresh;
+import com.vaadin.flow.shared.Registration;
+import de.suchalla.schiessbuch.config.AsyncKonfiguration;
+import de.suchalla.schiessbuch.config.BegrenzterExecutor;
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
 import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.enums.EintragStatus;
 import de.suchalla.schiessbuch.security.SecurityService;
 import de.suchalla.schiessbuch.service.DisziplinService;
+import de.suchalla.schiessbuch.service.EintragAenderungen;
 import de.suchalla.schiessbuch.service.SchiessnachweisService;
 import de.suchalla.schiessbuch.service.PdfExportService;
 import de.suchalla.schiessbuch.service.SignaturService;
@@ -41,16 +48,24 @@ import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * View für Aufseher zur Verwaltung von Schießnachweis-Einträgen mit PKI-Signierung und PDF-Export.
+ * Neue, signierte und abgelehnte Einträge des Schießstands erscheinen per Server-Push ohne erneutes
+ * Filtern (siehe {@link EintragAenderungen}); dabei werden nur die betroffenen Zeilen aktualisiert.
  *
  * @author Markus Suchalla
  * @version 1.0.1
@@ -64,10 +79,12 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
 
     private final SchiessnachweisService schiessnachweisService;
     private final PdfExportService pdfExportService;
+    private final BegrenzterExecutor pdfExecutor;
     private final SignaturService signaturService;
     private final DisziplinService disziplinService;
+    private final EintragAenderungen eintragAenderungen;
 
-    private final Grid<SchiessnachweisEintrag> grid = new Grid<>(SchiessnachweisEintrag.class, false);
+    private final Grid<SchiessnachweisEintragListDTO> grid = new Grid<>(SchiessnachweisEintragListDTO.class, false);
     private final DateTimeFormatter dateFormatter;
     private final ComboBox<String> schuetzenComboBox = new ComboBox<>("Schütze");
     private final ComboBox<String> aufseherComboBox = new ComboBox<>("Aufseher");
@@ -76,26 +93,32 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
     private final Button filterButton = new Button("Filtern");
     private Div emptyStateMessage;
 
-    private final Benutzer currentUser;
+    private final AngemeldeterBenutzer currentUser;
     private Schiesstand aktuellerSchiesstand;
     private EintragStatus aktuellerStatus = EintragStatus.UNSIGNIERT; // Standard: Unsigniert
     private Tab aktuellerTab;
     private Tab alleTab;
-    private Grid.Column<SchiessnachweisEintrag> actionsColumn;
+    private Grid.Column<SchiessnachweisEintragListDTO> actionsColumn;
 
-    private List<SchiessnachweisEintrag> aktuelleFiltierteEintraege = List.of();
+    private List<SchiessnachweisEintragListDTO> aktuelleFiltierteEintraege = new ArrayList<>();
+    private GridListDataView<SchiessnachweisEintragListDTO> dataView;
+    private Registration liveRegistrierung;
     private boolean contentCreated = false; // Flag um mehrfaches Erstellen zu verhindern
 
     public EintraegeVerwaltungView(SecurityService securityService,
                                    SchiessnachweisService schiessnachweisService,
                                    DisziplinService disziplinService,
                                    PdfExportService pdfExportService,
-                                   SignaturService signaturService) {
+                                   @Qualifier(AsyncKonfiguration.PDF) BegrenzterExecutor pdfExecutor,
+                                   SignaturService signaturService,
+                                   EintragAenderungen eintragAenderungen) {
         this.schiessnachweisService = schiessnachweisService;
         this.pdfExportService = pdfExportService;
+        this.pdfExecutor = pdfExecutor;
         this.signaturService = signaturService;
         this.disziplinService = disziplinService;
-        this.currentUser = securityService.getAuthenticatedUser();
+        this.eintragAenderungen = eintragAenderungen;
+        this.currentUser = securityService.getAngemeldeterBenutzer();
 
         // Formatter für Datumsausgabe
         this.dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
@@ -104,6 +127,15 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
         setPadding(false);
         setSizeFull();
         addClassName("view-container");
+
+        // beforeEnter lädt den Schießstand vor dem Anhängen; nach einem Neuladen hängt die View an einer neuen UI
+        addAttachListener(e -> registriereLiveAktualisierung(e.getUI()));
+        addDetachListener(e -> {
+            if (liveRegistrierung != null) {
+                liveRegistrierung.remove();
+                liveRegistrierung = null;
+            }
+        });
     }
 
     @Override
@@ -128,15 +160,15 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
         }
 
         log.info("Lade Schießstand für Benutzer: {} {} (ID: {})",
-                currentUser.getVorname(), currentUser.getNachname(), currentUser.getId());
+                currentUser.vorname(), currentUser.nachname(), currentUser.id());
 
         try {
-            aktuellerSchiesstand = disziplinService.findeBerechtigtenSchiesstand(currentUser);
+            aktuellerSchiesstand = disziplinService.findeBerechtigtenSchiesstand(currentUser.id());
             log.info("Schießstand geladen: {} (ID: {})",
                     aktuellerSchiesstand.getName(), aktuellerSchiesstand.getId());
         } catch (IllegalArgumentException e) {
             log.warn("Kein berechtigter Schießstand gefunden für Benutzer: {} {}: {}",
-                    currentUser.getVorname(), currentUser.getNachname(), e.getMessage());
+                    currentUser.vorname(), currentUser.nachname(), e.getMessage());
             aktuellerSchiesstand = null;
         }
     }
@@ -296,19 +328,13 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
             return;
         }
 
-        // Lade alle Einträge des Schießstands als DTOs
-        List<SchiessnachweisEintrag> alleEintraege = schiessnachweisService.findeEintraegeAnSchiesstand(aktuellerSchiesstand);
-
-        // Filtern nach aktuellem Status (wenn nicht "Alle")
-        if (aktuellerStatus != null) {
-            alleEintraege = alleEintraege.stream()
-                    .filter(e -> e.getStatus() == aktuellerStatus)
-                    .toList();
-        }
+        // Lade alle Einträge des Schießstands im aktuellen Status (null = "Alle") als DTOs
+        List<SchiessnachweisEintragListDTO> alleEintraege =
+                schiessnachweisService.findeEintraegeAnSchiesstand(aktuellerSchiesstand, aktuellerStatus);
 
         // Extrahiere eindeutige Schützennamen
         List<String> schuetzenNamen = alleEintraege.stream()
-                .map(e -> e.getSchuetze() != null ? e.getSchuetze().getVollstaendigerName() : "-")
+                .map(SchiessnachweisEintragListDTO::schuetzeName)
                 .distinct()
                 .sorted()
                 .toList();
@@ -316,8 +342,8 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
 
         // Extrahiere eindeutige Aufsehernamen (nur signierte/abgelehnte Einträge)
         List<String> aufseherNamen = alleEintraege.stream()
-                .filter(e -> e.getAufseher() != null)
-                .map(e -> e.getAufseher().getVollstaendigerName())
+                .map(SchiessnachweisEintragListDTO::aufseherName)
+                .filter(Objects::nonNull)
                 .distinct()
                 .sorted()
                 .toList();
@@ -335,43 +361,33 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
                 .set("flex", "1 1 auto")
                 .set("min-height", "0");
 
-        grid.addColumn(e -> e.getSchuetze() != null ? e.getSchuetze().getVollstaendigerName() : "-")
+        grid.addColumn(SchiessnachweisEintragListDTO::schuetzeName)
                 .setHeader("Schütze")
                 .setSortable(true);
-        grid.addColumn(dto -> dto.getDatum() == null ? "" : dateFormatter.format(dto.getDatum()))
+        grid.addColumn(dto -> dto.datum() == null ? "" : dateFormatter.format(dto.datum()))
             .setHeader("Datum")
             .setSortable(true)
             .setComparator((e1, e2) -> {
-                if (e1.getDatum() == null && e2.getDatum() == null) return 0;
-                if (e1.getDatum() == null) return 1;
-                if (e2.getDatum() == null) return -1;
-                return e1.getDatum().compareTo(e2.getDatum());
+                if (e1.datum() == null && e2.datum() == null) return 0;
+                if (e1.datum() == null) return 1;
+                if (e2.datum() == null) return -1;
+                return e1.datum().compareTo(e2.datum());
             });
-        grid.addColumn(eintrag -> {
-                    if (eintrag.getDisziplin() == null) return "-";
-                    String label = eintrag.getDisziplin().getKennziffer();
-                    if (eintrag.getDisziplin().getProgramm() != null && !eintrag.getDisziplin().getProgramm().isEmpty()) {
-                        label += " - " + eintrag.getDisziplin().getProgramm();
-                    }
-                    if (eintrag.getDisziplin().getWaffeKlasse() != null && !eintrag.getDisziplin().getWaffeKlasse().isEmpty()) {
-                        label += " - " + eintrag.getDisziplin().getWaffeKlasse();
-                    }
-                    return label;
-                })
+        grid.addColumn(SchiessnachweisEintragListDTO::disziplinBezeichnung)
                 .setHeader("Disziplin");
-        grid.addColumn(SchiessnachweisEintrag::getKaliber)
+        grid.addColumn(SchiessnachweisEintragListDTO::kaliber)
                 .setHeader("Kaliber");
-        grid.addColumn(SchiessnachweisEintrag::getWaffenart)
+        grid.addColumn(SchiessnachweisEintragListDTO::waffenart)
                 .setHeader("Waffenart");
-        grid.addColumn(SchiessnachweisEintrag::getAnzahlSchuesse)
+        grid.addColumn(SchiessnachweisEintragListDTO::anzahlSchuesse)
                 .setHeader("Schüsse")
                 .setTextAlign(ColumnTextAlign.END);
-        grid.addColumn(SchiessnachweisEintrag::getErgebnis)
+        grid.addColumn(SchiessnachweisEintragListDTO::ergebnis)
                 .setHeader("Ergebnis")
                 .setTextAlign(ColumnTextAlign.END);
         grid.addComponentColumn(this::createStatusBadge)
                 .setHeader("Status");
-        grid.addColumn(e -> e.getAufseher() != null ? e.getAufseher().getVollstaendigerName() : "-")
+        grid.addColumn(e -> e.aufseherName() != null ? e.aufseherName() : "-")
                 .setHeader("Aufseher");
 
         actionsColumn = grid.addComponentColumn(this::createActionButtons)
@@ -388,16 +404,16 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
     /**
      * Erstellt Aktions-Buttons je nach Status.
      */
-    private HorizontalLayout createActionButtons(SchiessnachweisEintrag dto) {
+    private HorizontalLayout createActionButtons(SchiessnachweisEintragListDTO dto) {
         HorizontalLayout layout = new HorizontalLayout();
         layout.setSpacing(true);
         layout.getStyle().set("flex-wrap", "wrap");
 
-        if (dto.getStatus() == EintragStatus.UNSIGNIERT) {
-            Button signierenButton = new Button("Signieren", e -> signiereEintrag(dto.getId()));
+        if (dto.status() == EintragStatus.UNSIGNIERT) {
+            Button signierenButton = new Button("Signieren", e -> signiereEintrag(dto.id()));
             signierenButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_SMALL);
 
-            Button ablehnenButton = new Button("Ablehnen", e -> zeigeAblehnungsDialog(dto.getId()));
+            Button ablehnenButton = new Button("Ablehnen", e -> zeigeAblehnungsDialog(dto.id()));
             ablehnenButton.addThemeVariants(ButtonVariant.LUMO_ERROR, ButtonVariant.LUMO_SMALL);
 
             layout.add(signierenButton, ablehnenButton);
@@ -407,8 +423,8 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
         Button loeschenButton = new Button("Löschen", VaadinIcon.TRASH.create());
         loeschenButton.addThemeVariants(ButtonVariant.LUMO_ERROR, ButtonVariant.LUMO_SMALL);
         // Nur anzeigen, wenn Eintrag nicht signiert ist
-        if (dto.getStatus() != EintragStatus.SIGNIERT) {
-            loeschenButton.addClickListener(e -> zeigeLoeschDialog(dto.getId()));
+        if (dto.status() != EintragStatus.SIGNIERT) {
+            loeschenButton.addClickListener(e -> zeigeLoeschDialog(dto.id()));
             layout.add(loeschenButton);
         }
 
@@ -452,7 +468,7 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
             SchiessnachweisEintrag eintrag = schiessnachweisService.findeEintrag(eintragId);
 
             // Signiere den Eintrag
-            signaturService.signEintrag(eintrag, currentUser);
+            signaturService.signEintrag(eintrag, currentUser.id());
 
             Notification.show("Eintrag erfolgreich mit PKI-Zertifikat signiert")
                     .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
@@ -488,7 +504,7 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
             }
 
             try {
-                schiessnachweisService.lehneEintragAb(eintragId, currentUser, grundField.getValue());
+                schiessnachweisService.lehneEintragAb(eintragId, currentUser.id(), grundField.getValue());
                 Notification.show("Eintrag abgelehnt")
                         .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
                 dialog.close();
@@ -516,64 +532,118 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
      */
     private void updateGrid() {
         if (aktuellerSchiesstand != null) {
-            List<SchiessnachweisEintrag> eintraege;
+            // Statusfilter (null = alle Einträge) und Sortierung (neueste zuerst) übernimmt die Datenbank
+            List<SchiessnachweisEintragListDTO> eintraege =
+                    schiessnachweisService.findeEintraegeAnSchiesstand(aktuellerSchiesstand, aktuellerStatus);
 
-            if (aktuellerStatus == null) {
-                // Alle Einträge
-                eintraege = schiessnachweisService.findeEintraegeAnSchiesstand(aktuellerSchiesstand);
-            } else {
-                // Nach Status filtern
-                eintraege = schiessnachweisService.findeEintraegeAnSchiesstand(aktuellerSchiesstand).stream()
-                        .filter(e -> e.getStatus() == aktuellerStatus)
-                        .collect(Collectors.toList());
-            }
+            aktuelleFiltierteEintraege = eintraege.stream()
+                    .filter(this::passtZumFilter)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            dataView = grid.setItems(aktuelleFiltierteEintraege);
+            dataView.setIdentifierProvider(SchiessnachweisEintragListDTO::id);
 
-            // Filter nach Schütze
-            String selektierterSchuetze = schuetzenComboBox.getValue();
-            if (selektierterSchuetze != null && !selektierterSchuetze.trim().isEmpty()) {
-                eintraege = eintraege.stream()
-                        .filter(e -> e.getSchuetze() != null &&
-                                     e.getSchuetze().getVollstaendigerName().equals(selektierterSchuetze))
-                        .collect(Collectors.toList());
+            // Aktionen-Spalte im Signiert-Tab ausblenden
+            if (actionsColumn != null) {
+                actionsColumn.setVisible(aktuellerStatus != EintragStatus.SIGNIERT);
             }
 
-            // Filter nach Aufseher
-            String selektierterAufseher = aufseherComboBox.getValue();
-            if (selektierterAufseher != null && !selektierterAufseher.trim().isEmpty()) {
-                eintraege = eintraege.stream()
-                        .filter(e -> e.getAufseher() != null &&
-                                     e.getAufseher().getVollstaendigerName().equals(selektierterAufseher))
-                        .collect(Collectors.toList());
-            }
+            aktualisiereLeerzustand();
+        }
+    }
 
-            // Filter nach Datum nur anwenden, wenn beide Felder gesetzt sind und Tab 'Alle' aktiv
-            if (aktuellerTab == alleTab) {
-                LocalDate von = vonDatum.getValue();
-                LocalDate bis = bisDatum.getValue();
-                if (von != null && bis != null) {
-                    eintraege = eintraege.stream()
-                            .filter(e -> !e.getDatum().isBefore(von) && !e.getDatum().isAfter(bis))
-                            .collect(Collectors.toList());
-                }
-            }
+    /**
+     * Prüft, ob ein Eintrag zum gewählten Status-Tab und zu den Filtern passt.
+     */
+    private boolean passtZumFilter(SchiessnachweisEintragListDTO eintrag) {
+        if (aktuellerStatus != null && eintrag.status() != aktuellerStatus) {
+            return false;
+        }
 
-            // Sortierung: Neueste zuerst
-            eintraege = eintraege.stream()
-                    .sorted(Comparator.comparing(SchiessnachweisEintrag::getDatum).reversed())
-                    .collect(Collectors.toList());
+        // Filter nach Schütze
+        String selektierterSchuetze = schuetzenComboBox.getValue();
+        if (selektierterSchuetze != null && !selektierterSchuetze.trim().isEmpty()
+                && !eintrag.schuetzeName().equals(selektierterSchuetze)) {
+            return false;
+        }
 
-            aktuelleFiltierteEintraege = eintraege;
-            grid.setItems(eintraege);
+        // Filter nach Aufseher
+        String selektierterAufseher = aufseherComboBox.getValue();
+        if (selektierterAufseher != null && !selektierterAufseher.trim().isEmpty()
+                && !selektierterAufseher.equals(eintrag.aufseherName())) {
+            return false;
+        }
 
-            // Aktionen-Spalte im Signiert-Tab ausblenden
-            if (actionsColumn != null) {
-                actionsColumn.setVisible(aktuellerStatus != EintragStatus.SIGNIERT);
+        // Filter nach Datum nur anwenden, wenn beide Felder gesetzt sind und Tab 'Alle' aktiv
+        if (aktuellerTab == alleTab) {
+            LocalDate von = vonDatum.getValue();
+            LocalDate bis = bisDatum.getValue();
+            if (von != null && bis != null) {
+                return !eintrag.datum().isBefore(von) && !eintrag.datum().isAfter(bis);
             }
+        }
+        return true;
+    }
 
-            boolean isEmpty = eintraege.isEmpty();
-            grid.setVisible(!isEmpty);
-            emptyStateMessage.setVisible(isEmpty);
+    /**
+     * Meldet die View für Änderungen an Einträgen ihres Schießstands an.
+     */
+    private void registriereLiveAktualisierung(UI ui) {
+        if (aktuellerSchiesstand == null || liveRegistrierung != null) {
+            return;
         }
+        liveRegistrierung = eintragAenderungen.registriere(aktuellerSchiesstand.getId(),
+                ids -> ui.access(() -> aktualisiereEintraege(ids)));
+    }
+
+    /**
+     * Übernimmt geänderte Einträge zeilenweise: neue passende Einträge werden einsortiert, vorhandene
+     * aktualisiert und Einträge, die nicht mehr zum Filter passen oder gelöscht wurden, entfernt.
+     *
+     * @param ids IDs der seit der letzten Aktualisierung geänderten Einträge
+     */
+    private void aktualisiereEintraege(Set<Long> ids) {
+        if (dataView == null) {
+            return;
+        }
+        Map<Long, SchiessnachweisEintragListDTO> geaendert = schiessnachweisService
+                .findeEintraegeMitIds(aktuellerSchiesstand, ids).stream()
+                .collect(Collectors.toMap(SchiessnachweisEintragListDTO::id, Function.identity()));
+        Comparator<SchiessnachweisEintragListDTO> neuesteZuerst = Comparator
+                .comparing(SchiessnachweisEintragListDTO::datum, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(SchiessnachweisEintragListDTO::id, Comparator.reverseOrder());
+
+        for (Long id : ids) {
+            SchiessnachweisEintragListDTO neu = geaendert.get(id);
+            int index = indexVon(id);
+            boolean anzeigen = neu != null && passtZumFilter(neu);
+            if (index >= 0 && anzeigen) {
+                aktuelleFiltierteEintraege.set(index, neu);
+                dataView.refreshItem(neu);
+            } else if (index >= 0) {
+                dataView.removeItem(aktuelleFiltierteEintraege.get(index));
+            } else if (anzeigen) {
+                aktuelleFiltierteEintraege.stream()
+                        .filter(vorhanden -> neuesteZuerst.compare(neu, vorhanden) < 0)
+                        .findFirst()
+                        .ifPresentOrElse(nachfolger -> dataView.addItemBefore(neu, nachfolger), () -> dataView.addItem(neu));
+            }
+        }
+        aktualisiereLeerzustand();
+    }
+
+    private int indexVon(Long eintragId) {
+        for (int i = 0; i < aktuelleFiltierteEintraege.size(); i++) {
+            if (aktuelleFiltierteEintraege.get(i).id().equals(eintragId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void aktualisiereLeerzustand() {
+        boolean isEmpty = aktuelleFiltierteEintraege.isEmpty();
+        grid.setVisible(!isEmpty);
+        emptyStateMessage.setVisible(isEmpty);
     }
 
     /**
@@ -590,12 +660,13 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
                 LocalDate bis = bisDatum.getValue() != null ? bisDatum.getValue() : LocalDate.now();
 
                 // Verwende den Schießstand-spezifischen Export für die Eintragsverwaltung
-                byte[] pdfBytes = pdfExportService.exportiereEintragsverwaltungSchiesstand(
+                List<SchiessnachweisEintragListDTO> eintraege = List.copyOf(aktuelleFiltierteEintraege);
+                byte[] pdfBytes = pdfExecutor.fuehreAusUndWarte(() -> pdfExportService.exportiereEintragsverwaltungSchiesstand(
                         aktuellerSchiesstand,
-                        aktuelleFiltierteEintraege,
+                        eintraege,
                         von,
                         bis
-                );
+                ));
 
                 log.info("PDF exportiert: {} Einträge mit PKI-Zertifikaten", aktuelleFiltierteEintraege.size());
                 return new ByteArrayInputStream(pdfBytes);
@@ -611,7 +682,7 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
     /**
      * Erstellt ein farbiges Status-Badge.
      */
-    private Span createStatusBadge(SchiessnachweisEintrag dto) {
+    private Span createStatusBadge(SchiessnachweisEintragListDTO dto) {
         Span badge = new Span();
         badge.getStyle()
                 .set("padding", "4px 12px")
@@ -620,7 +691,7 @@ public class EintraegeVerwaltungView extends VerticalLayout implements BeforeEnt
                 .set("font-size", "12px")
                 .set("display", "inline-block");
 
-        switch (dto.getStatus()) {
+        switch (dto.status()) {
             case UNSIGNIERT, OFFEN -> {
                 badge.setText("Unsigniert");
                 badge.getStyle()
@@ -26,8 +26,10 @@ import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.QueryParameters;
 import com.vaadin.flow.server.StreamResource;
+import de.suchalla.schiessbuch.config.AsyncKonfiguration;
+import de.suchalla.schiessbuch.config.BegrenzterExecutor;
 import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
 import de.suchalla.schiessbuch.security.SecurityService;
@@ -38,6 +40,7 @@ import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
@@ -59,7 +62,8 @@ public class MitgliedschaftenVerwaltenView extends VerticalLayout implements Bef
 
     private final VereinsmitgliedschaftService mitgliedschaftService;
     private final PdfExportService pdfExportService;
-    private final Benutzer currentUser;
+    private final BegrenzterExecutor pdfExecutor;
+    private final AngemeldeterBenutzer currentUser;
     private final VereinService vereinService;
 
     private final Grid<Vereinsmitgliedschaft> mitgliederGrid = new Grid<>(Vereinsmitgliedschaft.class, false);
@@ -89,11 +93,13 @@ public class MitgliedschaftenVerwaltenView extends VerticalLayout implements Bef
     public MitgliedschaftenVerwaltenView(SecurityService securityService,
                                          VereinsmitgliedschaftService mitgliedschaftService,
                                          PdfExportService pdfExportService,
+                                         @Qualifier(AsyncKonfiguration.PDF) BegrenzterExecutor pdfExecutor,
                                          VereinService vereinService) {
         this.mitgliedschaftService = mitgliedschaftService;
         this.pdfExportService = pdfExportService;
+        this.pdfExecutor = pdfExecutor;
         this.vereinService = vereinService;
-        this.currentUser = securityService.getAuthenticatedUser();
+        this.currentUser = securityService.getAngemeldeterBenutzer();
 
         setSpacing(false);
         setPadding(false);
@@ -109,7 +115,7 @@ public class MitgliedschaftenVerwaltenView extends VerticalLayout implements Bef
      */
     private void ladeVerein() {
         if (currentUser != null) {
-            mitgliedschaftService.findeMitgliedschaften(currentUser).stream()
+            mitgliedschaftService.findeMitgliedschaften(currentUser.id()).stream()
                     .filter(m -> Boolean.TRUE.equals(m.getIstVereinschef()) || Boolean.TRUE.equals(m.getIstAufseher()))
                     .findFirst()
                     .ifPresent(m -> {
@@ -391,9 +397,8 @@ public class MitgliedschaftenVerwaltenView extends VerticalLayout implements Bef
         }
 
         if (dto.getStatus() == MitgliedschaftsStatus.AKTIV) {
-            boolean istVereinschef = currentUser.getVereinsmitgliedschaften().stream()
-                    .anyMatch(m -> m.getVerein().getId().equals(aktuellerVerein.getId()) &&
-                            Boolean.TRUE.equals(m.getIstVereinschef()));
+            boolean istVereinschef = currentUser.mitgliedschaften().stream()
+                    .anyMatch(m -> m.vereinId().equals(aktuellerVerein.getId()) && m.istVereinschef());
 
             if (istVereinschef && !Boolean.TRUE.equals(dto.getIstVereinschef())) {
                 // Aufseher-Buttons nur anzeigen, wenn NICHT im "Alle"-Tab
@@ -597,28 +602,19 @@ public class MitgliedschaftenVerwaltenView extends VerticalLayout implements Bef
     private StreamResource createPdfResource() {
         return new StreamResource("mitgliedschaften_" + LocalDate.now() + ".pdf", () -> {
             try {
-                List<Vereinsmitgliedschaft> mitglieder;
-
-                if (aktuellerStatus == null) {
-                    mitglieder = mitgliedschaftService.findeAlleMitgliedschaften(aktuellerVerein);
-                } else {
-                    mitglieder = mitgliedschaftService.findeMitgliedschaftenNachStatus(aktuellerVerein, aktuellerStatus);
-                }
-
                 // Filter anwenden
                 String suchbegriff = suchfeld.getValue();
-                if (suchbegriff != null && !suchbegriff.trim().isEmpty()) {
-                    mitglieder = mitglieder.stream()
-                            .filter(m -> (m.getBenutzer().getVorname() + " " + m.getBenutzer().getNachname()).toLowerCase()
-                                    .contains(suchbegriff.toLowerCase()))
-                            .collect(Collectors.toList());
-                }
+                boolean mitSuche = suchbegriff != null && !suchbegriff.trim().isEmpty();
 
                 LocalDate von = vonDatum.getValue();
                 LocalDate bis = bisDatum.getValue();
 
-                byte[] pdfBytes = pdfExportService.exportiereVereinsmitgliedschaften(
-                        aktuellerVerein, mitglieder, von, bis);
+                // Mitgliedschaften werden innerhalb der Export-Transaktion gestreamt statt vorab als Liste geladen
+                byte[] pdfBytes = pdfExecutor.fuehreAusUndWarte(() -> pdfExportService.exportiereVereinsmitgliedschaften(aktuellerVerein,
+                        () -> mitgliedschaftService.streameMitgliedschaften(aktuellerVerein, aktuellerStatus)
+                                .filter(m -> !mitSuche || (m.getBenutzer().getVorname() + " " + m.getBenutzer().getNachname())
+                                        .toLowerCase().contains(suchbegriff.toLowerCase())),
+                        von, bis));
                 return new ByteArrayInputStream(pdfBytes);
             } catch (Exception e) {
                 log.error("Fehler beim Erstellen der PDF", e);
@@ -18,7 +18,7 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.BeforeEnterEvent;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.enums.SchiesstandTyp;
@@ -46,7 +46,7 @@ public class SchiesstandDetailsView extends VerticalLayout implements BeforeEnte
 
     private final SchiesstandService schiesstandService;
     private final VerbandService verbandService;
-    private final Benutzer currentUser;
+    private final AngemeldeterBenutzer currentUser;
 
     private final TextField nameField = new TextField("Schießstandname");
     private final TextField adresseField = new TextField("Adresse");
@@ -59,7 +59,7 @@ public class SchiesstandDetailsView extends VerticalLayout implements BeforeEnte
                                   VerbandService verbandService) {
         this.schiesstandService = schiesstandService;
         this.verbandService = verbandService;
-        this.currentUser = securityService.getAuthenticatedUser();
+        this.currentUser = securityService.getAngemeldeterBenutzer();
 
         setSpacing(false);
         setPadding(false);
@@ -198,12 +198,11 @@ public class SchiesstandDetailsView extends VerticalLayout implements BeforeEnte
             return;
         }
 
-        List<Schiesstand> schiesstaende = schiesstandService.findeAlleSchiesstaendeEntities();
-        schiesstaende.stream()
-                .filter(s -> s.getAufseher() != null && s.getAufseher().getId().equals(currentUser.getId()))
+        // Die Aufseher-Schießstände stehen bereits im Sitzungs-Schnappschuss
+        currentUser.schiesstandIds().stream()
                 .findFirst()
-                .ifPresent(schiesstand -> {
-                    aktuellerSchiesstand = schiesstand;
+                .ifPresent(schiesstandId -> {
+                    aktuellerSchiesstand = schiesstandService.findeSchiesstand(schiesstandId);
                     ladeSchiesstanddaten();
                 });
 
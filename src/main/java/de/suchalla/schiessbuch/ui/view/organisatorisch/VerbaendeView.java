@@ -14,19 +14,19 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.model.entity.Disziplin;
 import de.suchalla.schiessbuch.model.entity.Verband;
 import de.suchalla.schiessbuch.security.SecurityService;
 import de.suchalla.schiessbuch.service.DisziplinService;
 import de.suchalla.schiessbuch.service.VerbandService;
-import de.suchalla.schiessbuch.service.VereinsmitgliedschaftService;
 import de.suchalla.schiessbuch.service.VereinService;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
 
 import java.util.List;
+import java.util.Set;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
@@ -41,23 +41,21 @@ public class VerbaendeView extends VerticalLayout {
 
     private final VerbandService verbandService;
     private final DisziplinService disziplinService;
-    private final SecurityService securityService;
-    private final VereinsmitgliedschaftService mitgliedschaftService;
     private final VereinService vereinService;
+    private final AngemeldeterBenutzer currentUser;
 
     private final Grid<Verband> grid = new Grid<>(Verband.class, false);
     private Div emptyStateMessage;
+    private Set<Long> eigeneVerbandIds = Set.of();
 
     public VerbaendeView(VerbandService verbandService,
                          DisziplinService disziplinService,
                          SecurityService securityService,
-                         VereinsmitgliedschaftService mitgliedschaftService,
                          VereinService vereinService) {
         this.verbandService = verbandService;
         this.disziplinService = disziplinService;
-        this.securityService = securityService;
-        this.mitgliedschaftService = mitgliedschaftService;
         this.vereinService = vereinService;
+        this.currentUser = securityService.getAngemeldeterBenutzer();
 
         setSpacing(false);
         setPadding(false);
@@ -103,11 +101,10 @@ public class VerbaendeView extends VerticalLayout {
                 .setWidth("140px");
 
         grid.addComponentColumn(verband -> {
-            Benutzer currentUser = securityService.getAuthenticatedUser();
             if (currentUser == null) {
                 return new Span("");
             }
-            boolean istMitglied = verbandService.istMitgliedImVerband(currentUser, verband.getId());
+            boolean istMitglied = eigeneVerbandIds.contains(verband.getId());
             Icon icon = istMitglied ? VaadinIcon.CHECK.create() : VaadinIcon.CLOSE.create();
             icon.getStyle().set("color", istMitglied ? "var(--lumo-success-text-color)" : "var(--lumo-error-text-color)");
             icon.getElement().setProperty("title", istMitglied ? "Beigetreten" : "Nicht beigetreten");
@@ -140,16 +137,14 @@ public class VerbaendeView extends VerticalLayout {
 
         HorizontalLayout layout = new HorizontalLayout(disziplinenButton);
 
-        Benutzer currentUser = securityService.getAuthenticatedUser();
-
         if (currentUser != null) {
             // Ermittle Verein, bei dem der Benutzer Vereinschef ist (falls vorhanden)
-            var chefMitgliedschaft = mitgliedschaftService.findeMitgliedschaften(currentUser).stream()
-                    .filter(m -> Boolean.TRUE.equals(m.getIstVereinschef()))
+            var chefMitgliedschaft = currentUser.mitgliedschaften().stream()
+                    .filter(AngemeldeterBenutzer.Mitgliedschaft::istVereinschef)
                     .findFirst();
 
             if (chefMitgliedschaft.isPresent()) {
-                Long vereinId = chefMitgliedschaft.get().getVerein().getId();
+                Long vereinId = chefMitgliedschaft.get().vereinId();
                 de.suchalla.schiessbuch.model.entity.Verein verein = verbandService.findeVerein(vereinId);
                 if (verein != null) {
                     boolean vereinHatVerband = verein.getVerbaende() != null && verein.getVerbaende().stream()
@@ -228,6 +223,10 @@ public class VerbaendeView extends VerticalLayout {
 
     private void updateGrid() {
         List<Verband> verbaende = verbandService.findeAlleVerbaendeMitVereinenEntities();
+        // Mitgliedschaften einmal je Aktualisierung laden statt einmal je Zeile
+        eigeneVerbandIds = currentUser != null
+                ? verbandService.findeVerbandIdsVonBenutzer(currentUser.id())
+                : Set.of();
         grid.setItems(verbaende);
         grid.recalculateColumnWidths();
         grid.getDataProvider().refreshAll();
@@ -15,7 +15,7 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.BeforeEnterEvent;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.security.SecurityService;
 import de.suchalla.schiessbuch.service.VereinService;
@@ -42,7 +42,7 @@ public class VereinDetailsView extends VerticalLayout implements BeforeEnterObse
 
     private final VereinService vereinService;
     private final VereinsmitgliedschaftService mitgliedschaftService;
-    private final Benutzer currentUser;
+    private final AngemeldeterBenutzer currentUser;
 
     private final TextField nameField = new TextField("Vereinsname");
     private final TextField adresseField = new TextField("Adresse");
@@ -55,7 +55,7 @@ public class VereinDetailsView extends VerticalLayout implements BeforeEnterObse
                              VereinsmitgliedschaftService mitgliedschaftService) {
         this.vereinService = vereinService;
         this.mitgliedschaftService = mitgliedschaftService;
-        this.currentUser = securityService.getAuthenticatedUser();
+        this.currentUser = securityService.getAngemeldeterBenutzer();
 
         setSpacing(false);
         setPadding(false);
@@ -164,7 +164,7 @@ public class VereinDetailsView extends VerticalLayout implements BeforeEnterObse
         }
 
         try {
-            mitgliedschaftService.findeMitgliedschaften(currentUser).stream()
+            mitgliedschaftService.findeMitgliedschaften(currentUser.id()).stream()
                     .filter(m -> Boolean.TRUE.equals(m.getIstVereinschef()))
                     .findFirst()
                     .ifPresent(dto -> {
@@ -21,10 +21,9 @@ import com.vaadin.flow.router.Route;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.DigitalesZertifikat;
 import de.suchalla.schiessbuch.model.entity.Verein;
-import de.suchalla.schiessbuch.repository.BenutzerRepository;
 import de.suchalla.schiessbuch.repository.DigitalesZertifikatRepository;
 import de.suchalla.schiessbuch.service.BenutzerService;
-import de.suchalla.schiessbuch.service.EmailService;
+import de.suchalla.schiessbuch.service.VereinsmitgliedschaftService;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import jakarta.annotation.security.RolesAllowed;
@@ -32,7 +31,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.format.DateTimeFormatter;
-import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -46,9 +44,8 @@ import java.util.List;
 @RolesAllowed({"ADMIN", "AUFSEHER", "SCHIESSSTAND_AUFSEHER", "VEREINS_CHEF"})
 public class ZertifikateView extends VerticalLayout {
     private final DigitalesZertifikatRepository zertifikatRepository;
-    private final BenutzerRepository benutzerRepository;
     private final BenutzerService benutzerService;
-    private final EmailService emailService;
+    private final VereinsmitgliedschaftService mitgliedschaftService;
     private Tab gueltigTab;
     private Tab widerrufenTab;
     private Tab aktuellerTab;
@@ -56,13 +53,11 @@ public class ZertifikateView extends VerticalLayout {
     private Div emptyStateMessage;
 
     public ZertifikateView(DigitalesZertifikatRepository zertifikatRepository,
-                          BenutzerRepository benutzerRepository,
                           BenutzerService benutzerService,
-                          EmailService emailService) {
+                          VereinsmitgliedschaftService mitgliedschaftService) {
         this.zertifikatRepository = zertifikatRepository;
-        this.benutzerRepository = benutzerRepository;
         this.benutzerService = benutzerService;
-        this.emailService = emailService;
+        this.mitgliedschaftService = mitgliedschaftService;
         setSpacing(false);
         setPadding(false);
         setSizeFull();
@@ -311,61 +306,7 @@ public class ZertifikateView extends VerticalLayout {
         }
 
         try {
-            String typ = zertifikat.getZertifikatsTyp() != null ? zertifikat.getZertifikatsTyp().toUpperCase() : "";
-            // Verhindere Widerruf von ROOT und VEREIN Zertifikaten
-            if ("ROOT".equals(typ) || "VEREIN".equals(typ)) {
-                Notification.show("Dieses Zertifikat kann nicht widerrufen werden.")
-                        .addThemeVariants(NotificationVariant.LUMO_ERROR);
-                return;
-            }
-
-            zertifikat.setWiderrufen(true);
-            zertifikat.setWiderrufenAm(LocalDateTime.now());
-            zertifikat.setWiderrufsGrund(grund != null && !grund.isBlank() ? grund : "Vom Administrator widerrufen");
-
-            // Wenn das Zertifikat einem Benutzer gehört, entziehe Rollen/Flags falls nötig
-            Benutzer b = zertifikat.getBenutzer();
-            if (b != null) {
-                boolean changed = false;
-
-                // Bestimme betroffenen Verein (falls vorhanden)
-                Verein certVerein = zertifikat.getVerein();
-                if (certVerein == null && zertifikat.getSchiesstand() != null) {
-                    certVerein = zertifikat.getSchiesstand().getVerein();
-                }
-
-                // Entziehe Vereinsrollen in den Mitgliedschaften zwar nur für den betroffenen Verein
-                if (b.getVereinsmitgliedschaften() != null) {
-                    for (var vm : b.getVereinsmitgliedschaften()) {
-                        if (certVerein == null || vm.getVerein() == null || vm.getVerein().getId().equals(certVerein.getId())) {
-                            if (Boolean.TRUE.equals(vm.getIstVereinschef())) {
-                                vm.setIstVereinschef(false);
-                                changed = true;
-                            }
-                            if (Boolean.TRUE.equals(vm.getIstAufseher())) {
-                                vm.setIstAufseher(false);
-                                changed = true;
-                            }
-                        }
-                    }
-                }
-
-                // Entziehe die globale Rolle, falls Zertifikat Typen auf spezielle Rollen hindeuten
-                if ("AUFSEHER".equals(typ) || "SCHIESSTANDAUFSEHER".equals(typ) || "SCHIESSSTAND_AUFSEHER".equals(typ) || "VEREINS_CHEF".equals(typ)) {
-                    b.setRolle(de.suchalla.schiessbuch.model.enums.BenutzerRolle.SCHUETZE);
-                    changed = true;
-                }
-
-                if (changed) {
-                    benutzerRepository.save(b);
-                }
-            }
-
-            // Speichere das Zertifikat als widerrufen
-            zertifikatRepository.save(zertifikat);
-
-            // Sende E-Mail-Benachrichtigung an den Benutzer
-            emailService.notifyCertificateRevoked(zertifikat);
+            mitgliedschaftService.widerrufeZertifikat(zertifikat.getId(), grund);
 
             Notification.show("Zertifikat erfolgreich widerrufen")
                     .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
@@ -8,21 +8,15 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
-import de.suchalla.schiessbuch.model.entity.Verein;
-import de.suchalla.schiessbuch.model.entity.Schiesstand;
-import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
+import de.suchalla.schiessbuch.model.dto.DashboardStatistik;
 import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
 import de.suchalla.schiessbuch.security.SecurityService;
-import de.suchalla.schiessbuch.service.DisziplinService;
-import de.suchalla.schiessbuch.service.SchiessnachweisService;
-import de.suchalla.schiessbuch.service.VereinsmitgliedschaftService;
+import de.suchalla.schiessbuch.service.DashboardService;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import jakarta.annotation.security.PermitAll;
 
-import java.util.List;
-
 /**
  * Dashboard-View als Startseite.
  */
@@ -32,18 +26,12 @@ import java.util.List;
 public class DashboardView extends VerticalLayout {
 
     private final SecurityService securityService;
-    private final SchiessnachweisService schiessnachweisService;
-    private final VereinsmitgliedschaftService vereinsmitgliedschaftService;
-    private final DisziplinService disziplinService;
+    private final DashboardService dashboardService;
 
     public DashboardView(SecurityService securityService,
-                         SchiessnachweisService schiessnachweisService,
-                         VereinsmitgliedschaftService vereinsmitgliedschaftService,
-                         DisziplinService disziplinService) {
+                         DashboardService dashboardService) {
         this.securityService = securityService;
-        this.schiessnachweisService = schiessnachweisService;
-        this.vereinsmitgliedschaftService = vereinsmitgliedschaftService;
-        this.disziplinService = disziplinService;
+        this.dashboardService = dashboardService;
 
         setSpacing(false);
         setPadding(false);
@@ -61,7 +49,7 @@ public class DashboardView extends VerticalLayout {
      * Erstellt den Dashboard-Inhalt.
      */
     private void createContent() {
-        Benutzer currentUser = securityService.getAuthenticatedUser();
+        AngemeldeterBenutzer currentUser = securityService.getAngemeldeterBenutzer();
 
         if (currentUser == null) {
             createGuestContent();
@@ -70,7 +58,7 @@ public class DashboardView extends VerticalLayout {
 
         VerticalLayout contentWrapper = ViewComponentHelper.createContentWrapper();
 
-        Div header = ViewComponentHelper.createGradientHeader("Willkommen zurück, " + currentUser.getVorname() + "!");
+        Div header = ViewComponentHelper.createGradientHeader("Willkommen zurück, " + currentUser.vorname() + "!");
         header.getStyle().set("margin-bottom", "var(--lumo-space-l)");
         header.setWidthFull();
         contentWrapper.add(header);
@@ -104,40 +92,26 @@ public class DashboardView extends VerticalLayout {
     }
 
 
-    private Div createStatsGrid(Benutzer user) {
+    private Div createStatsGrid(AngemeldeterBenutzer user) {
         Div grid = new Div();
         grid.addClassName("stats-grid");
 
         try {
-            long unsignierteEintraege = schiessnachweisService.zaehleUnsignierteEintraege(user);
-
-            long offeneEintraege = 0;
-            long beitrittsanfragen = 0;
-            if (user.getRolle() == BenutzerRolle.AUFSEHER || user.getRolle() == BenutzerRolle.SCHIESSSTAND_AUFSEHER || user.getRolle() == BenutzerRolle.VEREINS_CHEF || user.getRolle() == BenutzerRolle.ADMIN) {
-                Verein verein = user.getVereinsmitgliedschaften().stream()
-                    .filter(m -> (Boolean.TRUE.equals(m.getIstAufseher()) || Boolean.TRUE.equals(m.getIstVereinschef())) && m.getVerein() != null)
-                    .map(Vereinsmitgliedschaft::getVerein)
-                    .findFirst()
-                    .orElse(null);
-                if (verein != null) {
-                    List<Schiesstand> schiesstaende = disziplinService.findeSchiesstaendeVonVerein(verein);
-                    offeneEintraege = schiesstaende.stream()
-                        .mapToLong(schiesstand -> schiessnachweisService.findeUnsignierteEintraege(schiesstand).size())
-                        .sum();
-                    beitrittsanfragen = vereinsmitgliedschaftService.findeBeitrittsanfragen(verein).size();
-                }
-            }
+            DashboardStatistik statistik = dashboardService.ermittleStatistik(user);
+            long unsignierteEintraege = statistik.unsignierteEintraege();
+            long offeneEintraege = statistik.offeneEintraege();
+            long beitrittsanfragen = statistik.beitrittsanfragen();
 
-            if (user.getRolle() == BenutzerRolle.AUFSEHER || user.getRolle() == BenutzerRolle.SCHIESSSTAND_AUFSEHER) {
+            if (user.rolle() == BenutzerRolle.AUFSEHER || user.rolle() == BenutzerRolle.SCHIESSSTAND_AUFSEHER) {
                 grid.add(
                         createStatCard("Meine unsignierten Einträge", String.valueOf(unsignierteEintraege),
                                 VaadinIcon.EDIT, "var(--lumo-warning-color)", "meine-eintraege"),
                         createStatCard("Einträge zum Signieren", String.valueOf(offeneEintraege),
                                 VaadinIcon.CLIPBOARD_CHECK, "var(--lumo-error-color)", "eintraege-verwaltung?tab=unsigniert"),
-                        createStatCard("Rolle", getRollenText(user.getRolle()),
+                        createStatCard("Rolle", getRollenText(user.rolle()),
                                 VaadinIcon.USER_STAR, "var(--lumo-success-color)", null)
                 );
-            } else if (user.getRolle() == BenutzerRolle.VEREINS_CHEF) {
+            } else if (user.rolle() == BenutzerRolle.VEREINS_CHEF) {
                 grid.add(
                         createStatCard("Meine unsignierten Einträge", String.valueOf(unsignierteEintraege),
                                 VaadinIcon.EDIT, "var(--lumo-warning-color)", "meine-eintraege"),
@@ -145,20 +119,20 @@ public class DashboardView extends VerticalLayout {
                                 VaadinIcon.CLIPBOARD_CHECK, "var(--lumo-error-color)", "eintraege-verwaltung?tab=unsigniert"),
                         createStatCard("Beitrittsanfragen", String.valueOf(beitrittsanfragen),
                                 VaadinIcon.USERS, "var(--lumo-primary-color)", "mitgliedsverwaltung"),
-                        createStatCard("Rolle", getRollenText(user.getRolle()),
+                        createStatCard("Rolle", getRollenText(user.rolle()),
                                 VaadinIcon.USER_STAR, "var(--lumo-success-color)", null)
                 );
             } else {
                 grid.add(
                         createStatCard("Unsignierte Einträge", String.valueOf(unsignierteEintraege),
                                 VaadinIcon.EDIT, "var(--lumo-warning-color)", "meine-eintraege"),
-                        createStatCard("Rolle", getRollenText(user.getRolle()),
+                        createStatCard("Rolle", getRollenText(user.rolle()),
                                 VaadinIcon.USER_STAR, "var(--lumo-success-color)", null)
                 );
             }
         } catch (Exception e) {
             grid.add(
-                createStatCard("Rolle", getRollenText(user.getRolle()),
+                createStatCard("Rolle", getRollenText(user.rolle()),
                         VaadinIcon.USER_STAR, "var(--lumo-success-color)", null)
             );
         }
@@ -218,7 +192,7 @@ public class DashboardView extends VerticalLayout {
         return card;
     }
 
-    private Div createQuickActions(Benutzer user) {
+    private Div createQuickActions(AngemeldeterBenutzer user) {
         Div outerContainer = new Div();
         outerContainer.setWidthFull();
         outerContainer.getStyle()
@@ -248,13 +222,13 @@ public class DashboardView extends VerticalLayout {
                 createActionButton("Profil", VaadinIcon.USER, "profil")
         );
 
-        if (user.getRolle() == BenutzerRolle.VEREINS_CHEF) {
+        if (user.rolle() == BenutzerRolle.VEREINS_CHEF) {
                         actionsGrid.add(createActionButton("Alle Mitglieder", VaadinIcon.USERS, "mitgliedsverwaltung"));
                         actionsGrid.add(createActionButton("Beitrittsanfragen", VaadinIcon.USER_CHECK, "mitgliedsverwaltung?tab=beantragt"));
                         actionsGrid.add(createActionButton("Eintragsverwaltung", VaadinIcon.RECORDS, "eintraege-verwaltung"));
         }
 
-        if (user.getRolle() == BenutzerRolle.AUFSEHER || user.getRolle() == BenutzerRolle.SCHIESSSTAND_AUFSEHER) {
+        if (user.rolle() == BenutzerRolle.AUFSEHER || user.rolle() == BenutzerRolle.SCHIESSSTAND_AUFSEHER) {
             actionsGrid.add(createActionButton("Eintragsverwaltung", VaadinIcon.RECORDS, "eintraege-verwaltung"));
         }
 
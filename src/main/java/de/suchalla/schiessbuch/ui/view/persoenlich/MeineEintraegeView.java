@@ -16,25 +16,32 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.tabs.Tab;
 import com.vaadin.flow.component.tabs.Tabs;
+import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.StreamResource;
-import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.config.AsyncKonfiguration;
+import de.suchalla.schiessbuch.config.BegrenzterExecutor;
+import de.suchalla.schiessbuch.model.dto.EintragFilter;
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.security.SecurityService;
 import de.suchalla.schiessbuch.service.PdfExportService;
 import de.suchalla.schiessbuch.service.SchiessnachweisService;
+import de.suchalla.schiessbuch.ui.component.KeysetPaginator;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import de.suchalla.schiessbuch.service.VereinService;
 import de.suchalla.schiessbuch.service.VerbandService;
 import de.suchalla.schiessbuch.model.entity.Verband;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
 import jakarta.annotation.security.PermitAll;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.EnumSet;
 import java.util.Set;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -51,17 +58,21 @@ import java.util.TreeSet;
 @PermitAll
 public class MeineEintraegeView extends VerticalLayout {
 
+    /** Sortierschlüssel der Datumsspalte, der einzigen sortierbaren Spalte. */
+    private static final String SORTIERUNG_DATUM = "datum";
+
     private final SchiessnachweisService schiessnachweisService;
     private final PdfExportService pdfExportService;
+    private final BegrenzterExecutor pdfExecutor;
     private final VereinService vereinService;
         private final VerbandService verbandService;
 
-    private final Grid<SchiessnachweisEintrag> grid = new Grid<>(SchiessnachweisEintrag.class, false);
+    private final Grid<SchiessnachweisEintragListDTO> grid = new Grid<>(SchiessnachweisEintragListDTO.class, false);
+    private final KeysetPaginator<SchiessnachweisEintragListDTO> paginator = new KeysetPaginator<>();
         private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private final DatePicker vonDatum = new DatePicker("Von");
     private final DatePicker bisDatum = new DatePicker("Bis");
-    private Div emptyStateMessage;
-    private final Benutzer currentUser;
+    private final AngemeldeterBenutzer currentUser;
     private Tab alleTab;
     private Tab unsigniertAbgelehntTab;
     private Tab signiertTab;
@@ -69,18 +80,20 @@ public class MeineEintraegeView extends VerticalLayout {
     private ComboBox<String> vereinFilter;
         private ComboBox<String> disziplinFilter;
         private ComboBox<String> verbandFilter;
-        private com.vaadin.flow.component.grid.Grid.Column<SchiessnachweisEintrag> actionsColumn;
+        private com.vaadin.flow.component.grid.Grid.Column<SchiessnachweisEintragListDTO> actionsColumn;
 
         public MeineEintraegeView(SecurityService securityService,
                                                           SchiessnachweisService schiessnachweisService,
                                                           PdfExportService pdfExportService,
+                                                          @Qualifier(AsyncKonfiguration.PDF) BegrenzterExecutor pdfExecutor,
                                                           VereinService vereinService,
                                                           VerbandService verbandService) {
         this.schiessnachweisService = schiessnachweisService;
         this.pdfExportService = pdfExportService;
+        this.pdfExecutor = pdfExecutor;
         this.vereinService = vereinService;
                 this.verbandService = verbandService;
-        this.currentUser = securityService.getAuthenticatedUser();
+        this.currentUser = securityService.getAngemeldeterBenutzer();
 
         setSpacing(false);
         setPadding(false);
@@ -208,61 +221,41 @@ public class MeineEintraegeView extends VerticalLayout {
         grid.getStyle()
                 .set("flex", "1 1 auto")
                 .set("min-height", "0");
-        grid.addColumn(dto -> dto.getDatum() == null ? "" : dateFormatter.format(dto.getDatum()))
+        // Sortierbar ist nur das Datum: Die Einträge werden per Keyset-Pagination über den Index
+        // (schuetze_id, datum, id) geladen; eine Sortierung nach anderen Spalten hätte keinen passenden
+        // Index und müsste wieder alle Einträge lesen. Standard ist neueste zuerst.
+        grid.addColumn(dto -> dto.datum() == null ? "" : dateFormatter.format(dto.datum()))
                 .setHeader("Datum")
                 .setSortable(true)
-                .setComparator((e1, e2) -> {
-                    if (e1.getDatum() == null && e2.getDatum() == null) return 0;
-                    if (e1.getDatum() == null) return 1;
-                    if (e2.getDatum() == null) return -1;
-                    return e1.getDatum().compareTo(e2.getDatum());
-                });
-
-        grid.addColumn(eintrag -> {
-                    if (eintrag.getDisziplin() == null) return "-";
-                    String label = eintrag.getDisziplin().getKennziffer();
-                    if (eintrag.getDisziplin().getProgramm() != null && !eintrag.getDisziplin().getProgramm().isEmpty()) {
-                        label += " - " + eintrag.getDisziplin().getProgramm();
-                    }
-                    if (eintrag.getDisziplin().getWaffeKlasse() != null && !eintrag.getDisziplin().getWaffeKlasse().isEmpty()) {
-                        label += " - " + eintrag.getDisziplin().getWaffeKlasse();
-                    }
-                    return label;
-                })
-                .setHeader("Disziplin")
-                .setSortable(true);
+                .setSortProperty(SORTIERUNG_DATUM);
+        grid.addSortListener(e -> paginator.reset());
+
+        grid.addColumn(SchiessnachweisEintragListDTO::disziplinBezeichnung)
+                .setHeader("Disziplin");
 
         // Vereinsspalte anzeigen (direkt aus DTO)
-        grid.addColumn(eintrag -> eintrag.getSchiesstand() != null && eintrag.getSchiesstand().getVerein() != null
-                ? eintrag.getSchiesstand().getVerein().getName()
-                : "-")
-                .setHeader("Verein")
-                .setSortable(true);
-
-        grid.addColumn(SchiessnachweisEintrag::getKaliber)
-                .setHeader("Kaliber")
-                .setSortable(true);
+        grid.addColumn(eintrag -> eintrag.vereinName() != null ? eintrag.vereinName() : "-")
+                .setHeader("Verein");
+
+        grid.addColumn(SchiessnachweisEintragListDTO::kaliber)
+                .setHeader("Kaliber");
                 
-        grid.addColumn(SchiessnachweisEintrag::getWaffenart)
-                .setHeader("Waffenart")
-                .setSortable(true);
+        grid.addColumn(SchiessnachweisEintragListDTO::waffenart)
+                .setHeader("Waffenart");
                 
-        grid.addColumn(SchiessnachweisEintrag::getAnzahlSchuesse)
+        grid.addColumn(SchiessnachweisEintragListDTO::anzahlSchuesse)
                 .setHeader("Schüsse")
-                .setTextAlign(ColumnTextAlign.END)
-                .setSortable(true);
+                .setTextAlign(ColumnTextAlign.END);
 
-        grid.addColumn(SchiessnachweisEintrag::getErgebnis)
+        grid.addColumn(SchiessnachweisEintragListDTO::ergebnis)
                 .setHeader("Ergebnis")
-                .setTextAlign(ColumnTextAlign.END)
-                .setSortable(true);
+                .setTextAlign(ColumnTextAlign.END);
 
         grid.addComponentColumn(this::createStatusBadge)
                 .setHeader("Status");
 
-        grid.addColumn(eintrag -> eintrag.getAufseher() != null ? eintrag.getAufseher().getVollstaendigerName() : "-")
-                .setHeader("Aufseher")
-                .setSortable(true);
+        grid.addColumn(eintrag -> eintrag.aufseherName() != null ? eintrag.aufseherName() : "-")
+                .setHeader("Aufseher");
 
         actionsColumn = grid.addComponentColumn(this::createActionButtons)
                 .setHeader("Aktionen");
@@ -276,13 +269,14 @@ public class MeineEintraegeView extends VerticalLayout {
         );
 
         // Empty State Message erstellen
-        emptyStateMessage = ViewComponentHelper.createEmptyStateMessage(
+        Div emptyStateMessage = ViewComponentHelper.createEmptyStateMessage(
                 "Keine Einträge im ausgewählten Zeitraum gefunden. Erstellen Sie einen neuen Eintrag über den Button oben.",
                 VaadinIcon.BOOK
         );
-        emptyStateMessage.setVisible(false);
+        // Das Grid zeigt die Meldung selbst, sobald die erste Seite leer ist
+        grid.setEmptyStateComponent(emptyStateMessage);
 
-        gridContainer.add(grid, emptyStateMessage);
+        gridContainer.add(grid);
         contentWrapper.add(gridContainer);
         contentWrapper.expand(gridContainer);
         add(contentWrapper);
@@ -298,15 +292,15 @@ public class MeineEintraegeView extends VerticalLayout {
      * @param eintrag Der Eintrag (DTO)
      * @return Layout mit Buttons
      */
-    private HorizontalLayout createActionButtons(SchiessnachweisEintrag eintrag) {
+    private HorizontalLayout createActionButtons(SchiessnachweisEintragListDTO eintrag) {
         HorizontalLayout layout = new HorizontalLayout();
         layout.setSpacing(true);
                 Button deleteButton = new Button("Löschen", new com.vaadin.flow.component.icon.Icon(com.vaadin.flow.component.icon.VaadinIcon.TRASH));
                 deleteButton.addThemeVariants(ButtonVariant.LUMO_ERROR, ButtonVariant.LUMO_SMALL);
 
                 // Zeige Löschen-Button nur wenn Eintrag NICHT signiert ist
-                if (!(eintrag.getStatus() != null && eintrag.getStatus() == de.suchalla.schiessbuch.model.enums.EintragStatus.SIGNIERT)) {
-                        deleteButton.addClickListener(e -> deleteEintrag(eintrag.getId()));
+                if (!(eintrag.status() != null && eintrag.status() == de.suchalla.schiessbuch.model.enums.EintragStatus.SIGNIERT)) {
+                        deleteButton.addClickListener(e -> deleteEintrag(eintrag.id()));
                         layout.add(deleteButton);
                 }
 
@@ -330,87 +324,56 @@ public class MeineEintraegeView extends VerticalLayout {
     }
 
     /**
-     * Aktualisiert das Grid mit Einträgen (jetzt mit DTOs).
+     * Aktualisiert das Grid mit Einträgen.
+     * Die Einträge werden seitenweise per Keyset-Pagination nachgeladen; alle Filter
+     * werden in der Datenbank ausgewertet. Ob die Liste leer ist, ergibt sich aus der ersten Seite.
      */
     private void updateGrid() {
         if (currentUser != null) {
-            LocalDate von = vonDatum.getValue();
-            LocalDate bis = bisDatum.getValue();
-            List<SchiessnachweisEintrag> eintraege;
-            if (von != null && bis != null) {
-                eintraege = schiessnachweisService.findeEintraegeImZeitraum(currentUser, von, bis);
-            } else {
-                eintraege = schiessnachweisService.findeEintraegeFuerSchuetze(currentUser);
-            }
-
-            // Tab-Filter anwenden
-            if (aktuellerTab == signiertTab) {
-                eintraege = eintraege.stream()
-                        .filter(e -> e.getStatus() == de.suchalla.schiessbuch.model.enums.EintragStatus.SIGNIERT)
-                        .toList();
-            } else if (aktuellerTab == unsigniertAbgelehntTab) {
-                eintraege = eintraege.stream()
-                        .filter(e -> e.getStatus() == de.suchalla.schiessbuch.model.enums.EintragStatus.UNSIGNIERT
-                                || e.getStatus() == de.suchalla.schiessbuch.model.enums.EintragStatus.ABGELEHNT
-                                || e.getStatus() == de.suchalla.schiessbuch.model.enums.EintragStatus.OFFEN)
-                        .toList();
-            }
-            // Bei 'Alle' keine Statusfilterung
-
-                        // Disziplinfilter anwenden (direkt über DTO-Felder)
-                        String disziplinFilterValue = disziplinFilter.getValue();
-                        if (disziplinFilterValue != null && !disziplinFilterValue.isEmpty()) {
-                                eintraege = eintraege.stream()
-                                                .filter(e -> e.getDisziplin() != null &&
-                                                             e.getDisziplin().getProgramm() != null &&
-                                                             e.getDisziplin().getProgramm().equals(disziplinFilterValue))
-                                                .toList();
-                        }
-
-                        // Vereinsfilter anwenden
-                        String vereinFilterValue = vereinFilter.getValue();
-                        if (vereinFilterValue != null && !vereinFilterValue.isEmpty()) {
-                                eintraege = eintraege.stream()
-                                                .filter(e -> e.getSchiesstand() != null &&
-                                                             e.getSchiesstand().getVerein() != null &&
-                                                             e.getSchiesstand().getVerein().getName().equals(vereinFilterValue))
-                                                .toList();
-                        }
-
-                        // Verband-Filter anwenden: finde Vereine des ausgewählten Verbands und filtere nach vereinId
-                        String verbandFilterValue = verbandFilter.getValue();
-                        if (verbandFilterValue != null && !verbandFilterValue.isEmpty()) {
-                                Verband selected = verbandService.findeAlleVerbaendeEntities().stream()
-                                                .filter(v -> v.getName() != null && v.getName().equals(verbandFilterValue))
-                                                .findFirst().orElse(null);
-                                if (selected != null) {
-                                        Set<Long> vereinIds = verbandService.findeVereineVonVerband(selected).stream()
-                                                        .map(v -> v.getId())
-                                                        .filter(Objects::nonNull)
-                                                        .collect(Collectors.toSet());
-
-                                        eintraege = eintraege.stream()
-                                                        .filter(e -> e.getSchiesstand() != null &&
-                                                                     e.getSchiesstand().getVerein() != null &&
-                                                                     vereinIds.contains(e.getSchiesstand().getVerein().getId()))
-                                                        .toList();
-                                } else {
-                                        eintraege = List.of();
-                                }
-                        }
-
-            grid.setItems(eintraege);
+            EintragFilter filter = createFilter();
+            paginator.reset();
+            grid.setItems(query -> {
+                boolean aufsteigend = query.getSortOrders().stream()
+                        .anyMatch(o -> SORTIERUNG_DATUM.equals(o.getSorted()) && o.getDirection() == SortDirection.ASCENDING);
+                return paginator.fetch(query.getOffset(), query.getLimit(),
+                        (nach, limit) -> schiessnachweisService.findeEintraegeSeite(currentUser.id(), filter, nach, aufsteigend, limit));
+            });
 
                         // Aktionen-Spalte im Signiert-Tab ausblenden
                         if (actionsColumn != null) {
                                 actionsColumn.setVisible(!(aktuellerTab == signiertTab));
                         }
+        }
+    }
 
-            // Zeige/Verstecke Empty State Message
-            boolean isEmpty = eintraege.isEmpty();
-            grid.setVisible(!isEmpty);
-            emptyStateMessage.setVisible(isEmpty);
+    /**
+     * Erstellt die Filterkriterien aus Tab-Auswahl und Filterfeldern.
+     *
+     * @return Filterkriterien
+     */
+    private EintragFilter createFilter() {
+        Set<EintragStatus> status;
+        if (aktuellerTab == signiertTab) {
+            status = EnumSet.of(EintragStatus.SIGNIERT);
+        } else if (aktuellerTab == unsigniertAbgelehntTab) {
+            status = EnumSet.of(EintragStatus.UNSIGNIERT, EintragStatus.ABGELEHNT, EintragStatus.OFFEN);
+        } else {
+            // Bei 'Alle' keine Statusfilterung
+            status = EnumSet.allOf(EintragStatus.class);
         }
+
+        LocalDate von = vonDatum.getValue();
+        LocalDate bis = bisDatum.getValue();
+        boolean zeitraum = von != null && bis != null;
+
+        return EintragFilter.builder()
+                .von(zeitraum ? von : null)
+                .bis(zeitraum ? bis : null)
+                .status(status)
+                .disziplinProgramm(disziplinFilter.getValue())
+                .vereinName(vereinFilter.getValue())
+                .verbandName(verbandFilter.getValue())
+                .build();
     }
 
     /**
@@ -427,10 +390,7 @@ public class MeineEintraegeView extends VerticalLayout {
         // Disziplinnamen aus vorhandenen Einträgen laden (zeigt alle, wenn leer)
         Set<String> disziplinNames = new TreeSet<>();
         if (currentUser != null) {
-            disziplinNames = schiessnachweisService.findeEintraegeFuerSchuetze(currentUser).stream()
-                    .map(eintrag -> eintrag.getDisziplin() != null ? eintrag.getDisziplin().getProgramm() : "-")
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toCollection(TreeSet::new));
+            disziplinNames.addAll(schiessnachweisService.findeDisziplinProgrammeVonSchuetze(currentUser.id()));
         }
         disziplinFilter.setItems(disziplinNames);
         // Verbandnamen ebenfalls laden (anfangs leer -> zeigt alle)
@@ -454,17 +414,17 @@ public class MeineEintraegeView extends VerticalLayout {
                 LocalDate vonEff = von != null ? von : LocalDate.now().minusMonths(3);
                 LocalDate bisEff = bis != null ? bis : LocalDate.now();
 
-                List<SchiessnachweisEintrag> eintraege = schiessnachweisService
-                        .findeSignierteEintraegeImZeitraum(currentUser, vonEff, bisEff);
-
                 de.suchalla.schiessbuch.model.dto.BenutzerDTO schuetzeDTO = de.suchalla.schiessbuch.model.dto.BenutzerDTO.builder()
-                        .id(currentUser.getId())
-                        .vorname(currentUser.getVorname())
-                        .nachname(currentUser.getNachname())
-                        .email(currentUser.getEmail())
+                        .id(currentUser.id())
+                        .vorname(currentUser.vorname())
+                        .nachname(currentUser.nachname())
+                        .email(currentUser.email())
                         .build();
 
-                byte[] pdfBytes = pdfExportService.exportiereSchiessnachweise(schuetzeDTO, eintraege, vonEff, bisEff);
+                // Einträge werden innerhalb der Export-Transaktion gestreamt statt vorab als Liste geladen
+                byte[] pdfBytes = pdfExecutor.fuehreAusUndWarte(() -> pdfExportService.exportiereSchiessnachweise(schuetzeDTO,
+                        () -> schiessnachweisService.streameSignierteEintraegeImZeitraum(currentUser.id(), vonEff, bisEff),
+                        vonEff, bisEff));
                 return new ByteArrayInputStream(pdfBytes);
             } catch (Exception e) {
                 Notification.show("Fehler beim PDF-Export: " + e.getMessage())
@@ -477,7 +437,7 @@ public class MeineEintraegeView extends VerticalLayout {
     /**
      * Erstellt ein farbiges Status-Badge (jetzt mit DTO).
      */
-    private Span createStatusBadge(SchiessnachweisEintrag eintrag) {
+    private Span createStatusBadge(SchiessnachweisEintragListDTO eintrag) {
         Span badge = new Span();
         badge.getStyle()
                 .set("padding", "4px 12px")
@@ -486,7 +446,7 @@ public class MeineEintraegeView extends VerticalLayout {
                 .set("font-size", "12px")
                 .set("display", "inline-block");
 
-        switch (eintrag.getStatus()) {
+        switch (eintrag.status()) {
             case OFFEN, UNSIGNIERT -> {
                 badge.setText("Unsigniert");
                 badge.getStyle()
@@ -19,7 +19,7 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
 import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
@@ -53,7 +53,7 @@ public class MeineVereineView extends VerticalLayout {
 
     private final Grid<Vereinsmitgliedschaft> grid = new Grid<>(Vereinsmitgliedschaft.class, false);
 
-    private final Benutzer currentUser;
+    private final AngemeldeterBenutzer currentUser;
     private Div emptyStateMessage;
 
     public MeineVereineView(SecurityService securityService,
@@ -62,7 +62,7 @@ public class MeineVereineView extends VerticalLayout {
         this.mitgliedschaftService = mitgliedschaftService;
         this.verbandService = verbandService;
 
-        this.currentUser = securityService.getAuthenticatedUser();
+        this.currentUser = securityService.getAngemeldeterBenutzer();
 
         setSpacing(false);
         setPadding(false);
@@ -311,7 +311,7 @@ public class MeineVereineView extends VerticalLayout {
 
                 Button join = new Button("Beitreten", e -> {
                     try {
-                        mitgliedschaftService.vereinBeitreten(currentUser, v);
+                        mitgliedschaftService.vereinBeitreten(currentUser.id(), v);
                         Notification.show("Beitrittsanfrage wurde gesendet").addThemeVariants(NotificationVariant.LUMO_SUCCESS);
                         updateGrid();
                         dialog.close();
@@ -414,7 +414,7 @@ public class MeineVereineView extends VerticalLayout {
     private void updateGrid() {
         if (currentUser != null) {
                 List<Vereinsmitgliedschaft> mitgliedschaften =
-                    mitgliedschaftService.findeAlleMitgliedschaftenVonBenutzerEntities(currentUser);
+                    mitgliedschaftService.findeAlleMitgliedschaftenVonBenutzerEntities(currentUser.id());
             grid.setItems(mitgliedschaften);
 
             // Zeige/Verstecke Empty State Message
@@ -17,7 +17,7 @@ import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.model.entity.Disziplin;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
@@ -27,7 +27,6 @@ import de.suchalla.schiessbuch.security.SecurityService;
 import de.suchalla.schiessbuch.service.DisziplinService;
 import de.suchalla.schiessbuch.service.SchiessnachweisService;
 import de.suchalla.schiessbuch.service.VereinsmitgliedschaftService;
-import de.suchalla.schiessbuch.service.EmailService;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
 import de.suchalla.schiessbuch.ui.view.MainLayout;
 import lombok.extern.slf4j.Slf4j;
@@ -52,7 +51,6 @@ public class NeuerEintragView extends VerticalLayout {
     private final SchiessnachweisService schiessnachweisService;
     private final DisziplinService disziplinService;
     private final VereinsmitgliedschaftService vereinsmitgliedschaftService;
-    private final EmailService notificationService;
 
     private final DatePicker datum = new DatePicker("Datum");
     private final ComboBox<Schiesstand> schiesstand = new ComboBox<>("Schießstand");
@@ -64,19 +62,17 @@ public class NeuerEintragView extends VerticalLayout {
     private final TextArea bemerkung = new TextArea("Bemerkung");
     private final TextField ergebnis = new TextField("Ergebnis");
 
-    private final Benutzer currentUser;
+    private final AngemeldeterBenutzer currentUser;
 
     public NeuerEintragView(SchiessnachweisService schiessnachweisService,
                             DisziplinService disziplinService,
                             VereinsmitgliedschaftService vereinsmitgliedschaftService,
-                            SecurityService securityService,
-                            EmailService notificationService) {
+                            SecurityService securityService) {
         this.schiessnachweisService = schiessnachweisService;
         this.disziplinService = disziplinService;
         this.vereinsmitgliedschaftService = vereinsmitgliedschaftService;
-        this.notificationService = notificationService;
 
-        this.currentUser = securityService.getAuthenticatedUser();
+        this.currentUser = securityService.getAngemeldeterBenutzer();
 
         setSpacing(false);
         setPadding(false);
@@ -203,7 +199,7 @@ public class NeuerEintragView extends VerticalLayout {
             return List.of();
         }
 
-        return vereinsmitgliedschaftService.findeVerbaendeVonBenutzerEntities(currentUser);
+        return vereinsmitgliedschaftService.findeVerbaendeVonBenutzerEntities(currentUser.id());
     }
 
     /**
@@ -248,7 +244,6 @@ public class NeuerEintragView extends VerticalLayout {
 
         try {
             SchiessnachweisEintrag eintrag = SchiessnachweisEintrag.builder()
-                    .schuetze(currentUser)
                     .datum(datum.getValue())
                     .disziplin(disziplin.getValue())
                     .kaliber(kaliber.getValue())
@@ -259,14 +254,8 @@ public class NeuerEintragView extends VerticalLayout {
                     .bemerkung(bemerkung.getValue())
                     .build();
 
-            schiessnachweisService.erstelleEintrag(eintrag);
-
-            // Benachrichtigung: Informiere Vereinschefs/Aufseher über neuen Eintrag zur Signatur
-            try {
-                notificationService.notifySignatureRequest(eintrag);
-            } catch (Exception nEx) {
-                log.warn("Fehler beim Senden der Signatur-Benachrichtigung: {}", nEx.getMessage());
-            }
+            // Vereinschefs/Aufseher werden in derselben Transaktion benachrichtigt (EintragErstelltEvent)
+            schiessnachweisService.erstelleEintrag(eintrag, currentUser.id());
 
             Notification.show("Eintrag erfolgreich erstellt")
                     .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
@@ -16,7 +16,9 @@ import com.vaadin.flow.component.textfield.PasswordField;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus;
 import de.suchalla.schiessbuch.security.SecurityService;
 import de.suchalla.schiessbuch.service.BenutzerService;
 import de.suchalla.schiessbuch.ui.component.ViewComponentHelper;
@@ -54,7 +56,9 @@ public class ProfilView extends VerticalLayout {
     public ProfilView(SecurityService securityService, BenutzerService benutzerService) {
         this.securityService = securityService;
         this.benutzerService = benutzerService;
-        this.currentUser = securityService.getAuthenticatedUser();
+        // Nur hier werden Einstellungen des Benutzers bearbeitet; ohne Mitgliedschaften per ID laden
+        AngemeldeterBenutzer angemeldet = securityService.getAngemeldeterBenutzer();
+        this.currentUser = angemeldet != null ? benutzerService.findeBenutzer(angemeldet.id()) : null;
 
         setSpacing(false);
         setPadding(false);
@@ -202,7 +206,7 @@ public class ProfilView extends VerticalLayout {
                     return;
                 }
                 // Lade Benutzer neu aus DB, um Detached-State-Fehler zu vermeiden
-                Benutzer benutzerToUpdate = benutzerService.findeBenutzerByEmailWithMitgliedschaften(currentUser.getEmail());
+                Benutzer benutzerToUpdate = benutzerService.findeBenutzer(currentUser.getId());
                 if (benutzerToUpdate == null) {
                     Notification.show("Benutzer nicht gefunden")
                             .addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -303,7 +307,7 @@ public class ProfilView extends VerticalLayout {
                     return;
                 }
                 // Lade Benutzer neu aus DB, um Detached-State-Fehler zu vermeiden
-                Benutzer benutzerToUpdate = benutzerService.findeBenutzerByEmailWithMitgliedschaften(currentUser.getEmail());
+                Benutzer benutzerToUpdate = benutzerService.findeBenutzer(currentUser.getId());
                 if (benutzerToUpdate == null) {
                     Notification.show("Benutzer nicht gefunden")
                             .addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -360,20 +364,27 @@ public class ProfilView extends VerticalLayout {
             cbEmailNotifications.setValue(Boolean.TRUE.equals(currentUser.isEmailNotificationsEnabled()));
         } catch (Exception ignored) { cbEmailNotifications.setValue(true); }
 
-        notifContent.add(notifIcon, cbEmailNotifications);
+        Checkbox cbZusammenfassung = new Checkbox("Signaturanfragen gesammelt erhalten");
+        cbZusammenfassung.setTooltipText("Vereinschefs und Aufseher erhalten statt einer E-Mail je Eintrag eine Zusammenfassung");
+        cbZusammenfassung.setValue(currentUser.getBenachrichtigungsModus() == BenachrichtigungsModus.ZUSAMMENFASSUNG);
+
+        notifContent.add(notifIcon, cbEmailNotifications, cbZusammenfassung);
 
         Button savePrefs = new Button("Einstellung speichern", e -> {
             // Lade Benutzer neu aus DB, um Detached-State-Fehler zu vermeiden
-            Benutzer benutzerToUpdate = benutzerService.findeBenutzerByEmailWithMitgliedschaften(currentUser.getEmail());
+            Benutzer benutzerToUpdate = benutzerService.findeBenutzer(currentUser.getId());
             if (benutzerToUpdate == null) {
                 Notification.show("Benutzer nicht gefunden").addThemeVariants(NotificationVariant.LUMO_ERROR);
                 return;
             }
             benutzerToUpdate.setEmailNotificationsEnabled(cbEmailNotifications.getValue());
+            benutzerToUpdate.setBenachrichtigungsModus(Boolean.TRUE.equals(cbZusammenfassung.getValue())
+                    ? BenachrichtigungsModus.ZUSAMMENFASSUNG : BenachrichtigungsModus.SOFORT);
             try {
                 benutzerService.aktualisiereBenutzer(benutzerToUpdate);
                 // Aktualisiere auch das lokale currentUser-Objekt
                 currentUser.setEmailNotificationsEnabled(benutzerToUpdate.isEmailNotificationsEnabled());
+                currentUser.setBenachrichtigungsModus(benutzerToUpdate.getBenachrichtigungsModus());
                 Notification.show("Einstellungen gespeichert").addThemeVariants(NotificationVariant.LUMO_SUCCESS);
             } catch (Exception ex) {
                 Notification.show("Fehler beim Speichern: " + ex.getMessage()).addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -483,7 +494,7 @@ public class ProfilView extends VerticalLayout {
             passwortBestaetigenField.clear();
             // Nach Passwortänderung Authentication aktualisieren, damit Session gültig bleibt
             try {
-                Benutzer updated = benutzerService.findeBenutzerByEmailWithMitgliedschaften(currentUser.getEmail());
+                Benutzer updated = benutzerService.findeBenutzer(currentUser.getId());
                 if (updated != null) {
                     securityService.refreshAuthentication(updated);
                     // Synchronisiere das lokale currentUser-Objekt
@@ -508,7 +519,7 @@ public class ProfilView extends VerticalLayout {
         dialog.setConfirmButtonTheme("error primary");
         dialog.addConfirmListener(event -> {
             try {
-                benutzerService.loescheBenutzer(currentUser);
+                benutzerService.loescheBenutzerById(currentUser.getId());
                 Notification.show("Account wurde gelöscht. Sie werden abgemeldet.")
                         .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
                 securityService.logout();
@@ -0,0 +1,20 @@
+-- Postausgang (EmailVersand): E-Mails werden in derselben Transaktion wie die auslösende Änderung
+-- geschrieben und anschließend blockweise über eine SMTP-Verbindung versendet.
+create sequence email_outbox_seq start with 1 increment by 50;
+
+create table email_outbox (
+    id bigint not null,
+    empfaenger varchar(255) not null,
+    betreff varchar(255) not null,
+    inhalt text not null,
+    status varchar(20) not null check (status in ('OFFEN','GESENDET','FEHLGESCHLAGEN')),
+    versuche integer not null,
+    naechster_versuch timestamp(6) not null,
+    letzter_fehler varchar(1000),
+    erstellt_am timestamp(6) not null,
+    gesendet_am timestamp(6),
+    primary key (id)
+);
+
+-- Fällige Nachrichten (Versand) und gesendete nach der Aufbewahrungsfrist (Aufräumen)
+create index idx_email_outbox_status_faellig on email_outbox (status, naechster_versuch);
@@ -0,0 +1,20 @@
+-- Zustellart der Signaturanfragen je Benutzer (sofort oder als periodische Zusammenfassung)
+alter table benutzer add column benachrichtigungs_modus varchar(20) default 'SOFORT' not null;
+alter table benutzer add constraint benutzer_benachrichtigungs_modus_check
+    check (benachrichtigungs_modus in ('SOFORT','ZUSAMMENFASSUNG'));
+
+-- Vorgemerkte Signaturanfragen für Empfänger im Modus ZUSAMMENFASSUNG (SignaturZusammenfassung)
+create sequence signatur_hinweis_seq start with 1 increment by 50;
+
+create table signatur_hinweis (
+    id bigint not null,
+    empfaenger_id bigint not null,
+    schiesstand_id bigint,
+    schiesstand_name varchar(255),
+    eintrag_id bigint,
+    erstellt_am timestamp(6) not null,
+    primary key (id)
+);
+alter table signatur_hinweis add constraint fk_signatur_hinweis_empfaenger foreign key (empfaenger_id) references benutzer (id);
+
+create index idx_signatur_hinweis_empfaenger on signatur_hinweis (empfaenger_id, erstellt_am);
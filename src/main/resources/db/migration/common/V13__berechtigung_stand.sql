@@ -0,0 +1,2 @@
+-- Fortlaufender Berechtigungsstand je Benutzer; alle Knoten erkennen daran veraltete Sitzungs-Schnappschuesse (SecurityService)
+alter table benutzer add column berechtigung_stand bigint default 0 not null;
@@ -0,0 +1,155 @@
+-- Ausgangsschema des Digitalen Schießbuchs.
+-- Entspricht dem bisher von Hibernate (ddl-auto) erzeugten Schema; bestehende Datenbanken
+-- werden über spring.flyway.baseline-on-migrate auf diese Version gesetzt.
+
+create table benutzer (
+    email_notifications_enabled boolean not null,
+    email_verifiziert boolean not null,
+    aktualisiert_am timestamp(6),
+    erstellt_am timestamp(6) not null,
+    id bigint generated by default as identity,
+    email varchar(255) not null unique,
+    nachname varchar(255) not null,
+    passwort varchar(255) not null,
+    rolle varchar(255) not null check (rolle in ('SCHUETZE','AUFSEHER','SCHIESSSTAND_AUFSEHER','VEREINS_CHEF','ADMIN')),
+    vorname varchar(255) not null,
+    primary key (id)
+);
+
+create table verband (
+    aktualisiert_am timestamp(6),
+    erstellt_am timestamp(6) not null,
+    id bigint generated by default as identity,
+    beschreibung varchar(1000),
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table verein (
+    aktualisiert_am timestamp(6),
+    erstellt_am timestamp(6) not null,
+    id bigint generated by default as identity,
+    beschreibung varchar(1000),
+    adresse varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table verein_verband (
+    verband_id bigint not null,
+    verein_id bigint not null,
+    primary key (verband_id, verein_id)
+);
+
+create table vereinsmitgliedschaft (
+    aktiv boolean not null,
+    austritt_datum date,
+    beitritt_datum date not null,
+    ist_aufseher boolean not null,
+    ist_vereinschef boolean not null,
+    aktualisiert_am timestamp(6),
+    benutzer_id bigint not null,
+    erstellt_am timestamp(6) not null,
+    id bigint generated by default as identity,
+    verein_id bigint not null,
+    ablehnungsgrund varchar(1000),
+    status varchar(255) not null check (status in ('BEANTRAGT','AKTIV','ABGELEHNT','BEENDET','VERLASSEN')),
+    primary key (id)
+);
+
+create table schiesstand (
+    aktualisiert_am timestamp(6),
+    aufseher_id bigint,
+    erstellt_am timestamp(6) not null,
+    id bigint generated by default as identity,
+    verein_id bigint unique,
+    beschreibung varchar(1000),
+    adresse varchar(255),
+    name varchar(255) not null,
+    typ varchar(255) not null check (typ in ('VEREINSGEBUNDEN','GEWERBLICH','SONSTIGES')),
+    primary key (id)
+);
+
+create table disziplin (
+    archiviert boolean not null,
+    aktualisiert_am timestamp(6),
+    erstellt_am timestamp(6) not null,
+    id bigint generated by default as identity,
+    verband_id bigint,
+    kennziffer varchar(255) not null unique,
+    programm varchar(255),
+    waffe_klasse varchar(255),
+    primary key (id)
+);
+
+create table digitales_zertifikat (
+    widerrufen boolean not null,
+    aktualisiert_am timestamp(6),
+    benutzer_id bigint,
+    erstellt_am timestamp(6) not null,
+    gueltig_ab timestamp(6) not null,
+    gueltig_bis timestamp(6),
+    id bigint generated by default as identity,
+    parent_zertifikat_id bigint,
+    schiesstand_id bigint,
+    verein_id bigint,
+    widerrufen_am timestamp(6),
+    widerrufs_grund varchar(1000),
+    issuer_dn varchar(255) not null,
+    private_key_pem text not null,
+    seriennummer varchar(255) not null unique,
+    subject_dn varchar(255) not null,
+    zertifikat_pem text not null,
+    zertifikats_typ varchar(255) not null,
+    primary key (id)
+);
+
+create table schiessnachweise_eintrag (
+    anzahl_schuesse integer,
+    datum date not null,
+    ist_signiert boolean not null,
+    aktualisiert_am timestamp(6),
+    aufseher_id bigint,
+    disziplin_id bigint not null,
+    erstellt_am timestamp(6) not null,
+    id bigint generated by default as identity,
+    schiesstand_id bigint not null,
+    schuetze_id bigint not null,
+    signiert_am timestamp(6),
+    zertifikat_id bigint,
+    digitale_signatur varchar(500),
+    ablehnungsgrund varchar(1000),
+    bemerkung varchar(1000),
+    ergebnis varchar(255),
+    kaliber varchar(255),
+    status varchar(255) not null check (status in ('OFFEN','UNSIGNIERT','SIGNIERT','ABGELEHNT')),
+    waffenart varchar(255),
+    primary key (id)
+);
+
+create table user_token (
+    ablaufdatum timestamp(6) not null,
+    benutzer_id bigint not null,
+    id bigint generated by default as identity,
+    token varchar(255) not null unique,
+    typ varchar(255) not null check (typ in ('VERIFICATION','PASSWORD_RESET')),
+    primary key (id)
+);
+
+alter table verein_verband add constraint fk_verein_verband_verband foreign key (verband_id) references verband (id);
+alter table verein_verband add constraint fk_verein_verband_verein foreign key (verein_id) references verein (id);
+alter table vereinsmitgliedschaft add constraint fk_mitgliedschaft_benutzer foreign key (benutzer_id) references benutzer (id);
+alter table vereinsmitgliedschaft add constraint fk_mitgliedschaft_verein foreign key (verein_id) references verein (id);
+alter table schiesstand add constraint fk_schiesstand_aufseher foreign key (aufseher_id) references benutzer (id);
+alter table schiesstand add constraint fk_schiesstand_verein foreign key (verein_id) references verein (id);
+alter table disziplin add constraint fk_disziplin_verband foreign key (verband_id) references verband (id);
+alter table digitales_zertifikat add constraint fk_zertifikat_benutzer foreign key (benutzer_id) references benutzer (id);
+alter table digitales_zertifikat add constraint fk_zertifikat_parent foreign key (parent_zertifikat_id) references digitales_zertifikat (id);
+alter table digitales_zertifikat add constraint fk_zertifikat_schiesstand foreign key (schiesstand_id) references schiesstand (id);
+alter table digitales_zertifikat add constraint fk_zertifikat_verein foreign key (verein_id) references verein (id);
+alter table schiessnachweise_eintrag add constraint fk_eintrag_aufseher foreign key (aufseher_id) references benutzer (id);
+alter table schiessnachweise_eintrag add constraint fk_eintrag_disziplin foreign key (disziplin_id) references disziplin (id);
+alter table schiessnachweise_eintrag add constraint fk_eintrag_schiesstand foreign key (schiesstand_id) references schiesstand (id);
+alter table schiessnachweise_eintrag add constraint fk_eintrag_schuetze foreign key (schuetze_id) references benutzer (id);
+alter table schiessnachweise_eintrag add constraint fk_eintrag_zertifikat foreign key (zertifikat_id) references digitales_zertifikat (id);
+alter table user_token add constraint fk_user_token_benutzer foreign key (benutzer_id) references benutzer (id);
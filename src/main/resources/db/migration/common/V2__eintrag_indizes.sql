@@ -0,0 +1,17 @@
+-- Indizes auf schiessnachweise_eintrag passend zu den Repository-Abfragen.
+
+-- findSeiteFuerSchuetze (Keyset), findBySchuetzeAndDatumBetween(AndStatus), findListeBySchuetzeImZeitraum
+create index idx_eintrag_schuetze_datum_id on schiessnachweise_eintrag (schuetze_id, datum desc, id desc);
+
+-- countBySchuetzeAndStatus
+create index idx_eintrag_schuetze_status on schiessnachweise_eintrag (schuetze_id, status);
+
+-- findBySchiesstand(AndStatus), findListeBySchiesstand (sortiert nach Datum/ID absteigend)
+create index idx_eintrag_schiesstand_status_datum on schiessnachweise_eintrag (schiesstand_id, status, datum desc, id desc);
+
+-- countByDisziplin, findByDisziplin und Löschen von Disziplinen
+create index idx_eintrag_disziplin on schiessnachweise_eintrag (disziplin_id);
+
+-- Fremdschlüssel-Lookups beim Löschen von Benutzern und Zertifikaten
+create index idx_eintrag_aufseher on schiessnachweise_eintrag (aufseher_id);
+create index idx_eintrag_zertifikat on schiessnachweise_eintrag (zertifikat_id);
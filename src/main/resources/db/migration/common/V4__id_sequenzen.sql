@@ -0,0 +1,12 @@
+-- Sequenzen für die ID-Vergabe (pooled-lo, Schrittweite = allocationSize 50).
+-- Ersetzen IDENTITY-Spalten, damit Hibernate Inserts per JDBC-Batch bündeln kann.
+
+create sequence benutzer_seq start with 1 increment by 50;
+create sequence digitales_zertifikat_seq start with 1 increment by 50;
+create sequence disziplin_seq start with 1 increment by 50;
+create sequence schiessnachweise_eintrag_seq start with 1 increment by 50;
+create sequence schiesstand_seq start with 1 increment by 50;
+create sequence user_token_seq start with 1 increment by 50;
+create sequence verband_seq start with 1 increment by 50;
+create sequence verein_seq start with 1 increment by 50;
+create sequence vereinsmitgliedschaft_seq start with 1 increment by 50;
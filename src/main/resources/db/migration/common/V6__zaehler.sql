@@ -0,0 +1,23 @@
+-- Vorberechnete Zähler für das Dashboard. bezug_id verweist je nach typ auf
+-- schiesstand (OFFENE_SIGNATUREN), verein (OFFENE_BEITRITTSANFRAGEN) oder benutzer (UNSIGNIERTE_EINTRAEGE).
+-- Bewusst ohne Fremdschlüssel: verwaiste Zähler entfernt der Abgleich.
+
+create table zaehler (
+    typ varchar(40) not null check (typ in ('OFFENE_SIGNATUREN','OFFENE_BEITRITTSANFRAGEN','UNSIGNIERTE_EINTRAEGE')),
+    bezug_id bigint not null,
+    anzahl bigint not null,
+    primary key (typ, bezug_id)
+);
+
+-- Startwerte aus dem Bestand
+insert into zaehler (typ, bezug_id, anzahl)
+select 'OFFENE_SIGNATUREN', schiesstand_id, count(*) from schiessnachweise_eintrag
+where status = 'UNSIGNIERT' group by schiesstand_id;
+
+insert into zaehler (typ, bezug_id, anzahl)
+select 'UNSIGNIERTE_EINTRAEGE', schuetze_id, count(*) from schiessnachweise_eintrag
+where status = 'UNSIGNIERT' group by schuetze_id;
+
+insert into zaehler (typ, bezug_id, anzahl)
+select 'OFFENE_BEITRITTSANFRAGEN', verein_id, count(*) from vereinsmitgliedschaft
+where status = 'BEANTRAGT' group by verein_id;
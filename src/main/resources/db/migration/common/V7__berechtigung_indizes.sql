@@ -0,0 +1,7 @@
+-- Indizes für die Berechtigungsprüfung der Aufseher (SchiesstandRepository.findBerechtigteSchiesstaende).
+
+-- Mitgliedschaften eines Benutzers, anschließend Verein für den Join auf schiesstand.verein_id
+create index idx_mitgliedschaft_benutzer_verein on vereinsmitgliedschaft (benutzer_id, verein_id);
+
+-- Schießstände, an denen ein Benutzer direkt als Aufseher eingetragen ist
+create index idx_schiesstand_aufseher on schiesstand (aufseher_id);
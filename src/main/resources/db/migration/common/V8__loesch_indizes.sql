@@ -0,0 +1,14 @@
+-- Indizes für die Massenlöschungen von Verbänden, Vereinen und Schießständen (LoeschService).
+-- PostgreSQL legt für Fremdschlüssel keine Indizes an; ohne sie prüft jede gelöschte Zeile die
+-- referenzierende Tabelle per Full Scan.
+
+-- Disziplinen eines Verbands (Auswahl der Einträge, DELETE der Disziplinen)
+create index idx_disziplin_verband on disziplin (verband_id);
+
+-- Zertifikate eines Vereins bzw. Schießstands und ihre untergeordneten Zertifikate
+create index idx_zertifikat_verein on digitales_zertifikat (verein_id);
+create index idx_zertifikat_schiesstand on digitales_zertifikat (schiesstand_id);
+create index idx_zertifikat_parent on digitales_zertifikat (parent_zertifikat_id);
+
+-- Mitgliedschaften eines Vereins
+create index idx_mitgliedschaft_verein on vereinsmitgliedschaft (verein_id);
@@ -0,0 +1,11 @@
+-- Aufräumjob (Aufraeumdienst): abgelaufene Tokens werden blockweise über das Ablaufdatum gefunden.
+create index idx_user_token_ablaufdatum on user_token (ablaufdatum);
+
+-- Lease-Sperren für geplante Jobs (JobSperren): Nur der Knoten, der die Sperre hält, führt den Job aus.
+-- Stirbt der Knoten, läuft die Sperre nach gesperrt_bis ab und ein anderer Knoten übernimmt.
+create table job_sperre (
+    name varchar(100) not null,
+    gesperrt_bis timestamp(6) not null,
+    gesperrt_von varchar(255) not null,
+    primary key (name)
+);
@@ -0,0 +1,4 @@
+-- H2 unterstützt keine partiellen Indizes; für Tests werden vollständige Indizes
+-- gleichen Namens angelegt (siehe postgresql/V10__abgelehnt_indizes.sql).
+create index idx_mitgliedschaft_abgelehnt on vereinsmitgliedschaft (status, aktualisiert_am);
+create index idx_eintrag_abgelehnt on schiessnachweise_eintrag (status, aktualisiert_am);
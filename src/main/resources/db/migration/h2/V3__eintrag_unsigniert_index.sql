@@ -0,0 +1,3 @@
+-- H2 unterstützt keine partiellen Indizes; für Tests wird ein vollständiger Index
+-- gleichen Namens angelegt (siehe postgresql/V3__eintrag_unsigniert_index.sql).
+create index idx_eintrag_unsigniert on schiessnachweise_eintrag (status, schiesstand_id, datum desc, id desc);
@@ -0,0 +1,6 @@
+-- Partielle Indizes für das Aufräumen abgelehnter Mitgliedschaften und Einträge nach Ablauf der
+-- Aufbewahrungsfrist (Aufraeumdienst). Sie enthalten nur abgelehnte Zeilen und bleiben entsprechend klein.
+create index idx_mitgliedschaft_abgelehnt on vereinsmitgliedschaft (aktualisiert_am)
+    where status = 'ABGELEHNT';
+create index idx_eintrag_abgelehnt on schiessnachweise_eintrag (aktualisiert_am)
+    where status = 'ABGELEHNT';
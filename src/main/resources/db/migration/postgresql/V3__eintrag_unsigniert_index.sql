@@ -0,0 +1,5 @@
+-- Partieller Index für die Warteschlange unsignierter Einträge je Schießstand
+-- (findBySchiesstandAndStatus mit UNSIGNIERT, Dashboard-Zähler). Enthält nur offene
+-- Einträge und bleibt daher klein, auch wenn die Tabelle über die Jahre wächst.
+create index idx_eintrag_unsigniert on schiessnachweise_eintrag (schiesstand_id, datum desc, id desc)
+    where status = 'UNSIGNIERT';
@@ -0,0 +1,22 @@
+-- Setzt die Sequenzen bestehender Datenbanken hinter die höchste vergebene ID
+-- und entfernt die nicht mehr genutzten IDENTITY-Defaults der ID-Spalten.
+
+select setval('benutzer_seq', (select coalesce(max(id), 0) + 1 from benutzer), false);
+select setval('digitales_zertifikat_seq', (select coalesce(max(id), 0) + 1 from digitales_zertifikat), false);
+select setval('disziplin_seq', (select coalesce(max(id), 0) + 1 from disziplin), false);
+select setval('schiessnachweise_eintrag_seq', (select coalesce(max(id), 0) + 1 from schiessnachweise_eintrag), false);
+select setval('schiesstand_seq', (select coalesce(max(id), 0) + 1 from schiesstand), false);
+select setval('user_token_seq', (select coalesce(max(id), 0) + 1 from user_token), false);
+select setval('verband_seq', (select coalesce(max(id), 0) + 1 from verband), false);
+select setval('verein_seq', (select coalesce(max(id), 0) + 1 from verein), false);
+select setval('vereinsmitgliedschaft_seq', (select coalesce(max(id), 0) + 1 from vereinsmitgliedschaft), false);
+
+alter table benutzer alter column id drop identity if exists;
+alter table digitales_zertifikat alter column id drop identity if exists;
+alter table disziplin alter column id drop identity if exists;
+alter table schiessnachweise_eintrag alter column id drop identity if exists;
+alter table schiesstand alter column id drop identity if exists;
+alter table user_token alter column id drop identity if exists;
+alter table verband alter column id drop identity if exists;
+alter table verein alter column id drop identity if exists;
+alter table vereinsmitgliedschaft alter column id drop identity if exists;
@@ -0,0 +1,175 @@
+package de.suchalla.schiessbuch.benchmark;
+
+import de.suchalla.schiessbuch.model.dto.AnzahlProSchiesstand;
+import de.suchalla.schiessbuch.model.dto.VereinsStatistik;
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.model.enums.SchiesstandTyp;
+import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
+import de.suchalla.schiessbuch.repository.SchiesstandRepository;
+import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
+import de.suchalla.schiessbuch.service.DashboardService;
+import de.suchalla.schiessbuch.service.SchiessnachweisService;
+import de.suchalla.schiessbuch.service.ZaehlerService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark für die Statistik-Kacheln des Dashboards (H2, PostgreSQL-Modus).
+ * Läuft nur mit {@code mvn test -Pbenchmark}; die Eintragsmengen lassen sich über
+ * {@code -Dbenchmark.volumen=1000,10000,50000} setzen.
+ * <p>
+ * Verglichen werden drei Varianten: Laden aller unsignierten Einträge jedes Schießstands und aller
+ * Beitrittsanfragen (wie die alte {@code DashboardView}), gruppierte COUNT-Abfragen und
+ * {@link DashboardService#ermittleVereinsStatistik}, das nur die vorberechneten Zähler liest.
+ * Die (unsignierten) Einträge verteilen sich auf mehrere Vereine, gemessen wird der erste.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({DashboardService.class, SchiessnachweisService.class, ZaehlerService.class})
+@Tag("benchmark")
+@Slf4j
+class DashboardStatistikBenchmarkTest {
+
+    private static final int[] VOLUMEN = Arrays.stream(System.getProperty("benchmark.volumen", "1000,10000,50000")
+            .split(",")).mapToInt(wert -> Integer.parseInt(wert.trim())).toArray();
+    private static final int VEREINE = 3;
+    private static final int DURCHLAEUFE = 7;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private SchiessnachweisService schiessnachweisService;
+
+    @Autowired
+    private SchiessnachweisEintragRepository eintragRepository;
+
+    @Autowired
+    private SchiesstandRepository schiesstandRepository;
+
+    @Autowired
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    @Test
+    void vergleicheDashboardLatenzBeiWachsendemEintragsvolumen() {
+        Stammdaten stammdaten = legeStammdatenAn();
+        Verein verein = stammdaten.schiesstaende().getFirst().getVerein();
+        int vorhanden = 0;
+        long erwartetOffen = 0;
+
+        for (int volumen : VOLUMEN) {
+            List<SchiessnachweisEintrag> neu = new ArrayList<>();
+            for (int i = vorhanden; i < volumen; i++) {
+                SchiessnachweisEintrag eintrag = erzeugeEintrag(stammdaten, i);
+                if (eintrag.getSchiesstand().getVerein() == verein) {
+                    erwartetOffen++;
+                }
+                neu.add(eintrag);
+            }
+            schiessnachweisService.erstelleEintraege(neu);
+            vorhanden = volumen;
+
+            long listenMs = median(() -> {
+                long offen = schiesstandRepository.findByVerein(verein).stream()
+                        .mapToLong(s -> eintragRepository.findListeBySchiesstand(s.getId(), EintragStatus.UNSIGNIERT).size())
+                        .sum();
+                mitgliedschaftRepository.findByVereinAndStatus(verein, MitgliedschaftsStatus.BEANTRAGT).size();
+                return offen;
+            });
+            long countMs = median(() -> {
+                long offen = eintragRepository.zaehleProSchiesstandVonVerein(verein.getId(), EintragStatus.UNSIGNIERT)
+                        .stream().mapToLong(AnzahlProSchiesstand::anzahl).sum();
+                mitgliedschaftRepository.countByVereinAndStatus(verein, MitgliedschaftsStatus.BEANTRAGT);
+                return offen;
+            });
+            long zaehlerMs = median(() -> {
+                VereinsStatistik statistik = dashboardService.ermittleVereinsStatistik(verein);
+                return statistik.offeneEintraege();
+            });
+
+            assertEquals(erwartetOffen, dashboardService.ermittleVereinsStatistik(verein).offeneEintraege());
+            log.info("Dashboard-Benchmark mit {} Einträgen ({} offen im Verein): Listen laden {} ms, COUNT {} ms, Zähler {} ms",
+                    volumen, erwartetOffen, listenMs, countMs, zaehlerMs);
+        }
+    }
+
+    /**
+     * Führt die Messung mehrfach mit leerem Persistenzkontext aus und liefert den Median.
+     */
+    private long median(LongSupplier messung) {
+        long[] dauer = new long[DURCHLAEUFE];
+        for (int i = 0; i < DURCHLAEUFE; i++) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            messung.getAsLong();
+            dauer[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(dauer);
+        return dauer[DURCHLAEUFE / 2];
+    }
+
+    private Stammdaten legeStammdatenAn() {
+        Benutzer schuetze = Benutzer.builder()
+                .email("benchmark@example.com")
+                .vorname("Max")
+                .nachname("Mustermann")
+                .passwort("password")
+                .rolle(BenutzerRolle.SCHUETZE)
+                .build();
+        entityManager.persist(schuetze);
+        Disziplin disziplin = Disziplin.builder().kennziffer("LG-10m").programm("Luftgewehr").build();
+        entityManager.persist(disziplin);
+        List<Schiesstand> schiesstaende = new ArrayList<>();
+        for (int i = 0; i < VEREINE; i++) {
+            Verein verein = Verein.builder().name("Benchmarkverein " + (i + 1)).build();
+            entityManager.persist(verein);
+            Schiesstand schiesstand = Schiesstand.builder()
+                    .name("Stand " + (i + 1))
+                    .typ(SchiesstandTyp.VEREINSGEBUNDEN)
+                    .verein(verein)
+                    .build();
+            entityManager.persist(schiesstand);
+            schiesstaende.add(schiesstand);
+        }
+        entityManager.flush();
+        return new Stammdaten(schuetze, disziplin, schiesstaende);
+    }
+
+    private SchiessnachweisEintrag erzeugeEintrag(Stammdaten stammdaten, int i) {
+        return SchiessnachweisEintrag.builder()
+                .schuetze(stammdaten.schuetze())
+                .disziplin(stammdaten.disziplin())
+                .schiesstand(stammdaten.schiesstaende().get(i % VEREINE))
+                .datum(LocalDate.now().minusDays(i % 3650))
+                .anzahlSchuesse(40)
+                .ergebnis("380 Ringe")
+                .kaliber("4.5mm")
+                .build();
+    }
+
+    private record Stammdaten(Benutzer schuetze, Disziplin disziplin, List<Schiesstand> schiesstaende) {
+    }
+}
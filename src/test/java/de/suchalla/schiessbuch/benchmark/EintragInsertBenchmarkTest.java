@@ -0,0 +1,132 @@
+package de.suchalla.schiessbuch.benchmark;
+
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.SchiesstandTyp;
+import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
+import de.suchalla.schiessbuch.service.SchiessnachweisService;
+import de.suchalla.schiessbuch.service.ZaehlerService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark für Massen-Inserts von Schießnachweis-Einträgen (H2, PostgreSQL-Modus).
+ * Läuft nur mit {@code mvn test -Pbenchmark}; die Anzahl lässt sich über
+ * {@code -Dbenchmark.anzahl=...} setzen (Standard: 100.000).
+ * <p>
+ * "Vorher" bildet das Verhalten mit IDENTITY-IDs nach: jeder persist() erzwingt sofort ein
+ * einzelnes INSERT (Batchgröße 1). "Nachher" ist {@link SchiessnachweisService#erstelleEintraege},
+ * der mit Sequenz-IDs und JDBC-Batching arbeitet.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({SchiessnachweisService.class, ZaehlerService.class})
+@Tag("benchmark")
+@Slf4j
+class EintragInsertBenchmarkTest {
+
+    private static final int ANZAHL = Integer.getInteger("benchmark.anzahl", 100_000);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SchiessnachweisService schiessnachweisService;
+
+    @Autowired
+    private SchiessnachweisEintragRepository eintragRepository;
+
+    @Test
+    void vergleicheEinzelInsertsMitBatchInserts() {
+        Stammdaten stammdaten = legeStammdatenAn();
+        Session session = entityManager.unwrap(Session.class);
+
+        // Vorher: Einzel-Inserts wie bei GenerationType.IDENTITY
+        session.setJdbcBatchSize(1);
+        long start = System.nanoTime();
+        for (int i = 0; i < ANZAHL; i++) {
+            entityManager.persist(erzeugeEintrag(stammdaten, i));
+            entityManager.flush();
+            if ((i + 1) % 50 == 0) {
+                entityManager.clear();
+            }
+        }
+        entityManager.clear();
+        long vorherMs = (System.nanoTime() - start) / 1_000_000;
+        session.setJdbcBatchSize(null);
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        // Nachher: Sequenz-IDs und JDBC-Batching über den Service
+        TestTransaction.start();
+        stammdaten = legeStammdatenAn();
+        List<SchiessnachweisEintrag> eintraege = new ArrayList<>(ANZAHL);
+        for (int i = 0; i < ANZAHL; i++) {
+            eintraege.add(erzeugeEintrag(stammdaten, i));
+        }
+        start = System.nanoTime();
+        schiessnachweisService.erstelleEintraege(eintraege);
+        long nachherMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(ANZAHL, eintragRepository.countBySchuetzeAndStatus(stammdaten.schuetze(), EintragStatus.UNSIGNIERT));
+        log.info("Insert-Benchmark mit {} Einträgen: vorher (Einzel-Inserts) {} ms, nachher (Batch) {} ms, Faktor {}",
+                ANZAHL, vorherMs, nachherMs, String.format("%.1f", (double) vorherMs / Math.max(1, nachherMs)));
+    }
+
+    private Stammdaten legeStammdatenAn() {
+        Verein verein = Verein.builder().name("Benchmarkverein").build();
+        entityManager.persist(verein);
+        Benutzer schuetze = Benutzer.builder()
+                .email("benchmark@example.com")
+                .vorname("Max")
+                .nachname("Mustermann")
+                .passwort("password")
+                .rolle(BenutzerRolle.SCHUETZE)
+                .build();
+        entityManager.persist(schuetze);
+        Disziplin disziplin = Disziplin.builder().kennziffer("LG-10m").programm("Luftgewehr").build();
+        entityManager.persist(disziplin);
+        Schiesstand schiesstand = Schiesstand.builder()
+                .name("Stand 1")
+                .typ(SchiesstandTyp.VEREINSGEBUNDEN)
+                .verein(verein)
+                .build();
+        entityManager.persist(schiesstand);
+        entityManager.flush();
+        return new Stammdaten(schuetze, disziplin, schiesstand);
+    }
+
+    private SchiessnachweisEintrag erzeugeEintrag(Stammdaten stammdaten, int i) {
+        return SchiessnachweisEintrag.builder()
+                .schuetze(stammdaten.schuetze())
+                .disziplin(stammdaten.disziplin())
+                .schiesstand(stammdaten.schiesstand())
+                .datum(LocalDate.now().minusDays(i % 3650))
+                .anzahlSchuesse(40)
+                .ergebnis("380 Ringe")
+                .kaliber("4.5mm")
+                .status(EintragStatus.UNSIGNIERT)
+                .build();
+    }
+
+    private record Stammdaten(Benutzer schuetze, Disziplin disziplin, Schiesstand schiesstand) {
+    }
+}
@@ -0,0 +1,95 @@
+package de.suchalla.schiessbuch.benchmark;
+
+import de.suchalla.schiessbuch.service.EmailVorlagen;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark für das Rendern von E-Mail-Vorlagen. Läuft nur mit {@code mvn test -Pbenchmark}; die Anzahl
+ * Renderaufrufe je Messung lässt sich über {@code -Dbenchmark.iterationen=20000} setzen.
+ * <p>
+ * Verglichen werden das frühere Vorgehen (Vorlage bei jedem Aufruf per {@link Scanner} aus dem Klassenpfad
+ * lesen und je Variable {@link String#replace} über das ganze HTML) und {@link EmailVorlagen}, das die
+ * Vorlagen einmal in Segmente zerlegt. Beide Varianten müssen für unkritische Werte dasselbe HTML liefern.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@Tag("benchmark")
+@Slf4j
+class EmailVorlagenBenchmarkTest {
+
+    private static final int ITERATIONEN = Integer.getInteger("benchmark.iterationen", 20_000);
+    private static final int DURCHLAEUFE = 7;
+
+    private static final Map<String, Map<String, Object>> FAELLE = Map.of(
+            "signatur-request.html", Map.of(
+                    "username", "Empfänger",
+                    "entryId", 4711,
+                    "actionUrl", "http://localhost:8080/eintraege-verwaltung?schiesstandId=3"),
+            "zertifikat-widerrufen.html", Map.of(
+                    "username", "Max Mustermann",
+                    "seriennummer", "1A2B3C4D5E6F",
+                    "zertifikatsTyp", "AUFSEHER",
+                    "widerrufenAm", "01.02.2026",
+                    "widerrufsGrund", "Kein Grund angegeben"));
+
+    @Test
+    void vergleicheRenderzeitJeVorlage() {
+        EmailVorlagen emailVorlagen = new EmailVorlagen();
+        FAELLE.forEach((vorlage, variablen) -> {
+            assertEquals(renderAlt(vorlage, variablen), emailVorlagen.rendere(vorlage, variablen));
+
+            long altNs = median(() -> renderAlt(vorlage, variablen));
+            long neuNs = median(() -> emailVorlagen.rendere(vorlage, variablen));
+            log.info("Vorlagen-Benchmark {} ({} Aufrufe): Scanner + replace {} µs/Aufruf, vorkompiliert {} µs/Aufruf, Faktor {}",
+                    vorlage, ITERATIONEN, altNs / 1000.0, neuNs / 1000.0, String.format("%.1f", (double) altNs / Math.max(neuNs, 1)));
+        });
+    }
+
+    /**
+     * Führt die Messung mehrfach aus und liefert den Median der Dauer je Aufruf in Nanosekunden.
+     */
+    private long median(Supplier<String> rendern) {
+        long[] dauer = new long[DURCHLAEUFE];
+        long laenge = 0;
+        for (int i = 0; i < DURCHLAEUFE; i++) {
+            long start = System.nanoTime();
+            for (int j = 0; j < ITERATIONEN; j++) {
+                laenge += rendern.get().length();
+            }
+            dauer[i] = (System.nanoTime() - start) / ITERATIONEN;
+        }
+        log.debug("Gerenderte Zeichen: {}", laenge);
+        Arrays.sort(dauer);
+        return dauer[DURCHLAEUFE / 2];
+    }
+
+    /**
+     * Früheres Rendern aus {@code EmailService.renderTemplate}.
+     */
+    private static String renderAlt(String vorlage, Map<String, Object> variablen) {
+        try (InputStream is = EmailVorlagenBenchmarkTest.class.getResourceAsStream("/templates/" + vorlage);
+             Scanner scanner = new Scanner(is, StandardCharsets.UTF_8)) {
+            String template = scanner.useDelimiter("\\A").hasNext() ? scanner.next() : "";
+            for (Map.Entry<String, Object> entry : variablen.entrySet()) {
+                template = template.replace("{{" + entry.getKey() + "}}", entry.getValue().toString());
+            }
+            return template;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package de.suchalla.schiessbuch.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft Obergrenze, Warteschlange, Abweisung und Metriken des {@link BegrenzterExecutor}.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+class BegrenzterExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch freigabe = new CountDownLatch(1);
+    private BegrenzterExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new BegrenzterExecutor("test", 2, 1);
+        executor.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        freigabe.countDown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testBegrenztGleichzeitigeAufgabenUndWeistUeberzaehligeAb() throws Exception {
+        AtomicInteger gleichzeitig = new AtomicInteger();
+        AtomicInteger hoechstens = new AtomicInteger();
+        CountDownLatch gestartet = new CountDownLatch(2);
+        Runnable blockierend = () -> {
+            hoechstens.accumulateAndGet(gleichzeitig.incrementAndGet(), Math::max);
+            gestartet.countDown();
+            try {
+                freigabe.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            gleichzeitig.decrementAndGet();
+        };
+
+        Future<?> erste = executor.submit(blockierend);
+        Future<?> zweite = executor.submit(blockierend);
+        assertTrue(gestartet.await(5, TimeUnit.SECONDS));
+        Future<?> dritte = executor.submit(blockierend);
+        warteBis(() -> executor.getWartend() == 1);
+
+        assertThrows(TaskRejectedException.class, () -> executor.submit(blockierend));
+        assertEquals(2, executor.getAktiv());
+        assertEquals(1, registry.get("schiessbuch.executor.queued").tag("name", "test").gauge().value());
+        assertEquals(1, registry.get("schiessbuch.executor.rejected").counter().count());
+
+        freigabe.countDown();
+        erste.get(5, TimeUnit.SECONDS);
+        zweite.get(5, TimeUnit.SECONDS);
+        dritte.get(5, TimeUnit.SECONDS);
+        assertEquals(2, hoechstens.get());
+        warteBis(() -> executor.getAktiv() == 0);
+        assertEquals(3, registry.get("schiessbuch.executor.duration").timer().count());
+        assertEquals(3, registry.get("schiessbuch.executor.wait").timer().count());
+
+        assertEquals("wieder frei", executor.fuehreAusUndWarte(() -> "wieder frei"));
+    }
+
+    @Test
+    void testFuehreAusUndWarteWirftUrsacheWeiter() {
+        IllegalStateException fehler = assertThrows(IllegalStateException.class,
+                () -> executor.fuehreAusUndWarte(() -> {
+                    throw new IllegalStateException("kaputt");
+                }));
+
+        assertEquals("kaputt", fehler.getMessage());
+    }
+
+    @Test
+    void testGibtSicherheitskontextWeiter() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("chef@example.com", null, List.of()));
+
+        String benutzer = executor.fuehreAusUndWarte(() -> SecurityContextHolder.getContext().getAuthentication().getName());
+
+        assertEquals("chef@example.com", benutzer);
+    }
+
+    @Test
+    void testUngueltigeGrenzen() {
+        assertThrows(IllegalArgumentException.class, () -> new BegrenzterExecutor("test", 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BegrenzterExecutor("test", 1, -1));
+    }
+
+    private static void warteBis(BooleanSupplier bedingung) throws InterruptedException {
+        long ende = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!bedingung.getAsBoolean()) {
+            assertTrue(System.nanoTime() < ende, "Bedingung nicht rechtzeitig erfüllt");
+            Thread.sleep(5);
+        }
+    }
+}
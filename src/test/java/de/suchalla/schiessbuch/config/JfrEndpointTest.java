@@ -0,0 +1,96 @@
+package de.suchalla.schiessbuch.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft Starten, Sichern und Stoppen des {@link JfrEndpoint} sowie die Felder der {@link JfrEreignisse}.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+class JfrEndpointTest {
+
+    @TempDir
+    Path verzeichnis;
+
+    private JfrEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new JfrEndpoint(verzeichnis, "default", Duration.ofMinutes(5), 10_000_000, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.beenden();
+    }
+
+    @Test
+    void testSichertEreignisseDerAnwendung() throws Exception {
+        assertEquals(false, endpoint.status().get("aktiv"));
+
+        endpoint.steuere("starten");
+        JfrEreignisse.SignaturEreignis signatur = new JfrEreignisse.SignaturEreignis();
+        signatur.begin();
+        signatur.melde(42L, 7L, 180, true);
+        JfrEreignisse.PdfSpeicherEreignis pdf = new JfrEreignisse.PdfSpeicherEreignis();
+        pdf.begin();
+        pdf.melde("schiessnachweise", 3, 4096);
+        Map<String, Object> status = endpoint.steuere("sichern");
+
+        assertEquals(true, status.get("aktiv"));
+        Path datei = Path.of((String) status.get("letzteDatei"));
+        assertEquals(verzeichnis, datei.getParent());
+        List<RecordedEvent> ereignisse = RecordingFile.readAllEvents(datei).stream()
+                .filter(e -> e.getEventType().getName().startsWith("de.suchalla.schiessbuch."))
+                .toList();
+        RecordedEvent gelesen = ereignisse.stream()
+                .filter(e -> e.getEventType().getName().equals("de.suchalla.schiessbuch.Signatur"))
+                .findFirst().orElseThrow();
+        assertEquals(42L, gelesen.getLong("eintragId"));
+        assertEquals(7L, gelesen.getLong("schiesstandId"));
+        assertEquals(180L, gelesen.getLong("nutzdatenBytes"));
+        assertTrue(gelesen.getBoolean("erfolgreich"));
+        assertTrue(ereignisse.stream().anyMatch(e -> e.getEventType().getName().equals("de.suchalla.schiessbuch.PdfSpeichern")
+                && e.getLong("bytes") == 4096));
+    }
+
+    @Test
+    void testStoppenSichertUndBeendet() {
+        endpoint.steuere("starten");
+        endpoint.steuere("starten");
+
+        Map<String, Object> status = endpoint.steuere("stoppen");
+
+        assertEquals(false, status.get("aktiv"));
+        assertTrue(Path.of((String) status.get("letzteDatei")).toFile().isFile());
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.steuere("sichern"));
+    }
+
+    @Test
+    void testSichernOhneAufzeichnungIstUngueltigeAnfrage() {
+        InvalidEndpointRequestException fehler = assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint.steuere("sichern"));
+
+        assertEquals("Keine JFR-Aufzeichnung aktiv", fehler.getMessage());
+        assertEquals(false, endpoint.status().get("aktiv"));
+    }
+
+    @Test
+    void testUnbekannteAktion() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.steuere("loeschen"));
+    }
+}
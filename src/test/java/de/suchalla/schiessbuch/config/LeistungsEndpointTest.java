@@ -0,0 +1,90 @@
+package de.suchalla.schiessbuch.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Zusammenfassung des {@link LeistungsEndpoint}.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+class LeistungsEndpointTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LeistungsEndpoint endpoint = new LeistungsEndpoint(registry);
+
+    @Test
+    void testFasstOperationenZusammen() {
+        Leistungsmessung leistungsmessung = new Leistungsmessung(registry);
+        leistungsmessung.messe("pki.zertifikat.verein", Leistungsmessung.OHNE_BEZUG, () -> null);
+        assertThrows(IllegalStateException.class, () -> leistungsmessung.messe("pki.zertifikat.verein",
+                Leistungsmessung.OHNE_BEZUG, () -> {
+                    throw new IllegalStateException("kaputt");
+                }));
+
+        LeistungsEndpoint.Kennzahlen kennzahlen = endpoint.leistung().get("pki.zertifikat.verein");
+
+        assertEquals(2, kennzahlen.anzahl());
+        assertEquals(1, kennzahlen.fehler());
+        assertNotNull(kennzahlen.p50());
+        assertNotNull(kennzahlen.p95());
+        assertNotNull(kennzahlen.p99());
+    }
+
+    @Test
+    void testFasstRepositoryAufrufeZusammen() {
+        repositoryTimer("SUCCESS").record(Duration.ofMillis(4));
+        repositoryTimer("SUCCESS").record(Duration.ofMillis(6));
+        repositoryTimer("ERROR").record(Duration.ofMillis(1));
+
+        Map<String, LeistungsEndpoint.Kennzahlen> ergebnis = endpoint.leistung();
+
+        LeistungsEndpoint.Kennzahlen kennzahlen = ergebnis.get("repository.VereinRepository.findById");
+        assertEquals(1, ergebnis.size());
+        assertEquals(3, kennzahlen.anzahl());
+        assertEquals(1, kennzahlen.fehler());
+        assertEquals(11.0 / 3, kennzahlen.mittelwert(), 0.001);
+        assertEquals(6.0, kennzahlen.max(), 0.001);
+        assertNotNull(kennzahlen.p99());
+    }
+
+    @Test
+    void testRepositoryMethodeNurMitFehlern() {
+        repositoryTimer("ERROR").record(Duration.ofMillis(3));
+
+        LeistungsEndpoint.Kennzahlen kennzahlen = endpoint.leistung().get("repository.VereinRepository.findById");
+
+        assertEquals(1, kennzahlen.anzahl());
+        assertEquals(1, kennzahlen.fehler());
+        assertEquals(3.0, kennzahlen.mittelwert(), 0.001);
+        assertNull(kennzahlen.p50());
+    }
+
+    @Test
+    void testPerzentileFehlenOhneVerteilung() {
+        Timer.builder(LeistungsEndpoint.REPOSITORY_AUFRUFE)
+                .tags("repository", "BenutzerRepository", "method", "findAll", "state", "SUCCESS")
+                .register(registry)
+                .record(Duration.ofMillis(2));
+
+        LeistungsEndpoint.Kennzahlen kennzahlen = endpoint.leistung().get("repository.BenutzerRepository.findAll");
+
+        assertEquals(1, kennzahlen.anzahl());
+        assertEquals(0, kennzahlen.fehler());
+        assertNull(kennzahlen.p50());
+    }
+
+    private Timer repositoryTimer(String state) {
+        return Timer.builder(LeistungsEndpoint.REPOSITORY_AUFRUFE)
+                .tags("repository", "VereinRepository", "method", "findById", "state", state)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+}
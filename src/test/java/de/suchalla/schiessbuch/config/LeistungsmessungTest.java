@@ -0,0 +1,65 @@
+package de.suchalla.schiessbuch.config;
+
+import de.suchalla.schiessbuch.model.entity.Schiesstand;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft Timer, Zähler und Tags der {@link Leistungsmessung}.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+class LeistungsmessungTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Leistungsmessung leistungsmessung = new Leistungsmessung(registry);
+
+    @Test
+    void testMisstErfolgJeVereinUndSchiesstand() {
+        Verein verein = Verein.builder().id(7L).name("SV Test").build();
+        Schiesstand schiesstand = Schiesstand.builder().id(3L).name("Stand 1").verein(verein).build();
+
+        String ergebnis = leistungsmessung.messe("signatur.signieren", Leistungsmessung.bezug(schiesstand), () -> "ok");
+
+        assertEquals("ok", ergebnis);
+        Timer timer = registry.get(Leistungsmessung.DAUER).tag("operation", "signatur.signieren").timer();
+        assertEquals(1, timer.count());
+        assertEquals(3, timer.takeSnapshot().percentileValues().length);
+        assertEquals(1, registry.get(Leistungsmessung.AUFRUFE)
+                .tags("operation", "signatur.signieren", "outcome", "success", "verein", "7", "schiesstand", "3")
+                .counter().count());
+    }
+
+    @Test
+    void testZaehltFehlerUndGibtAusnahmeWeiter() {
+        Verein verein = Verein.builder().id(7L).name("SV Test").build();
+
+        IOException fehler = assertThrows(IOException.class, () -> leistungsmessung.messe("pdf.vereinsmitgliedschaften",
+                Leistungsmessung.bezug(verein), () -> {
+                    throw new IOException("kaputt");
+                }));
+
+        assertEquals("kaputt", fehler.getMessage());
+        assertEquals(1, registry.get(Leistungsmessung.DAUER).tag("operation", "pdf.vereinsmitgliedschaften").timer().count());
+        assertEquals(1, registry.get(Leistungsmessung.AUFRUFE)
+                .tags("operation", "pdf.vereinsmitgliedschaften", "outcome", "error", "verein", "7", "schiesstand", "-")
+                .counter().count());
+    }
+
+    @Test
+    void testOhneBezug() {
+        leistungsmessung.messe("email.einstellen", Leistungsmessung.OHNE_BEZUG, () -> null);
+        leistungsmessung.messe("email.einstellen", Leistungsmessung.bezug((Schiesstand) null), () -> null);
+
+        assertEquals(2, registry.get(Leistungsmessung.AUFRUFE)
+                .tags("operation", "email.einstellen", "verein", "-", "schiesstand", "-")
+                .counter().count());
+    }
+}
@@ -0,0 +1,68 @@
+package de.suchalla.schiessbuch.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft, dass die Hikari-Einstellungen aus {@code spring.datasource.hikari.*} auf Primärdatenbank und
+ * Replikate und {@code app.datasource.replika.hikari.*} nur auf die Replikate angewendet werden.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+class ReplikaKonfigurationTest {
+
+    private static final String REPLIKA_URL = "jdbc:h2:mem:konfiguration_replika;DB_CLOSE_DELAY=-1";
+
+    private ReplikaRoutingDataSource routing;
+    private MockEnvironment environment;
+    private DataSourceProperties properties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7")
+                .withProperty("spring.datasource.hikari.connection-timeout", "4000")
+                .withProperty("spring.datasource.hikari.jdbc-url", "jdbc:h2:mem:falsch")
+                .withProperty("app.datasource.replika.hikari.maximum-pool-size", "3");
+        properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:konfiguration_primaer;DB_CLOSE_DELAY=-1");
+        properties.setUsername("sa");
+        properties.setPassword("");
+        properties.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (routing != null) {
+            routing.getResolvedDataSources().values().forEach(pool -> ((HikariDataSource) pool).close());
+        }
+    }
+
+    @Test
+    void testHikariEinstellungenGeltenFuerAllePools() {
+        routing = new ReplikaKonfiguration().replikaRoutingDataSource(properties, environment,
+                List.of(REPLIKA_URL), "", "", "SELECT 0", Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+        HikariDataSource primaer = (HikariDataSource) routing.getResolvedDataSources().get(ReplikaRoutingDataSource.PRIMAER);
+        assertEquals("primaer", primaer.getPoolName());
+        assertEquals(7, primaer.getMaximumPoolSize());
+        assertEquals(4000, primaer.getConnectionTimeout());
+
+        HikariDataSource replika = (HikariDataSource) routing.getResolvedDataSources().get("replika-1");
+        assertEquals("replika-1", replika.getPoolName());
+        assertEquals(3, replika.getMaximumPoolSize());
+        assertEquals(4000, replika.getConnectionTimeout());
+        assertEquals(REPLIKA_URL, replika.getJdbcUrl());
+        assertTrue(replika.isReadOnly());
+    }
+}
@@ -0,0 +1,155 @@
+package de.suchalla.schiessbuch.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft das Routing zwischen zwei H2-Instanzen als Primärdatenbank und Lesereplikat:
+ * read-only Transaktionen, Rückfall bei Verzögerung oder Ausfall und read-your-writes.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+class ReplikaRoutingDataSourceTest {
+
+    private final VerstellbareUhr uhr = new VerstellbareUhr();
+    private DriverManagerDataSource primaer;
+    private DriverManagerDataSource replika;
+    private ReplikaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate lesend;
+    private TransactionTemplate schreibend;
+
+    @BeforeEach
+    void setUp() {
+        primaer = h2("routing_primaer");
+        replika = h2("routing_replika");
+        new JdbcTemplate(primaer).execute("CREATE TABLE knoten (name VARCHAR(20))");
+        new JdbcTemplate(primaer).update("INSERT INTO knoten VALUES ('primaer')");
+        new JdbcTemplate(replika).execute("CREATE TABLE knoten (name VARCHAR(20))");
+        new JdbcTemplate(replika).update("INSERT INTO knoten VALUES ('replika')");
+        new JdbcTemplate(replika).execute("CREATE TABLE replika_status (verzoegerung DOUBLE PRECISION)");
+        new JdbcTemplate(replika).update("INSERT INTO replika_status VALUES (0)");
+
+        routing = new ReplikaRoutingDataSource(primaer, Map.of("replika-1", replika),
+                "SELECT verzoegerung FROM replika_status", Duration.ofSeconds(5), Duration.ofSeconds(10), uhr);
+        routing.pruefeReplikas();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        lesend = new TransactionTemplate(transactionManager);
+        lesend.setReadOnly(true);
+        schreibend = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primaer).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replika).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testReadOnlyTransaktionLiestVomReplikat() {
+        assertEquals("replika", lesend.execute(status -> knoten()));
+        assertEquals("primaer", schreibend.execute(status -> knoten()));
+        assertEquals("primaer", knoten(), "Ohne Transaktion wird die Primärdatenbank verwendet");
+    }
+
+    @Test
+    void testZuGrosseVerzoegerungFaelltAufPrimaerZurueck() {
+        new JdbcTemplate(replika).update("UPDATE replika_status SET verzoegerung = 30");
+        routing.pruefeReplikas();
+
+        assertEquals(List.of(), routing.verfuegbareReplikas());
+        assertEquals("primaer", lesend.execute(status -> knoten()));
+
+        new JdbcTemplate(replika).update("UPDATE replika_status SET verzoegerung = 1");
+        routing.pruefeReplikas();
+
+        assertEquals("replika", lesend.execute(status -> knoten()));
+    }
+
+    @Test
+    void testNichtErreichbaresReplikatFaelltAufPrimaerZurueck() {
+        new JdbcTemplate(replika).execute("DROP TABLE replika_status");
+        routing.pruefeReplikas();
+
+        assertEquals("primaer", lesend.execute(status -> knoten()));
+    }
+
+    @Test
+    void testNachEigenemSchreibzugriffLiestBenutzerPrimaer() {
+        anmelden("anna");
+        schreibend.executeWithoutResult(status -> jdbc.update("INSERT INTO knoten VALUES ('neu')"));
+
+        Integer anzahl = lesend.execute(status -> jdbc.queryForObject("SELECT COUNT(*) FROM knoten", Integer.class));
+        assertEquals(2, anzahl, "Anna muss ihren eigenen Eintrag sehen");
+
+        anmelden("bert");
+        assertEquals("replika", lesend.execute(status -> knoten()));
+
+        anmelden("anna");
+        uhr.vorstellen(Duration.ofSeconds(11));
+        assertEquals("replika", lesend.execute(status -> knoten()));
+    }
+
+    private String knoten() {
+        return jdbc.queryForObject("SELECT MIN(name) FROM knoten", String.class);
+    }
+
+    private static void anmelden(String benutzer) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(benutzer, null, List.of()));
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    /**
+     * Uhr, die sich im Test vorstellen lässt.
+     */
+    private static final class VerstellbareUhr extends Clock {
+        private Instant jetzt = Instant.parse("2024-01-01T12:00:00Z");
+
+        void vorstellen(Duration dauer) {
+            jetzt = jetzt.plus(dauer);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return jetzt;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.config.MetrikKonfiguration;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
+import de.suchalla.schiessbuch.model.dto.BenutzerDTO;
+import de.suchalla.schiessbuch.model.dto.DashboardStatistik;
+import de.suchalla.schiessbuch.model.dto.EintragFilter;
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.service.DashboardService;
+import de.suchalla.schiessbuch.service.DisziplinService;
+import de.suchalla.schiessbuch.service.EmailService;
+import de.suchalla.schiessbuch.service.PdfExportService;
+import de.suchalla.schiessbuch.service.PkiService;
+import de.suchalla.schiessbuch.service.ReferenzdatenCache;
+import de.suchalla.schiessbuch.service.SchiessnachweisService;
+import de.suchalla.schiessbuch.service.VereinsmitgliedschaftService;
+import de.suchalla.schiessbuch.service.ZaehlerService;
+import de.suchalla.schiessbuch.testutil.AbfragenZaehler;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regressionstests gegen N+1-Abfragen: Die häufigsten Lesepfade der Services, der Dashboard-Statistik
+ * und der PDF-Exporte dürfen nur eine feste Anzahl SQL-Statements absetzen, unabhängig davon, wie viele
+ * Einträge, Mitglieder oder Schießstände sie liefern. Die Testdaten enthalten daher deutlich mehr Zeilen
+ * als die jeweilige Obergrenze; die Zugriffe auf Assoziationen entsprechen denen der Views.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({SchiessnachweisService.class, ZaehlerService.class, VereinsmitgliedschaftService.class,
+        DisziplinService.class, ReferenzdatenCache.class, DashboardService.class, PdfExportService.class, MetrikKonfiguration.class})
+class AbfragenAnzahlTest {
+
+    private static final int VEREINE = 6;
+    private static final int DISZIPLINEN = 5;
+    private static final int MITGLIEDER = 30;
+    private static final int EINTRAEGE = 60;
+    private static final LocalDate VON = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SchiessnachweisService schiessnachweisService;
+
+    @Autowired
+    private VereinsmitgliedschaftService mitgliedschaftService;
+
+    @Autowired
+    private DisziplinService disziplinService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private PdfExportService pdfExportService;
+
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+
+    @MockitoBean
+    private PkiService pkiService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private AbfragenZaehler zaehler;
+    private Verband verband;
+    private final List<Verein> vereine = new ArrayList<>();
+    private final List<Schiesstand> schiesstaende = new ArrayList<>();
+    private Benutzer schuetze;
+    private Benutzer chef;
+
+    @BeforeEach
+    void setUp() {
+        zaehler = AbfragenZaehler.fuer(entityManager);
+
+        verband = TestDataFactory.createVerband(null, "DSB");
+        entityManager.persist(verband);
+        List<Disziplin> disziplinen = new ArrayList<>();
+        for (int i = 0; i < DISZIPLINEN; i++) {
+            Disziplin disziplin = TestDataFactory.createDisziplin(null, "D-" + i, verband);
+            entityManager.persist(disziplin);
+            disziplinen.add(disziplin);
+        }
+
+        chef = TestDataFactory.createBenutzer(null, "chef@example.com");
+        chef.setRolle(BenutzerRolle.VEREINS_CHEF);
+        entityManager.persist(chef);
+        schuetze = TestDataFactory.createBenutzer(null, "schuetze@example.com");
+        entityManager.persist(schuetze);
+
+        for (int v = 0; v < VEREINE; v++) {
+            Verein verein = TestDataFactory.createVerein(null, "Verein " + v);
+            verein.getVerbaende().add(verband);
+            entityManager.persist(verein);
+            vereine.add(verein);
+            Schiesstand schiesstand = TestDataFactory.createSchiesstand(null, "Stand " + v, verein);
+            schiesstand.setAufseher(chef);
+            entityManager.persist(schiesstand);
+            schiesstaende.add(schiesstand);
+            Vereinsmitgliedschaft chefMitgliedschaft =
+                    TestDataFactory.createMitgliedschaft(null, chef, verein, MitgliedschaftsStatus.AKTIV);
+            chefMitgliedschaft.setIstVereinschef(true);
+            entityManager.persist(chefMitgliedschaft);
+            entityManager.persist(TestDataFactory.createMitgliedschaft(null, schuetze, verein, MitgliedschaftsStatus.AKTIV));
+        }
+
+        for (int i = 0; i < MITGLIEDER; i++) {
+            Benutzer mitglied = TestDataFactory.createBenutzer(null, "mitglied" + i + "@example.com");
+            entityManager.persist(mitglied);
+            entityManager.persist(TestDataFactory.createMitgliedschaft(null, mitglied, vereine.getFirst(),
+                    i % 3 == 0 ? MitgliedschaftsStatus.BEANTRAGT : MitgliedschaftsStatus.AKTIV));
+        }
+
+        for (int i = 0; i < EINTRAEGE; i++) {
+            SchiessnachweisEintrag eintrag = TestDataFactory.createEintrag(null, schuetze,
+                    disziplinen.get(i % DISZIPLINEN), schiesstaende.get(i % schiesstaende.size()), VON.plusDays(i));
+            if (i % 2 == 0) {
+                eintrag.setStatus(EintragStatus.SIGNIERT);
+                eintrag.setIstSigniert(true);
+                eintrag.setAufseher(chef);
+                eintrag.setSigniertAm(LocalDateTime.of(2024, 6, 1, 12, 0));
+            }
+            entityManager.persist(eintrag);
+        }
+    }
+
+    @Test
+    void testEintragslistenAlsProjektion() {
+        List<SchiessnachweisEintragListDTO> seite = zaehler.hoechstens(1, "findeEintraegeSeite",
+                () -> schiessnachweisService.findeEintraegeSeite(schuetze.getId(), new EintragFilter(), null, false, 50));
+        List<SchiessnachweisEintragListDTO> amStand = zaehler.hoechstens(1, "findeEintraegeAnSchiesstand",
+                () -> schiessnachweisService.findeEintraegeAnSchiesstand(schiesstaende.getFirst(), null));
+
+        assertEquals(50, seite.size());
+        assertEquals(EINTRAEGE / schiesstaende.size(), amStand.size());
+    }
+
+    @Test
+    void testMitgliedschaftenEinesVereinsMitBenutzern() {
+        List<Vereinsmitgliedschaft> alle = zaehler.hoechstens(1, "findeAlleMitgliedschaften", () -> {
+            List<Vereinsmitgliedschaft> geladen = mitgliedschaftService.findeAlleMitgliedschaften(vereine.getFirst());
+            geladen.forEach(m -> assertNotNull(m.getBenutzer().getVollstaendigerName() + m.getVerein().getName()));
+            return geladen;
+        });
+        List<Vereinsmitgliedschaft> anfragen = zaehler.hoechstens(1, "findeBeitrittsanfragen",
+                () -> mitgliedschaftService.findeBeitrittsanfragen(vereine.getFirst()));
+
+        assertEquals(MITGLIEDER + 2, alle.size());
+        assertEquals(MITGLIEDER / 3, anfragen.size());
+    }
+
+    @Test
+    void testVerbaendeEinesBenutzersWerdenGebuendeltGeladen() {
+        List<Verband> verbaende = zaehler.hoechstens(2, "findeVerbaendeVonBenutzer",
+                () -> mitgliedschaftService.findeVerbaendeVonBenutzer(schuetze.getId()));
+
+        assertEquals(List.of(verband.getId()), verbaende.stream().map(Verband::getId).toList());
+    }
+
+    @Test
+    void testDisziplinenUndSchiesstaende() {
+        List<Disziplin> disziplinen = zaehler.hoechstens(1, "findeDisziplinenVonVerbandEntities",
+                () -> disziplinService.findeDisziplinenVonVerbandEntities(verband.getId()));
+        List<Schiesstand> alle = zaehler.hoechstens(1, "findeAlleSchiesstaende", () -> {
+            List<Schiesstand> geladen = disziplinService.findeAlleSchiesstaende();
+            geladen.forEach(AbfragenAnzahlTest::zeigeSchiesstand);
+            return geladen;
+        });
+        List<Schiesstand> berechtigt = zaehler.hoechstens(1, "findeBerechtigteSchiesstaende", () -> {
+            List<Schiesstand> geladen = disziplinService.findeBerechtigteSchiesstaende(chef);
+            geladen.forEach(AbfragenAnzahlTest::zeigeSchiesstand);
+            return geladen;
+        });
+
+        assertEquals(DISZIPLINEN, disziplinen.size());
+        assertEquals(schiesstaende.size(), alle.size());
+        assertEquals(schiesstaende.size(), berechtigt.size());
+    }
+
+    @Test
+    void testDashboardStatistik() {
+        AngemeldeterBenutzer angemeldet = AngemeldeterBenutzer.von(
+                benutzerRepository.findByEmailWithMitgliedschaften(chef.getEmail()).orElseThrow(), List.of());
+
+        DashboardStatistik statistik = zaehler.hoechstens(3, "ermittleStatistik",
+                () -> dashboardService.ermittleStatistik(angemeldet));
+
+        assertNotNull(statistik);
+    }
+
+    @Test
+    void testPdfExporte() {
+        BenutzerDTO schuetzeDto = BenutzerDTO.builder()
+                .id(schuetze.getId())
+                .vorname(schuetze.getVorname())
+                .nachname(schuetze.getNachname())
+                .email(schuetze.getEmail())
+                .build();
+        LocalDate bis = VON.plusDays(EINTRAEGE);
+
+        byte[] nachweise = zaehler.hoechstens(2, "exportiereSchiessnachweise", () -> pdf(() ->
+                pdfExportService.exportiereSchiessnachweise(schuetzeDto,
+                        () -> schiessnachweisService.streameSignierteEintraegeImZeitraum(schuetze.getId(), VON, bis), VON, bis)));
+        byte[] mitglieder = zaehler.hoechstens(1, "exportiereVereinsmitgliedschaften", () -> pdf(() ->
+                pdfExportService.exportiereVereinsmitgliedschaften(vereine.getFirst(),
+                        () -> mitgliedschaftService.streameMitgliedschaften(vereine.getFirst(), null), null, null)));
+        byte[] schiesstand = zaehler.hoechstens(1, "exportiereEintragsverwaltungSchiesstand", () -> pdf(() ->
+                pdfExportService.exportiereEintragsverwaltungSchiesstand(schiesstaende.getFirst(),
+                        schiessnachweisService.findeEintraegeAnSchiesstand(schiesstaende.getFirst(), null), VON, bis)));
+
+        assertTrue(nachweise.length > 0);
+        assertTrue(mitglieder.length > 0);
+        assertTrue(schiesstand.length > 0);
+    }
+
+    /**
+     * Greift wie die Schießstand-Auswahl der Views auf Verein und Aufseher zu.
+     */
+    private static void zeigeSchiesstand(Schiesstand schiesstand) {
+        assertNotNull(schiesstand.getVerein().getName());
+        assertNotNull(schiesstand.getAufseher().getEmail());
+    }
+
+    private static byte[] pdf(PdfErzeugung erzeugung) {
+        try {
+            return erzeugung.erzeuge();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PdfErzeugung {
+        byte[] erzeuge() throws IOException;
+    }
+}
@@ -0,0 +1,188 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.EmailStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.model.enums.UserTokenTyp;
+import de.suchalla.schiessbuch.service.Aufraeumdienst;
+import de.suchalla.schiessbuch.service.BerechtigungGeaendertEvent;
+import de.suchalla.schiessbuch.service.JobSperren;
+import de.suchalla.schiessbuch.service.SchiessnachweisService;
+import de.suchalla.schiessbuch.service.ZaehlerService;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft das blockweise Aufräumen abgelaufener Tokens, abgelehnter Mitgliedschaften und Einträge sowie
+ * gesendeter E-Mails.
+ * Die Blockgröße ist bewusst klein, damit mehrere Blöcke entstehen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({Aufraeumdienst.class, JobSperren.class, SchiessnachweisService.class, ZaehlerService.class})
+@TestPropertySource(properties = {"aufraeumen.batch-groesse=2", "aufraeumen.aufbewahrung-abgelehnt=P30D"})
+@RecordApplicationEvents
+class AufraeumdienstTest {
+
+    @Autowired
+    private Aufraeumdienst aufraeumdienst;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+
+    @Autowired
+    private UserTokenRepository userTokenRepository;
+
+    @Autowired
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    @Autowired
+    private SchiessnachweisEintragRepository eintragRepository;
+
+    @Autowired
+    private EmailNachrichtRepository emailNachrichtRepository;
+
+    private final LocalDateTime alt = LocalDateTime.now().minusDays(60);
+    private Benutzer benutzer;
+    private Verein verein;
+    private Disziplin disziplin;
+    private Schiesstand schiesstand;
+
+    @BeforeEach
+    void setUp() {
+        benutzer = benutzerRepository.save(TestDataFactory.createBenutzer(null, "schuetze@example.com"));
+        verein = TestDataFactory.createVerein(null, "Verein");
+        entityManager.persist(verein);
+        Verband verband = TestDataFactory.createVerband(null, "DSB");
+        entityManager.persist(verband);
+        disziplin = TestDataFactory.createDisziplin(null, "Luftgewehr", verband);
+        entityManager.persist(disziplin);
+        schiesstand = TestDataFactory.createSchiesstand(null, "Stand", verein);
+        entityManager.persist(schiesstand);
+    }
+
+    @Test
+    void testAbgelaufeneTokensWerdenBlockweiseGeloescht() {
+        for (int i = 0; i < 5; i++) {
+            userTokenRepository.save(new UserToken("alt-" + i, LocalDateTime.now().minusHours(1), UserTokenTyp.VERIFICATION, benutzer));
+        }
+        UserToken gueltig = userTokenRepository.save(
+                new UserToken("gueltig", LocalDateTime.now().plusHours(1), UserTokenTyp.PASSWORD_RESET, benutzer));
+
+        Aufraeumdienst.Ergebnis ergebnis = aufraeumdienst.raeumeAuf();
+
+        assertEquals(5, ergebnis.tokens());
+        assertEquals(1, userTokenRepository.count());
+        assertTrue(userTokenRepository.findByToken(gueltig.getToken()).isPresent());
+    }
+
+    @Test
+    void testAbgelehnteMitgliedschaftenNachAufbewahrungsfrist() {
+        for (int i = 0; i < 3; i++) {
+            mitgliedschaft("abgelehnt" + i + "@example.com", MitgliedschaftsStatus.ABGELEHNT, alt);
+        }
+        Vereinsmitgliedschaft frisch = mitgliedschaft("frisch@example.com", MitgliedschaftsStatus.ABGELEHNT, LocalDateTime.now());
+        Vereinsmitgliedschaft aktiv = mitgliedschaft("aktiv@example.com", MitgliedschaftsStatus.AKTIV, alt);
+
+        Aufraeumdienst.Ergebnis ergebnis = aufraeumdienst.raeumeAuf();
+
+        assertEquals(3, ergebnis.mitgliedschaften());
+        assertEquals(2, mitgliedschaftRepository.count());
+        assertTrue(mitgliedschaftRepository.existsById(frisch.getId()));
+        assertTrue(mitgliedschaftRepository.existsById(aktiv.getId()));
+        assertEquals(1, events.stream(BerechtigungGeaendertEvent.class).count());
+    }
+
+    @Test
+    void testAbgelehnteEintraegeNachAufbewahrungsfrist() {
+        eintrag(EintragStatus.ABGELEHNT, alt);
+        eintrag(EintragStatus.ABGELEHNT, alt);
+        SchiessnachweisEintrag frisch = eintrag(EintragStatus.ABGELEHNT, LocalDateTime.now());
+        SchiessnachweisEintrag offen = eintrag(EintragStatus.UNSIGNIERT, alt);
+
+        Aufraeumdienst.Ergebnis ergebnis = aufraeumdienst.raeumeAuf();
+
+        assertEquals(2, ergebnis.eintraege());
+        assertTrue(eintragRepository.existsById(frisch.getId()));
+        assertTrue(eintragRepository.existsById(offen.getId()));
+        assertEquals(0, events.stream(BerechtigungGeaendertEvent.class).count());
+    }
+
+    @Test
+    void testGesendeteEmailsNachAufbewahrungsfrist() {
+        for (int i = 0; i < 3; i++) {
+            email(EmailStatus.GESENDET, alt);
+        }
+        EmailNachricht frisch = email(EmailStatus.GESENDET, LocalDateTime.now());
+        EmailNachricht offen = email(EmailStatus.OFFEN, null);
+        EmailNachricht fehlgeschlagen = email(EmailStatus.FEHLGESCHLAGEN, null);
+
+        Aufraeumdienst.Ergebnis ergebnis = aufraeumdienst.raeumeAuf();
+
+        assertEquals(3, ergebnis.emails());
+        assertEquals(3, emailNachrichtRepository.count());
+        assertTrue(emailNachrichtRepository.existsById(frisch.getId()));
+        assertTrue(emailNachrichtRepository.existsById(offen.getId()));
+        assertTrue(emailNachrichtRepository.existsById(fehlgeschlagen.getId()));
+    }
+
+    private EmailNachricht email(EmailStatus status, LocalDateTime gesendetAm) {
+        return emailNachrichtRepository.save(EmailNachricht.builder()
+                .empfaenger("schuetze@example.com")
+                .betreff("Betreff")
+                .inhalt("<p>Inhalt</p>")
+                .status(status)
+                .gesendetAm(gesendetAm)
+                .build());
+    }
+
+    private Vereinsmitgliedschaft mitgliedschaft(String email, MitgliedschaftsStatus status, LocalDateTime geaendert) {
+        Benutzer mitglied = benutzerRepository.save(TestDataFactory.createBenutzer(null, email));
+        Vereinsmitgliedschaft mitgliedschaft = mitgliedschaftRepository.save(
+                TestDataFactory.createMitgliedschaft(null, mitglied, verein, status));
+        setzeGeaendert("vereinsmitgliedschaft", mitgliedschaft.getId(), geaendert);
+        return mitgliedschaft;
+    }
+
+    private SchiessnachweisEintrag eintrag(EintragStatus status, LocalDateTime geaendert) {
+        SchiessnachweisEintrag eintrag = TestDataFactory.createEintrag(null, benutzer, disziplin, schiesstand, LocalDate.now());
+        eintrag.setStatus(status);
+        eintragRepository.save(eintrag);
+        setzeGeaendert("schiessnachweise_eintrag", eintrag.getId(), geaendert);
+        return eintrag;
+    }
+
+    /** aktualisiert_am wird von @PreUpdate gesetzt und lässt sich daher nur per SQL zurückdatieren. */
+    private void setzeGeaendert(String tabelle, Long id, LocalDateTime geaendert) {
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE " + tabelle + " SET aktualisiert_am = :geaendert WHERE id = :id")
+                .setParameter("geaendert", geaendert)
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,125 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.config.MetrikKonfiguration;
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.service.BenachrichtigungsZentrale;
+import de.suchalla.schiessbuch.service.EmailService;
+import de.suchalla.schiessbuch.service.EmailVorlagen;
+import de.suchalla.schiessbuch.service.EmpfaengerVerzeichnis;
+import de.suchalla.schiessbuch.service.SchiessnachweisService;
+import de.suchalla.schiessbuch.service.ZaehlerService;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Prüft, dass ein Fehler beim Einstellen einer Benachrichtigung die auslösende Änderung nicht zurückrollt.
+ * Die Tests laufen ohne umschließende Transaktion, damit jeder Service-Aufruf wirklich committet.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({MetrikKonfiguration.class, EmailService.class, EmailVorlagen.class, EmpfaengerVerzeichnis.class,
+        BenachrichtigungsZentrale.class, SchiessnachweisService.class, ZaehlerService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "email.enabled=true")
+class BenachrichtigungsFehlerTest {
+
+    @MockitoSpyBean
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    @Autowired
+    private SchiessnachweisService schiessnachweisService;
+
+    @Autowired
+    private SchiessnachweisEintragRepository eintragRepository;
+
+    @Autowired
+    private EmailNachrichtRepository emailNachrichtRepository;
+
+    @Autowired
+    private ZaehlerRepository zaehlerRepository;
+
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+
+    @Autowired
+    private VerbandRepository verbandRepository;
+
+    @Autowired
+    private DisziplinRepository disziplinRepository;
+
+    @Autowired
+    private VereinRepository vereinRepository;
+
+    @Autowired
+    private SchiesstandRepository schiesstandRepository;
+
+    private Benutzer schuetze;
+    private Benutzer aufseher;
+    private Disziplin disziplin;
+    private Schiesstand schiesstand;
+
+    @BeforeEach
+    void setUp() {
+        Verein verein = vereinRepository.save(TestDataFactory.createVerein(null, "Verein"));
+        Verband verband = verbandRepository.save(TestDataFactory.createVerband(null, "DSB"));
+        disziplin = disziplinRepository.save(TestDataFactory.createDisziplin(null, "Luftgewehr", verband));
+        schiesstand = schiesstandRepository.save(TestDataFactory.createSchiesstand(null, "Stand", verein));
+        aufseher = benutzerRepository.save(TestDataFactory.createBenutzer(null, "aufseher@example.com"));
+        Vereinsmitgliedschaft mitgliedschaft = TestDataFactory.createMitgliedschaft(null, aufseher, verein, MitgliedschaftsStatus.AKTIV);
+        mitgliedschaft.setIstAufseher(true);
+        mitgliedschaftRepository.save(mitgliedschaft);
+        schuetze = benutzerRepository.save(TestDataFactory.createBenutzer(null, "schuetze@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailNachrichtRepository.deleteAll();
+        zaehlerRepository.deleteAll();
+        eintragRepository.deleteAll();
+        mitgliedschaftRepository.deleteAll();
+        schiesstandRepository.deleteAll();
+        vereinRepository.deleteAll();
+        disziplinRepository.deleteAll();
+        verbandRepository.deleteAll();
+        benutzerRepository.deleteAll();
+    }
+
+    @Test
+    void testFehlerhafteEmpfaengerabfrageRolltErstellenUndSignierenNichtZurueck() {
+        // Die Empfängerabfrage läuft in der Transaktion der Änderung; ihr Fehler wird im Verzeichnis abgefangen
+        doThrow(new DataAccessResourceFailureException("Datenbank nicht erreichbar"))
+                .when(mitgliedschaftRepository).findBenachrichtigungsempfaenger(any(), anyBoolean(), anyBoolean());
+        SchiessnachweisEintrag eintrag = TestDataFactory.createEintrag(null, schuetze, disziplin, schiesstand, LocalDate.now());
+
+        assertDoesNotThrow(() -> schiessnachweisService.erstelleEintrag(eintrag));
+        assertDoesNotThrow(() -> schiessnachweisService.signiereEintrag(eintrag, aufseher, "signatur"));
+
+        SchiessnachweisEintrag gespeichert = eintragRepository.findById(eintrag.getId()).orElseThrow();
+        assertEquals(EintragStatus.SIGNIERT, gespeichert.getStatus());
+        assertEquals(1, emailNachrichtRepository.count());
+        assertEquals("schuetze@example.com", emailNachrichtRepository.findAll().get(0).getEmpfaenger());
+    }
+}
@@ -168,5 +168,21 @@ class BenutzerRepositoryTest {
         assertEquals(erstelltAm, saved.getErstelltAm());
         assertNotNull(saved.getAktualisiertAm());
     }
-}
 
+    @Test
+    void testBerechtigungStandWirdNurPerUpdateErhoeht() {
+        Benutzer saved = entityManager.persistAndFlush(testBenutzer);
+        assertEquals(Optional.of(0L), benutzerRepository.findBerechtigungStand(saved.getId()));
+
+        assertEquals(1, benutzerRepository.erhoeheBerechtigungStand(saved.getId()));
+        benutzerRepository.erhoeheBerechtigungStandAlle();
+
+        // Speichern der Entity mit veraltetem Stand überschreibt den Zähler nicht
+        saved.setRolle(BenutzerRolle.AUFSEHER);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(Optional.of(2L), benutzerRepository.findBerechtigungStand(saved.getId()));
+        assertEquals(BenutzerRolle.AUFSEHER, benutzerRepository.findById(saved.getId()).orElseThrow().getRolle());
+    }
+}
@@ -0,0 +1,113 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.config.AsyncKonfiguration;
+import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.service.EreignisMetriken;
+import de.suchalla.schiessbuch.service.MitgliedschaftBeantragtEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Zustellung von Domänenereignissen an Zuhörer, die nach dem Commit asynchron laufen:
+ * erst nach dem Commit und nicht nach einem Rollback.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AsyncKonfiguration.class, EreignisMetriken.class, DomaenenereignisTest.AsyncTestKonfiguration.class})
+class DomaenenereignisTest {
+
+    @TestConfiguration
+    @EnableAsync
+    static class AsyncTestKonfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        registry.clear();
+    }
+
+    @Test
+    void testZustellungErstNachCommit() throws InterruptedException {
+        TransactionTemplate neueTransaktion = neueTransaktion();
+
+        neueTransaktion.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ereignis());
+            assertEquals(0, anzahl());
+        });
+
+        warteAufAnzahl(1);
+    }
+
+    @Test
+    void testKeineZustellungNachRollback() throws InterruptedException {
+        TransactionTemplate neueTransaktion = neueTransaktion();
+
+        neueTransaktion.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ereignis());
+            status.setRollbackOnly();
+        });
+        neueTransaktion.executeWithoutResult(status -> eventPublisher.publishEvent(ereignis()));
+
+        warteAufAnzahl(1);
+        assertEquals(1, anzahl());
+    }
+
+    private TransactionTemplate neueTransaktion() {
+        TransactionTemplate neueTransaktion = new TransactionTemplate(transactionManager);
+        neueTransaktion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return neueTransaktion;
+    }
+
+    private static MitgliedschaftBeantragtEvent ereignis() {
+        return new MitgliedschaftBeantragtEvent(new Verein(), new Benutzer());
+    }
+
+    private double anzahl() {
+        Counter zaehler = registry.find("schiessbuch.ereignisse").tag("typ", "MitgliedschaftBeantragtEvent").counter();
+        return zaehler != null ? zaehler.count() : 0;
+    }
+
+    private void warteAufAnzahl(double erwartet) throws InterruptedException {
+        long ende = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (anzahl() < erwartet) {
+            assertTrue(System.nanoTime() < ende, "Ereignis nicht rechtzeitig zugestellt");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.config.AsyncKonfiguration;
+import de.suchalla.schiessbuch.config.MetrikKonfiguration;
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.EmailStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.service.BenachrichtigungsZentrale;
+import de.suchalla.schiessbuch.service.EmailService;
+import de.suchalla.schiessbuch.service.EmailVersand;
+import de.suchalla.schiessbuch.service.EmailVorlagen;
+import de.suchalla.schiessbuch.service.EmpfaengerVerzeichnis;
+import de.suchalla.schiessbuch.service.JobSperren;
+import de.suchalla.schiessbuch.service.SchiessnachweisService;
+import de.suchalla.schiessbuch.service.ZaehlerService;
+import de.suchalla.schiessbuch.testutil.SmtpAttrappe;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft den Postausgang: Einstellen in der Transaktion des Aufrufers, blockweisen Versand über eine
+ * SMTP-Verbindung je Block und die Wiederholung abgelehnter Nachrichten. Als SMTP-Server dient eine
+ * lokale {@link SmtpAttrappe}; die Blockgröße ist bewusst klein, damit mehrere Blöcke entstehen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AsyncKonfiguration.class, MetrikKonfiguration.class, EmailVersand.class, EmailService.class, EmailVorlagen.class, EmpfaengerVerzeichnis.class, BenachrichtigungsZentrale.class, JobSperren.class,
+        SchiessnachweisService.class,
+        ZaehlerService.class, EmailVersandTest.SmtpKonfiguration.class})
+@TestPropertySource(properties = {
+        "email.enabled=true",
+        "spring.mail.from=noreply@schiessbuch.local",
+        "email.versand.batch-groesse=2",
+        "email.versand.max-versuche=2",
+        "email.versand.wartezeit=PT1M"
+})
+class EmailVersandTest {
+
+    private static final SmtpAttrappe SMTP = SmtpAttrappe.starte();
+
+    @TestConfiguration
+    static class SmtpKonfiguration {
+
+        @Bean
+        JavaMailSender mailSender() {
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost(SMTP.getHost());
+            mailSender.setPort(SMTP.getPort());
+            mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "5000");
+            mailSender.getJavaMailProperties().put("mail.smtp.timeout", "5000");
+            return mailSender;
+        }
+    }
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailVersand emailVersand;
+
+    @Autowired
+    private EmailNachrichtRepository emailNachrichtRepository;
+
+    @Autowired
+    private SchiessnachweisService schiessnachweisService;
+
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+
+    @Autowired
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterAll
+    static void stoppeSmtp() throws IOException {
+        SMTP.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        SMTP.zuruecksetzen();
+    }
+
+    @Test
+    void testVersandBlockweiseUeberEineVerbindungJeBlock() {
+        for (int i = 0; i < 5; i++) {
+            stelleEin("schuetze" + i + "@example.com");
+        }
+
+        EmailVersand.Ergebnis ergebnis = emailVersand.versende();
+
+        assertEquals(5, ergebnis.gesendet());
+        assertEquals(0, ergebnis.fehlgeschlagen());
+        assertEquals(3, SMTP.getVerbindungen());
+        assertEquals(5, SMTP.getNachrichten().size());
+        assertTrue(emailNachrichtRepository.findAll().stream()
+                .allMatch(n -> n.getStatus() == EmailStatus.GESENDET && n.getGesendetAm() != null && n.getVersuche() == 1));
+        assertEquals(0, emailNachrichtRepository.countByStatus(EmailStatus.OFFEN));
+    }
+
+    @Test
+    void testAbgelehnterEmpfaengerWirdSpaeterErneutVersucht() {
+        SMTP.lehneAb("unbekannt@example.com");
+        stelleEin("schuetze@example.com");
+        stelleEin("unbekannt@example.com");
+        stelleEin("aufseher@example.com");
+
+        EmailVersand.Ergebnis ergebnis = emailVersand.versende();
+
+        assertEquals(2, ergebnis.gesendet());
+        assertEquals(1, ergebnis.fehlgeschlagen());
+        Set<String> empfaenger = SMTP.getNachrichten().stream()
+                .flatMap(n -> n.empfaenger().stream())
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("schuetze@example.com", "aufseher@example.com"), empfaenger);
+
+        EmailNachricht abgelehnt = nachricht("unbekannt@example.com");
+        assertEquals(EmailStatus.OFFEN, abgelehnt.getStatus());
+        assertEquals(1, abgelehnt.getVersuche());
+        assertNotNull(abgelehnt.getLetzterFehler());
+        assertTrue(abgelehnt.getNaechsterVersuch().isAfter(LocalDateTime.now().plusSeconds(30)));
+
+        // Vor Ablauf der Wartezeit ist nichts fällig
+        assertEquals(new EmailVersand.Ergebnis(0, 0), emailVersand.versende());
+    }
+
+    @Test
+    void testNachMaxVersuchenFehlgeschlagen() {
+        SMTP.lehneAb("unbekannt@example.com");
+        stelleEin("unbekannt@example.com");
+
+        emailVersand.versende();
+        setzeFaellig(nachricht("unbekannt@example.com").getId());
+        emailVersand.versende();
+
+        EmailNachricht abgelehnt = nachricht("unbekannt@example.com");
+        assertEquals(EmailStatus.FEHLGESCHLAGEN, abgelehnt.getStatus());
+        assertEquals(2, abgelehnt.getVersuche());
+        assertEquals(1, emailNachrichtRepository.countByStatus(EmailStatus.FEHLGESCHLAGEN));
+        assertEquals(new EmailVersand.Ergebnis(0, 0), emailVersand.versende());
+    }
+
+    @Test
+    void testServerNichtVerfuegbarBeendetDurchlauf() {
+        SMTP.verweigere(true);
+        for (int i = 0; i < 3; i++) {
+            stelleEin("schuetze" + i + "@example.com");
+        }
+
+        EmailVersand.Ergebnis ergebnis = emailVersand.versende();
+
+        assertEquals(0, ergebnis.gesendet());
+        assertEquals(2, ergebnis.fehlgeschlagen());
+        List<EmailNachricht> nachrichten = emailNachrichtRepository.findAll();
+        assertTrue(nachrichten.stream().allMatch(n -> n.getStatus() == EmailStatus.OFFEN));
+        assertEquals(2, nachrichten.stream().filter(n -> n.getVersuche() == 1).count());
+        assertTrue(SMTP.getNachrichten().isEmpty());
+    }
+
+    @Test
+    void testEinstellenWirdMitDerTransaktionZurueckgerollt() {
+        TransactionTemplate neueTransaktion = new TransactionTemplate(transactionManager);
+        neueTransaktion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        neueTransaktion.executeWithoutResult(status -> {
+            stelleEin("schuetze@example.com");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, emailNachrichtRepository.count());
+    }
+
+    @Test
+    void testNeuerEintragStelltBenachrichtigungEin() {
+        Verein verein = TestDataFactory.createVerein(null, "Verein");
+        entityManager.persist(verein);
+        Verband verband = TestDataFactory.createVerband(null, "DSB");
+        entityManager.persist(verband);
+        Disziplin disziplin = TestDataFactory.createDisziplin(null, "Luftgewehr", verband);
+        entityManager.persist(disziplin);
+        Schiesstand schiesstand = TestDataFactory.createSchiesstand(null, "Stand", verein);
+        entityManager.persist(schiesstand);
+        Benutzer chef = benutzerRepository.save(TestDataFactory.createBenutzer(null, "chef@example.com"));
+        Vereinsmitgliedschaft chefMitgliedschaft = TestDataFactory.createMitgliedschaft(null, chef, verein, MitgliedschaftsStatus.AKTIV);
+        chefMitgliedschaft.setIstVereinschef(true);
+        mitgliedschaftRepository.save(chefMitgliedschaft);
+        Benutzer schuetze = benutzerRepository.save(TestDataFactory.createBenutzer(null, "schuetze@example.com"));
+
+        schiessnachweisService.erstelleEintrag(
+                TestDataFactory.createEintrag(null, schuetze, disziplin, schiesstand, LocalDate.now()));
+
+        EmailNachricht nachricht = nachricht("chef@example.com");
+        assertEquals(EmailStatus.OFFEN, nachricht.getStatus());
+        assertTrue(nachricht.getInhalt().contains("schiesstandId=" + schiesstand.getId()));
+    }
+
+    private void stelleEin(String empfaenger) {
+        Map<String, Object> variablen = new HashMap<>();
+        variablen.put("username", "Empfänger");
+        variablen.put("entryId", 1);
+        variablen.put("actionUrl", "http://localhost:8080/eintraege-verwaltung");
+        emailService.sendMail(empfaenger, "Betreff", "signatur-request.html", variablen);
+    }
+
+    private EmailNachricht nachricht(String empfaenger) {
+        return emailNachrichtRepository.findAll().stream()
+                .filter(n -> n.getEmpfaenger().equals(empfaenger))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /** naechster_versuch liegt nach einem Fehlschlag in der Zukunft und wird daher per SQL vorgezogen. */
+    private void setzeFaellig(Long id) {
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE email_outbox SET naechster_versuch = :jetzt WHERE id = :id")
+                .setParameter("jetzt", LocalDateTime.now().minusSeconds(1))
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,111 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
+import de.suchalla.schiessbuch.model.enums.SchiesstandTyp;
+import de.suchalla.schiessbuch.service.SchiessnachweisService;
+import de.suchalla.schiessbuch.service.ZaehlerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Prüft, dass Massen-Inserts dank Sequenz-IDs per JDBC-Batch geschrieben werden.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SchiessnachweisService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class JdbcBatchingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SchiessnachweisService schiessnachweisService;
+
+    @Autowired
+    private SchiessnachweisEintragRepository eintragRepository;
+
+    /** Die Zähler-Fortschreibung ist nicht Gegenstand dieses Tests und würde die Statement-Zählung verfälschen. */
+    @MockitoBean
+    private ZaehlerService zaehlerService;
+
+    private Benutzer schuetze;
+    private Disziplin disziplin;
+    private Schiesstand schiesstand;
+
+    @BeforeEach
+    void setUp() {
+        Verein verein = Verein.builder().name("Testverein").build();
+        entityManager.persist(verein);
+        schuetze = Benutzer.builder()
+                .email("schuetze@example.com")
+                .vorname("Max")
+                .nachname("Mustermann")
+                .passwort("password")
+                .rolle(BenutzerRolle.SCHUETZE)
+                .build();
+        entityManager.persist(schuetze);
+        disziplin = Disziplin.builder().kennziffer("LG-10m").programm("Luftgewehr").build();
+        entityManager.persist(disziplin);
+        schiesstand = Schiesstand.builder()
+                .name("Stand 1")
+                .typ(SchiesstandTyp.VEREINSGEBUNDEN)
+                .verein(verein)
+                .build();
+        entityManager.persist(schiesstand);
+        entityManager.flush();
+    }
+
+    @Test
+    void testErstelleEintraegeSchreibtInBatches() {
+        int anzahl = 120;
+        List<SchiessnachweisEintrag> eintraege = new ArrayList<>();
+        for (int i = 0; i < anzahl; i++) {
+            eintraege.add(SchiessnachweisEintrag.builder()
+                    .schuetze(schuetze)
+                    .disziplin(disziplin)
+                    .schiesstand(schiesstand)
+                    .datum(LocalDate.now().minusDays(i))
+                    .anzahlSchuesse(40)
+                    .build());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        int erstellt = schiessnachweisService.erstelleEintraege(eintraege);
+
+        assertEquals(anzahl, erstellt);
+        assertEquals(anzahl, statistics.getEntityInsertCount());
+        // Ohne Batching wäre es mindestens ein Statement pro Zeile; mit Sequenzen (Schrittweite 50)
+        // und Batchgröße 50 bleiben drei Insert-Batches und wenige Sequenzabrufe übrig.
+        assertTrue(statistics.getPrepareStatementCount() < 10,
+                "Erwartet gebündelte Inserts, aber " + statistics.getPrepareStatementCount() + " Statements");
+        assertEquals(anzahl, eintragRepository.countBySchuetzeAndStatus(schuetze,
+                de.suchalla.schiessbuch.model.enums.EintragStatus.UNSIGNIERT));
+        verify(zaehlerService).eintraegeAngelegt(eintraege);
+    }
+}
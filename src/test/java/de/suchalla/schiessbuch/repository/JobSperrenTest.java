@@ -0,0 +1,86 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.entity.JobSperre;
+import de.suchalla.schiessbuch.service.JobSperren;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Lease-Sperren mit zwei Knoten gegen die Datenbank. Die Tests laufen ohne umschließende
+ * Transaktion, da jede Sperr-Anweisung in eigener Transaktion ausgeführt wird.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobSperrenTest {
+
+    @Autowired
+    private JobSperreRepository jobSperreRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JobSperren knotenA;
+    private JobSperren knotenB;
+
+    @BeforeEach
+    void setUp() {
+        knotenA = new JobSperren(jobSperreRepository, transactionManager, "knoten-a");
+        knotenB = new JobSperren(jobSperreRepository, transactionManager, "knoten-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobSperreRepository.deleteAll();
+    }
+
+    @Test
+    void testNurEinKnotenErhaeltDieSperre() {
+        assertTrue(knotenA.sperre("job", Duration.ofMinutes(5)));
+        assertFalse(knotenB.sperre("job", Duration.ofMinutes(5)));
+        assertTrue(knotenA.sperre("job", Duration.ofMinutes(5)), "Der Halter darf verlängern");
+
+        knotenA.gebeFrei("job");
+
+        assertTrue(knotenB.sperre("job", Duration.ofMinutes(5)));
+        assertEquals("knoten-b", jobSperreRepository.findById("job").map(JobSperre::getGesperrtVon).orElseThrow());
+    }
+
+    @Test
+    void testAbgelaufeneSperreWirdUebernommen() {
+        jobSperreRepository.save(new JobSperre("job", LocalDateTime.now().minusSeconds(1), "knoten-a"));
+
+        assertTrue(knotenB.sperre("job", Duration.ofMinutes(5)));
+        assertFalse(knotenA.sperre("job", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void testJobLaeuftNurAufDemHalterUndGibtDieSperreFrei() {
+        AtomicInteger ausgefuehrt = new AtomicInteger();
+        assertTrue(knotenA.sperre("job", Duration.ofMinutes(5)));
+
+        assertFalse(knotenB.fuehreAus("job", Duration.ofMinutes(5), ausgefuehrt::incrementAndGet));
+        assertEquals(0, ausgefuehrt.get());
+
+        knotenA.gebeFrei("job");
+        assertTrue(knotenB.fuehreAus("job", Duration.ofMinutes(5), ausgefuehrt::incrementAndGet));
+        assertEquals(1, ausgefuehrt.get());
+        assertTrue(knotenA.sperre("job", Duration.ofMinutes(5)), "Nach dem Job ist die Sperre wieder frei");
+    }
+}
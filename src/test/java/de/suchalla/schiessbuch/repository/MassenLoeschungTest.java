@@ -0,0 +1,208 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.LoeschStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
+import de.suchalla.schiessbuch.service.*;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Massenlöschungen von Verbänden, Vereinen, Schießständen und Disziplinen gegen die Datenbank:
+ * Reihenfolge der Fremdschlüssel, Zertifikatshierarchien und Fortschreibung der Zähler.
+ * Der Hintergrund-Executor ist durch einen synchronen ersetzt.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({LoeschService.class, VerbandService.class, SchiesstandService.class, DisziplinService.class,
+        VereinsmitgliedschaftService.class, SchiessnachweisService.class, ZaehlerService.class, ReferenzdatenCache.class})
+class MassenLoeschungTest {
+
+    @TestConfiguration
+    static class SynchronerExecutor {
+        @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+        TaskExecutor applicationTaskExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    @MockitoBean
+    private PkiService pkiService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private LoeschService loeschService;
+
+    @Autowired
+    private VerbandService verbandService;
+
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+
+    @Autowired
+    private VerbandRepository verbandRepository;
+
+    @Autowired
+    private DisziplinRepository disziplinRepository;
+
+    @Autowired
+    private VereinRepository vereinRepository;
+
+    @Autowired
+    private SchiesstandRepository schiesstandRepository;
+
+    @Autowired
+    private DigitalesZertifikatRepository zertifikatRepository;
+
+    @Autowired
+    private SchiessnachweisEintragRepository eintragRepository;
+
+    @Autowired
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    @Autowired
+    private ZaehlerRepository zaehlerRepository;
+
+    private Benutzer schuetze;
+    private Verband verband;
+    private Disziplin disziplin;
+    private Disziplin fremdeDisziplin;
+    private Schiesstand schiesstand;
+    private DigitalesZertifikat root;
+
+    @BeforeEach
+    void setUp() {
+        schuetze = benutzerRepository.save(TestDataFactory.createBenutzer(null, "schuetze@example.com"));
+        verband = verbandRepository.save(TestDataFactory.createVerband(null, "DSB"));
+        disziplin = disziplinRepository.save(TestDataFactory.createDisziplin(null, "Luftgewehr", verband));
+        Verband fremderVerband = verbandRepository.save(TestDataFactory.createVerband(null, "BDS"));
+        fremdeDisziplin = disziplinRepository.save(TestDataFactory.createDisziplin(null, "Luftpistole", fremderVerband));
+        Verein standVerein = vereinRepository.save(TestDataFactory.createVerein(null, "Standverein"));
+        schiesstand = schiesstandRepository.save(TestDataFactory.createSchiesstand(null, "Stand 1", standVerein));
+        root = zertifikatRepository.save(TestDataFactory.createZertifikat(null, "ROOT", schuetze));
+    }
+
+    @Test
+    void testVerbandWirdMitDisziplinenUndEintraegenGeloescht() {
+        legeEintragAn(disziplin, EintragStatus.UNSIGNIERT, null);
+        legeEintragAn(disziplin, EintragStatus.UNSIGNIERT, null);
+        legeEintragAn(disziplin, EintragStatus.SIGNIERT, null);
+        SchiessnachweisEintrag fremd = legeEintragAn(fremdeDisziplin, EintragStatus.UNSIGNIERT, null);
+        zaehlerRepository.save(new Zaehler(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstand.getId(), 3L));
+        zaehlerRepository.save(new Zaehler(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, schuetze.getId(), 3L));
+
+        LoeschAuftrag auftrag = loeschService.starteVerbandLoeschung(verband.getId());
+
+        assertEquals(LoeschStatus.ABGESCHLOSSEN, auftrag.getStatus());
+        assertEquals(3, auftrag.getGesamt());
+        assertEquals(3, auftrag.getGeloescht());
+        assertEquals(1.0, auftrag.getFortschritt());
+        assertFalse(verbandRepository.existsById(verband.getId()));
+        assertFalse(disziplinRepository.existsById(disziplin.getId()));
+        assertEquals(1, eintragRepository.count());
+        assertTrue(eintragRepository.existsById(fremd.getId()));
+        assertEquals(1L, zaehlerRepository.findAnzahl(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstand.getId()).orElseThrow());
+        assertEquals(1L, zaehlerRepository.findAnzahl(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, schuetze.getId()).orElseThrow());
+    }
+
+    @Test
+    void testVereinWirdMitZertifikatshierarchieUndMitgliedschaftenGeloescht() {
+        Verein verein = vereinRepository.save(TestDataFactory.createVerein(null, "Verein A"));
+        DigitalesZertifikat vereinsZertifikat = speichereZertifikat("VEREIN", verein, null, root);
+        DigitalesZertifikat aufseherZertifikat = speichereZertifikat("AUFSEHER", verein, null, vereinsZertifikat);
+        legeEintragAn(disziplin, EintragStatus.SIGNIERT, aufseherZertifikat);
+        SchiessnachweisEintrag unbeteiligt = legeEintragAn(disziplin, EintragStatus.UNSIGNIERT, null);
+        Benutzer mitglied = benutzerRepository.save(TestDataFactory.createBenutzer(null, "mitglied@example.com"));
+        mitgliedschaftRepository.save(TestDataFactory.createMitgliedschaft(null, schuetze, verein, MitgliedschaftsStatus.AKTIV));
+        mitgliedschaftRepository.save(TestDataFactory.createMitgliedschaft(null, mitglied, verein, MitgliedschaftsStatus.BEANTRAGT));
+        zaehlerRepository.save(new Zaehler(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, verein.getId(), 1L));
+
+        verbandService.loescheVerein(verein.getId());
+
+        assertFalse(vereinRepository.existsById(verein.getId()));
+        assertEquals(1, zertifikatRepository.count());
+        assertTrue(zertifikatRepository.existsById(root.getId()));
+        assertEquals(1, eintragRepository.count());
+        assertTrue(eintragRepository.existsById(unbeteiligt.getId()));
+        assertEquals(0, mitgliedschaftRepository.count());
+        assertTrue(zaehlerRepository.findAnzahl(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, verein.getId()).isEmpty());
+    }
+
+    @Test
+    void testSchiesstandWirdMitEintraegenUndZertifikatenGeloescht() {
+        DigitalesZertifikat standZertifikat = speichereZertifikat("SCHIESSTANDAUFSEHER", null, schiesstand, root);
+        legeEintragAn(disziplin, EintragStatus.SIGNIERT, standZertifikat);
+        legeEintragAn(disziplin, EintragStatus.UNSIGNIERT, null);
+        zaehlerRepository.save(new Zaehler(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstand.getId(), 1L));
+
+        LoeschAuftrag auftrag = loeschService.starteSchiesstandLoeschung(schiesstand.getId());
+
+        assertEquals(LoeschStatus.ABGESCHLOSSEN, auftrag.getStatus(), auftrag.getFehler());
+        assertEquals(2, auftrag.getGeloescht());
+        assertFalse(schiesstandRepository.existsById(schiesstand.getId()));
+        assertEquals(0, eintragRepository.count());
+        assertFalse(zertifikatRepository.existsById(standZertifikat.getId()));
+        assertTrue(zaehlerRepository.findAnzahl(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstand.getId()).isEmpty());
+    }
+
+    @Test
+    void testNichtArchivierteDisziplinWirdNichtGestartet() {
+        legeEintragAn(disziplin, EintragStatus.UNSIGNIERT, null);
+
+        assertThrows(IllegalStateException.class, () -> loeschService.starteDisziplinLoeschung(disziplin.getId()));
+
+        assertEquals(1, eintragRepository.count());
+        assertTrue(disziplinRepository.existsById(disziplin.getId()));
+    }
+
+    @Test
+    void testArchivierteDisziplinWirdMitEintraegenGeloescht() {
+        disziplin.setArchiviert(true);
+        disziplinRepository.save(disziplin);
+        legeEintragAn(disziplin, EintragStatus.UNSIGNIERT, null);
+        legeEintragAn(fremdeDisziplin, EintragStatus.UNSIGNIERT, null);
+
+        LoeschAuftrag auftrag = loeschService.starteDisziplinLoeschung(disziplin.getId());
+
+        assertEquals(LoeschStatus.ABGESCHLOSSEN, auftrag.getStatus(), auftrag.getFehler());
+        assertFalse(disziplinRepository.existsById(disziplin.getId()));
+        assertEquals(1, eintragRepository.count());
+    }
+
+    private SchiessnachweisEintrag legeEintragAn(Disziplin d, EintragStatus status, DigitalesZertifikat zertifikat) {
+        SchiessnachweisEintrag eintrag = TestDataFactory.createEintrag(null, schuetze, d, schiesstand, LocalDate.now());
+        eintrag.setStatus(status);
+        eintrag.setZertifikat(zertifikat);
+        return eintragRepository.save(eintrag);
+    }
+
+    private DigitalesZertifikat speichereZertifikat(String typ, Verein verein, Schiesstand stand, DigitalesZertifikat parent) {
+        DigitalesZertifikat zertifikat = TestDataFactory.createZertifikat(null, typ, schuetze);
+        zertifikat.setVerein(verein);
+        zertifikat.setSchiesstand(stand);
+        zertifikat.setParentZertifikat(parent);
+        return zertifikatRepository.save(zertifikat);
+    }
+}
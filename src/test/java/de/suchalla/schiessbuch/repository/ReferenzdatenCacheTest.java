@@ -0,0 +1,153 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.entity.Schiesstand;
+import de.suchalla.schiessbuch.model.entity.Verband;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.service.ReferenzdatenCache;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft den Second-Level- und Query-Cache der Referenzdaten. Die Tests laufen ohne umschließende
+ * Transaktion, da Hibernate Abfrageergebnisse erst nach dem Commit der Schreibvorgänge cacht.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ReferenzdatenCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReferenzdatenCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReferenzdatenCache referenzdatenCache;
+
+    @Autowired
+    private VerbandRepository verbandRepository;
+
+    @Autowired
+    private VereinRepository vereinRepository;
+
+    @Autowired
+    private SchiesstandRepository schiesstandRepository;
+
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+
+    private Statistics statistics;
+    private Verband verband;
+
+    @BeforeEach
+    void setUp() {
+        verband = verbandRepository.save(TestDataFactory.createVerband(null, "DSB"));
+        Verein verein = TestDataFactory.createVerein(null, "SV Musterstadt");
+        verein.getVerbaende().add(verband);
+        verein = vereinRepository.save(verein);
+        Benutzer aufseher = benutzerRepository.save(TestDataFactory.createBenutzer(null, "aufseher@example.com"));
+        Schiesstand schiesstand = TestDataFactory.createSchiesstand(null, "Stand 1", verein);
+        schiesstand.setAufseher(aufseher);
+        schiesstandRepository.save(schiesstand);
+
+        referenzdatenCache.leereNachCommit(Verband.class, Verein.class, Schiesstand.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        schiesstandRepository.deleteAll();
+        vereinRepository.deleteAll();
+        verbandRepository.deleteAll();
+        benutzerRepository.deleteAll();
+        referenzdatenCache.leereNachCommit(Verband.class, Verein.class, Schiesstand.class);
+    }
+
+    @Test
+    void testVerbaendeMitVereinenKommenBeimZweitenAufrufAusDemCache() {
+        verbandRepository.findAllWithVereine();
+        List<Verband> verbaende = verbandRepository.findAllWithVereine();
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getQueryExecutionCount());
+        // Vereine stammen aus dem Collection-Cache und sind auch ohne Session verfügbar
+        assertEquals(1, verbaende.getFirst().getVereine().size());
+    }
+
+    @Test
+    void testSchiesstaendeMitAufseherKommenBeimZweitenAufrufAusDemCache() {
+        schiesstandRepository.findAllWithVerein();
+        List<Schiesstand> schiesstaende = schiesstandRepository.findAllWithVerein();
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals("aufseher@example.com", schiesstaende.getFirst().getAufseher().getEmail());
+        assertEquals("SV Musterstadt", schiesstaende.getFirst().getVerein().getName());
+    }
+
+    @Test
+    void testVereinsnamenKommenBeimZweitenAufrufAusDemCache() {
+        vereinRepository.findAllNames();
+        List<String> namen = vereinRepository.findAllNames();
+
+        assertEquals(List.of("SV Musterstadt"), namen);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testEntityWirdPerIdAusDemCacheGeladen() {
+        verbandRepository.findById(verband.getId());
+        verbandRepository.findById(verband.getId());
+
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertTrue(entityManagerFactory.getCache().contains(Verband.class, verband.getId()));
+    }
+
+    @Test
+    void testLeerenEntferntEntitiesUndAbfrageergebnisse() {
+        verbandRepository.findAllWithVereine();
+
+        referenzdatenCache.leereNachCommit(Verband.class);
+
+        assertFalse(entityManagerFactory.getCache().contains(Verband.class, verband.getId()));
+        verbandRepository.findAllWithVereine();
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void testSchreibvorgangMachtAbfrageergebnisUngueltig() {
+        verbandRepository.findAllWithVereine();
+        verbandRepository.save(TestDataFactory.createVerband(null, "BDS"));
+
+        List<Verband> verbaende = verbandRepository.findAllWithVereine();
+
+        assertEquals(2, verbaende.size());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+}
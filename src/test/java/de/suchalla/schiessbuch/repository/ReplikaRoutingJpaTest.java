@@ -0,0 +1,71 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.config.ReplikaKonfiguration;
+import de.suchalla.schiessbuch.config.ReplikaRoutingDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Replikat-Konfiguration mit JPA gegen zwei H2-Instanzen: Das Schema wird nur in der
+ * Primärdatenbank angelegt, read-only Transaktionen des Entity-Managers landen auf dem Replikat.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ReplikaKonfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpaprimaer;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "app.datasource.replika.urls=jdbc:h2:mem:jpareplika;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replika.verzoegerung-sql=SELECT 0"
+})
+class ReplikaRoutingJpaTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplikaRoutingDataSource routing;
+
+    @Test
+    void testReadOnlyTransaktionenLesenVomReplikat() {
+        assertEquals(List.of("replika-1"), routing.verfuegbareReplikas());
+
+        TransactionTemplate lesend = new TransactionTemplate(transactionManager);
+        lesend.setReadOnly(true);
+        TransactionTemplate schreibend = new TransactionTemplate(transactionManager);
+
+        Boolean replikatHatSchema = lesend.execute(status -> hatSchema());
+        Boolean primaerHatSchema = schreibend.execute(status -> hatSchema());
+
+        assertEquals(false, replikatHatSchema, "read-only muss das Replikat ohne Schema treffen");
+        assertEquals(true, primaerHatSchema, "Schreibtransaktionen gehen an die Primärdatenbank");
+    }
+
+    private boolean hatSchema() {
+        Number anzahl = (Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = 'benutzer'")
+                .getSingleResult();
+        return anzahl.longValue() > 0;
+    }
+}
@@ -0,0 +1,161 @@
+package de.suchalla.schiessbuch.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Flyway-Migrationen gegen H2 (PostgreSQL-Modus): Das migrierte Schema muss zu den
+ * Entities passen (ddl-auto=validate) und die häufigsten Abfragen auf schiessnachweise_eintrag
+ * müssen laut Ausführungsplan einen der angelegten Indizes verwenden.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flywaydb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationIndexTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testMigrationenLegenIndizesAn() {
+        @SuppressWarnings("unchecked")
+        List<String> indizes = entityManager.createNativeQuery(
+                        "SELECT index_name FROM information_schema.indexes WHERE table_name = 'schiessnachweise_eintrag'")
+                .getResultList();
+
+        assertTrue(indizes.containsAll(List.of(
+                "idx_eintrag_schuetze_datum_id",
+                "idx_eintrag_schuetze_status",
+                "idx_eintrag_schiesstand_status_datum",
+                "idx_eintrag_disziplin",
+                "idx_eintrag_unsigniert")), "Fehlende Indizes: " + indizes);
+    }
+
+    @Test
+    void testSchuetzeImZeitraumNutztIndex() {
+        String plan = explain("SELECT e.id FROM schiessnachweise_eintrag e " +
+                "WHERE e.schuetze_id = 1 AND e.datum BETWEEN DATE '2024-01-01' AND DATE '2024-12-31' " +
+                "ORDER BY e.datum DESC, e.id DESC");
+
+        assertTrue(plan.contains("idx_eintrag_schuetze_datum_id"), plan);
+    }
+
+    @Test
+    void testSchuetzeKeysetNutztIndex() {
+        String plan = explain("SELECT e.id FROM schiessnachweise_eintrag e " +
+                "WHERE e.schuetze_id = 1 AND (e.datum < DATE '2024-06-01' OR (e.datum = DATE '2024-06-01' AND e.id < 100)) " +
+                "ORDER BY e.datum DESC, e.id DESC LIMIT 50");
+
+        assertTrue(plan.contains("idx_eintrag_schuetze_datum_id"), plan);
+    }
+
+    @Test
+    void testUnsignierteAmSchiesstandNutztIndex() {
+        String plan = explain("SELECT e.id FROM schiessnachweise_eintrag e " +
+                "WHERE e.schiesstand_id = 1 AND e.status = 'UNSIGNIERT' ORDER BY e.datum DESC, e.id DESC");
+
+        assertTrue(plan.contains("idx_eintrag_unsigniert") || plan.contains("idx_eintrag_schiesstand_status_datum"), plan);
+    }
+
+    @Test
+    void testZaehlenNachSchuetzeUndStatusNutztIndex() {
+        String plan = explain("SELECT COUNT(*) FROM schiessnachweise_eintrag e " +
+                "WHERE e.schuetze_id = 1 AND e.status = 'UNSIGNIERT'");
+
+        assertTrue(plan.contains("idx_eintrag_schuetze_status"), plan);
+    }
+
+    @Test
+    void testDisziplinNutztIndex() {
+        String plan = explain("SELECT COUNT(*) FROM schiessnachweise_eintrag e WHERE e.disziplin_id = 1");
+
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void testBerechtigungsIndizesWerdenAngelegt() {
+        @SuppressWarnings("unchecked")
+        List<String> indizes = entityManager.createNativeQuery(
+                        "SELECT index_name FROM information_schema.indexes WHERE table_name IN ('vereinsmitgliedschaft', 'schiesstand')")
+                .getResultList();
+
+        assertTrue(indizes.containsAll(List.of("idx_mitgliedschaft_benutzer_verein", "idx_schiesstand_aufseher")),
+                "Fehlende Indizes: " + indizes);
+    }
+
+    @Test
+    void testBerechtigteSchiesstaendeOhneTabellenScan() {
+        String plan = explain("SELECT v.id FROM vereinsmitgliedschaft m JOIN schiesstand v ON v.verein_id = m.verein_id " +
+                "WHERE m.benutzer_id = 1 AND (m.ist_aufseher = TRUE OR m.ist_vereinschef = TRUE)");
+
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void testLoeschIndizesWerdenAngelegt() {
+        @SuppressWarnings("unchecked")
+        List<String> indizes = entityManager.createNativeQuery(
+                        "SELECT index_name FROM information_schema.indexes " +
+                                "WHERE table_name IN ('disziplin', 'digitales_zertifikat', 'vereinsmitgliedschaft')")
+                .getResultList();
+
+        assertTrue(indizes.containsAll(List.of("idx_disziplin_verband", "idx_zertifikat_verein",
+                        "idx_zertifikat_schiesstand", "idx_zertifikat_parent", "idx_mitgliedschaft_verein")),
+                "Fehlende Indizes: " + indizes);
+    }
+
+    @Test
+    void testAbgelaufeneTokensNutzenIndex() {
+        String plan = explain("SELECT t.id FROM user_token t WHERE t.ablaufdatum < TIMESTAMP '2024-01-01 00:00:00' LIMIT 500");
+
+        assertTrue(plan.contains("idx_user_token_ablaufdatum"), plan);
+    }
+
+    @Test
+    void testAbgelehnteNachAufbewahrungsfristNutzenIndex() {
+        String mitgliedschaften = explain("SELECT m.id FROM vereinsmitgliedschaft m " +
+                "WHERE m.status = 'ABGELEHNT' AND m.aktualisiert_am < TIMESTAMP '2024-01-01 00:00:00' LIMIT 500");
+        String eintraege = explain("SELECT e.id FROM schiessnachweise_eintrag e " +
+                "WHERE e.status = 'ABGELEHNT' AND e.aktualisiert_am < TIMESTAMP '2024-01-01 00:00:00' LIMIT 500");
+
+        assertTrue(mitgliedschaften.contains("idx_mitgliedschaft_abgelehnt"), mitgliedschaften);
+        assertTrue(eintraege.contains("idx_eintrag_abgelehnt"), eintraege);
+    }
+
+    @Test
+    void testFaelligeEmailsNutzenIndex() {
+        String plan = explain("SELECT o.id FROM email_outbox o " +
+                "WHERE o.status = 'OFFEN' AND o.naechster_versuch <= TIMESTAMP '2024-01-01 00:00:00' " +
+                "ORDER BY o.naechster_versuch, o.id LIMIT 50");
+
+        assertTrue(plan.contains("idx_email_outbox_status_faellig"), plan);
+    }
+
+    @Test
+    void testSignaturHinweiseNachEmpfaengerNutzenIndex() {
+        String plan = explain("SELECT h.id FROM signatur_hinweis h WHERE h.empfaenger_id = 1 ORDER BY h.erstellt_am, h.id");
+
+        assertTrue(plan.contains("idx_signatur_hinweis_empfaenger"), plan);
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+    }
+}
@@ -1,5 +1,7 @@
 package de.suchalla.schiessbuch.repository;
 
+import de.suchalla.schiessbuch.model.dto.AnzahlProSchiesstand;
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
 import de.suchalla.schiessbuch.model.entity.*;
 import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
 import de.suchalla.schiessbuch.model.enums.EintragStatus;
@@ -9,12 +11,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -133,80 +140,6 @@ class SchiessnachweisEintragRepositoryTest {
         assertNotNull(found.get().getSchiesstand().getVerein());
     }
 
-    @Test
-    void testFindBySchuetze() {
-        createAndPersistEintrag(LocalDate.now(), 40, "380 Ringe", EintragStatus.OFFEN);
-        createAndPersistEintrag(LocalDate.now().minusDays(1), 30, "290 Ringe", EintragStatus.SIGNIERT);
-
-        List<SchiessnachweisEintrag> eintraege = eintragRepository.findBySchuetze(schuetze);
-
-        assertEquals(2, eintraege.size());
-        eintraege.forEach(e -> assertEquals(schuetze.getId(), e.getSchuetze().getId()));
-    }
-
-    @Test
-    void testFindBySchuetzeAndDatumBetween() {
-        LocalDate heute = LocalDate.now();
-        LocalDate gestern = heute.minusDays(1);
-        LocalDate vorgestern = heute.minusDays(2);
-        LocalDate vor10Tagen = heute.minusDays(10);
-
-        createAndPersistEintrag(heute, 40, "380 Ringe", EintragStatus.OFFEN);
-        createAndPersistEintrag(gestern, 30, "290 Ringe", EintragStatus.SIGNIERT);
-        createAndPersistEintrag(vor10Tagen, 35, "330 Ringe", EintragStatus.OFFEN);
-
-        List<SchiessnachweisEintrag> eintraege = 
-            eintragRepository.findBySchuetzeAndDatumBetween(schuetze, vorgestern, heute);
-
-        assertEquals(2, eintraege.size());
-        assertTrue(eintraege.stream()
-                .allMatch(e -> !e.getDatum().isBefore(vorgestern) && !e.getDatum().isAfter(heute)));
-    }
-
-    @Test
-    void testFindBySchuetzeAndDatumBetweenAndStatus() {
-        LocalDate heute = LocalDate.now();
-        LocalDate gestern = heute.minusDays(1);
-        LocalDate vorgestern = heute.minusDays(2);
-
-        createAndPersistEintrag(heute, 40, "380 Ringe", EintragStatus.OFFEN);
-        createAndPersistEintrag(gestern, 30, "290 Ringe", EintragStatus.SIGNIERT);
-        createAndPersistEintrag(vorgestern, 35, "330 Ringe", EintragStatus.SIGNIERT);
-
-        List<SchiessnachweisEintrag> signierteEintraege = 
-            eintragRepository.findBySchuetzeAndDatumBetweenAndStatus(
-                schuetze, vorgestern, heute, EintragStatus.SIGNIERT);
-
-        assertEquals(2, signierteEintraege.size());
-        assertTrue(signierteEintraege.stream()
-                .allMatch(e -> e.getStatus() == EintragStatus.SIGNIERT));
-    }
-
-    @Test
-    void testFindBySchiesstand() {
-        createAndPersistEintrag(LocalDate.now(), 40, "380 Ringe", EintragStatus.OFFEN);
-        createAndPersistEintrag(LocalDate.now().minusDays(1), 30, "290 Ringe", EintragStatus.SIGNIERT);
-
-        List<SchiessnachweisEintrag> eintraege = eintragRepository.findBySchiesstand(schiesstand);
-
-        assertEquals(2, eintraege.size());
-        eintraege.forEach(e -> assertEquals(schiesstand.getId(), e.getSchiesstand().getId()));
-    }
-
-    @Test
-    void testFindBySchiesstandAndStatus() {
-        createAndPersistEintrag(LocalDate.now(), 40, "380 Ringe", EintragStatus.OFFEN);
-        createAndPersistEintrag(LocalDate.now().minusDays(1), 30, "290 Ringe", EintragStatus.SIGNIERT);
-        createAndPersistEintrag(LocalDate.now().minusDays(2), 35, "330 Ringe", EintragStatus.OFFEN);
-
-        List<SchiessnachweisEintrag> offeneEintraege = 
-            eintragRepository.findBySchiesstandAndStatus(schiesstand, EintragStatus.OFFEN);
-
-        assertEquals(2, offeneEintraege.size());
-        assertTrue(offeneEintraege.stream()
-                .allMatch(e -> e.getStatus() == EintragStatus.OFFEN));
-    }
-
     @Test
     void testCountBySchuetzeAndStatus() {
         createAndPersistEintrag(LocalDate.now(), 40, "380 Ringe", EintragStatus.OFFEN);
@@ -334,19 +267,167 @@ class SchiessnachweisEintragRepositoryTest {
     }
 
     @Test
-    void testFindBySchuetzeEmptyResult() {
-        Benutzer andererSchuetze = Benutzer.builder()
-                .email("anderer@example.com")
-                .vorname("Peter")
-                .nachname("Pan")
-                .passwort("password")
-                .rolle(BenutzerRolle.SCHUETZE)
+    void testFindSeiteFuerSchuetzeKeyset() {
+        LocalDate heute = LocalDate.now();
+        for (int i = 0; i < 5; i++) {
+            createAndPersistEintrag(heute.minusDays(i), 40, "380 Ringe", EintragStatus.UNSIGNIERT);
+        }
+        createAndPersistEintrag(heute.minusDays(2), 40, "381 Ringe", EintragStatus.UNSIGNIERT);
+
+        List<SchiessnachweisEintragListDTO> ersteSeite = eintragRepository.findSeiteFuerSchuetze(
+                schuetze.getId(), EnumSet.allOf(EintragStatus.class), null, null, null, null, null,
+                null, null, false, Limit.of(3));
+        SchiessnachweisEintragListDTO letzter = ersteSeite.getLast();
+        List<SchiessnachweisEintragListDTO> zweiteSeite = eintragRepository.findSeiteFuerSchuetze(
+                schuetze.getId(), EnumSet.allOf(EintragStatus.class), null, null, null, null, null,
+                letzter.datum(), letzter.id(), false, Limit.of(3));
+
+        assertEquals(3, ersteSeite.size());
+        assertEquals(3, zweiteSeite.size());
+        assertEquals(heute, ersteSeite.getFirst().datum());
+        // Keine Überschneidung, lückenlose absteigende Reihenfolge (Datum, ID)
+        assertTrue(zweiteSeite.stream().noneMatch(ersteSeite::contains));
+        assertTrue(zweiteSeite.getFirst().datum().isBefore(letzter.datum())
+                || (zweiteSeite.getFirst().datum().equals(letzter.datum())
+                && zweiteSeite.getFirst().id() < letzter.id()));
+    }
+
+    @Test
+    void testFindSeiteFuerSchuetzeKeysetAufsteigend() {
+        LocalDate heute = LocalDate.now();
+        for (int i = 0; i < 4; i++) {
+            createAndPersistEintrag(heute.minusDays(i), 40, "380 Ringe", EintragStatus.UNSIGNIERT);
+        }
+        createAndPersistEintrag(heute.minusDays(2), 40, "381 Ringe", EintragStatus.UNSIGNIERT);
+
+        List<SchiessnachweisEintragListDTO> ersteSeite = eintragRepository.findSeiteFuerSchuetze(
+                schuetze.getId(), EnumSet.allOf(EintragStatus.class), null, null, null, null, null,
+                null, null, true, Limit.of(2));
+        SchiessnachweisEintragListDTO letzter = ersteSeite.getLast();
+        List<SchiessnachweisEintragListDTO> rest = eintragRepository.findSeiteFuerSchuetze(
+                schuetze.getId(), EnumSet.allOf(EintragStatus.class), null, null, null, null, null,
+                letzter.datum(), letzter.id(), true, Limit.of(10));
+
+        assertEquals(heute.minusDays(3), ersteSeite.getFirst().datum());
+        assertEquals(3, rest.size());
+        assertTrue(rest.stream().noneMatch(ersteSeite::contains));
+        assertEquals(heute, rest.getLast().datum());
+    }
+
+    @Test
+    void testFindSeiteFuerSchuetzeFilter() {
+        LocalDate heute = LocalDate.now();
+        createAndPersistEintrag(heute, 40, "380 Ringe", EintragStatus.SIGNIERT);
+        createAndPersistEintrag(heute.minusDays(1), 30, "290 Ringe", EintragStatus.UNSIGNIERT);
+        createAndPersistEintrag(heute.minusDays(20), 30, "290 Ringe", EintragStatus.SIGNIERT);
+
+        List<SchiessnachweisEintragListDTO> signiert = eintragRepository.findSeiteFuerSchuetze(
+                schuetze.getId(), EnumSet.of(EintragStatus.SIGNIERT), heute.minusDays(5), heute,
+                "Standard-Disziplin", "Testverein", "Deutscher Schützenbund", null, null, false, Limit.of(10));
+        List<SchiessnachweisEintragListDTO> andererVerband = eintragRepository.findSeiteFuerSchuetze(
+                schuetze.getId(), EnumSet.allOf(EintragStatus.class), null, null,
+                null, null, "Anderer Verband", null, null, false, Limit.of(10));
+
+        assertEquals(1, signiert.size());
+        assertEquals(heute, signiert.getFirst().datum());
+        assertTrue(andererVerband.isEmpty());
+    }
+
+    @Test
+    void testFindListeBySchiesstandProjektion() {
+        LocalDate heute = LocalDate.now();
+        SchiessnachweisEintrag signiert = createAndPersistEintrag(heute.minusDays(1), 40, "380 Ringe", EintragStatus.SIGNIERT);
+        signiert.setAufseher(aufseher);
+        signiert.setSigniertAm(LocalDateTime.now());
+        createAndPersistEintrag(heute, 30, "290 Ringe", EintragStatus.UNSIGNIERT);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<SchiessnachweisEintragListDTO> alle = eintragRepository.findListeBySchiesstand(schiesstand.getId(), null);
+        List<SchiessnachweisEintragListDTO> nurSigniert =
+                eintragRepository.findListeBySchiesstand(schiesstand.getId(), EintragStatus.SIGNIERT);
+
+        assertEquals(2, alle.size());
+        assertEquals(heute, alle.getFirst().datum());
+        assertNull(alle.getFirst().aufseherName());
+        assertEquals(1, nurSigniert.size());
+        SchiessnachweisEintragListDTO zeile = nurSigniert.getFirst();
+        assertEquals(schuetze.getVollstaendigerName(), zeile.schuetzeName());
+        assertEquals(aufseher.getVollstaendigerName(), zeile.aufseherName());
+        assertEquals("Standard-Disziplin", zeile.disziplinProgramm());
+        assertEquals("Testverein", zeile.vereinName());
+        assertNotNull(zeile.signiertAm());
+    }
+
+    @Test
+    void testFindListeBySchiesstandAndIdIn() {
+        LocalDate heute = LocalDate.now();
+        SchiessnachweisEintrag aelter = createAndPersistEintrag(heute.minusDays(1), 40, "380 Ringe", EintragStatus.SIGNIERT);
+        SchiessnachweisEintrag neuer = createAndPersistEintrag(heute, 30, "290 Ringe", EintragStatus.UNSIGNIERT);
+        createAndPersistEintrag(heute, 30, "300 Ringe", EintragStatus.UNSIGNIERT);
+        entityManager.clear();
+
+        List<SchiessnachweisEintragListDTO> eintraege = eintragRepository.findListeBySchiesstandAndIdIn(
+                schiesstand.getId(), List.of(aelter.getId(), neuer.getId(), -1L));
+        List<SchiessnachweisEintragListDTO> andererStand = eintragRepository.findListeBySchiesstandAndIdIn(
+                -1L, List.of(aelter.getId()));
+
+        assertEquals(List.of(neuer.getId(), aelter.getId()), eintraege.stream().map(SchiessnachweisEintragListDTO::id).toList());
+        assertEquals(EintragStatus.UNSIGNIERT, eintraege.getFirst().status());
+        assertTrue(andererStand.isEmpty());
+    }
+
+    @Test
+    void testStreamListeBySchuetzeImZeitraum() {
+        LocalDate heute = LocalDate.now();
+        createAndPersistEintrag(heute, 40, "380 Ringe", EintragStatus.SIGNIERT);
+        createAndPersistEintrag(heute.minusDays(2), 40, "370 Ringe", EintragStatus.SIGNIERT);
+        createAndPersistEintrag(heute.minusDays(1), 30, "290 Ringe", EintragStatus.UNSIGNIERT);
+        createAndPersistEintrag(heute.minusDays(30), 30, "290 Ringe", EintragStatus.SIGNIERT);
+
+        List<SchiessnachweisEintragListDTO> eintraege;
+        try (Stream<SchiessnachweisEintragListDTO> stream = eintragRepository.streamListeBySchuetzeImZeitraum(
+                schuetze.getId(), heute.minusDays(7), heute, EintragStatus.SIGNIERT)) {
+            eintraege = stream.toList();
+        }
+
+        assertEquals(2, eintraege.size());
+        assertEquals(heute.minusDays(2), eintraege.getFirst().datum());
+        assertEquals(heute, eintraege.getLast().datum());
+    }
+
+    @Test
+    void testFindDisziplinProgrammeBySchuetze() {
+        createAndPersistEintrag(LocalDate.now(), 40, "380 Ringe", EintragStatus.OFFEN);
+        createAndPersistEintrag(LocalDate.now().minusDays(1), 30, "290 Ringe", EintragStatus.SIGNIERT);
+
+        List<String> programme = eintragRepository.findDisziplinProgrammeBySchuetze(schuetze.getId());
+
+        assertEquals(List.of("Standard-Disziplin"), programme);
+    }
+
+    @Test
+    void testZaehleProSchiesstandVonVerein() {
+        Verein andererVerein = Verein.builder().name("Anderer Verein").build();
+        entityManager.persist(andererVerein);
+        Schiesstand fremderStand = Schiesstand.builder()
+                .name("Stand 2")
+                .typ(SchiesstandTyp.VEREINSGEBUNDEN)
+                .verein(andererVerein)
                 .build();
-        entityManager.persist(andererSchuetze);
+        entityManager.persist(fremderStand);
+        createAndPersistEintrag(LocalDate.now(), 40, "380 Ringe", EintragStatus.UNSIGNIERT);
+        createAndPersistEintrag(LocalDate.now().minusDays(1), 40, "370 Ringe", EintragStatus.UNSIGNIERT);
+        createAndPersistEintrag(LocalDate.now().minusDays(2), 40, "360 Ringe", EintragStatus.SIGNIERT);
+        SchiessnachweisEintrag amFremdenStand = createAndPersistEintrag(LocalDate.now(), 30, "290 Ringe", EintragStatus.UNSIGNIERT);
+        amFremdenStand.setSchiesstand(fremderStand);
+        entityManager.flush();
 
-        List<SchiessnachweisEintrag> eintraege = eintragRepository.findBySchuetze(andererSchuetze);
+        Map<Long, Long> anzahl = eintragRepository.zaehleProSchiesstandVonVerein(verein.getId(), EintragStatus.UNSIGNIERT)
+                .stream()
+                .collect(Collectors.toMap(AnzahlProSchiesstand::schiesstandId, AnzahlProSchiesstand::anzahl));
 
-        assertTrue(eintraege.isEmpty());
+        assertEquals(Map.of(schiesstand.getId(), 2L), anzahl);
     }
 
     // Hilfsmethode zum Erstellen und Persistieren von Einträgen
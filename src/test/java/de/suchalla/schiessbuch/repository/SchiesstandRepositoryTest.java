@@ -1,13 +1,17 @@
 package de.suchalla.schiessbuch.repository;
 
+import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
 import de.suchalla.schiessbuch.testutil.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -71,6 +75,38 @@ class SchiesstandRepositoryTest {
         assertNotNull(list.get(0).getVerein());
     }
 
+    @Test
+    void testFindBerechtigteSchiesstaende() {
+        Benutzer aufseher = em.persist(TestDataFactory.createBenutzer(null, "aufseher@example.com"));
+        // Stand 1: Benutzer ist Vereinsaufseher; Stand 2: direkt als Standaufseher eingetragen;
+        // Stand 3: nur einfaches Mitglied; Stand 4: fremder Verein
+        Schiesstand vereinsStand = em.persist(TestDataFactory.createSchiesstand(null, "Stand 1", verein));
+        Vereinsmitgliedschaft aufsicht = TestDataFactory.createMitgliedschaft(null, aufseher, verein, MitgliedschaftsStatus.AKTIV);
+        aufsicht.setIstAufseher(true);
+        em.persist(aufsicht);
+
+        Schiesstand direkterStand = TestDataFactory.createSchiesstand(null, "Stand 2",
+                em.persist(TestDataFactory.createVerein(null, "Verein B")));
+        direkterStand.setAufseher(aufseher);
+        em.persist(direkterStand);
+
+        Verein mitgliedsVerein = em.persist(TestDataFactory.createVerein(null, "Verein C"));
+        em.persist(TestDataFactory.createSchiesstand(null, "Stand 3", mitgliedsVerein));
+        em.persist(TestDataFactory.createMitgliedschaft(null, aufseher, mitgliedsVerein, MitgliedschaftsStatus.AKTIV));
+
+        em.persist(TestDataFactory.createSchiesstand(null, "Stand 4",
+                em.persist(TestDataFactory.createVerein(null, "Verein D"))));
+        em.flush();
+        em.clear();
+
+        List<Schiesstand> alle = repository.findBerechtigteSchiesstaende(aufseher.getId(), Limit.unlimited());
+        List<Schiesstand> erster = repository.findBerechtigteSchiesstaende(aufseher.getId(), Limit.of(1));
+
+        assertEquals(List.of(vereinsStand.getId(), direkterStand.getId()), alle.stream().map(Schiesstand::getId).toList());
+        assertEquals("Verein B", alle.get(1).getVerein().getName());
+        assertEquals(List.of(vereinsStand.getId()), erster.stream().map(Schiesstand::getId).toList());
+    }
+
     @Test
     void testDeleteSchiesstand() {
         Schiesstand s = TestDataFactory.createSchiesstand(null, "ToDelete", verein);
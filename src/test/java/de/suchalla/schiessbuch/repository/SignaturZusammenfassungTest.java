@@ -0,0 +1,153 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.config.MetrikKonfiguration;
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.service.BenachrichtigungsZentrale;
+import de.suchalla.schiessbuch.service.EmailService;
+import de.suchalla.schiessbuch.service.EmailVorlagen;
+import de.suchalla.schiessbuch.service.EmpfaengerVerzeichnis;
+import de.suchalla.schiessbuch.service.JobSperren;
+import de.suchalla.schiessbuch.service.SchiessnachweisService;
+import de.suchalla.schiessbuch.service.SignaturZusammenfassung;
+import de.suchalla.schiessbuch.service.ZaehlerService;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Sammel-Benachrichtigung: Signaturanfragen an Empfänger im Modus ZUSAMMENFASSUNG werden
+ * vorgemerkt und erst nach Ablauf des Fensters oder bei Erreichen der Obergrenze als eine E-Mail eingestellt.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({MetrikKonfiguration.class, SignaturZusammenfassung.class, EmailService.class, EmailVorlagen.class, EmpfaengerVerzeichnis.class, BenachrichtigungsZentrale.class, JobSperren.class,
+        SchiessnachweisService.class, ZaehlerService.class})
+@TestPropertySource(properties = {
+        "email.enabled=true",
+        "email.zusammenfassung.fenster=PT30M",
+        "email.zusammenfassung.max-anzahl=5"
+})
+class SignaturZusammenfassungTest {
+
+    @Autowired
+    private SignaturZusammenfassung signaturZusammenfassung;
+
+    @Autowired
+    private SchiessnachweisService schiessnachweisService;
+
+    @Autowired
+    private SignaturHinweisRepository signaturHinweisRepository;
+
+    @Autowired
+    private EmailNachrichtRepository emailNachrichtRepository;
+
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+
+    @Autowired
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Benutzer schuetze;
+    private Disziplin disziplin;
+    private Schiesstand schiesstand;
+
+    @BeforeEach
+    void setUp() {
+        Verein verein = TestDataFactory.createVerein(null, "Verein");
+        entityManager.persist(verein);
+        Verband verband = TestDataFactory.createVerband(null, "DSB");
+        entityManager.persist(verband);
+        disziplin = TestDataFactory.createDisziplin(null, "Luftgewehr", verband);
+        entityManager.persist(disziplin);
+        schiesstand = TestDataFactory.createSchiesstand(null, "Stand 1", verein);
+        entityManager.persist(schiesstand);
+        schuetze = benutzerRepository.save(TestDataFactory.createBenutzer(null, "schuetze@example.com"));
+
+        Benutzer chef = benutzerRepository.save(TestDataFactory.createBenutzer(null, "chef@example.com"));
+        Vereinsmitgliedschaft chefMitgliedschaft = TestDataFactory.createMitgliedschaft(null, chef, verein, MitgliedschaftsStatus.AKTIV);
+        chefMitgliedschaft.setIstVereinschef(true);
+        mitgliedschaftRepository.save(chefMitgliedschaft);
+
+        Benutzer aufseher = TestDataFactory.createBenutzer(null, "aufseher@example.com");
+        aufseher.setBenachrichtigungsModus(BenachrichtigungsModus.ZUSAMMENFASSUNG);
+        benutzerRepository.save(aufseher);
+        Vereinsmitgliedschaft aufseherMitgliedschaft = TestDataFactory.createMitgliedschaft(null, aufseher, verein, MitgliedschaftsStatus.AKTIV);
+        aufseherMitgliedschaft.setIstAufseher(true);
+        mitgliedschaftRepository.save(aufseherMitgliedschaft);
+    }
+
+    @Test
+    void testZusammenfassungNachAblaufDesFensters() {
+        erstelleEintraege(3);
+
+        assertEquals(3, mailsAn("chef@example.com").size());
+        assertTrue(mailsAn("aufseher@example.com").isEmpty());
+        assertEquals(3, signaturHinweisRepository.count());
+
+        assertEquals(0, signaturZusammenfassung.fasseZusammen());
+        assertEquals(3, signaturHinweisRepository.count());
+
+        setzeVorgemerkt(LocalDateTime.now().minusMinutes(31));
+        assertEquals(1, signaturZusammenfassung.fasseZusammen());
+
+        List<EmailNachricht> zusammenfassung = mailsAn("aufseher@example.com");
+        assertEquals(1, zusammenfassung.size());
+        assertTrue(zusammenfassung.getFirst().getBetreff().contains("3 Einträge"), zusammenfassung.getFirst().getBetreff());
+        assertTrue(zusammenfassung.getFirst().getInhalt().contains("Stand 1: 3"));
+        assertTrue(zusammenfassung.getFirst().getInhalt().contains("schiesstandId=" + schiesstand.getId()));
+        assertEquals(0, signaturHinweisRepository.count());
+    }
+
+    @Test
+    void testZusammenfassungBeiErreichterObergrenze() {
+        erstelleEintraege(5);
+
+        assertEquals(1, signaturZusammenfassung.fasseZusammen());
+
+        assertEquals(1, mailsAn("aufseher@example.com").size());
+        assertEquals(0, signaturHinweisRepository.count());
+        assertEquals(0, signaturZusammenfassung.fasseZusammen());
+    }
+
+    private void erstelleEintraege(int anzahl) {
+        for (int i = 0; i < anzahl; i++) {
+            schiessnachweisService.erstelleEintrag(
+                    TestDataFactory.createEintrag(null, schuetze, disziplin, schiesstand, LocalDate.now().minusDays(i)));
+        }
+    }
+
+    private List<EmailNachricht> mailsAn(String empfaenger) {
+        return emailNachrichtRepository.findAll().stream()
+                .filter(n -> n.getEmpfaenger().equals(empfaenger))
+                .toList();
+    }
+
+    /** erstellt_am wird von @PrePersist gesetzt und lässt sich daher nur per SQL zurückdatieren. */
+    private void setzeVorgemerkt(LocalDateTime zeitpunkt) {
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE signatur_hinweis SET erstellt_am = :zeitpunkt")
+                .setParameter("zeitpunkt", zeitpunkt)
+                .executeUpdate();
+        entityManager.clear();
+    }
+}
@@ -2,6 +2,7 @@ package de.suchalla.schiessbuch.repository;
 
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.entity.Verband;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -179,4 +180,52 @@ class VereinRepositoryTest {
         Verein found = entityManager.find(Verein.class, saved.getId());
         assertEquals(2, found.getVerbaende().size());
     }
+
+    @Test
+    void testVerbaendeWerdenNichtEagerGeladen() {
+        Verein saved = entityManager.persistAndFlush(testVerein);
+        entityManager.clear();
+
+        Verein found = entityManager.find(Verein.class, saved.getId());
+
+        assertFalse(Hibernate.isInitialized(found.getVerbaende()));
+        assertEquals(1, found.getVerbaende().size());
+    }
+
+    @Test
+    void testVerbaendeWerdenGebuendeltNachgeladen() {
+        for (int i = 1; i <= 3; i++) {
+            Verein verein = Verein.builder().name("Verein " + i).build();
+            verein.getVerbaende().add(testVerband);
+            entityManager.persist(verein);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Verein> vereine = entityManager.getEntityManager()
+                .createQuery("SELECT v FROM Verein v ORDER BY v.name", Verein.class)
+                .getResultList();
+        assertTrue(vereine.stream().noneMatch(v -> Hibernate.isInitialized(v.getVerbaende())));
+
+        vereine.get(0).getVerbaende().size();
+
+        assertTrue(vereine.stream().allMatch(v -> Hibernate.isInitialized(v.getVerbaende())),
+                "Die Verbände aller geladenen Vereine müssen in einer Abfrage mitgeladen werden");
+    }
+
+    @Test
+    void testFindAllByOrderByNameAscLaedtNurVerbaende() {
+        Verein verein = Verein.builder().name("A-Verein").build();
+        verein.getVerbaende().add(testVerband);
+        entityManager.persist(verein);
+        entityManager.persist(testVerein);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Verein> vereine = vereinRepository.findAllByOrderByNameAsc();
+
+        assertEquals(List.of("A-Verein", "Schützenverein Teststadt"), vereine.stream().map(Verein::getName).toList());
+        assertTrue(vereine.stream().allMatch(v -> Hibernate.isInitialized(v.getVerbaende())));
+        assertTrue(vereine.stream().noneMatch(v -> Hibernate.isInitialized(v.getMitgliedschaften())));
+    }
 }
@@ -1,9 +1,12 @@
 package de.suchalla.schiessbuch.repository;
 
+import de.suchalla.schiessbuch.model.dto.Benachrichtigungsempfaenger;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
+import de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus;
 import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.testutil.AbfragenZaehler;
 import de.suchalla.schiessbuch.testutil.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,7 +15,9 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -79,6 +84,18 @@ class VereinsmitgliedschaftRepositoryTest {
         assertEquals(MitgliedschaftsStatus.BEANTRAGT, found.get(0).getStatus());
     }
 
+    @Test
+    void testCountByVereinAndStatus() {
+        Benutzer zweiter = TestDataFactory.createBenutzer(null, "zweiter@example.com");
+        em.persist(zweiter);
+        em.persist(TestDataFactory.createMitgliedschaft(null, benutzer, verein, MitgliedschaftsStatus.BEANTRAGT));
+        em.persist(TestDataFactory.createMitgliedschaft(null, zweiter, verein, MitgliedschaftsStatus.AKTIV));
+        em.flush();
+
+        assertEquals(1, repository.countByVereinAndStatus(verein, MitgliedschaftsStatus.BEANTRAGT));
+        assertEquals(1, repository.countByVereinAndStatus(verein, MitgliedschaftsStatus.AKTIV));
+    }
+
     @Test
     void testFindByVereinAndIstVereinschef() {
         Vereinsmitgliedschaft m = TestDataFactory.createMitgliedschaft(null, benutzer, verein, MitgliedschaftsStatus.AKTIV);
@@ -102,5 +119,106 @@ class VereinsmitgliedschaftRepositoryTest {
         assertEquals(1, found.size());
         assertTrue(found.get(0).getIstAufseher());
     }
-}
 
+    @Test
+    void testFindAufsichtsBenutzerIds() {
+        Vereinsmitgliedschaft chef = TestDataFactory.createMitgliedschaft(null, benutzer, verein, MitgliedschaftsStatus.AKTIV);
+        chef.setIstVereinschef(true);
+        chef.setIstAufseher(true);
+        em.persist(chef);
+        Benutzer aufseher = TestDataFactory.createBenutzer(null, "aufseher@example.com");
+        aufseher.setEmailNotificationsEnabled(false);
+        em.persist(aufseher);
+        Vereinsmitgliedschaft aufseherMitgliedschaft = TestDataFactory.createMitgliedschaft(null, aufseher, verein, MitgliedschaftsStatus.AKTIV);
+        aufseherMitgliedschaft.setIstAufseher(true);
+        em.persist(aufseherMitgliedschaft);
+        Benutzer mitglied = TestDataFactory.createBenutzer(null, "mitglied@example.com");
+        em.persist(mitglied);
+        em.persist(TestDataFactory.createMitgliedschaft(null, mitglied, verein, MitgliedschaftsStatus.AKTIV));
+        em.flush();
+
+        List<Long> ids = repository.findAufsichtsBenutzerIds(verein.getId());
+
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of(benutzer.getId(), aufseher.getId())));
+    }
+
+    @Test
+    void testFindBenachrichtigungsempfaengerInEinerAbfrage() {
+        Vereinsmitgliedschaft beides = TestDataFactory.createMitgliedschaft(null, benutzer, verein, MitgliedschaftsStatus.AKTIV);
+        beides.setIstVereinschef(true);
+        beides.setIstAufseher(true);
+        em.persist(beides);
+        Benutzer aufseher = TestDataFactory.createBenutzer(null, "aufseher@example.com");
+        aufseher.setBenachrichtigungsModus(BenachrichtigungsModus.ZUSAMMENFASSUNG);
+        em.persist(aufseher);
+        Vereinsmitgliedschaft aufseherMitgliedschaft = TestDataFactory.createMitgliedschaft(null, aufseher, verein, MitgliedschaftsStatus.AKTIV);
+        aufseherMitgliedschaft.setIstAufseher(true);
+        em.persist(aufseherMitgliedschaft);
+        Benutzer stumm = TestDataFactory.createBenutzer(null, "stumm@example.com");
+        stumm.setEmailNotificationsEnabled(false);
+        em.persist(stumm);
+        Vereinsmitgliedschaft stummMitgliedschaft = TestDataFactory.createMitgliedschaft(null, stumm, verein, MitgliedschaftsStatus.AKTIV);
+        stummMitgliedschaft.setIstVereinschef(true);
+        em.persist(stummMitgliedschaft);
+        Benutzer mitglied = TestDataFactory.createBenutzer(null, "mitglied@example.com");
+        em.persist(mitglied);
+        em.persist(TestDataFactory.createMitgliedschaft(null, mitglied, verein, MitgliedschaftsStatus.AKTIV));
+
+        List<Benachrichtigungsempfaenger> alle = AbfragenZaehler.fuer(em.getEntityManager()).hoechstens(1,
+                "Empfänger ermitteln", () -> repository.findBenachrichtigungsempfaenger(verein.getId(), true, true));
+        assertEquals(List.of("user@example.com", "aufseher@example.com", "stumm@example.com"),
+                alle.stream().map(Benachrichtigungsempfaenger::email).toList());
+        assertEquals(List.of(true, true, false), alle.stream().map(Benachrichtigungsempfaenger::perEmail).toList());
+        assertEquals(BenachrichtigungsModus.ZUSAMMENFASSUNG, alle.get(1).modus());
+
+        List<Benachrichtigungsempfaenger> chefs = repository.findBenachrichtigungsempfaenger(verein.getId(), true, false);
+        assertEquals(2, chefs.size());
+        assertEquals(benutzer.getId(), chefs.getFirst().benutzerId());
+        assertEquals(benutzer.getVorname() + " " + benutzer.getNachname(), chefs.getFirst().name());
+    }
+
+    @Test
+    void testStreamByVereinFiltertNachStatusUndSortiertNachNamen() {
+        Benutzer zweiter = TestDataFactory.createBenutzer(null, "zweiter@example.com");
+        zweiter.setNachname("Albrecht");
+        em.persist(zweiter);
+        em.persist(TestDataFactory.createMitgliedschaft(null, benutzer, verein, MitgliedschaftsStatus.AKTIV));
+        em.persist(TestDataFactory.createMitgliedschaft(null, zweiter, verein, MitgliedschaftsStatus.AKTIV));
+        em.persist(TestDataFactory.createMitgliedschaft(null, zweiter, verein, MitgliedschaftsStatus.BEANTRAGT));
+        em.flush();
+
+        try (Stream<Vereinsmitgliedschaft> aktive = repository.streamByVerein(verein.getId(), MitgliedschaftsStatus.AKTIV)) {
+            List<Vereinsmitgliedschaft> liste = aktive.toList();
+            assertEquals(2, liste.size());
+            assertEquals("Albrecht", liste.getFirst().getBenutzer().getNachname());
+        }
+        try (Stream<Vereinsmitgliedschaft> alle = repository.streamByVerein(verein.getId(), null)) {
+            assertEquals(3, alle.count());
+        }
+    }
+
+    @Test
+    void testLeereBlockweiseBegrenztPersistenzkontext() {
+        for (int i = 0; i < 5; i++) {
+            Benutzer mitglied = TestDataFactory.createBenutzer(null, "mitglied" + i + "@example.com");
+            em.persist(mitglied);
+            em.persist(TestDataFactory.createMitgliedschaft(null, mitglied, verein, MitgliedschaftsStatus.AKTIV));
+        }
+        em.flush();
+        em.clear();
+
+        List<Vereinsmitgliedschaft> gelesen = new ArrayList<>();
+        try (Stream<Vereinsmitgliedschaft> stream = StreamLeser.leereBlockweise(
+                repository.streamByVerein(verein.getId(), null), em.getEntityManager(), 2)) {
+            stream.forEach(m -> {
+                assertTrue(em.getEntityManager().contains(m), "Aktuelles Element muss verwaltet bleiben");
+                gelesen.add(m);
+            });
+        }
+
+        assertEquals(5, gelesen.size());
+        assertFalse(em.getEntityManager().contains(gelesen.getFirst()));
+        assertTrue(em.getEntityManager().contains(gelesen.getLast()));
+    }
+}
@@ -0,0 +1,174 @@
+package de.suchalla.schiessbuch.repository;
+
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
+import de.suchalla.schiessbuch.service.JobSperren;
+import de.suchalla.schiessbuch.service.ZaehlerAbgleich;
+import de.suchalla.schiessbuch.service.ZaehlerService;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft den blockweisen Abgleich der Dashboard-Zähler gegen die Quelltabellen.
+ * Die Blockgröße ist bewusst kleiner als die Anzahl der Schießstände, damit mehrere Blöcke entstehen.
+ * Die Tests laufen ohne umschließende Transaktion, da fehlende Zähler in eigener Transaktion angelegt werden.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ZaehlerService.class, ZaehlerAbgleich.class, JobSperren.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "zaehler.abgleich.batch-groesse=2")
+class ZaehlerAbgleichTest {
+
+    @Autowired
+    private ZaehlerAbgleich abgleich;
+
+    @Autowired
+    private ZaehlerService zaehlerService;
+
+    @Autowired
+    private ZaehlerRepository zaehlerRepository;
+
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+
+    @Autowired
+    private VerbandRepository verbandRepository;
+
+    @Autowired
+    private DisziplinRepository disziplinRepository;
+
+    @Autowired
+    private VereinRepository vereinRepository;
+
+    @Autowired
+    private SchiesstandRepository schiesstandRepository;
+
+    @Autowired
+    private SchiessnachweisEintragRepository eintragRepository;
+
+    @Autowired
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    private final List<Schiesstand> schiesstaende = new ArrayList<>();
+    private Benutzer schuetze;
+    private Disziplin disziplin;
+
+    @BeforeEach
+    void setUp() {
+        schuetze = benutzerRepository.save(TestDataFactory.createBenutzer(null, "schuetze@example.com"));
+        Verband verband = verbandRepository.save(TestDataFactory.createVerband(null, "DSB"));
+        disziplin = disziplinRepository.save(TestDataFactory.createDisziplin(null, "Luftgewehr", verband));
+        for (int i = 1; i <= 3; i++) {
+            Verein verein = vereinRepository.save(TestDataFactory.createVerein(null, "Verein " + i));
+            schiesstaende.add(schiesstandRepository.save(TestDataFactory.createSchiesstand(null, "Stand " + i, verein)));
+        }
+        // Stand 1: 2 offen, 1 signiert; Stand 3: 1 offen; Stand 2: keine
+        legeEintragAn(schiesstaende.get(0), EintragStatus.UNSIGNIERT);
+        legeEintragAn(schiesstaende.get(0), EintragStatus.UNSIGNIERT);
+        legeEintragAn(schiesstaende.get(0), EintragStatus.SIGNIERT);
+        legeEintragAn(schiesstaende.get(2), EintragStatus.UNSIGNIERT);
+        // Verein 2: 2 Anfragen, 1 aktives Mitglied
+        Verein verein2 = schiesstaende.get(1).getVerein();
+        for (int i = 1; i <= 3; i++) {
+            Benutzer mitglied = benutzerRepository.save(TestDataFactory.createBenutzer(null, "mitglied" + i + "@example.com"));
+            mitgliedschaftRepository.save(TestDataFactory.createMitgliedschaft(null, mitglied, verein2,
+                    i < 3 ? MitgliedschaftsStatus.BEANTRAGT : MitgliedschaftsStatus.AKTIV));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        zaehlerRepository.deleteAll();
+        eintragRepository.deleteAll();
+        mitgliedschaftRepository.deleteAll();
+        schiesstandRepository.deleteAll();
+        vereinRepository.deleteAll();
+        disziplinRepository.deleteAll();
+        verbandRepository.deleteAll();
+        benutzerRepository.deleteAll();
+    }
+
+    @Test
+    void testAbgleichLegtFehlendeZaehlerAn() {
+        int korrigiert = abgleich.gleicheAb();
+
+        assertEquals(4, korrigiert);
+        assertEquals(2, zaehlerService.lese(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstaende.get(0).getId()));
+        assertEquals(0, zaehlerService.lese(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstaende.get(1).getId()));
+        assertEquals(1, zaehlerService.lese(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstaende.get(2).getId()));
+        assertEquals(3, zaehlerService.lese(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, schuetze.getId()));
+        assertEquals(2, zaehlerService.lese(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, schiesstaende.get(1).getVerein().getId()));
+    }
+
+    @Test
+    void testAbgleichKorrigiertAbweichungenUndEntferntVerwaisteZaehler() {
+        abgleich.gleicheAb();
+        zaehlerRepository.save(new Zaehler(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstaende.get(0).getId(), 17L));
+        zaehlerRepository.save(new Zaehler(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstaende.get(1).getId(), 5L));
+        zaehlerRepository.save(new Zaehler(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, Long.MAX_VALUE - 1, 3L));
+
+        int korrigiert = abgleich.gleicheAb();
+
+        assertEquals(3, korrigiert);
+        assertEquals(2, zaehlerService.lese(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstaende.get(0).getId()));
+        assertEquals(0, zaehlerService.lese(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstaende.get(1).getId()));
+        assertTrue(zaehlerRepository.findAnzahl(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, Long.MAX_VALUE - 1).isEmpty());
+    }
+
+    @Test
+    void testFortgeschriebeneZaehlerStimmenMitAbgleichUeberein() {
+        abgleich.gleicheAb();
+
+        SchiessnachweisEintrag neu = legeEintragAn(schiesstaende.get(1), EintragStatus.UNSIGNIERT);
+        zaehlerService.eintragGeaendert(neu, null, EintragStatus.UNSIGNIERT);
+        neu.setStatus(EintragStatus.SIGNIERT);
+        eintragRepository.save(neu);
+        zaehlerService.eintragGeaendert(neu, EintragStatus.UNSIGNIERT, EintragStatus.SIGNIERT);
+        zaehlerService.eintragGeaendert(legeEintragAn(schiesstaende.get(2), EintragStatus.UNSIGNIERT),
+                null, EintragStatus.UNSIGNIERT);
+
+        assertEquals(0, abgleich.gleicheAb());
+        assertEquals(0, zaehlerService.lese(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstaende.get(1).getId()));
+        assertEquals(2, zaehlerService.lese(ZaehlerTyp.OFFENE_SIGNATUREN, schiesstaende.get(2).getId()));
+        assertEquals(4, zaehlerService.lese(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, schuetze.getId()));
+    }
+
+    @Test
+    void testOffeneSignaturenVonVerein() {
+        abgleich.gleicheAb();
+        Schiesstand stand = schiesstaende.get(0);
+
+        Map<Long, Long> offen = zaehlerService.leseOffeneSignaturenVonVerein(stand.getVerein().getId());
+
+        assertEquals(Map.of(stand.getId(), 2L), offen);
+        assertTrue(zaehlerService.leseOffeneSignaturenVonVerein(schiesstaende.get(1).getVerein().getId()).isEmpty());
+    }
+
+    private SchiessnachweisEintrag legeEintragAn(Schiesstand schiesstand, EintragStatus status) {
+        SchiessnachweisEintrag eintrag = TestDataFactory.createEintrag(null, schuetze, disziplin, schiesstand, LocalDate.now());
+        eintrag.setStatus(status);
+        return eintragRepository.save(eintrag);
+    }
+}
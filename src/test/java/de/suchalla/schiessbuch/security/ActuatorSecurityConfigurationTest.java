@@ -0,0 +1,95 @@
+package de.suchalla.schiessbuch.security;
+
+import de.suchalla.schiessbuch.config.JfrEndpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementContextAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Prüft die Filterkette der Actuator-Endpunkte: Schreibende Operationen wie {@code POST /actuator/jfr/starten}
+ * gelingen per HTTP Basic ohne CSRF-Token, aber nur für Administratoren.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@SpringBootTest(classes = {ActuatorSecurityConfiguration.class, JfrEndpoint.class,
+        ActuatorSecurityConfigurationTest.Zugaenge.class}, properties = {
+        "management.endpoints.web.exposure.include=health,jfr",
+        "diagnose.jfr.verzeichnis=${java.io.tmpdir}/schiessbuch-jfr-test"
+})
+@ImportAutoConfiguration({DispatcherServletAutoConfiguration.class, WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class,
+        EndpointAutoConfiguration.class, WebEndpointAutoConfiguration.class, HealthEndpointAutoConfiguration.class,
+        ManagementContextAutoConfiguration.class, SecurityAutoConfiguration.class})
+@AutoConfigureMockMvc
+class ActuatorSecurityConfigurationTest {
+
+    @TestConfiguration
+    @EnableWebSecurity
+    static class Zugaenge {
+
+        @Bean
+        UserDetailsService userDetailsService() {
+            return new InMemoryUserDetailsManager(
+                    User.withUsername("admin@example.com").password("{noop}geheim").roles("ADMIN").build(),
+                    User.withUsername("schuetze@example.com").password("{noop}geheim").roles("SCHUETZE").build());
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JfrEndpoint jfrEndpoint;
+
+    @AfterEach
+    void tearDown() {
+        jfrEndpoint.steuere("stoppen");
+    }
+
+    @Test
+    void testAdministratorStartetAufzeichnungOhneCsrfToken() throws Exception {
+        mockMvc.perform(post("/actuator/jfr/starten").with(httpBasic("admin@example.com", "geheim")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aktiv").value(true));
+    }
+
+    @Test
+    void testSchreibendeOperationNurFuerAdministratoren() throws Exception {
+        mockMvc.perform(post("/actuator/jfr/starten"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/jfr/starten").with(httpBasic("schuetze@example.com", "geheim")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testHealthIstOeffentlich() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
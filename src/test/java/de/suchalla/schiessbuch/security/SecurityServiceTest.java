@@ -0,0 +1,171 @@
+package de.suchalla.schiessbuch.security;
+
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.spring.security.AuthenticationContext;
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
+import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.entity.Schiesstand;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.repository.BenutzerRepository;
+import de.suchalla.schiessbuch.repository.SchiesstandRepository;
+import de.suchalla.schiessbuch.service.BerechtigungGeaendertEvent;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityServiceTest {
+
+    @Mock
+    private AuthenticationContext authenticationContext;
+
+    @Mock
+    private BenutzerRepository benutzerRepository;
+
+    @Mock
+    private SchiesstandRepository schiesstandRepository;
+
+    @Mock
+    private VaadinSession session;
+
+    @InjectMocks
+    private SecurityService securityService;
+
+    private Benutzer benutzer;
+
+    @BeforeEach
+    void setUp() {
+        benutzer = TestDataFactory.createBenutzer(1L, "user@example.com");
+        Verein verein = TestDataFactory.createVerein(7L, "Verein A");
+        Vereinsmitgliedschaft mitgliedschaft = TestDataFactory.createMitgliedschaft(3L, benutzer, verein, MitgliedschaftsStatus.AKTIV);
+        mitgliedschaft.setIstAufseher(true);
+        benutzer.getVereinsmitgliedschaften().add(mitgliedschaft);
+        Schiesstand schiesstand = TestDataFactory.createSchiesstand(5L, "Stand 1", verein);
+
+        UserDetails userDetails = User.withUsername("user@example.com").password("pw").roles("AUFSEHER").build();
+        lenient().when(authenticationContext.getAuthenticatedUser(UserDetails.class)).thenReturn(Optional.of(userDetails));
+        lenient().when(benutzerRepository.findByEmailWithMitgliedschaften("user@example.com")).thenReturn(Optional.of(benutzer));
+        lenient().when(benutzerRepository.findBerechtigungStand(1L))
+                .thenAnswer(aufruf -> Optional.of(benutzer.getBerechtigungStand()));
+        lenient().when(schiesstandRepository.findBerechtigteSchiesstaende(1L, Limit.unlimited())).thenReturn(List.of(schiesstand));
+
+        // Session-Attribute wie in einer echten VaadinSession ablegen
+        Map<Class<?>, Object> attribute = new HashMap<>();
+        lenient().doAnswer(aufruf -> attribute.put(AngemeldeterBenutzer.class, aufruf.getArgument(1)))
+                .when(session).setAttribute(eq(AngemeldeterBenutzer.class), any(AngemeldeterBenutzer.class));
+        lenient().when(session.getAttribute(AngemeldeterBenutzer.class))
+                .thenAnswer(aufruf -> attribute.get(AngemeldeterBenutzer.class));
+        VaadinSession.setCurrent(session);
+    }
+
+    @AfterEach
+    void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    void testSchnappschussEnthaeltRolleMitgliedschaftenUndSchiesstaende() {
+        AngemeldeterBenutzer angemeldet = securityService.getAngemeldeterBenutzer();
+
+        assertEquals(1L, angemeldet.id());
+        assertEquals("Max Mustermann", angemeldet.vollstaendigerName());
+        assertTrue(angemeldet.hatRolle(BenutzerRolle.SCHUETZE));
+        assertTrue(angemeldet.istAufseher());
+        assertFalse(angemeldet.istVereinschef());
+        assertEquals(7L, angemeldet.mitgliedschaften().getFirst().vereinId());
+        assertEquals(List.of(5L), angemeldet.schiesstandIds());
+    }
+
+    @Test
+    void testSchnappschussWirdInDerSessionWiederverwendet() {
+        AngemeldeterBenutzer erster = securityService.getAngemeldeterBenutzer();
+        AngemeldeterBenutzer zweiter = securityService.getAngemeldeterBenutzer();
+
+        assertSame(erster, zweiter);
+        verify(benutzerRepository, times(1)).findByEmailWithMitgliedschaften("user@example.com");
+    }
+
+    @Test
+    void testNeuererBerechtigungsstandErzwingtNeuesLaden() {
+        AngemeldeterBenutzer erster = securityService.getAngemeldeterBenutzer();
+        assertEquals(0L, erster.stand());
+
+        // Änderung auf einem anderen Knoten: nur der gespeicherte Stand ist neuer
+        benutzer.setRolle(BenutzerRolle.AUFSEHER);
+        benutzer.setBerechtigungStand(1L);
+
+        AngemeldeterBenutzer zweiter = securityService.getAngemeldeterBenutzer();
+        assertTrue(zweiter.hatRolle(BenutzerRolle.AUFSEHER));
+        assertEquals(1L, zweiter.stand());
+        verify(benutzerRepository, times(2)).findByEmailWithMitgliedschaften("user@example.com");
+    }
+
+    @Test
+    void testAelteresReplikatErsetztSchnappschussNicht() {
+        benutzer.setBerechtigungStand(3L);
+        AngemeldeterBenutzer erster = securityService.getAngemeldeterBenutzer();
+
+        when(benutzerRepository.findBerechtigungStand(1L)).thenReturn(Optional.of(2L));
+
+        assertSame(erster, securityService.getAngemeldeterBenutzer());
+        verify(benutzerRepository, times(1)).findByEmailWithMitgliedschaften("user@example.com");
+    }
+
+    @Test
+    void testGeloeschterBenutzerWirdNeuGeladen() {
+        securityService.getAngemeldeterBenutzer();
+        when(benutzerRepository.findBerechtigungStand(1L)).thenReturn(Optional.empty());
+        when(benutzerRepository.findByEmailWithMitgliedschaften("user@example.com")).thenReturn(Optional.empty());
+
+        assertNull(securityService.getAngemeldeterBenutzer());
+    }
+
+    @Test
+    void testAenderungErhoehtGespeichertenStand() {
+        securityService.berechtigungGeaendert(new BerechtigungGeaendertEvent(1L));
+        securityService.berechtigungGeaendert(BerechtigungGeaendertEvent.alle());
+
+        verify(benutzerRepository).erhoeheBerechtigungStand(1L);
+        verify(benutzerRepository).erhoeheBerechtigungStandAlle();
+    }
+
+    @Test
+    void testOhneSessionWirdNichtZwischengespeichert() {
+        CurrentInstance.clearAll();
+
+        securityService.getAngemeldeterBenutzer();
+        securityService.getAngemeldeterBenutzer();
+
+        verify(benutzerRepository, times(2)).findByEmailWithMitgliedschaften("user@example.com");
+    }
+
+    @Test
+    void testOhneAnmeldungGibtNullZurueck() {
+        when(authenticationContext.getAuthenticatedUser(UserDetails.class)).thenReturn(Optional.empty());
+
+        assertNull(securityService.getAngemeldeterBenutzer());
+        verifyNoInteractions(benutzerRepository);
+    }
+}
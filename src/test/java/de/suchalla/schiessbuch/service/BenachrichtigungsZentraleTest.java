@@ -0,0 +1,162 @@
+package de.suchalla.schiessbuch.service;
+
+import com.vaadin.flow.shared.Registration;
+import de.suchalla.schiessbuch.model.dto.InAppBenachrichtigung;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft Anmeldung, Zustellung und Postfach der {@link BenachrichtigungsZentrale}.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+class BenachrichtigungsZentraleTest {
+
+    private BenachrichtigungsZentrale zentrale;
+
+    @BeforeEach
+    void setUp() {
+        zentrale = new BenachrichtigungsZentrale(3, Duration.ofHours(1), 100, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testZustellungAnAlleOberflaechenDesBenutzers() {
+        List<String> ersteUi = new ArrayList<>();
+        List<String> zweiteUi = new ArrayList<>();
+        List<String> andererBenutzer = new ArrayList<>();
+        zentrale.registriere(1L, b -> ersteUi.add(b.titel()));
+        Registration zweite = zentrale.registriere(1L, b -> zweiteUi.add(b.titel()));
+        zentrale.registriere(2L, b -> andererBenutzer.add(b.titel()));
+
+        zentrale.zustellen(1L, benachrichtigung("A"));
+        zweite.remove();
+        zentrale.zustellen(1L, benachrichtigung("B"));
+
+        assertEquals(List.of("A", "B"), ersteUi);
+        assertEquals(List.of("A"), zweiteUi);
+        assertTrue(andererBenutzer.isEmpty());
+    }
+
+    @Test
+    void testAngemeldetBisZurLetztenAbmeldung() {
+        assertFalse(zentrale.istAngemeldet(1L));
+        Registration erste = zentrale.registriere(1L, b -> { });
+        Registration zweite = zentrale.registriere(1L, b -> { });
+
+        erste.remove();
+        assertTrue(zentrale.istAngemeldet(1L));
+        zweite.remove();
+        assertFalse(zentrale.istAngemeldet(1L));
+        assertFalse(zentrale.istAngemeldet(null));
+    }
+
+    @Test
+    void testOhneLebenszeichenNichtMehrAngemeldet() throws InterruptedException {
+        BenachrichtigungsZentrale kurzesFenster = new BenachrichtigungsZentrale(3, Duration.ofHours(1), 100,
+                Duration.ofMillis(200));
+        BenachrichtigungsZentrale.Anmeldung anmeldung = kurzesFenster.registriere(1L, b -> { });
+        assertTrue(kurzesFenster.istAngemeldet(1L));
+
+        // Geschlossener Tab: registriert, aber ohne Heartbeat
+        Thread.sleep(300);
+        assertFalse(kurzesFenster.istAngemeldet(1L));
+
+        anmeldung.lebenszeichen();
+        assertTrue(kurzesFenster.istAngemeldet(1L));
+    }
+
+    @Test
+    void testPostfachBegrenztUndZaehltUngelesene() {
+        for (String titel : List.of("1", "2", "3", "4")) {
+            zentrale.zustellen(1L, benachrichtigung(titel));
+        }
+
+        assertEquals(List.of("4", "3", "2"), zentrale.getBenachrichtigungen(1L).stream().map(InAppBenachrichtigung::titel).toList());
+        assertEquals(3, zentrale.getUngelesen(1L));
+        zentrale.markiereGelesen(1L);
+        assertEquals(0, zentrale.getUngelesen(1L));
+        assertEquals(3, zentrale.getBenachrichtigungen(1L).size());
+        assertTrue(zentrale.getBenachrichtigungen(2L).isEmpty());
+    }
+
+    @Test
+    void testFehlerhafteOberflaecheStoertAndereNicht() {
+        List<String> erhalten = new ArrayList<>();
+        zentrale.registriere(1L, b -> {
+            throw new IllegalStateException("UI geschlossen");
+        });
+        zentrale.registriere(1L, b -> erhalten.add(b.titel()));
+
+        zentrale.zustellen(1L, benachrichtigung("A"));
+
+        assertEquals(List.of("A"), erhalten);
+    }
+
+    @Test
+    void testZustellungErstNachCommit() {
+        List<String> erhalten = new ArrayList<>();
+        zentrale.registriere(1L, b -> erhalten.add(b.titel()));
+        TransactionSynchronizationManager.initSynchronization();
+
+        zentrale.zustellen(1L, benachrichtigung("A"));
+        assertTrue(erhalten.isEmpty());
+        assertEquals(0, zentrale.getUngelesen(1L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of("A"), erhalten);
+    }
+
+    @Test
+    void testGleichzeitigeAnmeldungUndZustellung() throws Exception {
+        int threads = 8;
+        int jeThread = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < jeThread; i++) {
+                        Registration registrierung = zentrale.registriere(1L, b -> { });
+                        zentrale.zustellen(1L, benachrichtigung("x"));
+                        registrierung.remove();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertFalse(zentrale.istAngemeldet(1L));
+        assertEquals(3, zentrale.getBenachrichtigungen(1L).size());
+    }
+
+    private static InAppBenachrichtigung benachrichtigung(String titel) {
+        return InAppBenachrichtigung.jetzt(titel, "Text " + titel, "meine-eintraege");
+    }
+}
@@ -15,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -49,6 +50,12 @@ class BenutzerServiceTest {
     @Mock
     private de.suchalla.schiessbuch.repository.DigitalesZertifikatRepository digitalesZertifikatRepository;
 
+    @Mock
+    private de.suchalla.schiessbuch.repository.SignaturHinweisRepository signaturHinweisRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BenutzerService benutzerService;
 
@@ -132,6 +139,7 @@ class BenutzerServiceTest {
         benutzerService.aktualisiereBenutzer(testBenutzer);
 
         verify(benutzerRepository).save(testBenutzer);
+        verify(eventPublisher).publishEvent(new BerechtigungGeaendertEvent(testBenutzer.getId()));
     }
 
     @Test
@@ -168,6 +176,7 @@ class BenutzerServiceTest {
 
         benutzerService.loescheBenutzer(testBenutzer);
 
+        verify(signaturHinweisRepository).loescheAlleFuerEmpfaenger(testBenutzer.getId());
         verify(benutzerRepository).delete(testBenutzer);
     }
 
@@ -0,0 +1,97 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.dto.AngemeldeterBenutzer;
+import de.suchalla.schiessbuch.model.dto.DashboardStatistik;
+import de.suchalla.schiessbuch.model.dto.VereinsStatistik;
+import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Tests für DashboardService mit Mockito.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private ZaehlerService zaehlerService;
+
+    @InjectMocks
+    private DashboardService service;
+
+    private Verein verein;
+    private Benutzer vereinschef;
+
+    @BeforeEach
+    void setUp() {
+        verein = TestDataFactory.createVerein(7L, "SV Musterstadt");
+        vereinschef = TestDataFactory.createBenutzer(1L, "chef@example.com");
+        vereinschef.setRolle(BenutzerRolle.VEREINS_CHEF);
+        Vereinsmitgliedschaft mitgliedschaft = TestDataFactory.createMitgliedschaft(10L, vereinschef, verein, MitgliedschaftsStatus.AKTIV);
+        mitgliedschaft.setIstVereinschef(true);
+        vereinschef.getVereinsmitgliedschaften().add(mitgliedschaft);
+    }
+
+    @Test
+    void testErmittleStatistikSchuetzeLiestNurEigenenZaehler() {
+        Benutzer schuetze = TestDataFactory.createBenutzer(2L, "schuetze@example.com");
+        when(zaehlerService.lese(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, 2L)).thenReturn(3L);
+
+        DashboardStatistik statistik = service.ermittleStatistik(AngemeldeterBenutzer.von(schuetze, List.of()));
+
+        assertEquals(new DashboardStatistik(3, 0, 0), statistik);
+        verify(zaehlerService, never()).leseOffeneSignaturenVonVerein(any());
+        verify(zaehlerService, never()).lese(eq(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN), any());
+    }
+
+    @Test
+    void testErmittleStatistikVereinschefSummiertSchiesstaende() {
+        when(zaehlerService.lese(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, 1L)).thenReturn(1L);
+        when(zaehlerService.leseOffeneSignaturenVonVerein(7L)).thenReturn(Map.of(100L, 4L, 101L, 2L));
+        when(zaehlerService.lese(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, 7L)).thenReturn(5L);
+
+        DashboardStatistik statistik = service.ermittleStatistik(AngemeldeterBenutzer.von(vereinschef, List.of()));
+
+        assertEquals(new DashboardStatistik(1, 6, 5), statistik);
+    }
+
+    @Test
+    void testErmittleStatistikOhneAufseherFunktionLiestKeineVereinszaehler() {
+        vereinschef.getVereinsmitgliedschaften().iterator().next().setIstVereinschef(false);
+
+        assertEquals(new DashboardStatistik(0, 0, 0), service.ermittleStatistik(AngemeldeterBenutzer.von(vereinschef, List.of())));
+
+        verify(zaehlerService, never()).leseOffeneSignaturenVonVerein(any());
+    }
+
+    @Test
+    void testVereinsStatistikKommtAusDenZaehlern() {
+        when(zaehlerService.leseOffeneSignaturenVonVerein(7L)).thenReturn(Map.of(100L, 4L));
+        when(zaehlerService.lese(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, 7L)).thenReturn(2L);
+
+        VereinsStatistik statistik = service.ermittleVereinsStatistik(verein);
+
+        assertEquals(new VereinsStatistik(Map.of(100L, 4L), 2), statistik);
+    }
+}
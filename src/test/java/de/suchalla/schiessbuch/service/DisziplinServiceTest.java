@@ -1,19 +1,21 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.Disziplin;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.repository.DisziplinRepository;
 import de.suchalla.schiessbuch.repository.SchiesstandRepository;
 import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -40,6 +42,12 @@ class DisziplinServiceTest {
     @Mock
     private SchiessnachweisEintragRepository eintragRepository;
 
+    @Mock
+    private SchiessnachweisService schiessnachweisService;
+
+    @Mock
+    private ReferenzdatenCache referenzdatenCache;
+
     @InjectMocks
     private DisziplinService disziplinService;
 
@@ -103,6 +111,7 @@ class DisziplinServiceTest {
         disziplinService.erstelleSchiesstand(testSchiesstand);
 
         verify(schiesstandRepository).save(testSchiesstand);
+        verify(referenzdatenCache).leereNachCommit(Schiesstand.class);
     }
 
     @Test
@@ -173,13 +182,13 @@ class DisziplinServiceTest {
         Long schiesstandId = 1L;
 
         when(schiesstandRepository.findById(schiesstandId)).thenReturn(Optional.of(testSchiesstand));
-        when(eintragRepository.findBySchiesstand(testSchiesstand)).thenReturn(Collections.emptyList());
+        when(eintragRepository.existsBySchiesstand(testSchiesstand)).thenReturn(false);
         doNothing().when(schiesstandRepository).delete(testSchiesstand);
 
         disziplinService.loescheSchiesstand(schiesstandId);
 
         verify(schiesstandRepository).findById(schiesstandId);
-        verify(eintragRepository).findBySchiesstand(testSchiesstand);
+        verify(eintragRepository).existsBySchiesstand(testSchiesstand);
         verify(schiesstandRepository).delete(testSchiesstand);
     }
 
@@ -199,11 +208,9 @@ class DisziplinServiceTest {
     @Test
     void testLoescheSchiesstand_HasEntries() {
         Long schiesstandId = 1L;
-        de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag eintrag =
-                new de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag();
 
         when(schiesstandRepository.findById(schiesstandId)).thenReturn(Optional.of(testSchiesstand));
-        when(eintragRepository.findBySchiesstand(testSchiesstand)).thenReturn(Collections.singletonList(eintrag));
+        when(eintragRepository.existsBySchiesstand(testSchiesstand)).thenReturn(true);
 
         assertThrows(IllegalStateException.class, () -> {
             disziplinService.loescheSchiesstand(schiesstandId);
@@ -266,24 +273,15 @@ class DisziplinServiceTest {
         Long disziplinId = 1L;
         testDisziplin.setArchiviert(true);
 
-        de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag eintrag1 =
-                new de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag();
-        de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag eintrag2 =
-                new de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag();
-        List<de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag> eintraege =
-                Arrays.asList(eintrag1, eintrag2);
-
         when(disziplinRepository.findById(disziplinId)).thenReturn(Optional.of(testDisziplin));
-        when(eintragRepository.findByDisziplin(testDisziplin)).thenReturn(eintraege);
-        doNothing().when(eintragRepository).deleteAll(eintraege);
-        doNothing().when(disziplinRepository).delete(testDisziplin);
+        when(schiessnachweisService.loescheAlleEintraege(any())).thenReturn(2L);
 
         disziplinService.loescheDisziplinMitEintraegen(disziplinId);
 
         verify(disziplinRepository).findById(disziplinId);
-        verify(eintragRepository).findByDisziplin(testDisziplin);
-        verify(eintragRepository).deleteAll(eintraege);
-        verify(disziplinRepository).delete(testDisziplin);
+        verify(schiessnachweisService).loescheAlleEintraege(any());
+        verify(eintragRepository, never()).findByDisziplin(any());
+        verify(disziplinRepository).deleteById(disziplinId);
     }
 
     @Test
@@ -298,9 +296,36 @@ class DisziplinServiceTest {
         });
 
         verify(disziplinRepository).findById(disziplinId);
-        verify(eintragRepository, never()).findByDisziplin(any());
-        verify(eintragRepository, never()).deleteAll(any());
-        verify(disziplinRepository, never()).delete(any());
+        verifyNoInteractions(schiessnachweisService);
+        verify(disziplinRepository, never()).deleteById(any());
     }
-}
 
+    @Test
+    void testFindeBerechtigtenSchiesstandNutztIndizierteAbfrage() {
+        Benutzer aufseher = TestDataFactory.createBenutzer(5L, "aufseher@example.com");
+        when(schiesstandRepository.findBerechtigteSchiesstaende(5L, Limit.of(1))).thenReturn(List.of(testSchiesstand));
+
+        assertEquals(testSchiesstand, disziplinService.findeBerechtigtenSchiesstand(aufseher.getId()));
+
+        verify(schiesstandRepository, never()).findAllWithVerein();
+    }
+
+    @Test
+    void testFindeBerechtigtenSchiesstandOhneBerechtigungWirftException() {
+        Benutzer schuetze = TestDataFactory.createBenutzer(6L, "schuetze@example.com");
+        when(schiesstandRepository.findBerechtigteSchiesstaende(6L, Limit.of(1))).thenReturn(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> disziplinService.findeBerechtigtenSchiesstand(schuetze.getId()));
+    }
+
+    @Test
+    void testFindeBerechtigteSchiesstaendeLiefertAlle() {
+        Benutzer aufseher = TestDataFactory.createBenutzer(5L, "aufseher@example.com");
+        Schiesstand zweiterStand = Schiesstand.builder().id(2L).name("Stand 2").build();
+        when(schiesstandRepository.findBerechtigteSchiesstaende(5L, Limit.unlimited()))
+                .thenReturn(List.of(testSchiesstand, zweiterStand));
+
+        assertEquals(List.of(testSchiesstand, zweiterStand), disziplinService.findeBerechtigteSchiesstaende(aufseher));
+        assertThrows(IllegalArgumentException.class, () -> disziplinService.findeBerechtigteSchiesstaende(null));
+    }
+}
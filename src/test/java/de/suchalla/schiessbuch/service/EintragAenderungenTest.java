@@ -0,0 +1,132 @@
+package de.suchalla.schiessbuch.service;
+
+import com.vaadin.flow.shared.Registration;
+import de.suchalla.schiessbuch.config.BegrenzterExecutor;
+import de.suchalla.schiessbuch.model.entity.Benutzer;
+import de.suchalla.schiessbuch.model.entity.Disziplin;
+import de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag;
+import de.suchalla.schiessbuch.model.entity.Schiesstand;
+import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft Zuordnung je Schießstand und Bündelung der {@link EintragAenderungen}.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+class EintragAenderungenTest {
+
+    private EintragAenderungen aenderungen;
+    private Schiesstand stand;
+    private Schiesstand andererStand;
+    private Benutzer schuetze;
+    private Disziplin disziplin;
+
+    @BeforeEach
+    void setUp() {
+        aenderungen = new EintragAenderungen(new BegrenzterExecutor("ereignis", 2, 10), Duration.ofMillis(100));
+        Verein verein = TestDataFactory.createVerein(1L, "Verein");
+        stand = TestDataFactory.createSchiesstand(1L, "Stand 1", verein);
+        andererStand = TestDataFactory.createSchiesstand(2L, "Stand 2", verein);
+        schuetze = TestDataFactory.createBenutzer(1L, "schuetze@example.com");
+        disziplin = TestDataFactory.createDisziplin(1L, "Luftgewehr", TestDataFactory.createVerband(1L, "DSB"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        aenderungen.beenden();
+    }
+
+    @Test
+    void testAenderungenInKurzerFolgeWerdenGebuendelt() throws InterruptedException {
+        BlockingQueue<Set<Long>> zustellungen = new LinkedBlockingQueue<>();
+        aenderungen.registriere(stand.getId(), zustellungen::add);
+
+        aenderungen.eintragGeaendert(new EintragErstelltEvent(eintrag(10L, stand)));
+        aenderungen.eintragGeaendert(new EintragErstelltEvent(eintrag(11L, stand)));
+        aenderungen.eintragGeaendert(new EintragSigniertEvent(eintrag(10L, stand)));
+        aenderungen.eintragGeaendert(new EintragAbgelehntEvent(eintrag(12L, stand)));
+
+        assertEquals(Set.of(10L, 11L, 12L), zustellungen.poll(5, TimeUnit.SECONDS));
+        assertNull(zustellungen.poll(300, TimeUnit.MILLISECONDS));
+
+        aenderungen.eintragGeaendert(new EintragSigniertEvent(eintrag(11L, stand)));
+        assertEquals(Set.of(11L), zustellungen.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testNurAnsichtenDesBetroffenenSchiesstands() throws InterruptedException {
+        BlockingQueue<Set<Long>> erste = new LinkedBlockingQueue<>();
+        BlockingQueue<Set<Long>> zweite = new LinkedBlockingQueue<>();
+        BlockingQueue<Set<Long>> andere = new LinkedBlockingQueue<>();
+        aenderungen.registriere(stand.getId(), erste::add);
+        aenderungen.registriere(stand.getId(), zweite::add);
+        aenderungen.registriere(andererStand.getId(), andere::add);
+
+        aenderungen.eintragGeaendert(new EintragErstelltEvent(eintrag(10L, stand)));
+
+        assertEquals(Set.of(10L), erste.poll(5, TimeUnit.SECONDS));
+        assertEquals(Set.of(10L), zweite.poll(5, TimeUnit.SECONDS));
+        assertNull(andere.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testKeineZustellungNachAbmeldung() throws InterruptedException {
+        BlockingQueue<Set<Long>> zustellungen = new LinkedBlockingQueue<>();
+        Registration registrierung = aenderungen.registriere(stand.getId(), zustellungen::add);
+        registrierung.remove();
+
+        aenderungen.eintragGeaendert(new EintragErstelltEvent(eintrag(10L, stand)));
+
+        assertNull(zustellungen.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testAbgewieseneZustellungWirdWiederholt() throws InterruptedException {
+        aenderungen.beenden();
+        BegrenzterExecutor ausgelastet = new BegrenzterExecutor("ereignis", 1, 0);
+        aenderungen = new EintragAenderungen(ausgelastet, Duration.ofMillis(50));
+        CountDownLatch freigabe = new CountDownLatch(1);
+        ausgelastet.execute(() -> {
+            try {
+                freigabe.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        BlockingQueue<Set<Long>> zustellungen = new LinkedBlockingQueue<>();
+        aenderungen.registriere(stand.getId(), zustellungen::add);
+
+        aenderungen.eintragGeaendert(new EintragErstelltEvent(eintrag(10L, stand)));
+        assertNull(zustellungen.poll(300, TimeUnit.MILLISECONDS));
+
+        freigabe.countDown();
+        assertEquals(Set.of(10L), zustellungen.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEintragOhneSchiesstandWirdIgnoriert() {
+        aenderungen.registriere(stand.getId(), ids -> fail("Keine Zustellung erwartet"));
+
+        assertDoesNotThrow(() -> aenderungen.eintragGeaendert(new EintragErstelltEvent(eintrag(10L, null))));
+        assertDoesNotThrow(() -> aenderungen.eintragGeaendert(new EintragErstelltEvent(eintrag(null, stand))));
+    }
+
+    private SchiessnachweisEintrag eintrag(Long id, Schiesstand schiesstand) {
+        return TestDataFactory.createEintrag(id, schuetze, disziplin, schiesstand, LocalDate.now());
+    }
+}
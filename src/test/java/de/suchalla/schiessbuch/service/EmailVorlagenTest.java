@@ -0,0 +1,79 @@
+package de.suchalla.schiessbuch.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailVorlagenTest {
+
+    private final EmailVorlagen emailVorlagen = new EmailVorlagen();
+
+    @Test
+    void testKompilierteVorlageErsetztPlatzhalter() {
+        EmailVorlagen.Vorlage vorlage = EmailVorlagen.kompiliere("test.html",
+                "<p>Hallo {{username}}, Eintrag {{ entryId }}. Gruß, {{username}}</p>");
+
+        String html = vorlage.rendere(Map.of("username", "Max", "entryId", 42, "unbenutzt", "x"));
+
+        assertEquals("<p>Hallo Max, Eintrag 42. Gruß, Max</p>", html);
+        assertEquals(Set.of("username", "entryId"), vorlage.getVariablen());
+    }
+
+    @Test
+    void testWerteWerdenHtmlMaskiert() {
+        EmailVorlagen.Vorlage vorlage = EmailVorlagen.kompiliere("test.html", "<a href=\"{{link}}\">{{grund}}</a>");
+
+        String html = vorlage.rendere(Map.of(
+                "link", "https://example.com/?a=1&b=\"2\"",
+                "grund", "<script>alert('x')</script> Schlüssel"));
+
+        assertEquals("<a href=\"https://example.com/?a=1&amp;b=&quot;2&quot;\">"
+                + "&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; Schlüssel</a>", html);
+    }
+
+    @Test
+    void testFehlendeVariableSchlaegtFehl() {
+        Map<String, Object> variablen = new HashMap<>();
+        variablen.put("username", "Max");
+        variablen.put("entryId", null);
+
+        IllegalArgumentException fehler = assertThrows(IllegalArgumentException.class,
+                () -> emailVorlagen.rendere("signatur-request.html", variablen));
+
+        assertTrue(fehler.getMessage().contains("entryId"), fehler.getMessage());
+        assertTrue(fehler.getMessage().contains("actionUrl"), fehler.getMessage());
+    }
+
+    @Test
+    void testUnbekannteVorlageSchlaegtFehl() {
+        assertThrows(IllegalArgumentException.class, () -> emailVorlagen.rendere("gibt-es-nicht.html", Map.of()));
+    }
+
+    @Test
+    void testFehlerhafteVorlageWirdBeimKompilierenErkannt() {
+        assertThrows(IllegalStateException.class, () -> EmailVorlagen.kompiliere("kaputt.html", "<p>{{username</p>"));
+        assertThrows(IllegalStateException.class, () -> EmailVorlagen.kompiliere("kaputt.html", "<p>{{user name}}</p>"));
+    }
+
+    @Test
+    void testAlleVorlagenWerdenGeladen() {
+        Map<String, Object> variablen = Map.of(
+                "username", "Max Mustermann",
+                "actionUrl", "http://localhost:8080/meine-eintraege",
+                "entryId", 7);
+
+        String html = emailVorlagen.rendere("eintrag-signiert.html", variablen);
+
+        assertTrue(html.contains("Max Mustermann"));
+        assertTrue(html.contains("http://localhost:8080/meine-eintraege"));
+        assertFalse(html.contains("{{"));
+        for (String name : new String[]{"Mitgliedsanfrage.html", "passwort-reset.html", "signatur-request.html",
+                "verifizierung.html", "zertifikat-widerrufen.html"}) {
+            assertThrows(IllegalArgumentException.class, () -> emailVorlagen.rendere(name, Map.of()), name);
+        }
+    }
+}
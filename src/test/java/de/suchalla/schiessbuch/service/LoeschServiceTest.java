@@ -0,0 +1,137 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.entity.Verband;
+import de.suchalla.schiessbuch.model.enums.LoeschStatus;
+import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
+import de.suchalla.schiessbuch.repository.SchiesstandRepository;
+import de.suchalla.schiessbuch.repository.VerbandRepository;
+import de.suchalla.schiessbuch.repository.VereinRepository;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Tests für LoeschService mit Mockito; der Executor führt die Aufträge synchron aus.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class LoeschServiceTest {
+
+    @Mock
+    private VerbandService verbandService;
+
+    @Mock
+    private SchiesstandService schiesstandService;
+
+    @Mock
+    private DisziplinService disziplinService;
+
+    @Mock
+    private SchiessnachweisService schiessnachweisService;
+
+    @Mock
+    private SchiessnachweisEintragRepository eintragRepository;
+
+    @Mock
+    private VerbandRepository verbandRepository;
+
+    @Mock
+    private VereinRepository vereinRepository;
+
+    @Mock
+    private SchiesstandRepository schiesstandRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskExecutor executor;
+
+    private LoeschService service;
+    private Verband verband;
+
+    @BeforeEach
+    void setUp() {
+        service = new LoeschService(verbandService, schiesstandService, disziplinService, schiessnachweisService,
+                eintragRepository, verbandRepository, vereinRepository, schiesstandRepository, transactionManager,
+                Runnable::run);
+        verband = TestDataFactory.createVerband(1L, "DSB");
+    }
+
+    @Test
+    void testVerbandWirdBlockweiseInEigenenTransaktionenGeloescht() {
+        List<Long> block = List.of(10L, 11L);
+        when(verbandRepository.findById(1L)).thenReturn(Optional.of(verband));
+        when(eintragRepository.countByDisziplinVerbandId(1L)).thenReturn(2L);
+        when(eintragRepository.findIdsVonVerband(1L, Limit.of(SchiessnachweisService.LOESCH_BLOCK)))
+                .thenReturn(block, List.of());
+        when(schiessnachweisService.loescheEintraege(block)).thenReturn(2);
+
+        LoeschAuftrag auftrag = service.starteVerbandLoeschung(1L);
+
+        assertEquals("Verband DSB", auftrag.getBezeichnung());
+        assertEquals(LoeschStatus.ABGESCHLOSSEN, auftrag.getStatus());
+        assertEquals(2, auftrag.getGeloescht());
+        assertEquals(1.0, auftrag.getFortschritt());
+        verify(transactionManager, times(2)).commit(any());
+        verify(verbandService).loescheVerband(1L);
+    }
+
+    @Test
+    void testFehlerImAbschlussWirdImAuftragGemeldet() {
+        when(verbandRepository.findById(1L)).thenReturn(Optional.of(verband));
+        when(eintragRepository.findIdsVonVerband(any(), any())).thenReturn(List.of());
+        doThrow(new IllegalStateException("Verband wird noch verwendet")).when(verbandService).loescheVerband(1L);
+
+        LoeschAuftrag auftrag = service.starteVerbandLoeschung(1L);
+
+        assertEquals(LoeschStatus.FEHLGESCHLAGEN, auftrag.getStatus());
+        assertEquals("Verband wird noch verwendet", auftrag.getFehler());
+        assertFalse(auftrag.laeuft());
+    }
+
+    @Test
+    void testUnbekannterVerbandWirdNichtGestartet() {
+        LoeschService mitExecutor = new LoeschService(verbandService, schiesstandService, disziplinService,
+                schiessnachweisService, eintragRepository, verbandRepository, vereinRepository, schiesstandRepository,
+                transactionManager, executor);
+        when(verbandRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> mitExecutor.starteVerbandLoeschung(99L));
+
+        verifyNoInteractions(executor, verbandService);
+    }
+
+    @Test
+    void testNichtArchivierteDisziplinWirdNichtGestartet() {
+        when(disziplinService.pruefeLoeschbar(5L)).thenThrow(new IllegalStateException("Nur archivierte Disziplinen"));
+
+        assertThrows(IllegalStateException.class, () -> service.starteDisziplinLoeschung(5L));
+
+        verifyNoInteractions(schiessnachweisService);
+        verify(disziplinService, never()).loescheDisziplinMitEintraegen(any());
+    }
+
+    @Test
+    void testFortschrittOhneEintraege() {
+        LoeschAuftrag auftrag = new LoeschAuftrag("Verein A", 0);
+
+        assertEquals(0.0, auftrag.getFortschritt());
+        assertTrue(auftrag.laeuft());
+    }
+}
@@ -1,11 +1,14 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.config.Leistungsmessung;
 import de.suchalla.schiessbuch.model.dto.BenutzerDTO;
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
 import de.suchalla.schiessbuch.model.entity.*;
 import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
 import de.suchalla.schiessbuch.model.enums.EintragStatus;
 import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
 import de.suchalla.schiessbuch.model.enums.SchiesstandTyp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -14,6 +17,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,12 +33,12 @@ class PdfExportServiceTest {
     private BenutzerDTO testSchuetze;
     private Verein testVerein;
     private Schiesstand testSchiesstand;
-    private List<SchiessnachweisEintrag> testEintraege;
+    private List<SchiessnachweisEintragListDTO> testEintraege;
     private List<Vereinsmitgliedschaft> testMitgliedschaften;
 
     @BeforeEach
     void setUp() {
-        pdfExportService = new PdfExportService();
+        pdfExportService = new PdfExportService(new Leistungsmessung(new SimpleMeterRegistry()));
 
         testSchuetze = BenutzerDTO.builder()
                 .id(1L)
@@ -88,7 +92,7 @@ class PdfExportServiceTest {
 
     @Test
     void testExportiereSchiessnachweiseMitLeerenEintraegen() throws IOException {
-        List<SchiessnachweisEintrag> leereEintraege = new ArrayList<>();
+        List<SchiessnachweisEintragListDTO> leereEintraege = new ArrayList<>();
         LocalDate von = LocalDate.now().minusDays(7);
         LocalDate bis = LocalDate.now();
 
@@ -172,7 +176,7 @@ class PdfExportServiceTest {
     @Test
     void testPdfGroesseMitMehrerenEintraegen() throws IOException {
         // Erstelle viele Einträge
-        List<SchiessnachweisEintrag> vieleEintraege = new ArrayList<>();
+        List<SchiessnachweisEintragListDTO> vieleEintraege = new ArrayList<>();
         for (int i = 0; i < 50; i++) {
             vieleEintraege.add(createTestEintrag((long) i, 
                     LocalDate.now().minusDays(i), 
@@ -193,7 +197,7 @@ class PdfExportServiceTest {
 
     @Test
     void testExportiereSchiessnachweiseMitVerschiedenenStatus() throws IOException {
-        List<SchiessnachweisEintrag> gemischteEintraege = new ArrayList<>();
+        List<SchiessnachweisEintragListDTO> gemischteEintraege = new ArrayList<>();
         gemischteEintraege.add(createTestEintrag(1L, LocalDate.now(), 
                 "Luftgewehr 10m", "4.5mm", 40, "380 Ringe", EintragStatus.OFFEN));
         gemischteEintraege.add(createTestEintrag(2L, LocalDate.now().minusDays(1), 
@@ -211,25 +215,13 @@ class PdfExportServiceTest {
 
     @Test
     void testPdfMitPkiZertifikatsinformationen() throws IOException {
-        // Einträge mit PKI-Signaturinformationen
-        SchiessnachweisEintrag eintragMitZertifikat = createTestEintrag(
-                1L, LocalDate.now(), "Luftgewehr 10m", "4.5mm", 40, "380 Ringe",
-                EintragStatus.SIGNIERT);
-
-        // Erstelle Aufseher
-        Benutzer aufseher = Benutzer.builder()
-                .id(2L)
-                .vorname("Hans")
-                .nachname("Schmidt")
-                .email("hans@example.com")
-                .passwort("test")
-                .rolle(BenutzerRolle.AUFSEHER)
-                .build();
-
-        eintragMitZertifikat.setAufseher(aufseher);
-        eintragMitZertifikat.setSigniertAm(LocalDateTime.now());
+        // Einträge mit PKI-Signaturinformationen (Aufseher und Zertifikats-Seriennummer)
+        SchiessnachweisEintragListDTO eintragMitZertifikat = new SchiessnachweisEintragListDTO(
+                1L, LocalDate.now(), EintragStatus.SIGNIERT, "Max", "Mustermann",
+                "LG-10m", "Luftgewehr 10m", null, "Stand 1", "Testverein",
+                "4.5mm", null, 40, "380 Ringe", "Hans", "Schmidt", LocalDateTime.now(), "4F2A");
 
-        List<SchiessnachweisEintrag> eintraegeMitZertifikat = List.of(eintragMitZertifikat);
+        List<SchiessnachweisEintragListDTO> eintraegeMitZertifikat = List.of(eintragMitZertifikat);
 
         byte[] pdfBytes = pdfExportService.exportiereSchiessnachweise(
                 testSchuetze, eintraegeMitZertifikat,
@@ -239,57 +231,41 @@ class PdfExportServiceTest {
         assertTrue(pdfBytes.length > 0);
     }
 
-    // Hilfsmethoden
+    @Test
+    void testStreamExportLiestEintraegeZweimalUndSchliesstStreams() throws IOException {
+        AtomicInteger geoeffnet = new AtomicInteger();
+        AtomicInteger geschlossen = new AtomicInteger();
+
+        byte[] pdfBytes = pdfExportService.exportiereSchiessnachweise(testSchuetze, () -> {
+            geoeffnet.incrementAndGet();
+            return testEintraege.stream().onClose(geschlossen::incrementAndGet);
+        }, LocalDate.now().minusDays(7), LocalDate.now());
+
+        assertTrue(new String(pdfBytes, 0, 4).startsWith("%PDF"));
+        assertEquals(2, geoeffnet.get(), "Kopfzeile und Tabelle lesen je einen Stream");
+        assertEquals(2, geschlossen.get());
+    }
 
-    private SchiessnachweisEintrag createTestEintrag(Long id, LocalDate datum,
-            String disziplinName, String kaliber, Integer schuesse, String ergebnis,
-            EintragStatus status) {
-        // Erstelle Benutzer (Schütze)
-        Benutzer schuetze = Benutzer.builder()
-                .id(1L)
-                .vorname("Max")
-                .nachname("Mustermann")
-                .email("max@example.com")
-                .passwort("test")
-                .rolle(BenutzerRolle.SCHUETZE)
-                .build();
+    @Test
+    void testStreamExportVereinsmitgliedschaftenSchliesstStream() throws IOException {
+        AtomicInteger geschlossen = new AtomicInteger();
 
-        // Erstelle Disziplin
-        Disziplin disziplin = Disziplin.builder()
-                .id(1L)
-                .kennziffer("LG-10m")
-                .programm(disziplinName)
-                .build();
+        byte[] pdfBytes = pdfExportService.exportiereVereinsmitgliedschaften(testVerein,
+                () -> testMitgliedschaften.stream().onClose(geschlossen::incrementAndGet), null, null);
 
-        // Erstelle Verein
-        Verein verein = Verein.builder()
-                .id(1L)
-                .name("Testverein")
-                .build();
-
-        // Erstelle Schießstand
-        Schiesstand schiesstand = Schiesstand.builder()
-                .id(1L)
-                .name("Stand 1")
-                .typ(SchiesstandTyp.VEREINSGEBUNDEN)
-                .adresse("Teststraße 1")
-                .verein(verein)
-                .build();
+        assertTrue(pdfBytes.length > 0);
+        assertEquals(1, geschlossen.get());
+    }
 
-        // Erstelle Eintrag
-        SchiessnachweisEintrag eintrag = SchiessnachweisEintrag.builder()
-                .id(id)
-                .datum(datum)
-                .disziplin(disziplin)
-                .kaliber(kaliber)
-                .anzahlSchuesse(schuesse)
-                .ergebnis(ergebnis)
-                .status(status)
-                .schuetze(schuetze)
-                .schiesstand(schiesstand)
-                .build();
+    // Hilfsmethoden
 
-        return eintrag;
+    private SchiessnachweisEintragListDTO createTestEintrag(Long id, LocalDate datum,
+            String disziplinName, String kaliber, Integer schuesse, String ergebnis,
+            EintragStatus status) {
+        return new SchiessnachweisEintragListDTO(
+                id, datum, status, "Max", "Mustermann",
+                "LG-10m", disziplinName, null, "Stand 1", "Testverein",
+                kaliber, null, schuesse, ergebnis, null, null, null, null);
     }
 
     private Vereinsmitgliedschaft createTestMitgliedschaft(Long id, String vorname,
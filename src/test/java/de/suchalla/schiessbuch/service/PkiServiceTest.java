@@ -1,13 +1,17 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.config.BegrenzterExecutor;
+import de.suchalla.schiessbuch.config.Leistungsmessung;
 import de.suchalla.schiessbuch.model.entity.*;
 import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
 import de.suchalla.schiessbuch.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.security.KeyPair;
@@ -42,6 +46,12 @@ class PkiServiceTest {
     @Mock
     private SchiesstandRepository schiesstandRepository;
 
+    @Spy
+    private BegrenzterExecutor pkiExecutor = new BegrenzterExecutor("pki", 2, 8);
+
+    @Spy
+    private Leistungsmessung leistungsmessung = new Leistungsmessung(new SimpleMeterRegistry());
+
     @InjectMocks
     private PkiService pkiService;
 
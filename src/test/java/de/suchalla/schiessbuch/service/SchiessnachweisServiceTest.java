@@ -1,18 +1,26 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.model.dto.AnzahlProBezug;
+import de.suchalla.schiessbuch.model.dto.EintragFilter;
+import de.suchalla.schiessbuch.model.dto.SchiessnachweisEintragListDTO;
 import de.suchalla.schiessbuch.model.entity.*;
 import de.suchalla.schiessbuch.model.enums.EintragStatus;
 import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
 import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +34,15 @@ class SchiessnachweisServiceTest {
     @Mock
     private SchiessnachweisEintragRepository eintragRepository;
 
+    @Mock
+    private ZaehlerService zaehlerService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SchiessnachweisService service;
 
@@ -52,21 +69,27 @@ class SchiessnachweisServiceTest {
 
         verify(eintragRepository).save(eintrag);
         assertEquals(EintragStatus.UNSIGNIERT, eintrag.getStatus());
+        verify(zaehlerService).eintragGeaendert(eintrag, null, EintragStatus.UNSIGNIERT);
+        verify(eventPublisher).publishEvent(new EintragErstelltEvent(eintrag));
     }
 
     @Test
-    void testFindeEintraegeImZeitraum() {
-        LocalDate von = LocalDate.now().minusDays(7);
-        LocalDate bis = LocalDate.now();
-        List<SchiessnachweisEintrag> entities = Arrays.asList(eintrag);
+    void testErstelleEintragFuerSchuetzenId() {
+        SchiessnachweisEintrag neu = TestDataFactory.createEintrag(null, null, disziplin, schiesstand, LocalDate.now());
+        when(entityManager.find(Benutzer.class, 1L)).thenReturn(schuetze);
 
-        when(eintragRepository.findBySchuetzeAndDatumBetween(schuetze, von, bis)).thenReturn(entities);
+        service.erstelleEintrag(neu, 1L);
 
-        List<SchiessnachweisEintrag> result = service.findeEintraegeImZeitraum(schuetze, von, bis);
+        assertSame(schuetze, neu.getSchuetze());
+        verify(eintragRepository).save(neu);
+    }
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(eintragRepository).findBySchuetzeAndDatumBetween(schuetze, von, bis);
+    @Test
+    void testErstelleEintragFuerUnbekanntenSchuetzenWirftException() {
+        SchiessnachweisEintrag neu = TestDataFactory.createEintrag(null, null, disziplin, schiesstand, LocalDate.now());
+
+        assertThrows(IllegalArgumentException.class, () -> service.erstelleEintrag(neu, 99L));
+        verify(eintragRepository, never()).save(any());
     }
 
     @Test
@@ -82,7 +105,9 @@ class SchiessnachweisServiceTest {
         assertEquals(EintragStatus.SIGNIERT, eintrag.getStatus());
         assertEquals(aufseher, eintrag.getAufseher());
         assertEquals("signature123", eintrag.getDigitaleSignatur());
+        verify(eventPublisher).publishEvent(new EintragSigniertEvent(eintrag));
         assertNotNull(eintrag.getSigniertAm());
+        verify(zaehlerService).eintragGeaendert(eintrag, EintragStatus.UNSIGNIERT, EintragStatus.SIGNIERT);
     }
 
     @Test
@@ -94,6 +119,7 @@ class SchiessnachweisServiceTest {
         });
 
         verify(eintragRepository, never()).save(any());
+        verifyNoInteractions(zaehlerService);
     }
 
     @Test
@@ -101,14 +127,17 @@ class SchiessnachweisServiceTest {
         Benutzer aufseher = TestDataFactory.createBenutzer(2L, "aufseher@example.com");
         eintrag.setStatus(EintragStatus.UNSIGNIERT);
 
+        when(entityManager.find(Benutzer.class, 2L)).thenReturn(aufseher);
         when(eintragRepository.findById(1L)).thenReturn(Optional.of(eintrag));
         when(eintragRepository.save(any(SchiessnachweisEintrag.class))).thenReturn(eintrag);
 
-        service.lehneEintragAb(1L, aufseher, "Fehlerhafte Daten");
+        service.lehneEintragAb(1L, 2L, "Fehlerhafte Daten");
 
         verify(eintragRepository).save(eintrag);
         assertEquals(EintragStatus.ABGELEHNT, eintrag.getStatus());
+        assertSame(aufseher, eintrag.getAufseher());
         assertEquals("Fehlerhafte Daten", eintrag.getAblehnungsgrund());
+        verify(zaehlerService).eintragGeaendert(eintrag, EintragStatus.UNSIGNIERT, EintragStatus.ABGELEHNT);
     }
 
     @Test
@@ -121,6 +150,7 @@ class SchiessnachweisServiceTest {
         service.loescheEintrag(1L);
 
         verify(eintragRepository).delete(eintrag);
+        verify(zaehlerService).eintragGeaendert(eintrag, EintragStatus.UNSIGNIERT, null);
     }
 
     @Test
@@ -145,5 +175,81 @@ class SchiessnachweisServiceTest {
         assertEquals(5L, count);
         verify(eintragRepository).countBySchuetzeAndStatus(schuetze, EintragStatus.UNSIGNIERT);
     }
-}
 
+    @Test
+    void testFindeEintraegeSeiteUebergibtKeysetUndFilter() {
+        SchiessnachweisEintragListDTO letzter = zeile(7L, LocalDate.now());
+        EintragFilter filter = EintragFilter.builder()
+                .status(EnumSet.of(EintragStatus.SIGNIERT))
+                .vereinName("  ")
+                .verbandName("DSB")
+                .build();
+        when(eintragRepository.findSeiteFuerSchuetze(eq(1L), eq(EnumSet.of(EintragStatus.SIGNIERT)), isNull(), isNull(),
+                isNull(), isNull(), eq("DSB"), eq(letzter.datum()), eq(7L), eq(false), eq(Limit.of(50))))
+                .thenReturn(List.of(zeile(6L, LocalDate.now())));
+
+        List<SchiessnachweisEintragListDTO> result = service.findeEintraegeSeite(schuetze.getId(), filter, letzter, false, 50);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void testFindeEintraegeSeiteOhneStatusLiefertLeereListe() {
+        EintragFilter filter = EintragFilter.builder().status(EnumSet.noneOf(EintragStatus.class)).build();
+
+        assertTrue(service.findeEintraegeSeite(schuetze.getId(), filter, null, false, 50).isEmpty());
+        verifyNoInteractions(eintragRepository);
+    }
+
+    @Test
+    void testFindeEintraegeAnSchiesstandNutztProjektion() {
+        when(eintragRepository.findListeBySchiesstand(1L, EintragStatus.UNSIGNIERT))
+                .thenReturn(List.of(zeile(1L, LocalDate.now())));
+
+        List<SchiessnachweisEintragListDTO> result =
+                service.findeEintraegeAnSchiesstand(schiesstand, EintragStatus.UNSIGNIERT);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void testLoescheEintraegeSchreibtZaehlerFort() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        List<AnzahlProBezug> proSchiesstand = List.of(new AnzahlProBezug(1L, 2L));
+        List<AnzahlProBezug> proSchuetze = List.of(new AnzahlProBezug(1L, 2L));
+        when(eintragRepository.zaehleProSchiesstandUnter(ids, EintragStatus.UNSIGNIERT)).thenReturn(proSchiesstand);
+        when(eintragRepository.zaehleProSchuetzeUnter(ids, EintragStatus.UNSIGNIERT)).thenReturn(proSchuetze);
+        when(eintragRepository.loescheAlle(ids)).thenReturn(3);
+
+        assertEquals(3, service.loescheEintraege(ids));
+
+        verify(zaehlerService).eintraegeGeloescht(proSchiesstand, proSchuetze);
+        verify(eintragRepository, never()).deleteAll(any());
+    }
+
+    @Test
+    void testLoescheAlleEintraegeLoeschtBlockweiseBisKeineMehrUebrig() {
+        List<Long> block1 = List.of(1L, 2L);
+        List<Long> block2 = List.of(3L);
+        when(eintragRepository.loescheAlle(any())).thenAnswer(a -> ((List<?>) a.getArgument(0)).size());
+        List<Limit> limits = new ArrayList<>();
+        Iterator<List<Long>> bloecke = List.of(block1, block2, List.<Long>of()).iterator();
+
+        long geloescht = service.loescheAlleEintraege(limit -> {
+            limits.add(limit);
+            return bloecke.next();
+        });
+
+        assertEquals(3, geloescht);
+        assertEquals(3, limits.size());
+        assertEquals(Limit.of(SchiessnachweisService.LOESCH_BLOCK), limits.getFirst());
+        verify(eintragRepository).loescheAlle(block1);
+        verify(eintragRepository).loescheAlle(block2);
+    }
+
+    private SchiessnachweisEintragListDTO zeile(Long id, LocalDate datum) {
+        return new SchiessnachweisEintragListDTO(id, datum, EintragStatus.UNSIGNIERT, "Max", "Mustermann",
+                "1.10", "Luftgewehr", null, "Stand 1", "Verein A",
+                "4.5mm", null, 40, "380 Ringe", null, null, null, null);
+    }
+}
@@ -1,15 +1,20 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.Schiesstand;
 import de.suchalla.schiessbuch.model.entity.Verein;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
 import de.suchalla.schiessbuch.repository.SchiesstandRepository;
+import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
 import de.suchalla.schiessbuch.testutil.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -32,6 +37,21 @@ class SchiesstandServiceTest {
     @Mock
     private de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository eintragRepository;
 
+    @Mock
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    @Mock
+    private ReferenzdatenCache referenzdatenCache;
+
+    @Mock
+    private SchiessnachweisService schiessnachweisService;
+
+    @Mock
+    private ZaehlerService zaehlerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SchiesstandService service;
 
@@ -47,10 +67,14 @@ class SchiesstandServiceTest {
     @Test
     void testErstelleSchiesstand() {
         when(schiesstandRepository.save(any(Schiesstand.class))).thenReturn(schiesstand);
+        when(mitgliedschaftRepository.findAufsichtsBenutzerIds(1L)).thenReturn(List.of(5L, 6L));
 
         service.erstelleSchiesstand(schiesstand);
 
         verify(schiesstandRepository).save(schiesstand);
+        verify(eventPublisher).publishEvent(new BerechtigungGeaendertEvent(5L));
+        verify(eventPublisher).publishEvent(new BerechtigungGeaendertEvent(6L));
+        verify(eventPublisher, never()).publishEvent(BerechtigungGeaendertEvent.alle());
     }
 
     @Test
@@ -76,35 +100,61 @@ class SchiesstandServiceTest {
 
     @Test
     void testAktualisiereSchiesstand() {
+        when(schiesstandRepository.findById(1L)).thenReturn(Optional.of(
+                TestDataFactory.createSchiesstand(1L, "Stand 1", verein)));
         when(schiesstandRepository.save(any(Schiesstand.class))).thenReturn(schiesstand);
+        schiesstand.setBeschreibung("Neue Beschreibung");
 
         service.aktualisiereSchiesstand(schiesstand);
 
         verify(schiesstandRepository).save(schiesstand);
+        verify(eventPublisher, never()).publishEvent(any(BerechtigungGeaendertEvent.class));
+        verify(mitgliedschaftRepository, never()).findAufsichtsBenutzerIds(any());
+    }
+
+    @Test
+    void testAktualisiereSchiesstandMitNeuemAufseherMeldetBisherigeUndNeueBerechtigte() {
+        Benutzer bisherigerAufseher = TestDataFactory.createBenutzer(7L, "alt@example.com");
+        Benutzer neuerAufseher = TestDataFactory.createBenutzer(8L, "neu@example.com");
+        Schiesstand bisher = TestDataFactory.createSchiesstand(1L, "Stand 1", verein);
+        bisher.setAufseher(bisherigerAufseher);
+        schiesstand.setAufseher(neuerAufseher);
+        when(schiesstandRepository.findById(1L)).thenReturn(Optional.of(bisher));
+        when(mitgliedschaftRepository.findAufsichtsBenutzerIds(1L)).thenReturn(List.of(5L));
+
+        service.aktualisiereSchiesstand(schiesstand);
+
+        verify(eventPublisher).publishEvent(new BerechtigungGeaendertEvent(7L));
+        verify(eventPublisher).publishEvent(new BerechtigungGeaendertEvent(8L));
+        verify(eventPublisher).publishEvent(new BerechtigungGeaendertEvent(5L));
+        verify(eventPublisher, times(3)).publishEvent(any(BerechtigungGeaendertEvent.class));
     }
 
     @Test
     void testLoescheSchiesstandOhneEintraege() {
         when(schiesstandRepository.findById(1L)).thenReturn(Optional.of(schiesstand));
-        when(zertifikatRepository.findBySchiesstand(schiesstand)).thenReturn(List.of());
-        when(eintragRepository.findBySchiesstand(schiesstand)).thenReturn(List.of());
-        doNothing().when(schiesstandRepository).delete(schiesstand);
+        when(mitgliedschaftRepository.findAufsichtsBenutzerIds(1L)).thenReturn(List.of(5L));
 
         service.loescheSchiesstand(1L);
 
-        verify(schiesstandRepository).delete(schiesstand);
+        verify(schiesstandRepository).deleteById(1L);
+        verify(referenzdatenCache).leereNachCommit(Schiesstand.class);
+        verify(eventPublisher).publishEvent(new BerechtigungGeaendertEvent(5L));
+        verify(eventPublisher, never()).publishEvent(BerechtigungGeaendertEvent.alle());
     }
 
     @Test
-    void testLoescheSchiesstandMitEintraegenWirftException() {
+    void testLoescheSchiesstandMitEintraegenLoeschtInReihenfolge() {
         when(schiesstandRepository.findById(1L)).thenReturn(Optional.of(schiesstand));
-        when(zertifikatRepository.findBySchiesstand(schiesstand)).thenReturn(List.of());
-        when(eintragRepository.findBySchiesstand(schiesstand)).thenReturn(List.of(new de.suchalla.schiessbuch.model.entity.SchiessnachweisEintrag()));
+        when(schiessnachweisService.loescheAlleEintraege(any())).thenReturn(3L);
 
-        // Der Service löscht jetzt Einträge, wirft keine Exception mehr
         service.loescheSchiesstand(1L);
 
-        verify(schiesstandRepository).delete(schiesstand);
+        InOrder reihenfolge = inOrder(schiessnachweisService, zertifikatRepository, schiesstandRepository);
+        reihenfolge.verify(schiessnachweisService).loescheAlleEintraege(any());
+        reihenfolge.verify(zertifikatRepository).loescheVonSchiesstand(1L);
+        reihenfolge.verify(schiesstandRepository).deleteById(1L);
+        verify(zaehlerService).bezugGeloescht(ZaehlerTyp.OFFENE_SIGNATUREN, 1L);
     }
 
     @Test
@@ -116,4 +166,3 @@ class SchiesstandServiceTest {
         });
     }
 }
-
@@ -1,15 +1,19 @@
 package de.suchalla.schiessbuch.service;
 
+import de.suchalla.schiessbuch.config.Leistungsmessung;
 import de.suchalla.schiessbuch.model.entity.*;
 import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
 import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.repository.BenutzerRepository;
 import de.suchalla.schiessbuch.repository.DigitalesZertifikatRepository;
 import de.suchalla.schiessbuch.repository.SchiessnachweisEintragRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -42,6 +46,12 @@ class SignaturServiceTest {
     @Mock
     private SchiessnachweisService schiessnachweisService;
 
+    @Mock
+    private BenutzerRepository benutzerRepository;
+
+    @Spy
+    private Leistungsmessung leistungsmessung = new Leistungsmessung(new SimpleMeterRegistry());
+
     @InjectMocks
     private SignaturService signaturService;
 
@@ -117,6 +127,8 @@ class SignaturServiceTest {
                 .benutzer(aufseher)
                 .verein(verein)
                 .build();
+
+        lenient().when(benutzerRepository.findById(2L)).thenReturn(Optional.of(aufseher));
     }
 
 
@@ -128,7 +140,7 @@ class SignaturServiceTest {
                 .thenReturn("MOCK_SIGNATURE_123");
         doNothing().when(schiessnachweisService).signiereEintrag(any(SchiessnachweisEintrag.class), any(), any());
 
-        signaturService.signEintrag(eintrag, aufseher);
+        signaturService.signEintrag(eintrag, aufseher.getId());
 
         verify(pkiService, times(1)).signData(any(String.class), eq(aufseherZertifikat));
     }
@@ -145,7 +157,7 @@ class SignaturServiceTest {
                 .thenReturn(Optional.of(invalidZertifikat));
 
         assertThrows(RuntimeException.class, () ->
-            signaturService.signEintrag(eintrag, aufseher));
+            signaturService.signEintrag(eintrag, aufseher.getId()));
 
         verify(pkiService, never()).signData(any(), any());
         verify(schiessnachweisService, never()).signiereEintrag(any(SchiessnachweisEintrag.class), any(), any());
@@ -159,7 +171,7 @@ class SignaturServiceTest {
                 .thenReturn("MOCK_SIGNATURE_123");
         doNothing().when(schiessnachweisService).signiereEintrag(any(SchiessnachweisEintrag.class), any(), any());
 
-        signaturService.signEintrag(eintrag, aufseher);
+        signaturService.signEintrag(eintrag, aufseher.getId());
 
         assertEquals(aufseher, eintrag.getAufseher());
         assertEquals("MOCK_SIGNATURE_123", eintrag.getDigitaleSignatur());
@@ -188,7 +200,7 @@ class SignaturServiceTest {
                 });
         doNothing().when(schiessnachweisService).signiereEintrag(any(SchiessnachweisEintrag.class), any(), any());
 
-        signaturService.signEintrag(eintrag, aufseher);
+        signaturService.signEintrag(eintrag, aufseher.getId());
 
         verify(pkiService, times(1)).signData(any(String.class), any(DigitalesZertifikat.class));
     }
@@ -215,7 +227,7 @@ class SignaturServiceTest {
         doNothing().when(schiessnachweisService).signiereEintrag(any(SchiessnachweisEintrag.class), any(), any());
 
         assertDoesNotThrow(() ->
-            signaturService.signEintrag(eintragMitNulls, aufseher));
+            signaturService.signEintrag(eintragMitNulls, aufseher.getId()));
     }
 
     @Test
@@ -226,7 +238,7 @@ class SignaturServiceTest {
                 .thenThrow(new RuntimeException("PKI Error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
-            signaturService.signEintrag(eintrag, aufseher));
+            signaturService.signEintrag(eintrag, aufseher.getId()));
 
         assertTrue(exception.getMessage().contains("Eintrag konnte nicht signiert werden"));
         verify(schiessnachweisService, never()).signiereEintrag(any(SchiessnachweisEintrag.class), any(), any());
@@ -240,7 +252,7 @@ class SignaturServiceTest {
                 .thenReturn("SIGNATURE_XYZ");
         doNothing().when(schiessnachweisService).signiereEintrag(any(SchiessnachweisEintrag.class), any(), any());
 
-        signaturService.signEintrag(eintrag, aufseher);
+        signaturService.signEintrag(eintrag, aufseher.getId());
 
         verify(schiessnachweisService, times(1))
                 .signiereEintrag(eq(eintrag), eq(aufseher), eq("SIGNATURE_XYZ"));
@@ -263,7 +275,7 @@ class SignaturServiceTest {
                 .thenReturn("NEW_SIGNATURE");
         doNothing().when(schiessnachweisService).signiereEintrag(any(SchiessnachweisEintrag.class), any(), any());
 
-        signaturService.signEintrag(eintrag, aufseher);
+        signaturService.signEintrag(eintrag, aufseher.getId());
 
         // Sollte neue Signatur und neues Zertifikat setzen
         assertEquals("NEW_SIGNATURE", eintrag.getDigitaleSignatur());
@@ -3,18 +3,22 @@ package de.suchalla.schiessbuch.service;
 import de.suchalla.schiessbuch.model.entity.Verband;
 import de.suchalla.schiessbuch.model.entity.*;
 import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
 import de.suchalla.schiessbuch.repository.*;
 import de.suchalla.schiessbuch.testutil.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,9 +42,24 @@ class VerbandServiceTest {
     @Mock
     private DisziplinRepository disziplinRepository;
 
+    @Mock
+    private SchiessnachweisEintragRepository eintragRepository;
+
     @Mock
     private VereinsmitgliedschaftService vereinsmitgliedschaftService;
 
+    @Mock
+    private SchiessnachweisService schiessnachweisService;
+
+    @Mock
+    private ZaehlerService zaehlerService;
+
+    @Mock
+    private ReferenzdatenCache referenzdatenCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private VerbandService service;
 
@@ -64,6 +83,7 @@ class VerbandServiceTest {
 
         verify(verbandRepository).existsByName("DSB");
         verify(verbandRepository).save(verband);
+        verify(referenzdatenCache).leereNachCommit(Verband.class);
     }
 
     @Test
@@ -75,6 +95,7 @@ class VerbandServiceTest {
         });
 
         verify(verbandRepository, never()).save(any());
+        verifyNoInteractions(referenzdatenCache);
     }
 
     @Test
@@ -100,23 +121,19 @@ class VerbandServiceTest {
     }
 
     @Test
-    void testIstMitgliedImVerband() {
-        when(vereinsmitgliedschaftService.findeVerbaendeVonBenutzer(benutzer))
-                .thenReturn(Arrays.asList(Verband.builder().id(1L).build()));
+    void testFindeVerbandIdsVonBenutzer() {
+        when(vereinsmitgliedschaftService.findeVerbaendeVonBenutzer(benutzer.getId()))
+                .thenReturn(Arrays.asList(Verband.builder().id(1L).build(), Verband.builder().id(2L).build()));
 
-        boolean result = service.istMitgliedImVerband(benutzer, 1L);
+        Set<Long> result = service.findeVerbandIdsVonBenutzer(benutzer.getId());
 
-        assertTrue(result);
+        assertEquals(Set.of(1L, 2L), result);
     }
 
     @Test
-    void testIstMitgliedImVerbandFalse() {
-        when(vereinsmitgliedschaftService.findeVerbaendeVonBenutzer(benutzer))
-                .thenReturn(Arrays.asList(Verband.builder().id(2L).build()));
-
-        boolean result = service.istMitgliedImVerband(benutzer, 1L);
-
-        assertFalse(result);
+    void testFindeVerbandIdsOhneBenutzerIstLeer() {
+        assertTrue(service.findeVerbandIdsVonBenutzer(null).isEmpty());
+        verifyNoInteractions(vereinsmitgliedschaftService);
     }
 
     @Test
@@ -126,23 +143,25 @@ class VerbandServiceTest {
 
         when(verbandRepository.findById(1L)).thenReturn(Optional.of(verband));
         when(vereinRepository.findByVerbaendeContaining(verband)).thenReturn(Arrays.asList(verein));
-        when(vereinsmitgliedschaftService.vereinBeitreten(benutzer, verein)).thenReturn(mitgliedschaft);
+        when(vereinsmitgliedschaftService.vereinBeitreten(benutzer.getId(), verein)).thenReturn(mitgliedschaft);
         doNothing().when(vereinsmitgliedschaftService).genehmigeAnfrage(1L);
 
         service.beitretenZuVerband(benutzer, 1L);
 
-        verify(vereinsmitgliedschaftService).vereinBeitreten(benutzer, verein);
+        verify(vereinsmitgliedschaftService).vereinBeitreten(benutzer.getId(), verein);
         verify(vereinsmitgliedschaftService).genehmigeAnfrage(1L);
     }
 
     @Test
     void testLoescheVerband() {
-        when(disziplinRepository.findByVerbandId(1L)).thenReturn(List.of());
-        doNothing().when(verbandRepository).deleteById(1L);
-
         service.loescheVerband(1L);
 
-        verify(verbandRepository).deleteById(1L);
+        InOrder reihenfolge = inOrder(schiessnachweisService, disziplinRepository, verbandRepository);
+        reihenfolge.verify(schiessnachweisService).loescheAlleEintraege(any());
+        reihenfolge.verify(disziplinRepository).loescheVonVerband(1L);
+        reihenfolge.verify(verbandRepository).deleteById(1L);
+        verify(disziplinRepository, never()).findByVerbandId(any());
+        verify(referenzdatenCache).leereNachCommit(Verband.class, Disziplin.class);
     }
 
     @Test
@@ -156,18 +175,26 @@ class VerbandServiceTest {
 
     @Test
     void testLoescheVereinMitAktivenMitgliedern() {
-        Vereinsmitgliedschaft aktiveMitgliedschaft = TestDataFactory.createMitgliedschaft(1L, benutzer, verein, MitgliedschaftsStatus.AKTIV);
-        verein.getMitgliedschaften().add(aktiveMitgliedschaft);
+        when(vereinRepository.existsById(1L)).thenReturn(true);
 
-        when(vereinRepository.findById(1L)).thenReturn(Optional.of(verein));
-        when(zertifikatRepository.findByVerein(verein)).thenReturn(List.of());
-        when(mitgliedschaftRepository.save(any(Vereinsmitgliedschaft.class))).thenReturn(aktiveMitgliedschaft);
-
-        // Der Service markiert Mitgliedschaften als inaktiv und löscht dann den Verein
         service.loescheVerein(1L);
 
-        verify(mitgliedschaftRepository).save(aktiveMitgliedschaft);
-        verify(vereinRepository).delete(verein);
+        InOrder reihenfolge = inOrder(schiessnachweisService, zertifikatRepository, mitgliedschaftRepository, vereinRepository);
+        reihenfolge.verify(schiessnachweisService).loescheAlleEintraege(any());
+        reihenfolge.verify(zertifikatRepository).loeseVonVereinsZertifikaten(1L);
+        reihenfolge.verify(zertifikatRepository).loescheVonVerein(1L);
+        reihenfolge.verify(mitgliedschaftRepository).loescheVonVerein(1L);
+        reihenfolge.verify(vereinRepository).deleteById(1L);
+        verify(zaehlerService).bezugGeloescht(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, 1L);
+        verify(eintragRepository, never()).findAll();
     }
-}
 
+    @Test
+    void testLoescheVereinNichtGefunden() {
+        when(vereinRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> service.loescheVerein(99L));
+
+        verifyNoInteractions(schiessnachweisService, zertifikatRepository, mitgliedschaftRepository);
+    }
+}
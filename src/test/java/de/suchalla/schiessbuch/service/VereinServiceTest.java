@@ -31,6 +31,9 @@ class VereinServiceTest {
     @Mock
     private VereinRepository vereinRepository;
 
+    @Mock
+    private ReferenzdatenCache referenzdatenCache;
+
     @InjectMocks
     private VereinService vereinService;
 
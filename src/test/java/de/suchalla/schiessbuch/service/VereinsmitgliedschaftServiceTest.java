@@ -4,6 +4,7 @@ import de.suchalla.schiessbuch.model.entity.Vereinsmitgliedschaft;
 import de.suchalla.schiessbuch.model.entity.Benutzer;
 import de.suchalla.schiessbuch.model.entity.Verein;
 import de.suchalla.schiessbuch.model.entity.DigitalesZertifikat;
+import de.suchalla.schiessbuch.model.enums.BenutzerRolle;
 import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
 import de.suchalla.schiessbuch.repository.DigitalesZertifikatRepository;
 import de.suchalla.schiessbuch.repository.VereinRepository;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -40,7 +42,10 @@ class VereinsmitgliedschaftServiceTest {
     private de.suchalla.schiessbuch.repository.BenutzerRepository benutzerRepository;
 
     @Mock
-    private EmailService notificationService;
+    private ZaehlerService zaehlerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private VereinsmitgliedschaftService service;
@@ -61,13 +66,13 @@ class VereinsmitgliedschaftServiceTest {
         when(vereinRepository.findById(1L)).thenReturn(Optional.of(verein));
         when(mitgliedschaftRepository.findAllByBenutzerAndVerein(benutzer, verein)).thenReturn(Arrays.asList());
         when(mitgliedschaftRepository.save(any(Vereinsmitgliedschaft.class))).thenReturn(mitgliedschaft);
-        doNothing().when(notificationService).notifyMembershipRequest(verein, benutzer);
 
         Vereinsmitgliedschaft result = service.beantragenMitgliedschaft(benutzer, 1L);
 
         assertNotNull(result);
         verify(mitgliedschaftRepository).save(any(Vereinsmitgliedschaft.class));
-        verify(notificationService).notifyMembershipRequest(verein, benutzer);
+        verify(eventPublisher).publishEvent(new MitgliedschaftBeantragtEvent(verein, benutzer));
+        verify(zaehlerService).mitgliedschaftGeaendert(mitgliedschaft, null, MitgliedschaftsStatus.BEANTRAGT);
     }
 
     @Test
@@ -82,6 +87,7 @@ class VereinsmitgliedschaftServiceTest {
         });
 
         verify(mitgliedschaftRepository, never()).save(any());
+        verifyNoInteractions(zaehlerService);
     }
 
     @Test
@@ -94,6 +100,9 @@ class VereinsmitgliedschaftServiceTest {
         verify(mitgliedschaftRepository).save(mitgliedschaft);
         assertEquals(MitgliedschaftsStatus.AKTIV, mitgliedschaft.getStatus());
         assertTrue(mitgliedschaft.getAktiv());
+        verify(zaehlerService).mitgliedschaftGeaendert(mitgliedschaft, MitgliedschaftsStatus.BEANTRAGT, MitgliedschaftsStatus.AKTIV);
+        verify(eventPublisher).publishEvent(new BerechtigungGeaendertEvent(1L));
+        verify(eventPublisher).publishEvent(new MitgliedschaftEntschiedenEvent(mitgliedschaft));
     }
 
     @Test
@@ -106,6 +115,7 @@ class VereinsmitgliedschaftServiceTest {
         verify(mitgliedschaftRepository).save(mitgliedschaft);
         assertEquals(MitgliedschaftsStatus.ABGELEHNT, mitgliedschaft.getStatus());
         assertFalse(mitgliedschaft.getAktiv());
+        verify(zaehlerService).mitgliedschaftGeaendert(mitgliedschaft, MitgliedschaftsStatus.BEANTRAGT, MitgliedschaftsStatus.ABGELEHNT);
     }
 
     @Test
@@ -191,5 +201,36 @@ class VereinsmitgliedschaftServiceTest {
         assertEquals(1, result.size());
         verify(mitgliedschaftRepository).findByVereinAndStatus(verein, MitgliedschaftsStatus.BEANTRAGT);
     }
-}
 
+    @Test
+    void testWiderrufeZertifikatEntziehtVereinsrollen() {
+        DigitalesZertifikat zertifikat = TestDataFactory.createZertifikat(5L, "AUFSEHER", benutzer);
+        zertifikat.setVerein(verein);
+        mitgliedschaft.setIstAufseher(true);
+        benutzer.setRolle(BenutzerRolle.AUFSEHER);
+        when(zertifikatRepository.findById(5L)).thenReturn(Optional.of(zertifikat));
+        when(mitgliedschaftRepository.findByBenutzer(benutzer)).thenReturn(List.of(mitgliedschaft));
+
+        service.widerrufeZertifikat(5L, "Verein verlassen");
+
+        assertTrue(zertifikat.isWiderrufen());
+        assertEquals("Verein verlassen", zertifikat.getWiderrufsGrund());
+        assertFalse(mitgliedschaft.getIstAufseher());
+        assertEquals(BenutzerRolle.SCHUETZE, benutzer.getRolle());
+        verify(zertifikatRepository).save(zertifikat);
+        verify(eventPublisher).publishEvent(new BerechtigungGeaendertEvent(1L));
+        verify(eventPublisher).publishEvent(new ZertifikatWiderrufenEvent(zertifikat));
+    }
+
+    @Test
+    void testWiderrufeVereinszertifikatNichtMoeglich() {
+        DigitalesZertifikat zertifikat = TestDataFactory.createZertifikat(5L, "VEREIN", benutzer);
+        when(zertifikatRepository.findById(5L)).thenReturn(Optional.of(zertifikat));
+
+        assertThrows(IllegalArgumentException.class, () -> service.widerrufeZertifikat(5L, null));
+
+        assertFalse(zertifikat.isWiderrufen());
+        verify(zertifikatRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,164 @@
+package de.suchalla.schiessbuch.service;
+
+import de.suchalla.schiessbuch.model.dto.AnzahlProBezug;
+import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.EintragStatus;
+import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
+import de.suchalla.schiessbuch.model.enums.ZaehlerTyp;
+import de.suchalla.schiessbuch.repository.ZaehlerRepository;
+import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Tests für ZaehlerService mit Mockito.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class ZaehlerServiceTest {
+
+    @Mock
+    private ZaehlerRepository zaehlerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ZaehlerService service;
+
+    private Benutzer schuetze;
+    private Schiesstand schiesstand;
+    private Disziplin disziplin;
+    private SchiessnachweisEintrag eintrag;
+
+    @BeforeEach
+    void setUp() {
+        schuetze = TestDataFactory.createBenutzer(1L, "schuetze@example.com");
+        schiesstand = TestDataFactory.createSchiesstand(2L, "Stand 1", TestDataFactory.createVerein(3L, "Verein A"));
+        disziplin = TestDataFactory.createDisziplin(4L, "Luftgewehr", TestDataFactory.createVerband(5L, "DSB"));
+        eintrag = TestDataFactory.createEintrag(6L, schuetze, disziplin, schiesstand, LocalDate.now());
+    }
+
+    @Test
+    void testNeuerEintragErhoehtSchiesstandUndSchuetze() {
+        when(zaehlerRepository.aendere(any(), any(), anyLong())).thenReturn(1);
+
+        service.eintragGeaendert(eintrag, null, EintragStatus.UNSIGNIERT);
+
+        verify(zaehlerRepository).aendere(ZaehlerTyp.OFFENE_SIGNATUREN, 2L, 1);
+        verify(zaehlerRepository).aendere(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, 1L, 1);
+        verify(zaehlerRepository, never()).legeAn(any(), any());
+    }
+
+    @Test
+    void testSignierterEintragVerringertZaehler() {
+        when(zaehlerRepository.aendere(any(), any(), anyLong())).thenReturn(1);
+
+        service.eintragGeaendert(eintrag, EintragStatus.UNSIGNIERT, EintragStatus.SIGNIERT);
+
+        verify(zaehlerRepository).aendere(ZaehlerTyp.OFFENE_SIGNATUREN, 2L, -1);
+        verify(zaehlerRepository).aendere(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, 1L, -1);
+    }
+
+    @Test
+    void testLoeschenEinesAbgelehntenEintragsAendertNichts() {
+        service.eintragGeaendert(eintrag, EintragStatus.ABGELEHNT, null);
+
+        verifyNoInteractions(zaehlerRepository);
+    }
+
+    @Test
+    void testFehlenderZaehlerWirdInEigenerTransaktionAngelegt() {
+        when(zaehlerRepository.aendere(ZaehlerTyp.OFFENE_SIGNATUREN, 2L, 1)).thenReturn(0, 1);
+        when(zaehlerRepository.aendere(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, 1L, 1)).thenReturn(1);
+
+        service.eintragGeaendert(eintrag, null, EintragStatus.UNSIGNIERT);
+
+        verify(transactionManager).getTransaction(any());
+        verify(zaehlerRepository).legeAn(ZaehlerTyp.OFFENE_SIGNATUREN, 2L);
+        verify(zaehlerRepository, times(2)).aendere(ZaehlerTyp.OFFENE_SIGNATUREN, 2L, 1);
+    }
+
+    @Test
+    void testParallelAngelegterZaehlerWirdTrotzdemErhoeht() {
+        when(zaehlerRepository.aendere(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, 3L, 1)).thenReturn(0, 1);
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(zaehlerRepository).legeAn(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, 3L);
+        Vereinsmitgliedschaft anfrage = TestDataFactory.createMitgliedschaft(7L, schuetze, schiesstand.getVerein(),
+                MitgliedschaftsStatus.BEANTRAGT);
+
+        service.mitgliedschaftGeaendert(anfrage, null, MitgliedschaftsStatus.BEANTRAGT);
+
+        verify(transactionManager).rollback(any());
+        verify(zaehlerRepository, times(2)).aendere(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, 3L, 1);
+    }
+
+    @Test
+    void testFehlenderZaehlerWirdBeimVerringernNichtAngelegt() {
+        when(zaehlerRepository.aendere(any(), any(), anyLong())).thenReturn(0);
+
+        service.eintragGeaendert(eintrag, EintragStatus.UNSIGNIERT, null);
+
+        verify(zaehlerRepository, never()).legeAn(any(), any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testGenehmigteAnfrageVerringertAnfragenZaehler() {
+        when(zaehlerRepository.aendere(any(), any(), anyLong())).thenReturn(1);
+        Vereinsmitgliedschaft anfrage = TestDataFactory.createMitgliedschaft(7L, schuetze, schiesstand.getVerein(),
+                MitgliedschaftsStatus.AKTIV);
+
+        service.mitgliedschaftGeaendert(anfrage, MitgliedschaftsStatus.BEANTRAGT, MitgliedschaftsStatus.AKTIV);
+        service.mitgliedschaftGeaendert(anfrage, MitgliedschaftsStatus.AKTIV, MitgliedschaftsStatus.BEENDET);
+
+        verify(zaehlerRepository).aendere(ZaehlerTyp.OFFENE_BEITRITTSANFRAGEN, 3L, -1);
+        verifyNoMoreInteractions(zaehlerRepository);
+    }
+
+    @Test
+    void testEintraegeAngelegtFasstJeSchiesstandUndSchuetzeZusammen() {
+        when(zaehlerRepository.aendere(any(), any(), anyLong())).thenReturn(1);
+        Benutzer zweiterSchuetze = TestDataFactory.createBenutzer(8L, "zweiter@example.com");
+        List<SchiessnachweisEintrag> eintraege = List.of(
+                unsigniert(schuetze), unsigniert(schuetze), unsigniert(zweiterSchuetze));
+
+        service.eintraegeAngelegt(eintraege);
+
+        verify(zaehlerRepository).aendere(ZaehlerTyp.OFFENE_SIGNATUREN, 2L, 3);
+        verify(zaehlerRepository).aendere(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, 1L, 2);
+        verify(zaehlerRepository).aendere(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, 8L, 1);
+        verifyNoMoreInteractions(zaehlerRepository);
+    }
+
+    @Test
+    void testMassenloeschungVerringertZaehlerOhneAnzulegen() {
+        when(zaehlerRepository.aendere(any(), any(), anyLong())).thenReturn(0);
+
+        service.eintraegeGeloescht(List.of(new AnzahlProBezug(2L, 5L)), List.of(new AnzahlProBezug(1L, 5L)));
+
+        verify(zaehlerRepository).aendere(ZaehlerTyp.OFFENE_SIGNATUREN, 2L, -5);
+        verify(zaehlerRepository).aendere(ZaehlerTyp.UNSIGNIERTE_EINTRAEGE, 1L, -5);
+        verify(zaehlerRepository, never()).legeAn(any(), any());
+    }
+
+    private SchiessnachweisEintrag unsigniert(Benutzer benutzer) {
+        SchiessnachweisEintrag neu = TestDataFactory.createEintrag(null, benutzer, disziplin, schiesstand, LocalDate.now());
+        neu.setStatus(EintragStatus.UNSIGNIERT);
+        return neu;
+    }
+}
@@ -1,19 +1,27 @@
 package de.suchalla.schiessbuch.service.email;
 
+import de.suchalla.schiessbuch.config.Leistungsmessung;
+import de.suchalla.schiessbuch.model.entity.EmailNachricht;
+import de.suchalla.schiessbuch.model.enums.EmailStatus;
+import de.suchalla.schiessbuch.repository.EmailNachrichtRepository;
+import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
 import de.suchalla.schiessbuch.service.EmailService;
+import de.suchalla.schiessbuch.service.EmailVorlagen;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import jakarta.mail.internet.MimeMessage;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -21,7 +29,16 @@ import static org.mockito.Mockito.*;
 class EmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private EmailNachrichtRepository emailNachrichtRepository;
+
+    @Mock
+    private EmailVorlagen emailVorlagen;
+
+    @Mock
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    @Spy
+    private Leistungsmessung leistungsmessung = new Leistungsmessung(new SimpleMeterRegistry());
 
     @InjectMocks
     private EmailService emailService;
@@ -29,22 +46,24 @@ class EmailServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(emailService, "emailEnabled", true);
-        ReflectionTestUtils.setField(emailService, "from", "noreply@test.com");
     }
 
     @Test
     void testSendMailWhenEnabled() {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doNothing().when(mailSender).send(any(MimeMessage.class));
-
         Map<String, Object> variables = new HashMap<>();
         variables.put("username", "Test User");
 
+        when(emailVorlagen.rendere("test-template.html", variables)).thenReturn("<p>Hallo Test User</p>");
+
         emailService.sendMail("test@example.com", "Test Subject", "test-template.html", variables);
 
-        verify(mailSender).createMimeMessage();
-        verify(mailSender).send(any(MimeMessage.class));
+        ArgumentCaptor<EmailNachricht> nachricht = ArgumentCaptor.forClass(EmailNachricht.class);
+        verify(emailNachrichtRepository).save(nachricht.capture());
+        assertEquals("test@example.com", nachricht.getValue().getEmpfaenger());
+        assertEquals("Test Subject", nachricht.getValue().getBetreff());
+        assertEquals("<p>Hallo Test User</p>", nachricht.getValue().getInhalt());
+        assertEquals(EmailStatus.OFFEN, nachricht.getValue().getStatus());
+        assertEquals(0, nachricht.getValue().getVersuche());
     }
 
     @Test
@@ -54,8 +73,31 @@ class EmailServiceTest {
         Map<String, Object> variables = new HashMap<>();
         emailService.sendMail("test@example.com", "Test", "template.html", variables);
 
-        verify(mailSender, never()).createMimeMessage();
-        verify(mailSender, never()).send(any(MimeMessage.class));
+        verifyNoInteractions(emailVorlagen);
+        verify(emailNachrichtRepository, never()).save(any(EmailNachricht.class));
     }
-}
 
+    @Test
+    void testSendMailOhneEmpfaengerWirdNichtGespeichert() {
+        Map<String, Object> variables = new HashMap<>();
+        when(emailVorlagen.rendere("template.html", variables)).thenReturn("<p>Hallo</p>");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> emailService.sendMail(" ", "Test", "template.html", variables));
+
+        verify(emailNachrichtRepository, never()).save(any(EmailNachricht.class));
+    }
+
+    @Test
+    void testSendMailErgaenztPasswortResetLink() {
+        ReflectionTestUtils.setField(emailService, "baseUrl", "https://schiessbuch.example");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("username", "Test User");
+        variables.put("token", "abc");
+        when(emailVorlagen.rendere("passwort-reset.html", variables)).thenReturn("<p>Reset</p>");
+
+        emailService.sendMail("test@example.com", "Reset", "passwort-reset.html", variables);
+
+        assertEquals("https://schiessbuch.example/passwort-reset?token=abc", variables.get("resetLink"));
+    }
+}
@@ -0,0 +1,83 @@
+package de.suchalla.schiessbuch.service.email;
+
+import de.suchalla.schiessbuch.model.dto.Benachrichtigungsempfaenger;
+import de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus;
+import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
+import de.suchalla.schiessbuch.service.BerechtigungGeaendertEvent;
+import de.suchalla.schiessbuch.service.EmpfaengerVerzeichnis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Prüft den Zwischenspeicher der Benachrichtigungsempfänger: Wiederholte Benachrichtigungen desselben
+ * Vereins lösen keine weitere Abfrage aus, eine Berechtigungsänderung verwirft die Listen.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class EmpfaengerVerzeichnisTest {
+
+    private static final List<Benachrichtigungsempfaenger> EMPFAENGER = List.of(
+            new Benachrichtigungsempfaenger(1L, "chef@example.com", "Chef Verein", BenachrichtigungsModus.SOFORT, true));
+
+    @Mock
+    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+
+    private EmpfaengerVerzeichnis verzeichnis;
+
+    @BeforeEach
+    void setUp() {
+        verzeichnis = new EmpfaengerVerzeichnis(mitgliedschaftRepository, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void testWiederholteAbfrageAusDemZwischenspeicher() {
+        when(mitgliedschaftRepository.findBenachrichtigungsempfaenger(7L, true, true)).thenReturn(EMPFAENGER);
+
+        assertEquals(EMPFAENGER, verzeichnis.findeEmpfaenger(7L, true, true));
+        assertEquals(EMPFAENGER, verzeichnis.findeEmpfaenger(7L, true, true));
+
+        verify(mitgliedschaftRepository, times(1)).findBenachrichtigungsempfaenger(7L, true, true);
+    }
+
+    @Test
+    void testEmpfaengergruppenWerdenGetrenntGehalten() {
+        when(mitgliedschaftRepository.findBenachrichtigungsempfaenger(7L, true, true)).thenReturn(EMPFAENGER);
+        when(mitgliedschaftRepository.findBenachrichtigungsempfaenger(7L, true, false)).thenReturn(List.of());
+
+        assertEquals(EMPFAENGER, verzeichnis.findeEmpfaenger(7L, true, true));
+        assertEquals(List.of(), verzeichnis.findeEmpfaenger(7L, true, false));
+    }
+
+    @Test
+    void testBerechtigungsaenderungVerwirftListen() {
+        when(mitgliedschaftRepository.findBenachrichtigungsempfaenger(7L, true, true)).thenReturn(EMPFAENGER);
+
+        verzeichnis.findeEmpfaenger(7L, true, true);
+        verzeichnis.berechtigungGeaendert(BerechtigungGeaendertEvent.alle());
+        verzeichnis.findeEmpfaenger(7L, true, true);
+
+        verify(mitgliedschaftRepository, times(2)).findBenachrichtigungsempfaenger(7L, true, true);
+    }
+
+    @Test
+    void testFehlerBeimLadenLiefertLeereListeOhneZwischenspeichern() {
+        when(mitgliedschaftRepository.findBenachrichtigungsempfaenger(7L, true, true))
+                .thenThrow(new DataAccessResourceFailureException("Datenbank nicht erreichbar"))
+                .thenReturn(EMPFAENGER);
+
+        assertEquals(List.of(), verzeichnis.findeEmpfaenger(7L, true, true));
+        assertEquals(EMPFAENGER, verzeichnis.findeEmpfaenger(7L, true, true));
+    }
+}
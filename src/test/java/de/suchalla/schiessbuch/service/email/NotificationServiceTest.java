@@ -1,20 +1,37 @@
 package de.suchalla.schiessbuch.service.email;
 
+import de.suchalla.schiessbuch.config.Leistungsmessung;
+import de.suchalla.schiessbuch.model.dto.Benachrichtigungsempfaenger;
+import de.suchalla.schiessbuch.model.dto.InAppBenachrichtigung;
 import de.suchalla.schiessbuch.model.entity.*;
+import de.suchalla.schiessbuch.model.enums.BenachrichtigungsModus;
 import de.suchalla.schiessbuch.model.enums.MitgliedschaftsStatus;
-import de.suchalla.schiessbuch.repository.VereinsmitgliedschaftRepository;
+import de.suchalla.schiessbuch.repository.BenutzerRepository;
+import de.suchalla.schiessbuch.repository.EmailNachrichtRepository;
+import de.suchalla.schiessbuch.repository.SignaturHinweisRepository;
+import de.suchalla.schiessbuch.service.BenachrichtigungsZentrale;
+import de.suchalla.schiessbuch.service.EintragAbgelehntEvent;
+import de.suchalla.schiessbuch.service.EintragSigniertEvent;
 import de.suchalla.schiessbuch.service.EmailService;
+import de.suchalla.schiessbuch.service.EmailVorlagen;
+import de.suchalla.schiessbuch.service.EmpfaengerVerzeichnis;
+import de.suchalla.schiessbuch.service.ZertifikatWiderrufenEvent;
 import de.suchalla.schiessbuch.testutil.TestDataFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -22,13 +39,22 @@ import static org.mockito.Mockito.*;
 class NotificationServiceTest {
 
     @Mock
-    private jakarta.mail.internet.MimeMessage mimeMessage; // Platzhalter für Injektion falls benötigt
+    private EmailNachrichtRepository emailNachrichtRepository;
 
     @Mock
-    private org.springframework.mail.javamail.JavaMailSender mailSender;
+    private EmailVorlagen emailVorlagen;
 
     @Mock
-    private VereinsmitgliedschaftRepository mitgliedschaftRepository;
+    private SignaturHinweisRepository signaturHinweisRepository;
+
+    @Mock
+    private BenutzerRepository benutzerRepository;
+
+    @Mock
+    private EmpfaengerVerzeichnis empfaengerVerzeichnis;
+
+    @Mock
+    private BenachrichtigungsZentrale benachrichtigungsZentrale;
 
     private EmailService emailService;
 
@@ -42,11 +68,12 @@ class NotificationServiceTest {
 
     @BeforeEach
     void setUp() {
-        emailService = new EmailService(mailSender, mitgliedschaftRepository);
+        emailService = new EmailService(emailNachrichtRepository, emailVorlagen, signaturHinweisRepository,
+                benutzerRepository, empfaengerVerzeichnis, benachrichtigungsZentrale,
+                new Leistungsmessung(new SimpleMeterRegistry()));
         spyService = org.mockito.Mockito.spy(emailService);
         ReflectionTestUtils.setField(spyService, "baseUrl", "http://localhost:8000");
         ReflectionTestUtils.setField(spyService, "emailEnabled", true);
-        ReflectionTestUtils.setField(spyService, "from", "test@example.com");
 
         schuetze = TestDataFactory.createBenutzer(1L, "schuetze@example.com");
         chef = TestDataFactory.createBenutzer(2L, "chef@example.com");
@@ -60,11 +87,7 @@ class NotificationServiceTest {
 
     @Test
     void testNotifySignatureRequest() {
-        Vereinsmitgliedschaft chefMitgliedschaft = TestDataFactory.createMitgliedschaft(1L, chef, verein, MitgliedschaftsStatus.AKTIV);
-        chefMitgliedschaft.setIstVereinschef(true);
-
-        when(mitgliedschaftRepository.findByVereinAndIstVereinschef(verein, true)).thenReturn(Arrays.asList(chefMitgliedschaft));
-        when(mitgliedschaftRepository.findByVereinAndIstAufseher(verein, true)).thenReturn(Arrays.asList());
+        when(empfaengerVerzeichnis.findeEmpfaenger(verein.getId(), true, true)).thenReturn(List.of(empfaenger(chef)));
         org.mockito.Mockito.doNothing().when(spyService).sendMail(anyString(), anyString(), anyString(), anyMap());
 
         spyService.notifySignatureRequest(eintrag);
@@ -72,6 +95,39 @@ class NotificationServiceTest {
         org.mockito.Mockito.verify(spyService, times(1)).sendMail(eq("chef@example.com"), anyString(), anyString(), anyMap());
     }
 
+    @Test
+    void testNotifySignatureRequestImModusZusammenfassung() {
+        chef.setBenachrichtigungsModus(BenachrichtigungsModus.ZUSAMMENFASSUNG);
+        when(empfaengerVerzeichnis.findeEmpfaenger(verein.getId(), true, true)).thenReturn(List.of(empfaenger(chef)));
+        when(benutzerRepository.getReferenceById(chef.getId())).thenReturn(chef);
+
+        spyService.notifySignatureRequest(eintrag);
+
+        ArgumentCaptor<SignaturHinweis> hinweis = ArgumentCaptor.forClass(SignaturHinweis.class);
+        verify(signaturHinweisRepository, times(1)).save(hinweis.capture());
+        assertEquals(chef, hinweis.getValue().getEmpfaenger());
+        assertEquals(schiesstand.getId(), hinweis.getValue().getSchiesstandId());
+        assertEquals(eintrag.getId(), hinweis.getValue().getEintragId());
+        org.mockito.Mockito.verify(spyService, never()).sendMail(anyString(), anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void testNotifySignatureDigest() {
+        Schiesstand zweiterStand = TestDataFactory.createSchiesstand(2L, "Stand 2", verein);
+        java.util.List<SignaturHinweis> hinweise = java.util.List.of(
+                hinweis(schiesstand, 1L), hinweis(schiesstand, 2L), hinweis(zweiterStand, 3L));
+        ArgumentCaptor<java.util.Map<String, Object>> vars = ArgumentCaptor.captor();
+        org.mockito.Mockito.doNothing().when(spyService).sendMail(anyString(), anyString(), anyString(), anyMap());
+
+        spyService.notifySignatureDigest(chef, hinweise);
+
+        org.mockito.Mockito.verify(spyService).sendMail(eq("chef@example.com"), contains("3 Einträge"),
+                eq("signatur-zusammenfassung.html"), vars.capture());
+        assertEquals(3, vars.getValue().get("anzahl"));
+        assertEquals("Stand 1: 2, Stand 2: 1", vars.getValue().get("schiesstaende"));
+        assertEquals("http://localhost:8000/eintraege-verwaltung", vars.getValue().get("actionUrl"));
+    }
+
     @Test
     void testNotifySignatureRequestOhneVerein() {
         eintrag.setSchiesstand(null);
@@ -82,11 +138,64 @@ class NotificationServiceTest {
     }
 
     @Test
-    void testNotifyMembershipRequest() {
-        Vereinsmitgliedschaft chefMitgliedschaft = TestDataFactory.createMitgliedschaft(1L, chef, verein, MitgliedschaftsStatus.AKTIV);
-        chefMitgliedschaft.setIstVereinschef(true);
+    void testNotifySignatureRequestAnAngemeldeteInDerAnwendung() {
+        chef.setBenachrichtigungsModus(BenachrichtigungsModus.ZUSAMMENFASSUNG);
+        when(empfaengerVerzeichnis.findeEmpfaenger(verein.getId(), true, true)).thenReturn(List.of(empfaenger(chef)));
+        when(benachrichtigungsZentrale.istAngemeldet(chef.getId())).thenReturn(true);
+
+        spyService.notifySignatureRequest(eintrag);
+
+        ArgumentCaptor<InAppBenachrichtigung> benachrichtigung = ArgumentCaptor.forClass(InAppBenachrichtigung.class);
+        verify(benachrichtigungsZentrale).zustellen(eq(chef.getId()), benachrichtigung.capture());
+        assertEquals("eintraege-verwaltung?schiesstandId=" + schiesstand.getId(), benachrichtigung.getValue().link());
+        verifyNoInteractions(signaturHinweisRepository);
+        org.mockito.Mockito.verify(spyService, never()).sendMail(anyString(), anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void testNotifySignatureRequestOhneEmailNurInDerAnwendung() {
+        chef.setEmailNotificationsEnabled(false);
+        when(empfaengerVerzeichnis.findeEmpfaenger(verein.getId(), true, true)).thenReturn(List.of(empfaenger(chef)));
+        when(benachrichtigungsZentrale.istAngemeldet(chef.getId())).thenReturn(true, false);
+
+        spyService.notifySignatureRequest(eintrag);
+        spyService.notifySignatureRequest(eintrag);
+
+        verify(benachrichtigungsZentrale, times(1)).zustellen(eq(chef.getId()), any(InAppBenachrichtigung.class));
+        verifyNoInteractions(signaturHinweisRepository);
+        org.mockito.Mockito.verify(spyService, never()).sendMail(anyString(), anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void testNotifyMembershipRequestOhneEmailNurInDerAnwendung() {
+        chef.setEmailNotificationsEnabled(false);
+        when(empfaengerVerzeichnis.findeEmpfaenger(verein.getId(), true, false)).thenReturn(List.of(empfaenger(chef)));
+        when(benachrichtigungsZentrale.istAngemeldet(chef.getId())).thenReturn(true, false);
+
+        spyService.notifyMembershipRequest(verein, schuetze);
+        spyService.notifyMembershipRequest(verein, schuetze);
 
-        when(mitgliedschaftRepository.findByVereinAndIstVereinschef(verein, true)).thenReturn(Arrays.asList(chefMitgliedschaft));
+        verify(benachrichtigungsZentrale, times(1)).zustellen(eq(chef.getId()), any(InAppBenachrichtigung.class));
+        org.mockito.Mockito.verify(spyService, never()).sendMail(anyString(), anyString(), anyString(), anyMap());
+    }
+
+    private Benachrichtigungsempfaenger empfaenger(Benutzer benutzer) {
+        return new Benachrichtigungsempfaenger(benutzer.getId(), benutzer.getEmail(), benutzer.getVollstaendigerName(),
+                benutzer.getBenachrichtigungsModus(), benutzer.isEmailNotificationsEnabled());
+    }
+
+    private SignaturHinweis hinweis(Schiesstand stand, Long eintragId) {
+        return SignaturHinweis.builder()
+                .empfaenger(chef)
+                .schiesstandId(stand.getId())
+                .schiesstandName(stand.getName())
+                .eintragId(eintragId)
+                .build();
+    }
+
+    @Test
+    void testNotifyMembershipRequest() {
+        when(empfaengerVerzeichnis.findeEmpfaenger(verein.getId(), true, false)).thenReturn(List.of(empfaenger(chef)));
         org.mockito.Mockito.doNothing().when(spyService).sendMail(anyString(), anyString(), anyString(), anyMap());
 
         spyService.notifyMembershipRequest(verein, schuetze);
@@ -112,5 +221,59 @@ class NotificationServiceTest {
 
         org.mockito.Mockito.verify(spyService, never()).sendMail(anyString(), anyString(), anyString(), anyMap());
     }
-}
 
+    @Test
+    void testNotifyEntrySignedAnAngemeldeteInDerAnwendung() {
+        when(benachrichtigungsZentrale.istAngemeldet(schuetze.getId())).thenReturn(true);
+
+        spyService.notifyEntrySigned(eintrag);
+
+        verify(benachrichtigungsZentrale).zustellen(eq(schuetze.getId()), any(InAppBenachrichtigung.class));
+        org.mockito.Mockito.verify(spyService, never()).sendMail(anyString(), anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void testEintragAbgelehntInDerAnwendung() {
+        eintrag.setAblehnungsgrund("Unleserlich");
+
+        spyService.eintragAbgelehnt(new EintragAbgelehntEvent(eintrag));
+
+        ArgumentCaptor<InAppBenachrichtigung> benachrichtigung = ArgumentCaptor.forClass(InAppBenachrichtigung.class);
+        verify(benachrichtigungsZentrale).zustellen(eq(schuetze.getId()), benachrichtigung.capture());
+        assertEquals("Eintrag abgelehnt", benachrichtigung.getValue().titel());
+        assertTrue(benachrichtigung.getValue().text().endsWith("Grund: Unleserlich"), benachrichtigung.getValue().text());
+    }
+
+    @Test
+    void testNotifyMembershipDecision() {
+        Vereinsmitgliedschaft mitgliedschaft = TestDataFactory.createMitgliedschaft(1L, schuetze, verein, MitgliedschaftsStatus.AKTIV);
+
+        spyService.notifyMembershipDecision(mitgliedschaft);
+
+        ArgumentCaptor<InAppBenachrichtigung> benachrichtigung = ArgumentCaptor.forClass(InAppBenachrichtigung.class);
+        verify(benachrichtigungsZentrale).zustellen(eq(schuetze.getId()), benachrichtigung.capture());
+        assertEquals("Beitritt genehmigt", benachrichtigung.getValue().titel());
+        assertEquals("meine-vereine", benachrichtigung.getValue().link());
+    }
+
+    @Test
+    void testEintragSigniertStelltEmailEin() {
+        schuetze.setEmailNotificationsEnabled(true);
+        org.mockito.Mockito.doNothing().when(spyService).sendMail(anyString(), anyString(), anyString(), anyMap());
+
+        spyService.eintragSigniert(new EintragSigniertEvent(eintrag));
+
+        org.mockito.Mockito.verify(spyService).sendMail(eq("schuetze@example.com"), anyString(), eq("eintrag-signiert.html"), anyMap());
+    }
+
+    @Test
+    void testFehlerImZuhoererVerhindertAenderungNicht() {
+        schuetze.setEmailNotificationsEnabled(true);
+        DigitalesZertifikat zertifikat = new DigitalesZertifikat();
+        zertifikat.setBenutzer(schuetze);
+        org.mockito.Mockito.doThrow(new IllegalStateException("Postausgang nicht erreichbar"))
+                .when(spyService).sendMail(anyString(), anyString(), anyString(), anyMap());
+
+        assertDoesNotThrow(() -> spyService.zertifikatWiderrufen(new ZertifikatWiderrufenEvent(zertifikat)));
+    }
+}
@@ -0,0 +1,75 @@
+package de.suchalla.schiessbuch.testutil;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Zählt die SQL-Statements, die Hibernate während einer Aktion absetzt, und lässt den Test fehlschlagen,
+ * sobald eine Obergrenze überschritten wird. So fallen N+1-Abfragen im Build auf statt erst im Betrieb.
+ * <p>
+ * Vor jeder Messung wird der Persistenzkontext geschrieben und geleert, damit bereits geladene Entities
+ * keine Abfragen verdecken. Gezählt werden alle vorbereiteten Statements, also auch Nachladevorgänge
+ * und Batch-Fetches. Die Obergrenzen sollten mit Testdaten geprüft werden, die deutlich mehr Zeilen
+ * enthalten als die Grenze erlaubt; ein Pfad mit O(n) Abfragen überschreitet sie dann zwangsläufig.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public final class AbfragenZaehler {
+
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    private AbfragenZaehler(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Erstellt einen Zähler für den Persistenzkontext des Tests.
+     *
+     * @param entityManager Der Entity-Manager des Tests
+     * @return Der Zähler
+     */
+    public static AbfragenZaehler fuer(EntityManager entityManager) {
+        return new AbfragenZaehler(entityManager);
+    }
+
+    /**
+     * Führt die Aktion aus und liefert die Anzahl der dabei abgesetzten SQL-Statements.
+     *
+     * @param aktion Die zu messende Aktion
+     * @return Anzahl der Statements
+     */
+    public long zaehle(Runnable aktion) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        aktion.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Führt die Aktion aus und prüft, dass sie höchstens die angegebene Anzahl SQL-Statements absetzt.
+     *
+     * @param maximum Größte zulässige Anzahl Statements
+     * @param beschreibung Beschreibung der Aktion für die Fehlermeldung
+     * @param aktion Die zu messende Aktion
+     * @param <T> Typ des Ergebnisses
+     * @return Das Ergebnis der Aktion für weitere Prüfungen
+     */
+    public <T> T hoechstens(long maximum, String beschreibung, Supplier<T> aktion) {
+        Object[] ergebnis = new Object[1];
+        long anzahl = zaehle(() -> ergebnis[0] = aktion.get());
+        assertTrue(anzahl <= maximum, beschreibung + ": " + anzahl + " SQL-Statements, erlaubt sind höchstens " + maximum);
+        @SuppressWarnings("unchecked")
+        T wert = (T) ergebnis[0];
+        return wert;
+    }
+}
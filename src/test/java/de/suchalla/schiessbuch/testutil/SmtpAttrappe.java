@@ -0,0 +1,190 @@
+package de.suchalla.schiessbuch.testutil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimaler lokaler SMTP-Server für Tests. Nimmt Nachrichten an, zählt die Verbindungen und kann einzelne
+ * Empfänger ablehnen (550) oder den Dienst ganz verweigern (421), um Fehlerpfade des Versands zu prüfen.
+ * Unterstützt nur die Befehle, die Jakarta Mail ohne Authentifizierung und STARTTLS verwendet.
+ *
+ * @author Markus Suchalla
+ * @version 1.0.0
+ */
+public final class SmtpAttrappe implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final AtomicInteger verbindungen = new AtomicInteger();
+    private final List<Nachricht> nachrichten = new CopyOnWriteArrayList<>();
+    private final Set<String> abgelehnt = ConcurrentHashMap.newKeySet();
+    private volatile boolean verweigern;
+
+    private SmtpAttrappe() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread annahme = new Thread(this::nimmAn, "smtp-attrappe");
+        annahme.setDaemon(true);
+        annahme.start();
+    }
+
+    /**
+     * Startet den Server auf einem freien Port.
+     *
+     * @return Der laufende Server
+     */
+    public static SmtpAttrappe starte() {
+        try {
+            return new SmtpAttrappe();
+        } catch (IOException e) {
+            throw new IllegalStateException("SMTP-Attrappe konnte nicht gestartet werden", e);
+        }
+    }
+
+    /**
+     * @return Adresse, auf der der Server lauscht
+     */
+    public String getHost() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    /**
+     * @return Port, auf dem der Server lauscht
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return Anzahl der seit dem letzten {@link #zuruecksetzen()} geöffneten Verbindungen
+     */
+    public int getVerbindungen() {
+        return verbindungen.get();
+    }
+
+    /**
+     * @return Angenommene Nachrichten in Empfangsreihenfolge
+     */
+    public List<Nachricht> getNachrichten() {
+        return List.copyOf(nachrichten);
+    }
+
+    /**
+     * Lehnt künftig alle Nachrichten an diese Adresse mit 550 ab.
+     *
+     * @param adresse Die Empfängeradresse
+     */
+    public void lehneAb(String adresse) {
+        abgelehnt.add(adresse.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Beantwortet künftig jede Verbindung mit 421 (Dienst nicht verfügbar).
+     *
+     * @param verweigern true, um Verbindungen zu verweigern
+     */
+    public void verweigere(boolean verweigern) {
+        this.verweigern = verweigern;
+    }
+
+    /**
+     * Verwirft Zähler, Nachrichten und Fehlerkonfiguration.
+     */
+    public void zuruecksetzen() {
+        verbindungen.set(0);
+        nachrichten.clear();
+        abgelehnt.clear();
+        verweigern = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void nimmAn() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread sitzung = new Thread(() -> bearbeite(socket), "smtp-attrappe-sitzung");
+                sitzung.setDaemon(true);
+                sitzung.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void bearbeite(Socket socket) {
+        verbindungen.incrementAndGet();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            if (verweigern) {
+                antworte(out, "421 Dienst nicht verfügbar");
+                return;
+            }
+            antworte(out, "220 localhost SMTP-Attrappe");
+            List<String> empfaenger = new ArrayList<>();
+            String zeile;
+            while ((zeile = in.readLine()) != null) {
+                String befehl = zeile.toUpperCase(Locale.ROOT);
+                if (befehl.startsWith("EHLO") || befehl.startsWith("HELO")) {
+                    antworte(out, "250 localhost");
+                } else if (befehl.startsWith("MAIL FROM")) {
+                    empfaenger.clear();
+                    antworte(out, "250 OK");
+                } else if (befehl.startsWith("RCPT TO")) {
+                    String adresse = zeile.substring(zeile.indexOf('<') + 1, zeile.indexOf('>')).toLowerCase(Locale.ROOT);
+                    if (abgelehnt.contains(adresse)) {
+                        antworte(out, "550 Postfach nicht vorhanden");
+                    } else {
+                        empfaenger.add(adresse);
+                        antworte(out, "250 OK");
+                    }
+                } else if (befehl.equals("DATA")) {
+                    antworte(out, "354 Ende mit <CRLF>.<CRLF>");
+                    StringBuilder daten = new StringBuilder();
+                    while ((zeile = in.readLine()) != null && !zeile.equals(".")) {
+                        daten.append(zeile).append("\r\n");
+                    }
+                    nachrichten.add(new Nachricht(List.copyOf(empfaenger), daten.toString()));
+                    antworte(out, "250 OK");
+                } else if (befehl.equals("QUIT")) {
+                    antworte(out, "221 Tschüss");
+                    return;
+                } else {
+                    // RSET, NOOP und alles Übrige
+                    antworte(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // Verbindung vom Client beendet
+        }
+    }
+
+    private static void antworte(OutputStream out, String antwort) throws IOException {
+        out.write((antwort + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Eine angenommene Nachricht.
+     *
+     * @param empfaenger Die Empfängeradressen
+     * @param daten Kopfzeilen und Inhalt der Nachricht
+     */
+    public record Nachricht(List<String> empfaenger, String daten) {
+    }
+}